@@ -0,0 +1,118 @@
+package com.GoAero.analytics;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A filter, group-by and sum over the booking snapshot: booking count, booked amount and
+ * revenue (confirmed bookings with completed payments) per combination of the grouped
+ * dimensions. Conditions on different dimensions must all hold.
+ */
+public class AnalyticsQuery {
+
+    static final int MAX_GROUP_BY = 3;
+    // Bits of the group key per dimension; codes are stored plus one so a missing month is 0
+    static final int KEY_BITS = 21;
+    static final long KEY_MASK = (1L << KEY_BITS) - 1;
+
+    private final BookingDimension[] groupBy;
+    private final Map<BookingDimension, List<String>> values = new EnumMap<>(BookingDimension.class);
+    private final Map<BookingDimension, YearMonth[]> ranges = new EnumMap<>(BookingDimension.class);
+
+    /**
+     * Creates a query
+     * @param groupBy Up to three dimensions to group by; none gives a single total
+     */
+    public AnalyticsQuery(BookingDimension... groupBy) {
+        if (groupBy.length > MAX_GROUP_BY) {
+            throw new IllegalArgumentException("At most " + MAX_GROUP_BY + " group-by dimensions are supported");
+        }
+        this.groupBy = groupBy.clone();
+    }
+
+    /**
+     * Keeps only bookings with one of the given values, as shown in results
+     * (e.g. "Confirmed", "DEL → BOM" or "2026-03")
+     * @param dimension The dimension
+     * @param accepted Accepted values
+     * @return This query
+     */
+    public AnalyticsQuery where(BookingDimension dimension, String... accepted) {
+        values.computeIfAbsent(dimension, d -> new ArrayList<>()).addAll(Arrays.asList(accepted));
+        return this;
+    }
+
+    /**
+     * Keeps only bookings whose month falls in a range
+     * @param dimension BOOKING_MONTH or DEPARTURE_MONTH
+     * @param from First month, inclusive, or null for no lower bound
+     * @param to Last month, inclusive, or null for no upper bound
+     * @return This query
+     */
+    public AnalyticsQuery between(BookingDimension dimension, YearMonth from, YearMonth to) {
+        if (!dimension.isMonth()) {
+            throw new IllegalArgumentException(dimension + " is not a month dimension");
+        }
+        ranges.put(dimension, new YearMonth[] {from, to});
+        return this;
+    }
+
+    public BookingDimension[] getGroupBy() {
+        return groupBy.clone();
+    }
+
+    /**
+     * Resolves the conditions against a snapshot's dictionaries
+     */
+    Condition[] conditions(BookingColumns columns) {
+        List<Condition> conditions = new ArrayList<>();
+        for (Map.Entry<BookingDimension, List<String>> entry : values.entrySet()) {
+            BookingDimension dimension = entry.getKey();
+            int[] codes = entry.getValue().stream()
+                .mapToInt(value -> dimension.parse(columns, value))
+                .filter(code -> code >= 0)
+                .toArray();
+            boolean[] accepted = new boolean[Arrays.stream(codes).max().orElse(-1) + 1];
+            for (int code : codes) {
+                accepted[code] = true;
+            }
+            conditions.add(new Condition(dimension, accepted, 0, Integer.MAX_VALUE));
+        }
+        for (Map.Entry<BookingDimension, YearMonth[]> entry : ranges.entrySet()) {
+            YearMonth[] range = entry.getValue();
+            conditions.add(new Condition(entry.getKey(), null,
+                range[0] != null ? BookingDimension.monthCode(range[0]) : 0,
+                range[1] != null ? BookingDimension.monthCode(range[1]) : Integer.MAX_VALUE));
+        }
+        return conditions.toArray(new Condition[0]);
+    }
+
+    /**
+     * One resolved condition: the row's code must be accepted (if a set is given) and lie
+     * between min and max
+     */
+    static final class Condition {
+        final BookingDimension dimension;
+        final boolean[] accepted;
+        final int min;
+        final int max;
+
+        Condition(BookingDimension dimension, boolean[] accepted, int min, int max) {
+            this.dimension = dimension;
+            this.accepted = accepted;
+            this.min = min;
+            this.max = max;
+        }
+
+        boolean matches(int code) {
+            if (code < min || code > max) {
+                return false;
+            }
+            return accepted == null || (code < accepted.length && accepted[code]);
+        }
+    }
+}
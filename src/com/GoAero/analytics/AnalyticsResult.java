@@ -0,0 +1,96 @@
+package com.GoAero.analytics;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The groups an AnalyticsQuery produced, highest revenue first
+ */
+public class AnalyticsResult {
+
+    private final BookingDimension[] groupBy;
+    private final List<Row> rows;
+    private final long scannedBookings;
+    private final long elapsedNanos;
+
+    AnalyticsResult(BookingDimension[] groupBy, List<Row> rows, long scannedBookings, long elapsedNanos) {
+        this.groupBy = groupBy;
+        this.rows = Collections.unmodifiableList(rows);
+        this.scannedBookings = scannedBookings;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public BookingDimension[] getGroupBy() {
+        return groupBy.clone();
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of bookings in the snapshot the query scanned
+     * @return Bookings scanned
+     */
+    public long getScannedBookings() {
+        return scannedBookings;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * One group: its value in each grouped dimension and the sums over its bookings
+     */
+    public static class Row {
+        private final String[] labels;
+        private final long bookings;
+        private final long amountMinor;
+        private final long revenueMinor;
+
+        Row(String[] labels, long bookings, long amountMinor, long revenueMinor) {
+            this.labels = labels;
+            this.bookings = bookings;
+            this.amountMinor = amountMinor;
+            this.revenueMinor = revenueMinor;
+        }
+
+        /**
+         * Gets the group's values, in the query's group-by order
+         * @return The labels
+         */
+        public String[] getLabels() {
+            return labels.clone();
+        }
+
+        public long getBookings() {
+            return bookings;
+        }
+
+        /**
+         * Gets the amount of all the group's bookings, whatever their status
+         * @return The amount in minor units (paise)
+         */
+        public long getAmountMinor() {
+            return amountMinor;
+        }
+
+        public BigDecimal getAmount() {
+            return BigDecimal.valueOf(amountMinor, 2);
+        }
+
+        /**
+         * Gets revenue from the group's confirmed bookings with completed payments
+         * @return Revenue in minor units (paise)
+         */
+        public long getRevenueMinor() {
+            return revenueMinor;
+        }
+
+        public BigDecimal getRevenue() {
+            return BigDecimal.valueOf(revenueMinor, 2);
+        }
+    }
+}
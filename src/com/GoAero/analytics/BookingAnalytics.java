@@ -0,0 +1,359 @@
+package com.GoAero.analytics;
+
+import com.GoAero.dao.BookingArchiveDAO;
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.event.BookingCreated;
+import com.GoAero.event.BookingStatusChanged;
+import com.GoAero.event.DomainEvent;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.EventListener;
+import com.GoAero.event.FlightUpdated;
+import com.GoAero.event.PaymentStatusChanged;
+import com.GoAero.event.Subscription;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory, column-oriented snapshot of every booking (including bookings_archive) for
+ * ad-hoc reporting: filter, group by airline, route, month or status, and sum counts,
+ * amounts and revenue. Scans split across the common fork-join pool.
+ *
+ * The snapshot is loaded on first use by streaming all bookings, and booking and flight
+ * events keep it current afterwards. Events that arrive while a load runs are replayed on
+ * the new snapshot; they set absolute values, so replaying one the load already saw is
+ * harmless. If the event subscription falls behind, the next query reloads.
+ */
+public class BookingAnalytics {
+
+    private static BookingAnalytics instance;
+
+    private final BookingDAO bookingDAO;
+    private final BookingArchiveDAO archiveDAO;
+    private final FlightDAO flightDAO;
+
+    // Queries hold the read lock, event updates and the snapshot swap the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private BookingColumns columns;
+    private Instant loadedAt;
+
+    // Serialises loads
+    private final Object loadMonitor = new Object();
+    // Guarded by this; non-null while a load runs, collecting the events to replay
+    private List<DomainEvent> eventsDuringLoad;
+    private volatile boolean stale;
+
+    private Subscription subscription;
+
+    public BookingAnalytics(BookingDAO bookingDAO, BookingArchiveDAO archiveDAO, FlightDAO flightDAO) {
+        this.bookingDAO = bookingDAO;
+        this.archiveDAO = archiveDAO;
+        this.flightDAO = flightDAO;
+    }
+
+    /**
+     * Gets the shared analytics snapshot, subscribed to booking events. The snapshot itself
+     * is loaded by the first query.
+     * @return The shared BookingAnalytics
+     */
+    public static synchronized BookingAnalytics getInstance() {
+        if (instance == null) {
+            instance = new BookingAnalytics(new BookingDAO(), new BookingArchiveDAO(), new FlightDAO());
+            instance.start(EventBus.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Subscribes to booking and flight events
+     * @param eventBus The bus booking events are published on
+     */
+    public void start(EventBus eventBus) {
+        if (subscription == null) {
+            subscription = eventBus.subscribe("booking-analytics", new AnalyticsListener());
+        }
+    }
+
+    /**
+     * Stops applying events
+     */
+    public void stop() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    /**
+     * Builds a new snapshot from the database and replaces the current one. Queries keep
+     * using the old snapshot until the new one is complete.
+     * @return true if the bookings could be read
+     */
+    public boolean load() {
+        synchronized (loadMonitor) {
+            synchronized (this) {
+                eventsDuringLoad = new ArrayList<>();
+            }
+            stale = false;
+            BookingColumns loaded = null;
+            try {
+                long expected = Math.max(0, bookingDAO.count()) + Math.max(0, archiveDAO.countArchived());
+                // Presized with some room for bookings made during the load
+                BookingColumns building = new BookingColumns(
+                    (int) Math.min(expected + expected / 16, Integer.MAX_VALUE - 8));
+                if (bookingDAO.streamAll(true, booking -> append(building, booking)) >= 0) {
+                    building.sortById();
+                    loaded = building;
+                }
+            } finally {
+                synchronized (this) {
+                    List<DomainEvent> missed = eventsDuringLoad;
+                    eventsDuringLoad = null;
+                    if (loaded != null) {
+                        lock.writeLock().lock();
+                        try {
+                            columns = loaded;
+                            loadedAt = Instant.now();
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    }
+                    // Applied while still holding this, so no newer event overtakes them
+                    for (DomainEvent event : missed) {
+                        apply(event);
+                    }
+                }
+            }
+            return loaded != null;
+        }
+    }
+
+    /**
+     * Runs a query, loading the snapshot first if there is none yet or it fell behind
+     * @param query The query
+     * @return The result, or null if no snapshot could be loaded
+     */
+    public AnalyticsResult query(AnalyticsQuery query) {
+        ensureLoaded();
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            BookingColumns snapshot = columns;
+            if (snapshot == null) {
+                return null;
+            }
+            BookingDimension[] groupBy = query.getGroupBy();
+            GroupAccumulator groups = snapshot.size == 0 ? new GroupAccumulator()
+                : ForkJoinPool.commonPool().invoke(
+                    new ScanTask(snapshot, query.conditions(snapshot), groupBy, 0, snapshot.size));
+
+            List<AnalyticsResult.Row> rows = new ArrayList<>(groups.size());
+            groups.forEach((key, count, amount, revenue) ->
+                rows.add(new AnalyticsResult.Row(labels(snapshot, groupBy, key), count, amount, revenue)));
+            rows.sort(Comparator.comparingLong(AnalyticsResult.Row::getRevenueMinor)
+                .thenComparingLong(AnalyticsResult.Row::getBookings).reversed());
+            return new AnalyticsResult(groupBy, rows, snapshot.size, System.nanoTime() - start);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!stale && isLoaded()) {
+            return;
+        }
+        synchronized (loadMonitor) {
+            // Checked again so queries that queued behind a load do not repeat it
+            if (stale || !isLoaded()) {
+                load();
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return columns != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets when the current snapshot was loaded
+     * @return The time, or null if nothing is loaded
+     */
+    public Instant getLoadedAt() {
+        lock.readLock().lock();
+        try {
+            return loadedAt;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getBookingCount() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.size : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets an estimate of the heap the snapshot's columns hold
+     * @return Bytes
+     */
+    public long getMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.memoryBytes() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void append(BookingColumns target, Booking booking) {
+        target.append(booking.getBookingId(), booking.getFlightId(), booking.getCompanyName(),
+            route(booking.getDepartureAirportCode(), booking.getDestinationAirportCode()),
+            booking.getDateOfBooking() != null
+                ? BookingColumns.epochDay(booking.getDateOfBooking().toLocalDateTime().toLocalDate())
+                : BookingColumns.NO_DAY,
+            BookingColumns.epochDay(booking.getDateOfDeparture()),
+            toMinorUnits(booking.getAmount()), booking.getBookingStatus().ordinal(),
+            booking.getPaymentStatus().ordinal());
+    }
+
+    private static String[] labels(BookingColumns snapshot, BookingDimension[] groupBy, long key) {
+        String[] labels = new String[groupBy.length];
+        for (int i = groupBy.length - 1; i >= 0; i--) {
+            labels[i] = groupBy[i].label(snapshot, (int) (key & AnalyticsQuery.KEY_MASK) - 1);
+            key >>>= AnalyticsQuery.KEY_BITS;
+        }
+        return labels;
+    }
+
+    private void onEvent(DomainEvent event) {
+        synchronized (this) {
+            if (eventsDuringLoad != null) {
+                eventsDuringLoad.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(DomainEvent event) {
+        if (event instanceof BookingCreated) {
+            onBookingCreated((BookingCreated) event);
+        } else if (event instanceof BookingStatusChanged) {
+            BookingStatusChanged changed = (BookingStatusChanged) event;
+            setStatuses(changed.getBookingId(), changed.getNewStatus(), changed.getPaymentStatus());
+        } else if (event instanceof PaymentStatusChanged) {
+            PaymentStatusChanged changed = (PaymentStatusChanged) event;
+            setStatuses(changed.getBookingId(), changed.getBookingStatus(), changed.getNewStatus());
+        } else if (event instanceof FlightUpdated) {
+            onFlightUpdated((FlightUpdated) event);
+        }
+    }
+
+    private void onBookingCreated(BookingCreated event) {
+        // Looked up before locking so queries do not wait on the database
+        Flight flight = flightDAO.findById(event.getFlightId());
+        lock.writeLock().lock();
+        try {
+            if (columns == null) {
+                return;
+            }
+            int row = columns.indexOf(event.getBookingId());
+            if (row >= 0) {
+                columns.amounts[row] = toMinorUnits(event.getAmount());
+                columns.bookingStatuses[row] = (byte) event.getBookingStatus().ordinal();
+                columns.paymentStatuses[row] = (byte) event.getPaymentStatus().ordinal();
+                return;
+            }
+            columns.append(event.getBookingId(), event.getFlightId(),
+                flight != null ? flight.getCompanyName() : null,
+                flight != null ? route(flight.getDepartureAirportCode(), flight.getDestinationAirportCode()) : null,
+                BookingColumns.epochDay(event.getOccurredAt().atZone(ZoneId.systemDefault()).toLocalDate()),
+                flight != null && flight.getDepartureTime() != null
+                    ? BookingColumns.epochDay(flight.getDepartureTime().toLocalDate())
+                    : BookingColumns.NO_DAY,
+                toMinorUnits(event.getAmount()), event.getBookingStatus().ordinal(),
+                event.getPaymentStatus().ordinal());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setStatuses(int bookingId, Booking.BookingStatus bookingStatus, Booking.PaymentStatus paymentStatus) {
+        lock.writeLock().lock();
+        try {
+            if (columns == null) {
+                return;
+            }
+            int row = columns.indexOf(bookingId);
+            if (row >= 0) {
+                columns.bookingStatuses[row] = (byte) bookingStatus.ordinal();
+                columns.paymentStatuses[row] = (byte) paymentStatus.ordinal();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void onFlightUpdated(FlightUpdated event) {
+        Flight flight = flightDAO.findById(event.getFlightId());
+        if (flight == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (columns != null) {
+                columns.setFlight(flight.getFlightId(), flight.getCompanyName(),
+                    route(flight.getDepartureAirportCode(), flight.getDestinationAirportCode()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Formats a route as Flight.getRoute() does
+     */
+    private static String route(String departureAirportCode, String destinationAirportCode) {
+        return (departureAirportCode != null ? departureAirportCode : "DEP") + " → "
+            + (destinationAirportCode != null ? destinationAirportCode : "DEST");
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private class AnalyticsListener implements EventListener {
+        @Override
+        public void onEvent(DomainEvent event) {
+            BookingAnalytics.this.onEvent(event);
+        }
+
+        @Override
+        public void onEventsMissed(long count) {
+            // Reloading here would hold up the subscription; the next query does it instead
+            stale = true;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.GoAero.analytics;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Bookings stored column by column in primitive arrays, one slot per booking. Strings are
+ * dictionary-encoded, amounts held in minor units (paise) and dates as epoch days, which
+ * keeps a booking at about 34 bytes and lets scans run over flat arrays.
+ *
+ * Rows are kept ordered by booking ID so a booking can be found by binary search. Not
+ * thread-safe; BookingAnalytics guards it with its read-write lock.
+ */
+final class BookingColumns {
+
+    // Epoch day stored for a missing date
+    static final int NO_DAY = Integer.MIN_VALUE;
+    // Month code of a missing date
+    static final int NO_MONTH = -1;
+
+    final Dictionary airlineNames = new Dictionary();
+    final Dictionary routeNames = new Dictionary();
+
+    int size;
+    int[] bookingIds;
+    int[] flightIds;
+    int[] airlines;
+    int[] routes;
+    int[] bookedDays;
+    int[] departureDays;
+    long[] amounts;
+    byte[] bookingStatuses;
+    byte[] paymentStatuses;
+
+    // false once a booking was appended out of ID order; restored by sortById()
+    private boolean sorted = true;
+
+    // Month code of every epoch day from firstDay on, so scans look months up instead of
+    // doing calendar arithmetic per row
+    private int firstDay;
+    private int[] dayMonths = new int[0];
+
+    BookingColumns(int capacity) {
+        int initial = Math.max(capacity, 16);
+        bookingIds = new int[initial];
+        flightIds = new int[initial];
+        airlines = new int[initial];
+        routes = new int[initial];
+        bookedDays = new int[initial];
+        departureDays = new int[initial];
+        amounts = new long[initial];
+        bookingStatuses = new byte[initial];
+        paymentStatuses = new byte[initial];
+    }
+
+    /**
+     * Adds a booking
+     * @return The new row
+     */
+    int append(int bookingId, int flightId, String airline, String route, int bookedDay, int departureDay,
+               long amount, int bookingStatus, int paymentStatus) {
+        if (size == bookingIds.length) {
+            grow();
+        }
+        int row = size++;
+        if (row > 0 && bookingIds[row - 1] >= bookingId) {
+            sorted = false;
+        }
+        bookingIds[row] = bookingId;
+        flightIds[row] = flightId;
+        airlines[row] = airlineNames.encode(airline);
+        routes[row] = routeNames.encode(route);
+        bookedDays[row] = bookedDay;
+        departureDays[row] = departureDay;
+        coverDay(bookedDay);
+        coverDay(departureDay);
+        amounts[row] = amount;
+        bookingStatuses[row] = (byte) bookingStatus;
+        paymentStatuses[row] = (byte) paymentStatus;
+        return row;
+    }
+
+    /**
+     * Finds the row of a booking
+     * @return The row, or -1 if the booking is not stored
+     */
+    int indexOf(int bookingId) {
+        if (!sorted) {
+            sortById();
+        }
+        int row = Arrays.binarySearch(bookingIds, 0, size, bookingId);
+        return row >= 0 ? row : -1;
+    }
+
+    /**
+     * Reorders the rows by booking ID
+     */
+    void sortById() {
+        if (sorted) {
+            return;
+        }
+        // Sort (id, row) pairs packed into longs, then move every column into that order
+        long[] order = new long[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = (long) bookingIds[row] << 32 | row;
+        }
+        Arrays.parallelSort(order);
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = (int) order[i];
+        }
+        bookingIds = permute(bookingIds, rows);
+        flightIds = permute(flightIds, rows);
+        airlines = permute(airlines, rows);
+        routes = permute(routes, rows);
+        bookedDays = permute(bookedDays, rows);
+        departureDays = permute(departureDays, rows);
+        amounts = permute(amounts, rows);
+        bookingStatuses = permute(bookingStatuses, rows);
+        paymentStatuses = permute(paymentStatuses, rows);
+        sorted = true;
+    }
+
+    /**
+     * Sets the airline and route of every booking on a flight
+     */
+    void setFlight(int flightId, String airline, String route) {
+        int airlineCode = airlineNames.encode(airline);
+        int routeCode = routeNames.encode(route);
+        for (int row = 0; row < size; row++) {
+            if (flightIds[row] == flightId) {
+                airlines[row] = airlineCode;
+                routes[row] = routeCode;
+            }
+        }
+    }
+
+    /**
+     * Gets the code of a row in one dimension. Dictionary codes for airline and route,
+     * ordinals for the statuses, and year * 12 + month - 1 for months.
+     */
+    int code(BookingDimension dimension, int row) {
+        switch (dimension) {
+            case AIRLINE:
+                return airlines[row];
+            case ROUTE:
+                return routes[row];
+            case BOOKING_MONTH:
+                return monthOfDay(bookedDays[row]);
+            case DEPARTURE_MONTH:
+                return monthOfDay(departureDays[row]);
+            case BOOKING_STATUS:
+                return bookingStatuses[row];
+            default:
+                return paymentStatuses[row];
+        }
+    }
+
+    /**
+     * Gets an estimate of the heap held by the columns
+     * @return Bytes
+     */
+    long memoryBytes() {
+        // Six int columns, one long column and two byte columns
+        return (long) bookingIds.length * (6 * Integer.BYTES + Long.BYTES + 2);
+    }
+
+    private int monthOfDay(int epochDay) {
+        return epochDay == NO_DAY ? NO_MONTH : dayMonths[epochDay - firstDay];
+    }
+
+    /**
+     * Extends the day-to-month table to include a day
+     */
+    private void coverDay(int epochDay) {
+        if (epochDay == NO_DAY || (epochDay >= firstDay && epochDay < firstDay + dayMonths.length)) {
+            return;
+        }
+        // Grown in whole years either way so a steady stream of new days rarely rebuilds it
+        int from = dayMonths.length == 0 ? epochDay - 366 : Math.min(firstDay, epochDay - 366);
+        int to = dayMonths.length == 0 ? epochDay + 366 : Math.max(firstDay + dayMonths.length, epochDay + 366);
+        int[] months = new int[to - from];
+        for (int i = 0; i < months.length; i++) {
+            months[i] = month(from + i);
+        }
+        firstDay = from;
+        dayMonths = months;
+    }
+
+    static int epochDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : NO_DAY;
+    }
+
+    /**
+     * Converts an epoch day to a month code without creating a LocalDate, using the
+     * days-to-civil algorithm on the proleptic Gregorian calendar
+     */
+    static int month(int epochDay) {
+        if (epochDay == NO_DAY) {
+            return NO_MONTH;
+        }
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + month - 1;
+    }
+
+    private void grow() {
+        int capacity = bookingIds.length + (bookingIds.length >> 1);
+        bookingIds = Arrays.copyOf(bookingIds, capacity);
+        flightIds = Arrays.copyOf(flightIds, capacity);
+        airlines = Arrays.copyOf(airlines, capacity);
+        routes = Arrays.copyOf(routes, capacity);
+        bookedDays = Arrays.copyOf(bookedDays, capacity);
+        departureDays = Arrays.copyOf(departureDays, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        bookingStatuses = Arrays.copyOf(bookingStatuses, capacity);
+        paymentStatuses = Arrays.copyOf(paymentStatuses, capacity);
+    }
+
+    private int[] permute(int[] column, int[] rows) {
+        int[] result = new int[column.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = column[rows[i]];
+        }
+        return result;
+    }
+
+    private long[] permute(long[] column, int[] rows) {
+        long[] result = new long[column.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = column[rows[i]];
+        }
+        return result;
+    }
+
+    private byte[] permute(byte[] column, int[] rows) {
+        byte[] result = new byte[column.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = column[rows[i]];
+        }
+        return result;
+    }
+}
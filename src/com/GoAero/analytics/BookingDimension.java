@@ -0,0 +1,101 @@
+package com.GoAero.analytics;
+
+import com.GoAero.model.Booking;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * An attribute bookings can be filtered and grouped by
+ */
+public enum BookingDimension {
+    AIRLINE("Airline"),
+    ROUTE("Route"),
+    BOOKING_MONTH("Booking Month"),
+    DEPARTURE_MONTH("Departure Month"),
+    BOOKING_STATUS("Booking Status"),
+    PAYMENT_STATUS("Payment Status");
+
+    private static final Booking.BookingStatus[] BOOKING_STATUSES = Booking.BookingStatus.values();
+    private static final Booking.PaymentStatus[] PAYMENT_STATUSES = Booking.PaymentStatus.values();
+
+    private final String displayName;
+
+    BookingDimension(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    boolean isMonth() {
+        return this == BOOKING_MONTH || this == DEPARTURE_MONTH;
+    }
+
+    /**
+     * Turns a code from BookingColumns.code into the text shown for it
+     */
+    String label(BookingColumns columns, int code) {
+        switch (this) {
+            case AIRLINE:
+                return columns.airlineNames.decode(code);
+            case ROUTE:
+                return columns.routeNames.decode(code);
+            case BOOKING_MONTH:
+            case DEPARTURE_MONTH:
+                return code == BookingColumns.NO_MONTH ? Dictionary.UNKNOWN : monthOf(code).toString();
+            case BOOKING_STATUS:
+                return BOOKING_STATUSES[code].getDisplayName();
+            default:
+                return PAYMENT_STATUSES[code].getDisplayName();
+        }
+    }
+
+    /**
+     * Turns the text shown for a value back into its code
+     * @return The code, or -1 if no booking can have that value
+     */
+    int parse(BookingColumns columns, String label) {
+        switch (this) {
+            case AIRLINE:
+                return columns.airlineNames.lookup(label);
+            case ROUTE:
+                return columns.routeNames.lookup(label);
+            case BOOKING_MONTH:
+            case DEPARTURE_MONTH:
+                try {
+                    return monthCode(YearMonth.parse(label));
+                } catch (DateTimeParseException e) {
+                    return -1;
+                }
+            case BOOKING_STATUS:
+                for (Booking.BookingStatus status : BOOKING_STATUSES) {
+                    if (status.getDisplayName().equalsIgnoreCase(label)) {
+                        return status.ordinal();
+                    }
+                }
+                return -1;
+            default:
+                for (Booking.PaymentStatus status : PAYMENT_STATUSES) {
+                    if (status.getDisplayName().equalsIgnoreCase(label)) {
+                        return status.ordinal();
+                    }
+                }
+                return -1;
+        }
+    }
+
+    static int monthCode(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    static YearMonth monthOf(int code) {
+        return YearMonth.of(Math.floorDiv(code, 12), Math.floorMod(code, 12) + 1);
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
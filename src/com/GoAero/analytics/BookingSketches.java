@@ -0,0 +1,155 @@
+package com.GoAero.analytics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Fixed-size sketches of one month's bookings: distinct travellers (HyperLogLog) and the
+ * busiest routes and airlines (Space-Saving). Memory and the cost of reading them do not
+ * depend on how many bookings were made. Sketches from several instances merge into one.
+ * Not thread-safe.
+ */
+public class BookingSketches {
+
+    // Monitored items; top-N lists are reliable for N well below these
+    public static final int ROUTE_CAPACITY = 200;
+    public static final int AIRLINE_CAPACITY = 100;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final YearMonth month;
+    private Instant startedAt;
+    private final HyperLogLog travellers;
+    private final SpaceSaving routes;
+    private final SpaceSaving airlines;
+
+    public BookingSketches(YearMonth month) {
+        this(month, Instant.now(), new HyperLogLog(), new SpaceSaving(ROUTE_CAPACITY),
+            new SpaceSaving(AIRLINE_CAPACITY));
+    }
+
+    private BookingSketches(YearMonth month, Instant startedAt, HyperLogLog travellers, SpaceSaving routes,
+                            SpaceSaving airlines) {
+        this.month = month;
+        this.startedAt = startedAt;
+        this.travellers = travellers;
+        this.routes = routes;
+        this.airlines = airlines;
+    }
+
+    /**
+     * Counts one booking
+     * @param userId The booking user's ID
+     * @param route The route, e.g. "DEL → BOM"
+     * @param airline The airline's name
+     */
+    public void add(int userId, String route, String airline) {
+        travellers.add(userId);
+        routes.add(route);
+        airlines.add(airline);
+    }
+
+    /**
+     * Adds another instance's sketches of the same month into these
+     * @param other The other sketches
+     */
+    public void merge(BookingSketches other) {
+        if (!other.month.equals(month)) {
+            throw new IllegalArgumentException("Cannot merge " + other.month + " into " + month);
+        }
+        travellers.merge(other.travellers);
+        routes.merge(other.routes);
+        airlines.merge(other.airlines);
+        if (other.startedAt.isBefore(startedAt)) {
+            startedAt = other.startedAt;
+        }
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    /**
+     * Gets when counting started; bookings made earlier in the month are not included
+     * @return The earliest start of the merged sketches
+     */
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public long getBookings() {
+        return routes.getTotal();
+    }
+
+    /**
+     * Estimates the number of distinct users who booked
+     * @return The estimate
+     */
+    public long getUniqueTravellers() {
+        return travellers.estimate();
+    }
+
+    public double getTravellersRelativeError() {
+        return travellers.getRelativeError();
+    }
+
+    public List<SpaceSaving.HeavyHitter> getTopRoutes(int n) {
+        return routes.top(n);
+    }
+
+    public List<SpaceSaving.HeavyHitter> getTopAirlines(int n) {
+        return airlines.top(n);
+    }
+
+    public BookingSketches copy() {
+        return new BookingSketches(month, startedAt, travellers.copy(), routes.copy(), airlines.copy());
+    }
+
+    /**
+     * Serialises the sketches for storage
+     * @return The encoded sketches
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(20_000);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(month.toString());
+            out.writeLong(startedAt.toEpochMilli());
+            travellers.write(out);
+            routes.write(out);
+            airlines.write(out);
+        } catch (IOException e) {
+            // Writing to memory does not fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads sketches written by toBytes
+     * @param data The encoded sketches
+     * @return The sketches
+     * @throws IOException if the data is not valid
+     */
+    public static BookingSketches fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported sketch format version " + version);
+            }
+            YearMonth month = YearMonth.parse(in.readUTF());
+            Instant startedAt = Instant.ofEpochMilli(in.readLong());
+            return new BookingSketches(month, startedAt, HyperLogLog.read(in), SpaceSaving.read(in),
+                SpaceSaving.read(in));
+        } catch (DateTimeParseException e) {
+            throw new IOException("Invalid sketch month", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.GoAero.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for a string column: each distinct value is stored once and rows
+ * hold its int code. Codes are dense and assigned in first-seen order. Not thread-safe;
+ * BookingAnalytics only touches it under its write lock or before publishing a snapshot.
+ */
+final class Dictionary {
+
+    static final String UNKNOWN = "Unknown";
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+
+    /**
+     * Gets the code for a value, adding the value if it is new
+     * @param value The value; null is stored as "Unknown"
+     * @return The code
+     */
+    int encode(String value) {
+        String key = value != null ? value : UNKNOWN;
+        Integer code = codes.get(key);
+        if (code == null) {
+            code = codes.size();
+            if (code == values.length) {
+                values = Arrays.copyOf(values, code * 2);
+            }
+            values[code] = key;
+            codes.put(key, code);
+        }
+        return code;
+    }
+
+    /**
+     * Gets the code for a value without adding it
+     * @param value The value
+     * @return The code, or -1 if the value does not occur
+     */
+    int lookup(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    String decode(int code) {
+        return values[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+}
@@ -0,0 +1,102 @@
+package com.GoAero.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Running sums per group key: an open-addressing hash table from packed long keys to
+ * booking count, booked amount and revenue, all kept in parallel primitive arrays
+ */
+final class GroupAccumulator {
+
+    private static final long EMPTY = -1;
+
+    private long[] keys;
+    private long[] counts;
+    private long[] amounts;
+    private long[] revenues;
+    private int size;
+
+    GroupAccumulator() {
+        allocate(64);
+    }
+
+    void add(long key, long count, long amount, long revenue) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                if ((size + 1) * 2 > keys.length) {
+                    rehash();
+                    add(key, count, amount, revenue);
+                    return;
+                }
+                keys[slot] = key;
+                size++;
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        counts[slot] += count;
+        amounts[slot] += amount;
+        revenues[slot] += revenue;
+    }
+
+    /**
+     * Adds another accumulator's sums into this one
+     * @return This accumulator
+     */
+    GroupAccumulator merge(GroupAccumulator other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != EMPTY) {
+                add(other.keys[slot], other.counts[slot], other.amounts[slot], other.revenues[slot]);
+            }
+        }
+        return this;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Calls the visitor once per group
+     */
+    void forEach(GroupVisitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                visitor.visit(keys[slot], counts[slot], amounts[slot], revenues[slot]);
+            }
+        }
+    }
+
+    interface GroupVisitor {
+        void visit(long key, long count, long amount, long revenue);
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        long[] oldAmounts = amounts;
+        long[] oldRevenues = revenues;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                add(oldKeys[slot], oldCounts[slot], oldAmounts[slot], oldRevenues[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        counts = new long[capacity];
+        amounts = new long[capacity];
+        revenues = new long[capacity];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,70 @@
+package com.GoAero.analytics;
+
+import com.GoAero.model.Booking;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Filters and sums a range of rows, splitting it in half until ranges are small enough to
+ * scan on one fork-join worker, then merging the halves' group sums
+ */
+final class ScanTask extends RecursiveTask<GroupAccumulator> {
+
+    // Rows one worker scans without splitting further
+    private static final int THRESHOLD = 1 << 16;
+
+    private static final int CONFIRMED = Booking.BookingStatus.CONFIRMED.ordinal();
+    private static final int COMPLETED = Booking.PaymentStatus.COMPLETED.ordinal();
+
+    private final BookingColumns columns;
+    private final AnalyticsQuery.Condition[] conditions;
+    private final BookingDimension[] groupBy;
+    private final int from;
+    private final int to;
+
+    ScanTask(BookingColumns columns, AnalyticsQuery.Condition[] conditions, BookingDimension[] groupBy,
+             int from, int to) {
+        this.columns = columns;
+        this.conditions = conditions;
+        this.groupBy = groupBy;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected GroupAccumulator compute() {
+        if (to - from <= THRESHOLD) {
+            return scan();
+        }
+        int middle = (from + to) >>> 1;
+        ScanTask left = new ScanTask(columns, conditions, groupBy, from, middle);
+        ScanTask right = new ScanTask(columns, conditions, groupBy, middle, to);
+        left.fork();
+        GroupAccumulator result = right.compute();
+        return result.merge(left.join());
+    }
+
+    private GroupAccumulator scan() {
+        GroupAccumulator groups = new GroupAccumulator();
+        long[] amounts = columns.amounts;
+        byte[] bookingStatuses = columns.bookingStatuses;
+        byte[] paymentStatuses = columns.paymentStatuses;
+
+        rows:
+        for (int row = from; row < to; row++) {
+            for (AnalyticsQuery.Condition condition : conditions) {
+                if (!condition.matches(columns.code(condition.dimension, row))) {
+                    continue rows;
+                }
+            }
+            long key = 0;
+            for (BookingDimension dimension : groupBy) {
+                key = key << AnalyticsQuery.KEY_BITS | (columns.code(dimension, row) + 1);
+            }
+            long amount = amounts[row];
+            boolean revenue = bookingStatuses[row] == CONFIRMED && paymentStatuses[row] == COMPLETED;
+            groups.add(key, 1, amount, revenue ? amount : 0);
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,232 @@
+package com.GoAero.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving summary of the most frequent items in a stream, in a fixed number of
+ * counters. When every counter is taken, a new item replaces the least-counted one and
+ * inherits its count as the item's possible overcount. Any item occurring more than
+ * total / capacity times is guaranteed to be monitored, and each count is at most the
+ * error above the true one. Summaries merge as described by Agarwal et al., "Mergeable
+ * Summaries" (2012). Not thread-safe.
+ */
+public final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private long total;
+
+    /**
+     * @param capacity Number of items monitored; a few times the number of top items wanted
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Counts one occurrence of an item
+     * @param item The item
+     */
+    public void add(String item) {
+        add(item, 1);
+    }
+
+    /**
+     * Counts occurrences of an item
+     * @param item The item
+     * @param count Number of occurrences
+     */
+    public void add(String item, long count) {
+        total += count;
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += count;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(item, count, 0));
+            return;
+        }
+        // The capacity is small and fixed, so finding the minimum by scanning stays cheap
+        Counter min = null;
+        for (Counter candidate : counters.values()) {
+            if (min == null || candidate.count < min.count) {
+                min = candidate;
+            }
+        }
+        counters.remove(min.item);
+        counters.put(item, new Counter(item, min.count + count, min.count));
+    }
+
+    /**
+     * Adds another summary's counts into this one
+     * @param other The other summary
+     */
+    public void merge(SpaceSaving other) {
+        // An item a full summary does not monitor may have occurred up to its minimum count
+        long thisMin = minimumIfFull();
+        long otherMin = other.minimumIfFull();
+
+        Map<String, Counter> merged = new HashMap<>(counters.size() + other.counters.size());
+        for (Counter counter : counters.values()) {
+            Counter match = other.counters.get(counter.item);
+            merged.put(counter.item, match != null
+                ? new Counter(counter.item, counter.count + match.count, counter.error + match.error)
+                : new Counter(counter.item, counter.count + otherMin, counter.error + otherMin));
+        }
+        for (Counter counter : other.counters.values()) {
+            if (!counters.containsKey(counter.item)) {
+                merged.put(counter.item, new Counter(counter.item, counter.count + thisMin, counter.error + thisMin));
+            }
+        }
+
+        List<Counter> sorted = new ArrayList<>(merged.values());
+        sorted.sort(Comparator.comparingLong((Counter c) -> c.count).reversed());
+        counters.clear();
+        for (Counter counter : sorted.subList(0, Math.min(capacity, sorted.size()))) {
+            counters.put(counter.item, counter);
+        }
+        total += other.total;
+    }
+
+    /**
+     * Gets the most frequent items, most frequent first
+     * @param n Maximum number of items
+     * @return The items with their estimated counts
+     */
+    public List<HeavyHitter> top(int n) {
+        List<Counter> sorted = new ArrayList<>(counters.values());
+        sorted.sort(Comparator.comparingLong((Counter c) -> c.count).reversed()
+            .thenComparing(c -> c.item));
+        List<HeavyHitter> top = new ArrayList<>(Math.min(n, sorted.size()));
+        for (Counter counter : sorted.subList(0, Math.min(n, sorted.size()))) {
+            top.add(new HeavyHitter(counter.item, counter.count, counter.error));
+        }
+        return top;
+    }
+
+    /**
+     * Gets the number of occurrences counted, monitored or not
+     * @return The total
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public SpaceSaving copy() {
+        SpaceSaving copy = new SpaceSaving(capacity);
+        for (Counter counter : counters.values()) {
+            copy.counters.put(counter.item, new Counter(counter.item, counter.count, counter.error));
+        }
+        copy.total = total;
+        return copy;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeLong(total);
+        out.writeInt(counters.size());
+        for (Counter counter : counters.values()) {
+            out.writeUTF(counter.item);
+            out.writeLong(counter.count);
+            out.writeLong(counter.error);
+        }
+    }
+
+    static SpaceSaving read(DataInput in) throws IOException {
+        int capacity = in.readInt();
+        long total = in.readLong();
+        int size = in.readInt();
+        if (capacity < 1 || size < 0 || size > capacity) {
+            throw new IOException("Invalid Space-Saving summary (capacity " + capacity + ", size " + size + ")");
+        }
+        SpaceSaving summary = new SpaceSaving(capacity);
+        for (int i = 0; i < size; i++) {
+            String item = in.readUTF();
+            summary.counters.put(item, new Counter(item, in.readLong(), in.readLong()));
+        }
+        summary.total = total;
+        return summary;
+    }
+
+    private long minimumIfFull() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (Counter counter : counters.values()) {
+            min = Math.min(min, counter.count);
+        }
+        return min;
+    }
+
+    private static final class Counter {
+        final String item;
+        long count;
+        final long error;
+
+        Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * A frequent item with its estimated count
+     */
+    public static class HeavyHitter {
+        private final String item;
+        private final long count;
+        private final long error;
+
+        HeavyHitter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getItem() {
+            return item;
+        }
+
+        /**
+         * Gets the estimated count, which never undercounts
+         * @return The count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets how far the count may exceed the true count
+         * @return The maximum overcount
+         */
+        public long getError() {
+            return error;
+        }
+
+        /**
+         * Gets the count the item is certain to have reached
+         * @return count - error
+         */
+        public long getGuaranteedCount() {
+            return count - error;
+        }
+    }
+}
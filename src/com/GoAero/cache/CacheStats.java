@@ -0,0 +1,96 @@
+package com.GoAero.cache;
+
+import com.GoAero.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for a single entity cache
+ */
+public class CacheStats {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LatencyHistogram loadTime = new LatencyHistogram();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * Records a load from the database
+     * @param nanos Time taken by the loader
+     * @param failed true if the loader threw
+     */
+    void recordLoad(long nanos, boolean failed) {
+        loadTime.record(nanos);
+        if (failed) {
+            loadFailures.increment();
+        }
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    void recordExpiration() {
+        expirations.increment();
+    }
+
+    void recordInvalidations(long count) {
+        invalidations.add(count);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups served from the cache
+     * @return Hit ratio between 0 and 1, or 0 if there were no lookups
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public long getLoadCount() {
+        return loadTime.getCount();
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    public LatencyHistogram getLoadTime() {
+        return loadTime;
+    }
+
+    /**
+     * Gets the number of entries evicted to stay within the size bound
+     * @return Eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+}
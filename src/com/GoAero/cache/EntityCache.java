@@ -0,0 +1,65 @@
+package com.GoAero.cache;
+
+import java.util.function.Function;
+
+/**
+ * Second-level cache of entities by key, sitting behind a DAO.
+ * DAOs read through it with get(key, loader) and invalidate keys after every write;
+ * other code can use get, put and invalidate directly (cache-aside). Implementations
+ * are thread-safe and hand out copies, so callers may modify what they get back.
+ * @param <K> Key type
+ * @param <V> Entity type
+ */
+public interface EntityCache<K, V> {
+
+    /**
+     * Gets a cached entity without loading it
+     * @param key The key
+     * @return A copy of the cached entity, or null if absent or expired
+     */
+    V get(K key);
+
+    /**
+     * Gets a cached entity, loading and caching it on a miss. Concurrent misses on the
+     * same key share a single load. Null results are not cached.
+     * @param key The key
+     * @param loader Loads the entity from the database; may return null
+     * @return The entity, or null if the loader found none
+     */
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    /**
+     * Caches an entity, replacing any cached value for the key
+     * @param key The key
+     * @param value The entity; a copy is stored
+     */
+    void put(K key, V value);
+
+    /**
+     * Removes a key. Call after the entity was written so the next read reloads it;
+     * a load of the key already in progress is not cached.
+     * @param key The key
+     */
+    void invalidate(K key);
+
+    /**
+     * Removes every entry
+     */
+    void invalidateAll();
+
+    String getName();
+
+    /**
+     * Gets the number of cached entries
+     * @return Entry count (may include expired entries not yet removed)
+     */
+    long size();
+
+    /**
+     * Gets the maximum number of entries
+     * @return The bound, or 0 if this cache does not store anything
+     */
+    long getMaximumSize();
+
+    CacheStats getStats();
+}
@@ -0,0 +1,144 @@
+package com.GoAero.cache;
+
+import com.GoAero.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Creates and tracks the entity caches used by the DAOs.
+ * Each cache is sized with -Dgoaero.cache.&lt;name&gt;.maxSize and
+ * -Dgoaero.cache.&lt;name&gt;.ttlSeconds; -Dgoaero.cache.enabled=false (or a size or TTL
+ * of 0) replaces it with a cache that always goes to the database.
+ */
+public class EntityCaches {
+
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("goaero.cache.enabled", "true"));
+
+    private static final ConcurrentMap<String, EntityCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    private EntityCaches() {}
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Creates a cache configured from system properties and registers it for metrics
+     * @param name Cache name, e.g. "flights"
+     * @param defaultMaxSize Maximum entries unless overridden
+     * @param defaultTtlSeconds Entry lifetime unless overridden
+     * @param copier Copies an entity so cached instances are never shared with callers
+     * @return The cache
+     */
+    public static <K, V> EntityCache<K, V> create(String name, long defaultMaxSize, long defaultTtlSeconds,
+                                                  UnaryOperator<V> copier) {
+        long maxSize = Long.getLong("goaero.cache." + name + ".maxSize", defaultMaxSize);
+        long ttlSeconds = Long.getLong("goaero.cache." + name + ".ttlSeconds", defaultTtlSeconds);
+        EntityCache<K, V> cache = ENABLED && maxSize > 0 && ttlSeconds > 0
+            ? new TinyLfuCache<>(name, maxSize, Duration.ofSeconds(ttlSeconds), copier)
+            : new PassThroughCache<>(name);
+        caches.put(name, cache);
+        return cache;
+    }
+
+    /**
+     * Gets all registered caches sorted by name
+     * @return List of caches
+     */
+    public static List<EntityCache<?, ?>> getCaches() {
+        return new ArrayList<>(caches.values());
+    }
+
+    /**
+     * Empties every cache, e.g. after the database was changed outside the application
+     */
+    public static void invalidateAll() {
+        caches.values().forEach(EntityCache::invalidateAll);
+    }
+
+    /**
+     * Renders cache metrics in the Prometheus text exposition format (version 0.0.4)
+     * @return The exposition text
+     */
+    public static String toPrometheusText() {
+        List<EntityCache<?, ?>> list = getCaches();
+        StringBuilder out = new StringBuilder(2048);
+
+        out.append("# HELP goaero_cache_requests_total Entity cache lookups by result\n");
+        out.append("# TYPE goaero_cache_requests_total counter\n");
+        for (EntityCache<?, ?> cache : list) {
+            appendSample(out, "goaero_cache_requests_total", cache.getName(), "result", "hit",
+                cache.getStats().getHitCount());
+            appendSample(out, "goaero_cache_requests_total", cache.getName(), "result", "miss",
+                cache.getStats().getMissCount());
+        }
+
+        out.append("# HELP goaero_cache_removals_total Entries removed from an entity cache by cause\n");
+        out.append("# TYPE goaero_cache_removals_total counter\n");
+        for (EntityCache<?, ?> cache : list) {
+            CacheStats stats = cache.getStats();
+            appendSample(out, "goaero_cache_removals_total", cache.getName(), "cause", "size",
+                stats.getEvictionCount());
+            appendSample(out, "goaero_cache_removals_total", cache.getName(), "cause", "expired",
+                stats.getExpirationCount());
+            appendSample(out, "goaero_cache_removals_total", cache.getName(), "cause", "invalidated",
+                stats.getInvalidationCount());
+        }
+
+        out.append("# HELP goaero_cache_load_failures_total Cache loads that threw\n");
+        out.append("# TYPE goaero_cache_load_failures_total counter\n");
+        for (EntityCache<?, ?> cache : list) {
+            appendSample(out, "goaero_cache_load_failures_total", cache.getName(), null, null,
+                cache.getStats().getLoadFailureCount());
+        }
+
+        out.append("# HELP goaero_cache_entries Entries currently held by an entity cache\n");
+        out.append("# TYPE goaero_cache_entries gauge\n");
+        for (EntityCache<?, ?> cache : list) {
+            appendSample(out, "goaero_cache_entries", cache.getName(), null, null, cache.size());
+        }
+
+        out.append("# HELP goaero_cache_max_entries Maximum entries of an entity cache\n");
+        out.append("# TYPE goaero_cache_max_entries gauge\n");
+        for (EntityCache<?, ?> cache : list) {
+            appendSample(out, "goaero_cache_max_entries", cache.getName(), null, null, cache.getMaximumSize());
+        }
+
+        out.append("# HELP goaero_cache_load_seconds Time spent loading entities on cache misses\n");
+        out.append("# TYPE goaero_cache_load_seconds histogram\n");
+        for (EntityCache<?, ?> cache : list) {
+            LatencyHistogram h = cache.getStats().getLoadTime();
+            for (int i = 0; i < LatencyHistogram.getBucketCount(); i++) {
+                appendSample(out, "goaero_cache_load_seconds_bucket", cache.getName(), "le",
+                    formatSeconds(LatencyHistogram.getBoundNanos(i)), h.getCumulativeCount(i));
+            }
+            long count = h.getCount();
+            appendSample(out, "goaero_cache_load_seconds_bucket", cache.getName(), "le", "+Inf", count);
+            out.append("goaero_cache_load_seconds_sum{cache=\"").append(cache.getName()).append("\"} ")
+               .append(formatSeconds(h.getSumNanos())).append('\n');
+            appendSample(out, "goaero_cache_load_seconds_count", cache.getName(), null, null, count);
+        }
+
+        return out.toString();
+    }
+
+    private static void appendSample(StringBuilder out, String metric, String cache, String label,
+                                     String labelValue, long value) {
+        out.append(metric).append("{cache=\"").append(cache).append('"');
+        if (label != null) {
+            out.append(',').append(label).append("=\"").append(labelValue).append('"');
+        }
+        out.append("} ").append(value).append('\n');
+    }
+
+    private static String formatSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1_000_000_000.0);
+    }
+}
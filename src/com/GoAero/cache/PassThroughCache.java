@@ -0,0 +1,72 @@
+package com.GoAero.cache;
+
+import java.util.function.Function;
+
+/**
+ * Cache that stores nothing, used when caching is switched off. Every lookup is a miss
+ * and goes to the loader, which is still timed so load latency stays observable.
+ */
+class PassThroughCache<K, V> implements EntityCache<K, V> {
+
+    private final String name;
+    private final CacheStats stats = new CacheStats();
+
+    PassThroughCache(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public V get(K key) {
+        stats.recordMiss();
+        return null;
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        stats.recordMiss();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            V value = loader.apply(key);
+            failed = false;
+            return value;
+        } finally {
+            stats.recordLoad(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        // Nothing is stored
+    }
+
+    @Override
+    public void invalidate(K key) {
+        // Nothing is stored
+    }
+
+    @Override
+    public void invalidateAll() {
+        // Nothing is stored
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long size() {
+        return 0;
+    }
+
+    @Override
+    public long getMaximumSize() {
+        return 0;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,440 @@
+package com.GoAero.cache;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded entity cache with W-TinyLFU eviction and expire-after-write.
+ * New entries go into a small LRU window. Entries pushed out of the window compete with
+ * the least recently used entry of the main segmented LRU (probation and protected
+ * segments), and a frequency sketch decides which of the two has been used less and is
+ * evicted. A burst of one-off lookups therefore cannot flush the hot entries.
+ *
+ * Lookups do not lock: they read a ConcurrentHashMap and queue the access, and queued
+ * accesses are replayed into the eviction policy by whichever thread next gets the
+ * eviction lock. The queue is lossy under heavy load, which only makes the policy
+ * slightly less precise. Inserts and removals update the map and the policy together
+ * under the lock.
+ * @param <K> Key type
+ * @param <V> Entity type
+ */
+public class TinyLfuCache<K, V> implements EntityCache<K, V> {
+
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+    // Readers try to replay queued accesses once this many have built up
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+    // Accesses beyond this are dropped until the queue is drained
+    private static final int READ_BUFFER_MAX = 512;
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = 3;
+
+    private final String name;
+    private final long maximumSize;
+    private final long ttlNanos;
+    private final UnaryOperator<V> copier;
+    private final CacheStats stats = new CacheStats();
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    private final Queue<Node<K, V>> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readBufferSize = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // Guarded by evictionLock
+    private final FrequencySketch sketch;
+    private final NodeList<K, V> window = new NodeList<>();
+    private final NodeList<K, V> probation = new NodeList<>();
+    private final NodeList<K, V> protectedSegment = new NodeList<>();
+    private final long windowMaximum;
+    private final long protectedMaximum;
+
+    /**
+     * Creates a cache
+     * @param name Cache name used in metrics
+     * @param maximumSize Maximum number of entries
+     * @param ttl How long an entry may be served after it was loaded or put
+     * @param copier Copies an entity; applied on the way in and on the way out
+     */
+    public TinyLfuCache(String name, long maximumSize, Duration ttl, UnaryOperator<V> copier) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.copier = copier;
+        this.sketch = new FrequencySketch(maximumSize);
+        this.windowMaximum = Math.max(1, maximumSize * WINDOW_PERCENT / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * PROTECTED_PERCENT / 100;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getLive(key);
+        if (node == null) {
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit();
+        return copier.apply(node.value);
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Node<K, V> node = getLive(key);
+        if (node != null) {
+            stats.recordHit();
+            return copier.apply(node.value);
+        }
+        stats.recordMiss();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            // Another thread is already loading this key; share its result
+            V shared = await(inFlight);
+            return shared != null ? copier.apply(shared) : null;
+        }
+
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            stats.recordLoad(System.nanoTime() - start, true);
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+        stats.recordLoad(System.nanoTime() - start, false);
+
+        evictionLock.lock();
+        try {
+            // If the key was invalidated while loading, the value may predate that write;
+            // hand it to this caller but do not cache it
+            if (loads.remove(key, load) && value != null) {
+                insert(key, value);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        load.complete(value);
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        evictionLock.lock();
+        try {
+            // A load already in progress may have read an older row
+            loads.remove(key);
+            insert(key, value);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        evictionLock.lock();
+        try {
+            loads.remove(key);
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+                stats.recordInvalidations(1);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            loads.clear();
+            for (Node<K, V> node : data.values()) {
+                node.queue = REMOVED;
+            }
+            stats.recordInvalidations(data.size());
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long size() {
+        return data.size();
+    }
+
+    @Override
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    private Node<K, V> getLive(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (System.nanoTime() - node.expiresAt >= 0) {
+            evictionLock.lock();
+            try {
+                if (data.remove(key, node)) {
+                    unlink(node);
+                    stats.recordExpiration();
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+            return null;
+        }
+        recordRead(node);
+        return node;
+    }
+
+    private void recordRead(Node<K, V> node) {
+        if (readBufferSize.get() < READ_BUFFER_MAX) {
+            readBuffer.offer(node);
+            if (readBufferSize.incrementAndGet() < READ_BUFFER_DRAIN_THRESHOLD) {
+                return;
+            }
+        }
+        if (evictionLock.tryLock()) {
+            try {
+                drainReads();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    // The methods below are called with evictionLock held
+
+    private void insert(K key, V value) {
+        drainReads();
+        Node<K, V> node = new Node<>(key, copier.apply(value), System.nanoTime() + ttlNanos);
+        Node<K, V> previous = data.put(key, node);
+        if (previous != null) {
+            unlink(previous);
+        }
+        node.queue = WINDOW;
+        window.addLast(node);
+        sketch.increment(key);
+        expireOldest();
+        evict();
+    }
+
+    private void drainReads() {
+        for (int i = 0; i < READ_BUFFER_MAX; i++) {
+            Node<K, V> node = readBuffer.poll();
+            if (node == null) {
+                return;
+            }
+            readBufferSize.decrementAndGet();
+            onAccess(node);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == REMOVED) {
+            return;
+        }
+        sketch.increment(node.key);
+        if (node.queue == WINDOW) {
+            window.moveToBack(node);
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedSegment.addLast(node);
+            while (protectedSegment.size > protectedMaximum) {
+                Node<K, V> demoted = protectedSegment.pollFirst();
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            protectedSegment.moveToBack(node);
+        }
+    }
+
+    private void evict() {
+        while (window.size > windowMaximum) {
+            Node<K, V> candidate = window.pollFirst();
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+        }
+        while (window.size + probation.size + protectedSegment.size > maximumSize) {
+            // The newest probation entry has just left the window; it is admitted to the main
+            // space only if it is used more often than the entry that would make room for it
+            Node<K, V> candidate = probation.last;
+            Node<K, V> victim = probation.first;
+            if (victim == candidate) {
+                victim = protectedSegment.first;
+            }
+            Node<K, V> evicted;
+            if (candidate == null) {
+                evicted = victim != null ? victim : window.first;
+            } else if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                evicted = candidate;
+            } else {
+                evicted = victim;
+            }
+            data.remove(evicted.key, evicted);
+            unlink(evicted);
+            stats.recordEviction();
+        }
+    }
+
+    /**
+     * Drops expired entries from the cold end of each segment. Entries are ordered by
+     * access rather than by write time, so this is a best effort; anything it misses is
+     * removed when next read or when evicted.
+     */
+    private void expireOldest() {
+        long now = System.nanoTime();
+        expireOldest(window, now);
+        expireOldest(probation, now);
+        expireOldest(protectedSegment, now);
+    }
+
+    private void expireOldest(NodeList<K, V> list, long now) {
+        Node<K, V> node;
+        while ((node = list.first) != null && now - node.expiresAt >= 0) {
+            data.remove(node.key, node);
+            unlink(node);
+            stats.recordExpiration();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedSegment.remove(node);
+                break;
+            default:
+                break;
+        }
+        node.queue = REMOVED;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final long expiresAt;
+        int queue = REMOVED;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Intrusive doubly-linked list in access order, least recently used first
+     */
+    private static final class NodeList<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+        long size;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+            size = 0;
+        }
+    }
+}
@@ -5,7 +5,9 @@ import com.GoAero.model.Airport;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object for Airport entity
@@ -40,6 +42,16 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
         "SELECT airport_id, airport_code, airport_name, city, country FROM airports " +
         "WHERE airport_code LIKE ? OR airport_name LIKE ? OR city LIKE ? OR country LIKE ? " +
         "ORDER BY airport_code";
+    
+    private static final String SELECT_ALL_CODES = 
+        "SELECT airport_code FROM airports";
+    
+    private static final String UPSERT_AIRPORT = 
+        "INSERT INTO airports (airport_code, airport_name, city, country) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE airport_name = VALUES(airport_name), city = VALUES(city), country = VALUES(country)";
+
+    // Last airport list read successfully, served while the database is unavailable
+    private static volatile List<Airport> lastKnownAirports;
 
     @Override
     public Airport create(Airport airport) {
@@ -69,7 +81,14 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
 
     @Override
     public Airport findById(Integer id) {
-        try (Connection conn = DBConnection.getConnection();
+        if (DBConnection.isCircuitOpen()) {
+            Airport cached = findCachedById(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_AIRPORT_BY_ID)) {
             
             stmt.setInt(1, id);
@@ -81,28 +100,68 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return findCachedById(id);
         }
         return null;
     }
 
+    /**
+     * Finds all airports. While the database is unavailable the last list read
+     * successfully is returned instead of an empty list.
+     * @return List of all airports
+     */
     @Override
     public List<Airport> findAll() {
+        if (DBConnection.isCircuitOpen() && lastKnownAirports != null) {
+            return copyOf(lastKnownAirports);
+        }
+
         List<Airport> airports = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_AIRPORTS);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
                 airports.add(mapResultSetToAirport(rs));
             }
+            lastKnownAirports = copyOf(airports);
         } catch (SQLException e) {
             e.printStackTrace();
+            if (lastKnownAirports != null) {
+                return copyOf(lastKnownAirports);
+            }
         }
         
         return airports;
     }
 
+    private Airport findCachedById(int id) {
+        List<Airport> cached = lastKnownAirports;
+        if (cached != null) {
+            for (Airport airport : cached) {
+                if (airport.getAirportId() == id) {
+                    return copyOf(airport);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Callers may edit the airports they get back, so the cache hands out copies
+    private static List<Airport> copyOf(List<Airport> airports) {
+        List<Airport> copy = new ArrayList<>(airports.size());
+        for (Airport airport : airports) {
+            copy.add(copyOf(airport));
+        }
+        return copy;
+    }
+
+    private static Airport copyOf(Airport airport) {
+        return new Airport(airport.getAirportId(), airport.getAirportCode(), airport.getAirportName(),
+            airport.getCity(), airport.getCountry());
+    }
+
     @Override
     public boolean update(Airport airport) {
         try (Connection conn = DBConnection.getConnection();
@@ -117,6 +176,9 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            // Cached flights carry airport codes, names and cities
+            FlightDAO.getCache().invalidateAll();
         }
         return false;
     }
@@ -130,6 +192,8 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            FlightDAO.getCache().invalidateAll();
         }
         return false;
     }
@@ -141,7 +205,7 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
 
     @Override
     public long count() {
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(COUNT_AIRPORTS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -160,7 +224,7 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
      * @return The airport if found, null otherwise
      */
     public Airport findByCode(String code) {
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_AIRPORT_BY_CODE)) {
             
             stmt.setString(1, code);
@@ -217,7 +281,7 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
     public List<Airport> searchAirports(String searchTerm) {
         List<Airport> airports = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SEARCH_AIRPORTS)) {
             
             String searchPattern = "%" + searchTerm + "%";
@@ -246,7 +310,7 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
     public List<Airport> findByCity(String city) {
         List<Airport> airports = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(
                  "SELECT airport_id, airport_code, airport_name, city, country FROM airports WHERE city = ? ORDER BY airport_code")) {
             
@@ -272,7 +336,7 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
     public List<Airport> findByCountry(String country) {
         List<Airport> airports = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(
                  "SELECT airport_id, airport_code, airport_name, city, country FROM airports WHERE country = ? ORDER BY city, airport_code")) {
             
@@ -290,6 +354,82 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
         return airports;
     }
 
+    /**
+     * Loads every airport code currently stored, used to deduplicate bulk imports
+     * without issuing one lookup per row
+     * @return Set of airport codes (uppercase as stored)
+     */
+    public Set<String> findAllCodes() {
+        Set<String> codes = new HashSet<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_CODES);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                codes.add(rs.getString(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        return codes;
+    }
+
+    /**
+     * Inserts or updates airports in JDBC batches keyed on the unique airport code.
+     * Each batch is committed on its own so a failure only rolls back that batch.
+     * @param airports The airports to upsert
+     * @param batchSize Number of rows sent per batch
+     * @return Number of airports committed (less than the list size if a batch failed)
+     */
+    public int upsertBatch(List<Airport> airports, int batchSize) {
+        if (airports.isEmpty()) {
+            return 0;
+        }
+        
+        int written = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_AIRPORT)) {
+            
+            conn.setAutoCommit(false);
+            try {
+                int pending = 0;
+                for (Airport airport : airports) {
+                    stmt.setString(1, airport.getAirportCode());
+                    stmt.setString(2, airport.getAirportName());
+                    stmt.setString(3, airport.getCity());
+                    stmt.setString(4, airport.getCountry());
+                    stmt.addBatch();
+                    
+                    if (++pending == batchSize) {
+                        stmt.executeBatch();
+                        conn.commit();
+                        written += pending;
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    stmt.executeBatch();
+                    conn.commit();
+                    written += pending;
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            if (written > 0) {
+                FlightDAO.getCache().invalidateAll();
+            }
+        }
+        return written;
+    }
+
     /**
      * Maps a ResultSet row to an Airport object
      * @param rs The ResultSet
@@ -0,0 +1,258 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Data Access Object for moving completed trips from the partitioned bookings table to
+ * bookings_archive, and for maintaining the monthly partitions of bookings
+ */
+public class BookingArchiveDAO {
+
+    private static final String BOOKING_COLUMNS =
+        "booking_id, user_id, flight_id, departure_airport_id, destination_airport_id, " +
+        "departure_time, destination_time, PNR, date_of_departure, date_of_destination, " +
+        "date_of_booking, amount, payment_status, booking_status, idempotency_key, record_locator, seat_number";
+
+    // Partition pruning on date_of_departure keeps the scan to the oldest partitions
+    private static final String LOCK_ARCHIVABLE_BATCH =
+        "SELECT booking_id FROM bookings WHERE date_of_departure < ? AND date_of_destination < ? " +
+        "ORDER BY date_of_departure, booking_id LIMIT ? FOR UPDATE";
+
+    private static final String COPY_TO_ARCHIVE =
+        "INSERT INTO bookings_archive (" + BOOKING_COLUMNS + ") " +
+        "SELECT " + BOOKING_COLUMNS + " FROM bookings WHERE date_of_departure < ? AND booking_id IN (%s)";
+
+    private static final String DELETE_ARCHIVED =
+        "DELETE FROM bookings WHERE date_of_departure < ? AND booking_id IN (%s)";
+
+    private static final String SELECT_PARTITIONS =
+        "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'bookings' AND PARTITION_NAME IS NOT NULL " +
+        "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private static final String COUNT_PARTITION_ROWS =
+        "SELECT COUNT(*) FROM bookings PARTITION (%s)";
+
+    private static final String COUNT_ARCHIVED =
+        "SELECT COUNT(*) FROM bookings_archive";
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    /**
+     * Moves up to batchSize completed trips that departed before the cutoff into
+     * bookings_archive, in one short transaction
+     * @param cutoff Trips departing and arriving before this date are archived
+     * @param batchSize Maximum rows to move
+     * @return Number of rows moved, or -1 if the batch failed
+     */
+    public int archiveBatch(LocalDate cutoff, int batchSize) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> ids = new ArrayList<>(batchSize);
+                try (PreparedStatement stmt = conn.prepareStatement(LOCK_ARCHIVABLE_BATCH)) {
+                    stmt.setDate(1, Date.valueOf(cutoff));
+                    stmt.setDate(2, Date.valueOf(cutoff));
+                    stmt.setInt(3, batchSize);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt(1));
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+
+                String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+                try (PreparedStatement copy = conn.prepareStatement(String.format(COPY_TO_ARCHIVE, placeholders));
+                     PreparedStatement delete = conn.prepareStatement(String.format(DELETE_ARCHIVED, placeholders))) {
+                    bindBatch(copy, cutoff, ids);
+                    bindBatch(delete, cutoff, ids);
+                    int copied = copy.executeUpdate();
+                    int deleted = delete.executeUpdate();
+                    if (copied != ids.size() || deleted != ids.size()) {
+                        conn.rollback();
+                        return -1;
+                    }
+                }
+                conn.commit();
+                return ids.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    private void bindBatch(PreparedStatement stmt, LocalDate cutoff, List<Integer> ids) throws SQLException {
+        stmt.setDate(1, Date.valueOf(cutoff));
+        for (int i = 0; i < ids.size(); i++) {
+            stmt.setInt(i + 2, ids.get(i));
+        }
+    }
+
+    /**
+     * Splits the catch-all partition so that monthly partitions exist through the given month
+     * @param through Last month that must have its own partition
+     * @return Number of partitions added
+     */
+    public int ensureMonthlyPartitions(YearMonth through) {
+        List<BookingPartition> partitions = findPartitions();
+        YearMonth next = null;
+        for (BookingPartition partition : partitions) {
+            if (partition.upperBound != null) {
+                next = YearMonth.from(partition.upperBound);
+            }
+        }
+        if (next == null || partitions.stream().noneMatch(p -> FUTURE_PARTITION.equals(p.name))) {
+            return 0;
+        }
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = next; !month.isAfter(through); month = month.plusMonths(1)) {
+            definitions.add(String.format("PARTITION %s VALUES LESS THAN ('%s')",
+                month.format(PARTITION_NAME), month.plusMonths(1).atDay(1)));
+        }
+        if (definitions.isEmpty()) {
+            return 0;
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+
+        String sql = "ALTER TABLE bookings REORGANIZE PARTITION " + FUTURE_PARTITION +
+            " INTO (" + String.join(", ", definitions) + ")";
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+            return definitions.size() - 1;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Drops partitions that lie entirely before the cutoff and hold no rows (i.e. have been archived)
+     * @param cutoff The archival cutoff date
+     * @return Number of partitions dropped
+     */
+    public int dropArchivedPartitions(LocalDate cutoff) {
+        List<BookingPartition> partitions = findPartitions();
+        int dropped = 0;
+        // Always keep at least one bounded partition so new ones can be derived from it
+        for (int i = 0; i < partitions.size() - 2; i++) {
+            BookingPartition partition = partitions.get(i);
+            if (partition.upperBound == null || partition.upperBound.isAfter(cutoff)) {
+                break;
+            }
+            try (Connection conn = DBConnection.getConnection()) {
+                // TABLE_ROWS is an estimate; confirm the partition is really empty
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(String.format(COUNT_PARTITION_ROWS, partition.name))) {
+                    if (!rs.next() || rs.getLong(1) > 0) {
+                        break;
+                    }
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("ALTER TABLE bookings DROP PARTITION " + partition.name);
+                    dropped++;
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                break;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Lists the partitions of bookings in order
+     * @return Partitions, empty if the table is not partitioned
+     */
+    public List<BookingPartition> findPartitions() {
+        List<BookingPartition> partitions = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PARTITIONS);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                String description = rs.getString("PARTITION_DESCRIPTION");
+                LocalDate upperBound = null;
+                if (description != null && !"MAXVALUE".equalsIgnoreCase(description)) {
+                    upperBound = LocalDate.parse(description.replace("'", ""));
+                }
+                partitions.add(new BookingPartition(rs.getString("PARTITION_NAME"), upperBound,
+                    rs.getLong("TABLE_ROWS")));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Counts archived bookings
+     * @return Number of rows in bookings_archive
+     */
+    public long countArchived() {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_ARCHIVED);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * A range partition of the bookings table
+     */
+    public static class BookingPartition {
+        private final String name;
+        private final LocalDate upperBound;
+        private final long estimatedRows;
+
+        BookingPartition(String name, LocalDate upperBound, long estimatedRows) {
+            this.name = name;
+            this.upperBound = upperBound;
+            this.estimatedRows = estimatedRows;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the exclusive upper bound of departure dates in this partition
+         * @return The bound, or null for the MAXVALUE partition
+         */
+        public LocalDate getUpperBound() {
+            return upperBound;
+        }
+
+        public long getEstimatedRows() {
+            return estimatedRows;
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.GoAero.dao;
 
 import com.GoAero.db.DBConnection;
+import com.GoAero.event.BookingStatusChanged;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.PaymentStatusChanged;
 import com.GoAero.model.Booking;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object for Booking entity
@@ -15,13 +21,14 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     private static final String INSERT_BOOKING = 
         "INSERT INTO bookings (user_id, flight_id, departure_airport_id, destination_airport_id, " +
         "departure_time, destination_time, PNR, date_of_departure, date_of_destination, " +
-        "amount, payment_status, booking_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        "amount, payment_status, booking_status, idempotency_key, record_locator) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     
     private static final String SELECT_BOOKING_BY_ID = 
         "SELECT b.booking_id, b.user_id, b.flight_id, b.departure_airport_id, b.destination_airport_id, " +
         "b.departure_time, b.destination_time, b.PNR, b.date_of_departure, b.date_of_destination, " +
-        "b.date_of_booking, b.amount, b.payment_status, b.booking_status, " +
-        "u.first_name, u.last_name, u.email, " +
+        "b.date_of_booking, b.amount, b.payment_status, b.booking_status, b.idempotency_key, b.record_locator, " +
+        "b.seat_number, u.first_name, u.last_name, u.email, " +
         "fd.flight_code, fd.flight_name, fo.company_name, " +
         "da.airport_code as dep_code, da.city as dep_city, " +
         "dest.airport_code as dest_code, dest.city as dest_city " +
@@ -36,8 +43,8 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     private static final String SELECT_ALL_BOOKINGS = 
         "SELECT b.booking_id, b.user_id, b.flight_id, b.departure_airport_id, b.destination_airport_id, " +
         "b.departure_time, b.destination_time, b.PNR, b.date_of_departure, b.date_of_destination, " +
-        "b.date_of_booking, b.amount, b.payment_status, b.booking_status, " +
-        "u.first_name, u.last_name, u.email, " +
+        "b.date_of_booking, b.amount, b.payment_status, b.booking_status, b.idempotency_key, b.record_locator, " +
+        "b.seat_number, u.first_name, u.last_name, u.email, " +
         "fd.flight_code, fd.flight_name, fo.company_name, " +
         "da.airport_code as dep_code, da.city as dep_city, " +
         "dest.airport_code as dest_code, dest.city as dest_city " +
@@ -63,8 +70,8 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     private static final String SELECT_BOOKING_BY_PNR = 
         "SELECT b.booking_id, b.user_id, b.flight_id, b.departure_airport_id, b.destination_airport_id, " +
         "b.departure_time, b.destination_time, b.PNR, b.date_of_departure, b.date_of_destination, " +
-        "b.date_of_booking, b.amount, b.payment_status, b.booking_status, " +
-        "u.first_name, u.last_name, u.email, " +
+        "b.date_of_booking, b.amount, b.payment_status, b.booking_status, b.idempotency_key, b.record_locator, " +
+        "b.seat_number, u.first_name, u.last_name, u.email, " +
         "fd.flight_code, fd.flight_name, fo.company_name, " +
         "da.airport_code as dep_code, da.city as dep_city, " +
         "dest.airport_code as dest_code, dest.city as dest_city " +
@@ -75,24 +82,113 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         "JOIN airports da ON b.departure_airport_id = da.airport_id " +
         "JOIN airports dest ON b.destination_airport_id = dest.airport_id " +
         "WHERE b.PNR = ?";
+    
+    private static final String SELECT_BOOKING_BY_IDEMPOTENCY_KEY = 
+        SELECT_ALL_BOOKINGS.replace("ORDER BY b.date_of_booking DESC", "WHERE b.idempotency_key = ?");
+    
+    private static final String SELECT_BOOKINGS_BY_RECORD_LOCATOR = 
+        SELECT_ALL_BOOKINGS.replace("ORDER BY b.date_of_booking DESC", "WHERE b.record_locator = ? ORDER BY b.PNR");
+    
+    // Archived bookings keep their PNRs and locators, so uniqueness checks cover both tables
+    private static final String CHECK_LOCATOR_IN_USE = 
+        "SELECT (SELECT COUNT(*) FROM bookings WHERE record_locator = ? OR PNR = ?) + " +
+        "(SELECT COUNT(*) FROM bookings_archive WHERE record_locator = ? OR PNR = ?)";
+    
+    private static final String CHECK_PNR_IN_USE = 
+        "SELECT EXISTS (SELECT 1 FROM bookings WHERE PNR = ?) OR EXISTS (SELECT 1 FROM bookings_archive WHERE PNR = ?)";
+    
+    private static final String SELECT_ARCHIVED_BOOKINGS = 
+        SELECT_ALL_BOOKINGS.replace("FROM bookings b", "FROM bookings_archive b")
+            .replace(" ORDER BY b.date_of_booking DESC", "");
+    
+    private static final String SELECT_ALL_BOOKINGS_WITH_ARCHIVE = 
+        "(" + SELECT_ALL_BOOKINGS.replace(" ORDER BY b.date_of_booking DESC", "") + ") UNION ALL (" +
+        SELECT_ARCHIVED_BOOKINGS + ") ORDER BY date_of_booking DESC";
+    
+    // Exports read in storage order, so the server does not sort every booking first
+    private static final String SELECT_BOOKINGS_FOR_EXPORT = 
+        SELECT_ALL_BOOKINGS.replace(" ORDER BY b.date_of_booking DESC", "");
+    
+    private static final String SELECT_BOOKINGS_FOR_EXPORT_WITH_ARCHIVE = 
+        SELECT_BOOKINGS_FOR_EXPORT + " UNION ALL " + SELECT_ARCHIVED_BOOKINGS;
+    
+    private static final String SELECT_BOOKINGS_BY_USER = 
+        SELECT_ALL_BOOKINGS.replace("ORDER BY b.date_of_booking DESC", 
+            "WHERE b.user_id = ? ORDER BY b.date_of_booking DESC");
+    
+    private static final String SELECT_BOOKINGS_BY_USER_WITH_ARCHIVE = 
+        "(" + SELECT_ALL_BOOKINGS.replace(" ORDER BY b.date_of_booking DESC", " WHERE b.user_id = ?") +
+        ") UNION ALL (" + SELECT_ARCHIVED_BOOKINGS + " WHERE b.user_id = ?) ORDER BY date_of_booking DESC";
+    
+    private static final String SELECT_ARCHIVED_BOOKING_BY_PNR = 
+        SELECT_ARCHIVED_BOOKINGS + " WHERE b.PNR = ?";
+    
+    // Reads the state a status change replaces, so the published event can carry it
+    private static final String LOCK_BOOKING_STATE = 
+        "SELECT user_id, flight_id, amount, booking_status, payment_status FROM bookings " +
+        "WHERE booking_id = ? FOR UPDATE";
+    
+    private static final String UPDATE_BOOKING_STATUS = 
+        "UPDATE bookings SET booking_status = ? WHERE booking_id = ?";
+    
+    private static final String UPDATE_PAYMENT_STATUS = 
+        "UPDATE bookings SET payment_status = ? WHERE booking_id = ?";
+    
+    // Walks idx_bookings_flight_status, so only this flight's active rows are locked
+    private static final String LOCK_ACTIVE_FLIGHT_BOOKINGS = 
+        "SELECT booking_id, user_id, amount, booking_status, payment_status FROM bookings " +
+        "WHERE flight_id = ? AND booking_status IN ('Pending', 'Confirmed') ORDER BY booking_id LIMIT ? FOR UPDATE";
+    
+    private static final String CANCEL_BOOKINGS = 
+        "UPDATE bookings SET booking_status = 'Cancelled' WHERE booking_id IN (%s)";
+    
+    // A booking that was cancelled and reinstated before keeps its original refund row
+    private static final String MARK_REFUNDS_DUE = 
+        "INSERT IGNORE INTO refunds (booking_id, user_id, flight_id, amount) " +
+        "SELECT booking_id, user_id, flight_id, amount FROM bookings " +
+        "WHERE booking_id IN (%s) AND payment_status = 'Completed'";
+    
+    // Lifetime totals per flight and status pair, archived trips included
+    private static final String SELECT_STATUS_TOTALS = 
+        "SELECT t.flight_id, f.company_id, t.booking_status, t.payment_status, " +
+        "COUNT(*) AS bookings, SUM(t.amount) AS amount, MAX(t.booking_id) AS max_booking_id " +
+        "FROM (SELECT booking_id, flight_id, amount, booking_status, payment_status FROM bookings " +
+        "UNION ALL SELECT booking_id, flight_id, amount, booking_status, payment_status FROM bookings_archive) t " +
+        "LEFT JOIN flight_data f ON f.flight_id = t.flight_id " +
+        "GROUP BY t.flight_id, f.company_id, t.booking_status, t.payment_status";
 
     @Override
     public Booking create(Booking booking) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Booking saved = insertBooking(conn, booking);
+                conn.commit();
+                return saved;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Inserts a booking on the caller's connection so it can join a larger transaction,
+     * and seats it on the flight's seat map in the same transaction
+     * @param conn The connection to use, with auto-commit disabled
+     * @param booking The booking to insert
+     * @return The booking with its generated ID, or null if nothing was inserted
+     * @throws SQLException if database access error occurs
+     */
+    Booking insertBooking(Connection conn, Booking booking) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setInt(1, booking.getUserId());
-            stmt.setInt(2, booking.getFlightId());
-            stmt.setInt(3, booking.getDepartureAirportId());
-            stmt.setInt(4, booking.getDestinationAirportId());
-            stmt.setTimestamp(5, Timestamp.valueOf(booking.getDepartureTime()));
-            stmt.setTimestamp(6, Timestamp.valueOf(booking.getDestinationTime()));
-            stmt.setString(7, booking.getPnr());
-            stmt.setDate(8, Date.valueOf(booking.getDateOfDeparture()));
-            stmt.setDate(9, Date.valueOf(booking.getDateOfDestination()));
-            stmt.setBigDecimal(10, booking.getAmount());
-            stmt.setString(11, booking.getPaymentStatus().getDisplayName());
-            stmt.setString(12, booking.getBookingStatus().getDisplayName());
+            setInsertParameters(stmt, booking);
             
             int affectedRows = stmt.executeUpdate();
             
@@ -100,16 +196,69 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         booking.setBookingId(generatedKeys.getInt(1));
+                        SeatMapDAO.seatNewBookings(conn, Collections.singletonList(booking));
                         return booking;
                     }
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return null;
     }
 
+    /**
+     * Inserts several bookings as one JDBC batch on the caller's connection, and seats
+     * them on the flight's seat map in the same transaction; a party sharing a record
+     * locator sits together where possible
+     * @param conn The connection to use, with auto-commit disabled
+     * @param bookings The bookings to insert, all on one flight
+     * @return true if every row was inserted
+     * @throws SQLException if database access error occurs
+     */
+    boolean insertBookings(Connection conn, List<Booking> bookings) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
+            
+            for (Booking booking : bookings) {
+                setInsertParameters(stmt, booking);
+                stmt.addBatch();
+            }
+            
+            int[] counts = stmt.executeBatch();
+            for (int count : counts) {
+                if (count == Statement.EXECUTE_FAILED) {
+                    return false;
+                }
+            }
+            
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (Booking booking : bookings) {
+                    if (!generatedKeys.next()) {
+                        return false;
+                    }
+                    booking.setBookingId(generatedKeys.getInt(1));
+                }
+            }
+        }
+        SeatMapDAO.seatNewBookings(conn, bookings);
+        return true;
+    }
+
+    private void setInsertParameters(PreparedStatement stmt, Booking booking) throws SQLException {
+        stmt.setInt(1, booking.getUserId());
+        stmt.setInt(2, booking.getFlightId());
+        stmt.setInt(3, booking.getDepartureAirportId());
+        stmt.setInt(4, booking.getDestinationAirportId());
+        stmt.setTimestamp(5, Timestamp.valueOf(booking.getDepartureTime()));
+        stmt.setTimestamp(6, Timestamp.valueOf(booking.getDestinationTime()));
+        stmt.setString(7, booking.getPnr());
+        stmt.setDate(8, Date.valueOf(booking.getDateOfDeparture()));
+        stmt.setDate(9, Date.valueOf(booking.getDateOfDestination()));
+        stmt.setBigDecimal(10, booking.getAmount());
+        stmt.setString(11, booking.getPaymentStatus().getDisplayName());
+        stmt.setString(12, booking.getBookingStatus().getDisplayName());
+        stmt.setString(13, booking.getIdempotencyKey());
+        stmt.setString(14, booking.getRecordLocator());
+    }
+
     @Override
     public Booking findById(Integer id) {
         try (Connection conn = DBConnection.getConnection();
@@ -128,12 +277,26 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         return null;
     }
 
+    /**
+     * Finds all current bookings. Completed trips moved to the archive are not included.
+     * @return List of bookings, most recent first
+     */
     @Override
     public List<Booking> findAll() {
+        return findAll(false);
+    }
+
+    /**
+     * Finds all bookings
+     * @param includeArchived true to also read completed trips from bookings_archive
+     * @return List of bookings, most recent first
+     */
+    public List<Booking> findAll(boolean includeArchived) {
         List<Booking> bookings = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_BOOKINGS);
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 includeArchived ? SELECT_ALL_BOOKINGS_WITH_ARCHIVE : SELECT_ALL_BOOKINGS);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -146,6 +309,45 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         return bookings;
     }
 
+    /**
+     * Streams all bookings to a consumer one row at a time, without holding them in memory
+     * @param includeArchived true to also read completed trips from bookings_archive
+     * @param action Called for each booking, in no particular order; a runtime exception it
+     *               throws stops the stream and is passed on
+     * @return Number of bookings streamed, or -1 if the query failed
+     */
+    public long streamAll(boolean includeArchived, Consumer<Booking> action) {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 includeArchived ? SELECT_BOOKINGS_FOR_EXPORT_WITH_ARCHIVE : SELECT_BOOKINGS_FOR_EXPORT,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Connector/J streams rows one at a time instead of buffering the whole result
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            long rows = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                try {
+                    while (rs.next()) {
+                        action.accept(mapResultSetToBooking(rs));
+                        rows++;
+                    }
+                } catch (RuntimeException e) {
+                    // Closing a streaming result set reads every row still to come; stop the server sending them
+                    try {
+                        stmt.cancel();
+                    } catch (SQLException ignored) {
+                        // The close drains the rest instead
+                    }
+                    throw e;
+                }
+            }
+            return rows;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
     @Override
     public boolean update(Booking booking) {
         try (Connection conn = DBConnection.getConnection();
@@ -174,11 +376,27 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
 
     @Override
     public boolean delete(Integer id) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(DELETE_BOOKING)) {
-            
-            stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Booking previous = lockBookingState(conn, id);
+                boolean deleted;
+                try (PreparedStatement stmt = conn.prepareStatement(DELETE_BOOKING)) {
+                    stmt.setInt(1, id);
+                    deleted = stmt.executeUpdate() > 0;
+                }
+                if (deleted && previous.getBookingStatus() != Booking.BookingStatus.CANCELLED) {
+                    // Frees the deleted booking's seat
+                    SeatMapDAO.rebuild(conn, previous.getFlightId());
+                }
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -192,7 +410,7 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
 
     @Override
     public long count() {
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(COUNT_BOOKINGS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -206,13 +424,31 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     }
 
     /**
-     * Finds a booking by PNR
+     * Finds a current booking by PNR
      * @param pnr The PNR to search for
      * @return The booking if found, null otherwise
      */
     public Booking findByPNR(String pnr) {
+        return findByPNR(pnr, false);
+    }
+
+    /**
+     * Finds a booking by PNR
+     * @param pnr The PNR to search for
+     * @param includeArchived true to fall back to bookings_archive
+     * @return The booking if found, null otherwise
+     */
+    public Booking findByPNR(String pnr, boolean includeArchived) {
+        Booking booking = findByPNR(pnr, SELECT_BOOKING_BY_PNR);
+        if (booking == null && includeArchived) {
+            booking = findByPNR(pnr, SELECT_ARCHIVED_BOOKING_BY_PNR);
+        }
+        return booking;
+    }
+
+    private Booking findByPNR(String pnr, String query) {
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BOOKING_BY_PNR)) {
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             
             stmt.setString(1, pnr);
             
@@ -228,20 +464,183 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     }
 
     /**
-     * Finds bookings by user ID
+     * Finds the booking created for a client request ID
+     * @param idempotencyKey The client-supplied request ID
+     * @return The booking if this request was already processed, null otherwise
+     */
+    public Booking findByIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return null;
+        }
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BOOKING_BY_IDEMPOTENCY_KEY)) {
+            
+            stmt.setString(1, idempotencyKey);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToBooking(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Creates a booking at most once per idempotency key. A free seat is counted under a
+     * lock on the flight row in the same transaction, as for group bookings. A replay,
+     * including one that loses a race on the unique key, returns the booking stored by
+     * the first request.
+     * @param booking The booking to create, with its idempotency key set
+     * @return The new or previously created booking, or null if the flight is full or
+     *         creation failed
+     */
+    public Booking createIdempotent(Booking booking) {
+        Booking existing = findByIdempotencyKey(booking.getIdempotencyKey());
+        if (existing != null) {
+            return existing;
+        }
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (FlightDAO.lockAndCountFreeSeats(conn, booking.getFlightId()) < 1) {
+                    conn.rollback();
+                    // The last seat may have gone to a concurrent replay of this request
+                    return findByIdempotencyKey(booking.getIdempotencyKey());
+                }
+                Booking saved = insertBooking(conn, booking);
+                conn.commit();
+                return saved;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // A concurrent request with the same key won; fall through to return its booking
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return findByIdempotencyKey(booking.getIdempotencyKey());
+    }
+
+    /**
+     * Creates all passenger rows of a group booking in one transaction. Free seats are
+     * counted once under a lock on the flight row; if there are fewer than the group
+     * needs, nothing is inserted.
+     * @param bookings The passenger bookings, all for the same flight
+     * @return true if the whole group was booked, false if capacity was insufficient or the insert failed
+     */
+    public boolean createGroup(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return false;
+        }
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int flightId = bookings.get(0).getFlightId();
+                if (FlightDAO.lockAndCountFreeSeats(conn, flightId) < bookings.size()
+                        || !insertBookings(conn, bookings)) {
+                    conn.rollback();
+                    return false;
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Finds all passenger bookings sharing a record locator
+     * @param recordLocator The group record locator
+     * @return List of bookings in the group, ordered by PNR
+     */
+    public List<Booking> findByRecordLocator(String recordLocator) {
+        List<Booking> bookings = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BOOKINGS_BY_RECORD_LOCATOR)) {
+            
+            stmt.setString(1, recordLocator);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapResultSetToBooking(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        return bookings;
+    }
+
+    /**
+     * Checks if a record locator is already used by a group or as a single PNR
+     * @param recordLocator The locator to check
+     * @return true if the locator is taken
+     */
+    public boolean recordLocatorExists(String recordLocator) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CHECK_LOCATOR_IN_USE)) {
+            
+            stmt.setString(1, recordLocator);
+            stmt.setString(2, recordLocator);
+            stmt.setString(3, recordLocator);
+            stmt.setString(4, recordLocator);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Finds current bookings by user ID. Completed trips moved to the archive are not included.
      * @param userId The user ID
      * @return List of bookings for the user
      */
     public List<Booking> findByUserId(int userId) {
+        return findByUserId(userId, false);
+    }
+
+    /**
+     * Finds bookings by user ID
+     * @param userId The user ID
+     * @param includeArchived true to also read completed trips from bookings_archive
+     * @return List of bookings for the user, most recent first
+     */
+    public List<Booking> findByUserId(int userId, boolean includeArchived) {
         List<Booking> bookings = new ArrayList<>();
         
-        String query = SELECT_ALL_BOOKINGS.replace("ORDER BY b.date_of_booking DESC", 
-            "WHERE b.user_id = ? ORDER BY b.date_of_booking DESC");
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 includeArchived ? SELECT_BOOKINGS_BY_USER_WITH_ARCHIVE : SELECT_BOOKINGS_BY_USER)) {
             
             stmt.setInt(1, userId);
+            if (includeArchived) {
+                stmt.setInt(2, userId);
+            }
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -256,21 +655,39 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     }
 
     /**
-     * Updates booking status
+     * Updates booking status and publishes a BookingStatusChanged event if it changed
      * @param bookingId The booking ID
      * @param status The new booking status
      * @return true if update was successful
      */
     public boolean updateBookingStatus(int bookingId, Booking.BookingStatus status) {
-        String query = "UPDATE bookings SET booking_status = ? WHERE booking_id = ?";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setString(1, status.getDisplayName());
-            stmt.setInt(2, bookingId);
-            
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Booking previous = lockBookingState(conn, bookingId);
+                if (previous == null || !executeStatusUpdate(conn, UPDATE_BOOKING_STATUS, bookingId,
+                        status.getDisplayName())) {
+                    conn.rollback();
+                    return false;
+                }
+                if ((previous.getBookingStatus() == Booking.BookingStatus.CANCELLED)
+                        != (status == Booking.BookingStatus.CANCELLED)) {
+                    // Frees the seat of a cancelled booking, or seats a reinstated one
+                    SeatMapDAO.rebuild(conn, previous.getFlightId());
+                }
+                conn.commit();
+                if (previous.getBookingStatus() != status) {
+                    EventBus.getInstance().publish(new BookingStatusChanged(bookingId, previous.getUserId(),
+                        previous.getFlightId(), previous.getAmount(), previous.getPaymentStatus(),
+                        previous.getBookingStatus(), status));
+                }
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -278,34 +695,187 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     }
 
     /**
-     * Updates payment status
+     * Updates payment status and publishes a PaymentStatusChanged event if it changed
      * @param bookingId The booking ID
      * @param status The new payment status
      * @return true if update was successful
      */
     public boolean updatePaymentStatus(int bookingId, Booking.PaymentStatus status) {
-        String query = "UPDATE bookings SET payment_status = ? WHERE booking_id = ?";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setString(1, status.getDisplayName());
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Booking previous = lockBookingState(conn, bookingId);
+                if (previous == null || !executeStatusUpdate(conn, UPDATE_PAYMENT_STATUS, bookingId,
+                        status.getDisplayName())) {
+                    conn.rollback();
+                    return false;
+                }
+                conn.commit();
+                if (previous.getPaymentStatus() != status) {
+                    EventBus.getInstance().publish(new PaymentStatusChanged(bookingId, previous.getUserId(),
+                        previous.getFlightId(), previous.getAmount(), previous.getBookingStatus(),
+                        previous.getPaymentStatus(), status));
+                }
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Cancels up to batchSize active bookings of a flight with one UPDATE and marks a
+     * refund due for each whose payment had completed, in one short transaction. Publishes
+     * a BookingStatusChanged event per booking after commit. Call repeatedly until fewer
+     * than batchSize bookings come back.
+     * @param flightId The flight ID
+     * @param batchSize Maximum bookings to cancel
+     * @return The cancelled bookings as they were before (ID, user, amount and statuses only),
+     *         or null if the batch failed
+     */
+    public List<Booking> cancelFlightBookings(int flightId, int batchSize) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Booking> cancelled = new ArrayList<>(batchSize);
+                try (PreparedStatement stmt = conn.prepareStatement(LOCK_ACTIVE_FLIGHT_BOOKINGS)) {
+                    stmt.setInt(1, flightId);
+                    stmt.setInt(2, batchSize);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            Booking state = new Booking();
+                            state.setBookingId(rs.getInt("booking_id"));
+                            state.setUserId(rs.getInt("user_id"));
+                            state.setFlightId(flightId);
+                            state.setAmount(rs.getBigDecimal("amount"));
+                            state.setBookingStatus(Booking.BookingStatus.fromString(rs.getString("booking_status")));
+                            state.setPaymentStatus(Booking.PaymentStatus.fromString(rs.getString("payment_status")));
+                            cancelled.add(state);
+                        }
+                    }
+                }
+                if (cancelled.isEmpty()) {
+                    conn.commit();
+                    return cancelled;
+                }
+
+                String placeholders = String.join(", ", Collections.nCopies(cancelled.size(), "?"));
+                try (PreparedStatement cancel = conn.prepareStatement(String.format(CANCEL_BOOKINGS, placeholders));
+                     PreparedStatement refund = conn.prepareStatement(String.format(MARK_REFUNDS_DUE, placeholders))) {
+                    for (int i = 0; i < cancelled.size(); i++) {
+                        cancel.setInt(i + 1, cancelled.get(i).getBookingId());
+                        refund.setInt(i + 1, cancelled.get(i).getBookingId());
+                    }
+                    if (cancel.executeUpdate() != cancelled.size()) {
+                        conn.rollback();
+                        return null;
+                    }
+                    refund.executeUpdate();
+                }
+                conn.commit();
+                for (Booking previous : cancelled) {
+                    EventBus.getInstance().publish(new BookingStatusChanged(previous.getBookingId(),
+                        previous.getUserId(), flightId, previous.getAmount(), previous.getPaymentStatus(),
+                        previous.getBookingStatus(), Booking.BookingStatus.CANCELLED));
+                }
+                return cancelled;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Locks a booking row and reads the fields carried by status change events
+     * @return The booking's current state, or null if it does not exist
+     */
+    private Booking lockBookingState(Connection conn, int bookingId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_BOOKING_STATE)) {
+            stmt.setInt(1, bookingId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Booking state = new Booking();
+                state.setBookingId(bookingId);
+                state.setUserId(rs.getInt("user_id"));
+                state.setFlightId(rs.getInt("flight_id"));
+                state.setAmount(rs.getBigDecimal("amount"));
+                state.setBookingStatus(Booking.BookingStatus.fromString(rs.getString("booking_status")));
+                state.setPaymentStatus(Booking.PaymentStatus.fromString(rs.getString("payment_status")));
+                return state;
+            }
+        }
+    }
+
+    private boolean executeStatusUpdate(Connection conn, String sql, int bookingId, String status)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, status);
             stmt.setInt(2, bookingId);
-            
             return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Aggregates all bookings, archived ones included, by flight, booking status and payment
+     * status. Reads the primary so the totals line up with published booking events.
+     * @return One row per combination present, or null if the query failed
+     */
+    public List<StatusTotal> findStatusTotals() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_STATUS_TOTALS);
+             ResultSet rs = stmt.executeQuery()) {
+
+            List<StatusTotal> totals = new ArrayList<>();
+            while (rs.next()) {
+                totals.add(new StatusTotal(
+                    rs.getInt("flight_id"),
+                    rs.getInt("company_id"),
+                    Booking.BookingStatus.fromString(rs.getString("booking_status")),
+                    Booking.PaymentStatus.fromString(rs.getString("payment_status")),
+                    rs.getLong("bookings"),
+                    rs.getBigDecimal("amount"),
+                    rs.getInt("max_booking_id")));
+            }
+            return totals;
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return false;
+        return null;
     }
 
     /**
-     * Checks if PNR already exists
+     * Checks if PNR already exists, including archived bookings
      * @param pnr The PNR to check
      * @return true if PNR exists
      */
     public boolean pnrExists(String pnr) {
-        return findByPNR(pnr) != null;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CHECK_PNR_IN_USE)) {
+            
+            stmt.setString(1, pnr);
+            stmt.setString(2, pnr);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
     }
 
     /**
@@ -330,6 +900,9 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         booking.setAmount(rs.getBigDecimal("amount"));
         booking.setPaymentStatus(Booking.PaymentStatus.fromString(rs.getString("payment_status")));
         booking.setBookingStatus(Booking.BookingStatus.fromString(rs.getString("booking_status")));
+        booking.setIdempotencyKey(rs.getString("idempotency_key"));
+        booking.setRecordLocator(rs.getString("record_locator"));
+        booking.setSeatNumber(rs.getString("seat_number"));
         
         // Set additional display fields
         booking.setUserFullName(rs.getString("first_name") + " " + rs.getString("last_name"));
@@ -344,4 +917,61 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         
         return booking;
     }
+
+    /**
+     * Booking count and amount for one flight and status combination
+     */
+    public static class StatusTotal {
+        private final int flightId;
+        private final int companyId;
+        private final Booking.BookingStatus bookingStatus;
+        private final Booking.PaymentStatus paymentStatus;
+        private final long count;
+        private final BigDecimal amount;
+        private final int maxBookingId;
+
+        StatusTotal(int flightId, int companyId, Booking.BookingStatus bookingStatus,
+                    Booking.PaymentStatus paymentStatus, long count, BigDecimal amount,
+                    int maxBookingId) {
+            this.flightId = flightId;
+            this.companyId = companyId;
+            this.bookingStatus = bookingStatus;
+            this.paymentStatus = paymentStatus;
+            this.count = count;
+            this.amount = amount;
+            this.maxBookingId = maxBookingId;
+        }
+
+        public int getFlightId() {
+            return flightId;
+        }
+
+        /**
+         * Gets the owner of the flight
+         * @return The company ID, or 0 if the flight no longer exists
+         */
+        public int getCompanyId() {
+            return companyId;
+        }
+
+        public Booking.BookingStatus getBookingStatus() {
+            return bookingStatus;
+        }
+
+        public Booking.PaymentStatus getPaymentStatus() {
+            return paymentStatus;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public int getMaxBookingId() {
+            return maxBookingId;
+        }
+    }
 }
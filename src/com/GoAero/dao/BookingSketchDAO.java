@@ -0,0 +1,66 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data Access Object for booking_sketches, the serialised monthly booking sketches each
+ * application instance stores so that reports can merge them
+ */
+public class BookingSketchDAO {
+
+    private static final String UPSERT_SKETCH =
+        "INSERT INTO booking_sketches (period, instance_id, data) VALUES (?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE data = VALUES(data)";
+
+    private static final String SELECT_SKETCHES =
+        "SELECT instance_id, data FROM booking_sketches WHERE period = ?";
+
+    /**
+     * Stores an instance's sketches of a month, replacing what it stored before
+     * @param month The month
+     * @param instanceId The instance
+     * @param data The serialised sketches
+     * @return true if they were stored
+     */
+    public boolean save(YearMonth month, String instanceId, byte[] data) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_SKETCH)) {
+
+            stmt.setString(1, month.toString());
+            stmt.setString(2, instanceId);
+            stmt.setBytes(3, data);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Gets the sketches of a month stored by every instance
+     * @param month The month
+     * @return The serialised sketches by instance ID, or null if the query failed
+     */
+    public Map<String, byte[]> findByMonth(YearMonth month) {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SKETCHES)) {
+
+            stmt.setString(1, month.toString());
+            Map<String, byte[]> sketches = new LinkedHashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sketches.put(rs.getString("instance_id"), rs.getBytes("data"));
+                }
+            }
+            return sketches;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+}
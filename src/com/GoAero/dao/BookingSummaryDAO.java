@@ -0,0 +1,416 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Data Access Object for booking_daily_summary, the per-day, per-airline and per-route
+ * roll-up of bookings, and for the watermark that tracks how far it has been brought up to date
+ */
+public class BookingSummaryDAO {
+
+    public static final String SUMMARY_NAME = "booking_daily_summary";
+
+    private static final String SELECT_WATERMARK =
+        "SELECT watermark FROM summary_watermarks WHERE summary_name = ?";
+
+    private static final String UPSERT_WATERMARK =
+        "INSERT INTO summary_watermarks (summary_name, watermark) VALUES (?, ?) " +
+        "ON DUPLICATE KEY UPDATE watermark = VALUES(watermark)";
+
+    private static final String SELECT_NOW =
+        "SELECT CURRENT_TIMESTAMP(6)";
+
+    // Uses idx_bookings_updated, so each run only reads what changed
+    private static final String SELECT_CHANGED_DAYS =
+        "SELECT DISTINCT DATE(date_of_booking) FROM bookings WHERE updated_at >= ? AND date_of_booking IS NOT NULL";
+
+    private static final String SELECT_ALL_DAYS =
+        "SELECT DATE(date_of_booking) FROM bookings WHERE date_of_booking IS NOT NULL " +
+        "UNION SELECT DATE(date_of_booking) FROM bookings_archive WHERE date_of_booking IS NOT NULL";
+
+    private static final String DELETE_DAY =
+        "DELETE FROM booking_daily_summary WHERE summary_date = ?";
+
+    private static final String SUMMARY_SOURCE_COLUMNS =
+        "flight_id, departure_airport_id, destination_airport_id, amount, booking_status, payment_status";
+
+    // Recomputes one day from scratch, so rerunning it is harmless
+    private static final String INSERT_DAY =
+        "INSERT INTO booking_daily_summary (summary_date, company_id, departure_airport_id, " +
+        "destination_airport_id, bookings, confirmed, cancelled, revenue) " +
+        "SELECT ?, COALESCE(f.company_id, 0), t.departure_airport_id, t.destination_airport_id, COUNT(*), " +
+        "SUM(t.booking_status = 'Confirmed'), SUM(t.booking_status = 'Cancelled'), " +
+        "COALESCE(SUM(CASE WHEN t.booking_status = 'Confirmed' AND t.payment_status = 'Completed' " +
+        "THEN t.amount END), 0) " +
+        "FROM (SELECT " + SUMMARY_SOURCE_COLUMNS + " FROM bookings " +
+        "WHERE date_of_booking >= ? AND date_of_booking < ? " +
+        "UNION ALL SELECT " + SUMMARY_SOURCE_COLUMNS + " FROM bookings_archive " +
+        "WHERE date_of_booking >= ? AND date_of_booking < ?) t " +
+        "LEFT JOIN flight_data f ON f.flight_id = t.flight_id " +
+        "GROUP BY COALESCE(f.company_id, 0), t.departure_airport_id, t.destination_airport_id";
+
+    private static final String SUMMARY_TOTALS =
+        "SUM(s.bookings) AS bookings, SUM(s.confirmed) AS confirmed, SUM(s.cancelled) AS cancelled, " +
+        "SUM(s.revenue) AS revenue";
+
+    private static final String SELECT_DAILY_TOTALS =
+        "SELECT s.summary_date AS label, " + SUMMARY_TOTALS + " FROM booking_daily_summary s " +
+        "WHERE s.summary_date BETWEEN ? AND ? GROUP BY s.summary_date ORDER BY s.summary_date";
+
+    private static final String SELECT_ROUTE_TOTALS =
+        "SELECT CONCAT(COALESCE(dep.airport_code, '?'), ' → ', COALESCE(dest.airport_code, '?')) AS label, " +
+        SUMMARY_TOTALS + " FROM booking_daily_summary s " +
+        "LEFT JOIN airports dep ON dep.airport_id = s.departure_airport_id " +
+        "LEFT JOIN airports dest ON dest.airport_id = s.destination_airport_id " +
+        "WHERE s.summary_date BETWEEN ? AND ? " +
+        "GROUP BY s.departure_airport_id, s.destination_airport_id, dep.airport_code, dest.airport_code " +
+        "ORDER BY revenue DESC, bookings DESC LIMIT ?";
+
+    private static final String SELECT_AIRLINE_TOTALS =
+        "SELECT COALESCE(o.company_name, 'Deleted flights') AS label, " + SUMMARY_TOTALS +
+        " FROM booking_daily_summary s LEFT JOIN flight_owners o ON o.owner_id = s.company_id " +
+        "WHERE s.summary_date BETWEEN ? AND ? GROUP BY s.company_id, o.company_name " +
+        "ORDER BY revenue DESC, bookings DESC LIMIT ?";
+
+    // Primary key order, so rows stream without a sort
+    private static final String SELECT_ROWS =
+        "SELECT s.summary_date, COALESCE(o.company_name, 'Deleted flights') AS airline, " +
+        "dep.airport_code AS dep_code, dest.airport_code AS dest_code, " +
+        "s.bookings, s.confirmed, s.cancelled, s.revenue FROM booking_daily_summary s " +
+        "LEFT JOIN flight_owners o ON o.owner_id = s.company_id " +
+        "LEFT JOIN airports dep ON dep.airport_id = s.departure_airport_id " +
+        "LEFT JOIN airports dest ON dest.airport_id = s.destination_airport_id " +
+        "WHERE s.summary_date BETWEEN ? AND ? ORDER BY s.summary_date";
+
+    private static final String COUNT_ROWS =
+        "SELECT COUNT(*) FROM booking_daily_summary WHERE summary_date BETWEEN ? AND ?";
+
+    /**
+     * Gets the time up to which bookings have been rolled up
+     * @return The watermark, or null if the summary has never been built
+     */
+    public Timestamp findWatermark() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_WATERMARK)) {
+
+            stmt.setString(1, SUMMARY_NAME);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getTimestamp(1);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Records the time up to which bookings have been rolled up
+     * @param watermark The new watermark
+     * @return true if it was stored
+     */
+    public boolean saveWatermark(Timestamp watermark) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_WATERMARK)) {
+
+            stmt.setString(1, SUMMARY_NAME);
+            stmt.setTimestamp(2, watermark);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Reads the database clock, so watermarks compare against updated_at on the same clock
+     * @return The current database time, or null if the query failed
+     */
+    public Timestamp currentTimestamp() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_NOW);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return rs.getTimestamp(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the booking days whose summary rows are out of date
+     * @param since Bookings updated at or after this time are considered; null for every day
+     *              with bookings, archived ones included
+     * @return The days, or null if the query failed
+     */
+    public List<LocalDate> findChangedDays(Timestamp since) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(since != null ? SELECT_CHANGED_DAYS : SELECT_ALL_DAYS)) {
+
+            if (since != null) {
+                stmt.setTimestamp(1, since);
+            }
+            List<LocalDate> days = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    days.add(rs.getDate(1).toLocalDate());
+                }
+            }
+            return days;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Replaces one day's summary rows with a fresh aggregate of that day's bookings, in one
+     * transaction
+     * @param day The booking day
+     * @return Number of summary rows written, or -1 if the day could not be rebuilt
+     */
+    public int rebuildDay(LocalDate day) {
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(DELETE_DAY);
+                 PreparedStatement insert = conn.prepareStatement(INSERT_DAY)) {
+
+                delete.setDate(1, Date.valueOf(day));
+                delete.executeUpdate();
+
+                insert.setDate(1, Date.valueOf(day));
+                insert.setTimestamp(2, start);
+                insert.setTimestamp(3, end);
+                insert.setTimestamp(4, start);
+                insert.setTimestamp(5, end);
+                int written = insert.executeUpdate();
+
+                conn.commit();
+                return written;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    /**
+     * Gets totals per booking day
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @return One row per day with bookings, oldest first
+     */
+    public List<SummaryTotal> findDailyTotals(LocalDate from, LocalDate to) {
+        return findTotals(SELECT_DAILY_TOTALS, from, to, -1);
+    }
+
+    /**
+     * Gets totals per route, highest revenue first
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @param limit Maximum routes
+     * @return One row per route, labelled "DEL → BOM"
+     */
+    public List<SummaryTotal> findRouteTotals(LocalDate from, LocalDate to, int limit) {
+        return findTotals(SELECT_ROUTE_TOTALS, from, to, limit);
+    }
+
+    /**
+     * Gets totals per airline, highest revenue first
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @param limit Maximum airlines
+     * @return One row per airline, labelled with the company name
+     */
+    public List<SummaryTotal> findAirlineTotals(LocalDate from, LocalDate to, int limit) {
+        return findTotals(SELECT_AIRLINE_TOTALS, from, to, limit);
+    }
+
+    /**
+     * Streams the summary rows of a date range to a consumer one at a time
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @param action Called for each row, oldest day first; a runtime exception it throws
+     *               stops the stream and is passed on
+     * @return Number of rows streamed, or -1 if the query failed
+     */
+    public long streamRows(LocalDate from, LocalDate to, Consumer<SummaryRow> action) {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ROWS,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Connector/J streams rows one at a time instead of buffering the whole result
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+            long rows = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                try {
+                    while (rs.next()) {
+                        action.accept(new SummaryRow(rs.getDate("summary_date").toLocalDate(),
+                            rs.getString("airline"), rs.getString("dep_code"), rs.getString("dest_code"),
+                            rs.getLong("bookings"), rs.getLong("confirmed"), rs.getLong("cancelled"),
+                            rs.getBigDecimal("revenue")));
+                        rows++;
+                    }
+                } catch (RuntimeException e) {
+                    // Stop the server streaming rows that closing the result set would have to read
+                    try {
+                        stmt.cancel();
+                    } catch (SQLException ignored) {
+                        // The close drains the rest instead
+                    }
+                    throw e;
+                }
+            }
+            return rows;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the summary rows of a date range
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @return Number of rows
+     */
+    public long countRows(LocalDate from, LocalDate to) {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_ROWS)) {
+
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    private List<SummaryTotal> findTotals(String sql, LocalDate from, LocalDate to, int limit) {
+        List<SummaryTotal> totals = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+            if (limit >= 0) {
+                stmt.setInt(3, limit);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    totals.add(new SummaryTotal(rs.getString("label"), rs.getLong("bookings"),
+                        rs.getLong("confirmed"), rs.getLong("cancelled"), rs.getBigDecimal("revenue")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return totals;
+    }
+
+    /**
+     * Booking volume and revenue for one day, route or airline
+     */
+    public static class SummaryTotal {
+        private final String label;
+        private final long bookings;
+        private final long confirmed;
+        private final long cancelled;
+        private final BigDecimal revenue;
+
+        SummaryTotal(String label, long bookings, long confirmed, long cancelled, BigDecimal revenue) {
+            this.label = label;
+            this.bookings = bookings;
+            this.confirmed = confirmed;
+            this.cancelled = cancelled;
+            this.revenue = revenue != null ? revenue : BigDecimal.ZERO;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getBookings() {
+            return bookings;
+        }
+
+        public long getConfirmed() {
+            return confirmed;
+        }
+
+        public long getCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Gets revenue from confirmed bookings with completed payments
+         * @return The revenue
+         */
+        public BigDecimal getRevenue() {
+            return revenue;
+        }
+    }
+
+    /**
+     * One booking_daily_summary row with airline name and airport codes filled in
+     */
+    public static class SummaryRow extends SummaryTotal {
+        private final LocalDate date;
+        private final String airline;
+        private final String departureAirportCode;
+        private final String destinationAirportCode;
+
+        SummaryRow(LocalDate date, String airline, String departureAirportCode, String destinationAirportCode,
+                   long bookings, long confirmed, long cancelled, BigDecimal revenue) {
+            super(airline, bookings, confirmed, cancelled, revenue);
+            this.date = date;
+            this.airline = airline;
+            this.departureAirportCode = departureAirportCode;
+            this.destinationAirportCode = destinationAirportCode;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public String getAirline() {
+            return airline;
+        }
+
+        public String getDepartureAirportCode() {
+            return departureAirportCode;
+        }
+
+        public String getDestinationAirportCode() {
+            return destinationAirportCode;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+import com.GoAero.model.Principal;
+import com.GoAero.model.SessionManager.UserType;
+
+import java.sql.*;
+
+/**
+ * Data Access Object for login credentials. Reads only the ID and password hash of an
+ * account, by the identifier each account type logs in with.
+ */
+public class CredentialDAO {
+
+    private static final String SELECT_USER_CREDENTIALS =
+        "SELECT user_id, password FROM users WHERE email = ?";
+
+    private static final String SELECT_ADMIN_CREDENTIALS =
+        "SELECT admin_id, password_hash FROM admin_users WHERE username = ?";
+
+    private static final String SELECT_FLIGHT_OWNER_CREDENTIALS =
+        "SELECT owner_id, password FROM flight_owners WHERE company_code = ?";
+
+    // Only replaces the hash that was verified, so a concurrent password change wins
+    private static final String UPDATE_USER_HASH =
+        "UPDATE users SET password = ? WHERE user_id = ? AND password = ?";
+
+    private static final String UPDATE_ADMIN_HASH =
+        "UPDATE admin_users SET password_hash = ? WHERE admin_id = ? AND password_hash = ?";
+
+    private static final String UPDATE_FLIGHT_OWNER_HASH =
+        "UPDATE flight_owners SET password = ? WHERE owner_id = ? AND password = ?";
+
+    /**
+     * Finds the credentials of an account
+     * @param userType The account type
+     * @param login Email, admin username or company code
+     * @return The principal, or null if no account matches
+     */
+    public Principal findByLogin(UserType userType, String login) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(selectQuery(userType))) {
+
+            stmt.setString(1, login);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new Principal(rs.getInt(1), userType, rs.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Replaces a password hash, e.g. after re-hashing at a higher cost
+     * @param principal The account with the hash that was verified
+     * @param newHash The new hash
+     * @return true if the hash was replaced
+     */
+    public boolean updatePasswordHash(Principal principal, String newHash) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(updateQuery(principal.getUserType()))) {
+
+            stmt.setString(1, newHash);
+            stmt.setInt(2, principal.getId());
+            stmt.setString(3, principal.getPasswordHash());
+
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            invalidateCachedAccount(principal);
+        }
+        return false;
+    }
+
+    // The user and flight owner caches hold the password hash as well
+    private static void invalidateCachedAccount(Principal principal) {
+        if (principal.getUserType() == UserType.USER) {
+            UserDAO.getCache().invalidate(principal.getId());
+        } else if (principal.getUserType() == UserType.FLIGHT_OWNER) {
+            FlightOwnerDAO.getCache().invalidate(principal.getId());
+        }
+    }
+
+    private static String selectQuery(UserType userType) {
+        switch (userType) {
+            case USER:
+                return SELECT_USER_CREDENTIALS;
+            case ADMIN:
+                return SELECT_ADMIN_CREDENTIALS;
+            case FLIGHT_OWNER:
+                return SELECT_FLIGHT_OWNER_CREDENTIALS;
+            default:
+                throw new IllegalArgumentException("No credentials for " + userType);
+        }
+    }
+
+    private static String updateQuery(UserType userType) {
+        switch (userType) {
+            case USER:
+                return UPDATE_USER_HASH;
+            case ADMIN:
+                return UPDATE_ADMIN_HASH;
+            case FLIGHT_OWNER:
+                return UPDATE_FLIGHT_OWNER_HASH;
+            default:
+                throw new IllegalArgumentException("No credentials for " + userType);
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.GoAero.dao;
 
+import com.GoAero.cache.EntityCache;
+import com.GoAero.cache.EntityCaches;
 import com.GoAero.db.DBConnection;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.FlightDeleted;
+import com.GoAero.event.FlightUpdated;
+import com.GoAero.jfr.SeatCheckEvent;
 import com.GoAero.model.Flight;
+import com.GoAero.model.SeatMap;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object for Flight entity
@@ -41,19 +49,84 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         "JOIN airports dest ON fd.destination_airport_id = dest.airport_id " +
         "ORDER BY fd.departure_time";
     
+    private static final String SELECT_FLIGHTS_FOR_EXPORT = 
+        SELECT_ALL_FLIGHTS.replace(" ORDER BY fd.departure_time", "");
+    
     private static final String UPDATE_FLIGHT = 
         "UPDATE flight_data SET company_id = ?, flight_code = ?, flight_name = ?, capacity = ?, " +
         "departure_airport_id = ?, destination_airport_id = ?, departure_time = ?, destination_time = ?, price = ? " +
         "WHERE flight_id = ?";
     
+    // bookings is partitioned and cannot carry foreign keys, so references are checked here
     private static final String DELETE_FLIGHT = 
-        "DELETE FROM flight_data WHERE flight_id = ?";
+        "DELETE FROM flight_data WHERE flight_id = ? " +
+        "AND NOT EXISTS (SELECT 1 FROM bookings WHERE flight_id = ?) " +
+        "AND NOT EXISTS (SELECT 1 FROM bookings_archive WHERE flight_id = ?)";
     
     private static final String COUNT_FLIGHTS = 
         "SELECT COUNT(*) FROM flight_data";
     
     private static final String CHECK_FLIGHT_CODE_EXISTS = 
         "SELECT COUNT(*) FROM flight_data WHERE flight_code = ? AND flight_id != ?";
+    
+    private static final String CHECK_FLIGHT_CODE_ON_DATE_EXISTS = 
+        "SELECT COUNT(*) FROM flight_data WHERE flight_code = ? AND departure_date = ? AND flight_id != ?";
+    
+    // A cancelled flight matches no row, so it has no seats to book or hold
+    private static final String LOCK_BOOKABLE_FLIGHT = 
+        "SELECT flight_id FROM flight_data WHERE flight_id = ? AND cancelled_at IS NULL FOR UPDATE";
+    
+    private static final String LOCK_FLIGHT_CANCELLATION = 
+        "SELECT cancelled_at FROM flight_data WHERE flight_id = ? FOR UPDATE";
+    
+    private static final String MARK_FLIGHT_CANCELLED = 
+        "UPDATE flight_data SET cancelled_at = NOW() WHERE flight_id = ? AND cancelled_at IS NULL";
+    
+    private static final String RELEASE_FLIGHT_HOLDS = 
+        "UPDATE seat_holds SET status = 'Released' WHERE flight_id = ? AND status = 'Active'";
+    
+    // Booked seats are the seat map's set bits; holds and the waitlist reserve a number of
+    // seats, not particular ones, so they are summed from their own small tables
+    private static final String SELECT_SEATS_HELD = 
+        "SELECT (SELECT COALESCE(SUM(seats), 0) FROM seat_holds WHERE flight_id = ? AND status = 'Active' AND expires_at > NOW())";
+    
+    // Seats the waitlist is waiting for are kept back, so freed seats reach it before anyone else
+    private static final String SELECT_SEATS_HELD_OR_WAITED_FOR = 
+        SELECT_SEATS_HELD + " + " +
+        "(SELECT COALESCE(SUM(seats), 0) FROM waitlist_entries WHERE flight_id = ? AND status = 'Waiting')";
+    
+    // A seat map's free seats are its clear bits, counted by the server over the stored words.
+    // Flights not booked or held since seat maps were introduced have none and count bookings.
+    private static final String SELECT_AVAILABLE_SEATS = 
+        "SELECT CASE WHEN fd.cancelled_at IS NOT NULL THEN 0 ELSE GREATEST(0, " +
+        "CASE WHEN m.flight_id IS NOT NULL THEN LENGTH(m.occupied) * 8 - BIT_COUNT(m.occupied) " +
+        "ELSE fd.capacity - (SELECT COUNT(*) FROM bookings b WHERE b.flight_id = fd.flight_id " +
+        "AND b.booking_status IN ('Pending', 'Confirmed')) END " +
+        "- (SELECT COALESCE(SUM(h.seats), 0) FROM seat_holds h WHERE h.flight_id = fd.flight_id " +
+        "AND h.status = 'Active' AND h.expires_at > NOW()) " +
+        "- (SELECT COALESCE(SUM(w.seats), 0) FROM waitlist_entries w WHERE w.flight_id = fd.flight_id " +
+        "AND w.status = 'Waiting')) END AS available_seats " +
+        "FROM flight_data fd LEFT JOIN flight_seat_maps m ON m.flight_id = fd.flight_id " +
+        "WHERE fd.flight_id = ?";
+    
+    // A flight code is unique per departure date, so re-inserting an existing instance is
+    // skipped. IGNORE also downgrades other row errors to warnings; callers pass validated
+    // schedule instances whose owner and airports exist.
+    private static final String INSERT_FLIGHT_IF_ABSENT = 
+        INSERT_FLIGHT.replaceFirst("INSERT INTO", "INSERT IGNORE INTO");
+
+    // Owner and airport names are joined into cached flights, so writes to those tables
+    // invalidate this cache as well
+    private static final EntityCache<Integer, Flight> CACHE =
+        EntityCaches.create("flights", 10_000, 300, FlightDAO::copyOf);
+
+    /**
+     * Gets the cache behind findById, for cache-aside use and invalidation by other DAOs
+     * @return The flight cache
+     */
+    public static EntityCache<Integer, Flight> getCache() {
+        return CACHE;
+    }
 
     @Override
     public Flight create(Flight flight) {
@@ -88,6 +161,10 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
 
     @Override
     public Flight findById(Integer id) {
+        return CACHE.get(id, this::loadById);
+    }
+
+    private Flight loadById(Integer id) {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_FLIGHT_BY_ID)) {
             
@@ -108,7 +185,7 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
     public List<Flight> findAll() {
         List<Flight> flights = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_FLIGHTS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -122,11 +199,75 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         return flights;
     }
 
+    /**
+     * Streams all flights to a consumer one row at a time, without holding them in memory
+     * @param action Called for each flight, in no particular order; a runtime exception it
+     *               throws stops the stream and is passed on
+     * @return Number of flights streamed, or -1 if the query failed
+     */
+    public long streamAll(Consumer<Flight> action) {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_FLIGHTS_FOR_EXPORT,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Connector/J streams rows one at a time instead of buffering the whole result
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            long rows = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                try {
+                    while (rs.next()) {
+                        action.accept(mapResultSetToFlight(rs));
+                        rows++;
+                    }
+                } catch (RuntimeException e) {
+                    // Otherwise closing the result set reads every remaining flight first
+                    try {
+                        stmt.cancel();
+                    } catch (SQLException ignored) {
+                        // The close drains the rest instead
+                    }
+                    throw e;
+                }
+            }
+            return rows;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
     @Override
     public boolean update(Flight flight) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_FLIGHT)) {
-            
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!executeUpdate(conn, flight)) {
+                    conn.rollback();
+                    return false;
+                }
+                // Seats past the new capacity can no longer be assigned, or free up
+                SeatMapDAO.rebuild(conn, flight.getFlightId());
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            // Subscribers may read the flight back, so drop the cached copy first
+            CACHE.invalidate(flight.getFlightId());
+            EventBus.getInstance().publish(new FlightUpdated(flight.getFlightId(), flight.getCompanyId()));
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            CACHE.invalidate(flight.getFlightId());
+        }
+        return false;
+    }
+
+    private boolean executeUpdate(Connection conn, Flight flight) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_FLIGHT)) {
             stmt.setInt(1, flight.getCompanyId());
             stmt.setString(2, flight.getFlightCode());
             stmt.setString(3, flight.getFlightName());
@@ -137,12 +278,8 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
             stmt.setTimestamp(8, Timestamp.valueOf(flight.getDestinationTime()));
             stmt.setBigDecimal(9, flight.getPrice());
             stmt.setInt(10, flight.getFlightId());
-            
             return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        return false;
     }
 
     @Override
@@ -151,7 +288,56 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
              PreparedStatement stmt = conn.prepareStatement(DELETE_FLIGHT)) {
             
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            stmt.setInt(2, id);
+            stmt.setInt(3, id);
+            if (stmt.executeUpdate() > 0) {
+                CACHE.invalidate(id);
+                EventBus.getInstance().publish(new FlightDeleted(id));
+                return true;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            CACHE.invalidate(id);
+        }
+        return false;
+    }
+
+    /**
+     * Marks a flight cancelled and releases its active seat holds in one transaction.
+     * Bookings and holds in progress wait on the flight row and then find no free seats.
+     * The flight's bookings are left for the caller to cancel.
+     * @param flightId The flight ID
+     * @return true if the flight exists and is cancelled, including if it already was
+     */
+    public boolean cancel(int flightId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(LOCK_FLIGHT_CANCELLATION)) {
+                    stmt.setInt(1, flightId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            return false;
+                        }
+                    }
+                }
+                try (PreparedStatement mark = conn.prepareStatement(MARK_FLIGHT_CANCELLED);
+                     PreparedStatement release = conn.prepareStatement(RELEASE_FLIGHT_HOLDS)) {
+                    mark.setInt(1, flightId);
+                    mark.executeUpdate();
+                    release.setInt(1, flightId);
+                    release.executeUpdate();
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -165,7 +351,7 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
 
     @Override
     public long count() {
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(COUNT_FLIGHTS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -190,9 +376,9 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         
         String query = SELECT_ALL_FLIGHTS.replace("ORDER BY fd.departure_time", 
             "WHERE fd.departure_airport_id = ? AND fd.destination_airport_id = ? " +
-            "AND DATE(fd.departure_time) = ? ORDER BY fd.departure_time");
+            "AND fd.departure_date = ? AND fd.cancelled_at IS NULL ORDER BY fd.departure_time");
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
             
             stmt.setInt(1, departureAirportId);
@@ -222,7 +408,7 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         String query = SELECT_ALL_FLIGHTS.replace("ORDER BY fd.departure_time", 
             "WHERE fd.company_id = ? ORDER BY fd.departure_time");
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
             
             stmt.setInt(1, companyId);
@@ -272,21 +458,111 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         return flightCodeExists(flightCode, -1);
     }
 
+    /**
+     * Checks if a flight code is already used by another flight departing on the same date
+     * @param flightCode The flight code to check
+     * @param departureDate The departure date of the flight instance
+     * @param excludeFlightId The flight ID to exclude from check
+     * @return true if the code is taken on that date
+     */
+    public boolean flightCodeExistsOnDate(String flightCode, LocalDate departureDate, int excludeFlightId) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CHECK_FLIGHT_CODE_ON_DATE_EXISTS)) {
+            
+            stmt.setString(1, flightCode);
+            stmt.setDate(2, Date.valueOf(departureDate));
+            stmt.setInt(3, excludeFlightId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Inserts dated flight instances in JDBC batches, skipping any (flight code, departure date)
+     * pair that already exists so a schedule can be regenerated without duplicating flights.
+     * @param flights The flight instances to insert
+     * @param batchSize Number of rows sent per batch
+     * @return Number of new flights inserted, or -1 if the insert failed
+     */
+    public int createBatch(List<Flight> flights, int batchSize) {
+        if (flights.isEmpty()) {
+            return 0;
+        }
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_FLIGHT_IF_ABSENT, Statement.RETURN_GENERATED_KEYS)) {
+            
+            conn.setAutoCommit(false);
+            try {
+                int inserted = 0;
+                int pending = 0;
+                for (Flight flight : flights) {
+                    stmt.setInt(1, flight.getCompanyId());
+                    stmt.setString(2, flight.getFlightCode());
+                    stmt.setString(3, flight.getFlightName());
+                    stmt.setInt(4, flight.getCapacity());
+                    stmt.setInt(5, flight.getDepartureAirportId());
+                    stmt.setInt(6, flight.getDestinationAirportId());
+                    stmt.setTimestamp(7, Timestamp.valueOf(flight.getDepartureTime()));
+                    stmt.setTimestamp(8, Timestamp.valueOf(flight.getDestinationTime()));
+                    stmt.setBigDecimal(9, flight.getPrice());
+                    stmt.addBatch();
+                    
+                    if (++pending == batchSize) {
+                        stmt.executeBatch();
+                        inserted += countGeneratedKeys(stmt);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    stmt.executeBatch();
+                    inserted += countGeneratedKeys(stmt);
+                }
+                conn.commit();
+                return inserted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the rows a batch inserted. Update counts cannot tell: rewritten batches report
+     * SUCCESS_NO_INFO for every row. Ignored duplicates get no generated key, so the keys
+     * count only new flights.
+     */
+    private int countGeneratedKeys(Statement stmt) throws SQLException {
+        int inserted = 0;
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            while (keys.next()) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
     /**
      * Gets available seats for a flight
      * @param flightId The flight ID
      * @return Number of available seats
      */
     public int getAvailableSeats(int flightId) {
-        String query = "SELECT fd.capacity - COALESCE(COUNT(b.booking_id), 0) as available_seats " +
-                      "FROM flight_data fd " +
-                      "LEFT JOIN bookings b ON fd.flight_id = b.flight_id " +
-                      "AND b.booking_status IN ('Pending', 'Confirmed') " +
-                      "WHERE fd.flight_id = ? " +
-                      "GROUP BY fd.flight_id, fd.capacity";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        // Active, unexpired seat holds and waitlisted seats count against availability just like bookings
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_AVAILABLE_SEATS)) {
             
             stmt.setInt(1, flightId);
             
@@ -304,6 +580,93 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         return flight != null ? flight.getCapacity() : 0;
     }
 
+    /**
+     * Locks the flight row and its seat map row and counts its free seats: the seat map's
+     * free seats minus unexpired seat holds and seats waitlisted passengers are waiting for.
+     * The seat map is created on the flight's first booking or hold. Must run inside a
+     * transaction: the row locks serialize seat reservations on the same flight until the
+     * caller commits or rolls back.
+     * @param conn A connection with auto-commit disabled
+     * @param flightId The flight ID
+     * @return Number of free seats, or -1 if the flight does not exist or is cancelled
+     * @throws SQLException if database access error occurs
+     */
+    static int lockAndCountFreeSeats(Connection conn, int flightId) throws SQLException {
+        return lockAndCount(conn, flightId, SELECT_SEATS_HELD_OR_WAITED_FOR, 2);
+    }
+
+    /**
+     * Like lockAndCountFreeSeats, but counts the seats waitlisted passengers are waiting
+     * for as free, for promoting them off the waitlist
+     * @param conn A connection with auto-commit disabled
+     * @param flightId The flight ID
+     * @return Number of seats free for the waitlist, or -1 if the flight does not exist or is cancelled
+     * @throws SQLException if database access error occurs
+     */
+    static int lockAndCountSeatsForWaitlist(Connection conn, int flightId) throws SQLException {
+        return lockAndCount(conn, flightId, SELECT_SEATS_HELD, 1);
+    }
+
+    // The reserved-seats query takes the flight ID once per table it sums
+    private static int lockAndCount(Connection conn, int flightId, String reservedSql, int tables)
+            throws SQLException {
+        SeatCheckEvent event = new SeatCheckEvent();
+        event.begin();
+        int freeSeats = countFreeSeatsForUpdate(conn, flightId, reservedSql, tables);
+        if (event.shouldCommit()) {
+            event.flightId = flightId;
+            event.freeSeats = freeSeats;
+            event.commit();
+        }
+        return freeSeats;
+    }
+
+    private static int countFreeSeatsForUpdate(Connection conn, int flightId, String reservedSql, int tables)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_BOOKABLE_FLIGHT)) {
+            stmt.setInt(1, flightId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return -1;
+                }
+            }
+        }
+        
+        // Booked seats and seats beyond capacity are set bits, so this is a popcount
+        SeatMap seatMap = SeatMapDAO.lockOrCreateSeatMap(conn, flightId);
+        if (seatMap == null) {
+            return -1;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(reservedSql)) {
+            for (int i = 1; i <= tables; i++) {
+                stmt.setInt(i, flightId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                // Never negative, so -1 only ever means the flight cannot be booked
+                return Math.max(0, seatMap.getFreeSeats() - rs.getInt(1));
+            }
+        }
+    }
+
+    // Callers may edit the flights they get back, so the cache stores and hands out copies
+    private static Flight copyOf(Flight flight) {
+        Flight copy = new Flight(flight.getFlightId(), flight.getCompanyId(), flight.getFlightCode(),
+            flight.getFlightName(), flight.getCapacity(), flight.getDepartureAirportId(),
+            flight.getDestinationAirportId(), flight.getDepartureTime(), flight.getDestinationTime(),
+            flight.getPrice());
+        copy.setCompanyName(flight.getCompanyName());
+        copy.setCompanyCode(flight.getCompanyCode());
+        copy.setDepartureAirportCode(flight.getDepartureAirportCode());
+        copy.setDepartureAirportName(flight.getDepartureAirportName());
+        copy.setDepartureCity(flight.getDepartureCity());
+        copy.setDestinationAirportCode(flight.getDestinationAirportCode());
+        copy.setDestinationAirportName(flight.getDestinationAirportName());
+        copy.setDestinationCity(flight.getDestinationCity());
+        copy.setAvailableSeats(flight.getAvailableSeats());
+        return copy;
+    }
+
     /**
      * Maps a ResultSet row to a Flight object
      * @param rs The ResultSet
@@ -1,5 +1,7 @@
 package com.GoAero.dao;
 
+import com.GoAero.cache.EntityCache;
+import com.GoAero.cache.EntityCaches;
 import com.GoAero.db.DBConnection;
 import com.GoAero.model.FlightOwner;
 
@@ -39,6 +41,17 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
     private static final String UPDATE_FLIGHT_COUNT = 
         "UPDATE flight_owners SET flight_count = (SELECT COUNT(*) FROM flight_data WHERE company_id = ?) WHERE owner_id = ?";
 
+    private static final EntityCache<Integer, FlightOwner> CACHE =
+        EntityCaches.create("flightOwners", 1_000, 600, FlightOwnerDAO::copyOf);
+
+    /**
+     * Gets the cache behind findById, for cache-aside use and invalidation by other DAOs
+     * @return The flight owner cache
+     */
+    public static EntityCache<Integer, FlightOwner> getCache() {
+        return CACHE;
+    }
+
     @Override
     public FlightOwner create(FlightOwner flightOwner) {
         try (Connection conn = DBConnection.getConnection();
@@ -68,6 +81,10 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
 
     @Override
     public FlightOwner findById(Integer id) {
+        return CACHE.get(id, this::loadById);
+    }
+
+    private FlightOwner loadById(Integer id) {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_FLIGHT_OWNER_BY_ID)) {
             
@@ -88,7 +105,7 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
     public List<FlightOwner> findAll() {
         List<FlightOwner> flightOwners = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_FLIGHT_OWNERS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -117,6 +134,10 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            CACHE.invalidate(flightOwner.getOwnerId());
+            // Cached flights carry the company name and code
+            FlightDAO.getCache().invalidateAll();
         }
         return false;
     }
@@ -130,6 +151,9 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            CACHE.invalidate(id);
+            FlightDAO.getCache().invalidateAll();
         }
         return false;
     }
@@ -141,7 +165,7 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
 
     @Override
     public long count() {
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(COUNT_FLIGHT_OWNERS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -224,6 +248,8 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            CACHE.invalidate(ownerId);
         }
         return false;
     }
@@ -244,7 +270,7 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
                       "fo.password, fo.created_at, fo.updated_at " +
                       "ORDER BY fo.company_name";
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -268,6 +294,17 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
         return flightOwners;
     }
 
+    // Callers may edit the owners they get back, so the cache stores and hands out copies
+    private static FlightOwner copyOf(FlightOwner owner) {
+        return new FlightOwner(owner.getOwnerId(), owner.getCompanyName(), owner.getCompanyCode(),
+            owner.getContactInfo(), owner.getFlightCount(), owner.getPasswordHash(),
+            copyOf(owner.getCreatedAt()), copyOf(owner.getUpdatedAt()));
+    }
+
+    private static Timestamp copyOf(Timestamp timestamp) {
+        return timestamp != null ? (Timestamp) timestamp.clone() : null;
+    }
+
     /**
      * Maps a ResultSet row to a FlightOwner object
      * @param rs The ResultSet
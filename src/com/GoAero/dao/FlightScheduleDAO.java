@@ -0,0 +1,216 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+import com.GoAero.model.FlightSchedule;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for FlightSchedule entity
+ */
+public class FlightScheduleDAO implements BaseDAO<FlightSchedule, Integer> {
+
+    private static final String INSERT_SCHEDULE =
+        "INSERT INTO flight_schedules (company_id, flight_code, flight_name, departure_airport_id, " +
+        "destination_airport_id, days_of_week, departure_time, duration_minutes, effective_from, " +
+        "effective_to, capacity, price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SCHEDULE_COLUMNS =
+        "SELECT schedule_id, company_id, flight_code, flight_name, departure_airport_id, " +
+        "destination_airport_id, days_of_week, departure_time, duration_minutes, effective_from, " +
+        "effective_to, capacity, price FROM flight_schedules ";
+
+    private static final String SELECT_SCHEDULE_BY_ID =
+        SELECT_SCHEDULE_COLUMNS + "WHERE schedule_id = ?";
+
+    private static final String SELECT_ALL_SCHEDULES =
+        SELECT_SCHEDULE_COLUMNS + "ORDER BY company_id, flight_code";
+
+    private static final String SELECT_SCHEDULES_BY_COMPANY =
+        SELECT_SCHEDULE_COLUMNS + "WHERE company_id = ? ORDER BY flight_code";
+
+    private static final String UPDATE_SCHEDULE =
+        "UPDATE flight_schedules SET company_id = ?, flight_code = ?, flight_name = ?, departure_airport_id = ?, " +
+        "destination_airport_id = ?, days_of_week = ?, departure_time = ?, duration_minutes = ?, " +
+        "effective_from = ?, effective_to = ?, capacity = ?, price = ? WHERE schedule_id = ?";
+
+    private static final String DELETE_SCHEDULE =
+        "DELETE FROM flight_schedules WHERE schedule_id = ?";
+
+    private static final String COUNT_SCHEDULES =
+        "SELECT COUNT(*) FROM flight_schedules";
+
+    @Override
+    public FlightSchedule create(FlightSchedule schedule) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SCHEDULE, Statement.RETURN_GENERATED_KEYS)) {
+
+            setScheduleParameters(stmt, schedule);
+
+            int affectedRows = stmt.executeUpdate();
+
+            if (affectedRows > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        schedule.setScheduleId(generatedKeys.getInt(1));
+                        return schedule;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public FlightSchedule findById(Integer id) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SCHEDULE_BY_ID)) {
+
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToSchedule(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public List<FlightSchedule> findAll() {
+        List<FlightSchedule> schedules = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SCHEDULES);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                schedules.add(mapResultSetToSchedule(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return schedules;
+    }
+
+    @Override
+    public boolean update(FlightSchedule schedule) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SCHEDULE)) {
+
+            setScheduleParameters(stmt, schedule);
+            stmt.setInt(13, schedule.getScheduleId());
+
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_SCHEDULE)) {
+
+            stmt.setInt(1, id);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean exists(Integer id) {
+        return findById(id) != null;
+    }
+
+    @Override
+    public long count() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_SCHEDULES);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Finds schedules by company/owner ID
+     * @param companyId The company ID
+     * @return List of schedules owned by the company
+     */
+    public List<FlightSchedule> findByCompanyId(int companyId) {
+        List<FlightSchedule> schedules = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SCHEDULES_BY_COMPANY)) {
+
+            stmt.setInt(1, companyId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    schedules.add(mapResultSetToSchedule(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return schedules;
+    }
+
+    private void setScheduleParameters(PreparedStatement stmt, FlightSchedule schedule) throws SQLException {
+        stmt.setInt(1, schedule.getCompanyId());
+        stmt.setString(2, schedule.getFlightCode());
+        stmt.setString(3, schedule.getFlightName());
+        stmt.setInt(4, schedule.getDepartureAirportId());
+        stmt.setInt(5, schedule.getDestinationAirportId());
+        stmt.setInt(6, schedule.getDaysOfWeek());
+        stmt.setTime(7, Time.valueOf(schedule.getDepartureTime()));
+        stmt.setInt(8, schedule.getDurationMinutes());
+        stmt.setDate(9, Date.valueOf(schedule.getEffectiveFrom()));
+        stmt.setDate(10, Date.valueOf(schedule.getEffectiveTo()));
+        stmt.setInt(11, schedule.getCapacity());
+        stmt.setBigDecimal(12, schedule.getPrice());
+    }
+
+    /**
+     * Maps a ResultSet row to a FlightSchedule object
+     * @param rs The ResultSet
+     * @return A FlightSchedule object
+     * @throws SQLException if database access error occurs
+     */
+    private FlightSchedule mapResultSetToSchedule(ResultSet rs) throws SQLException {
+        FlightSchedule schedule = new FlightSchedule();
+        schedule.setScheduleId(rs.getInt("schedule_id"));
+        schedule.setCompanyId(rs.getInt("company_id"));
+        schedule.setFlightCode(rs.getString("flight_code"));
+        schedule.setFlightName(rs.getString("flight_name"));
+        schedule.setDepartureAirportId(rs.getInt("departure_airport_id"));
+        schedule.setDestinationAirportId(rs.getInt("destination_airport_id"));
+        schedule.setDaysOfWeek(rs.getInt("days_of_week"));
+        schedule.setDepartureTime(rs.getTime("departure_time").toLocalTime());
+        schedule.setDurationMinutes(rs.getInt("duration_minutes"));
+        schedule.setEffectiveFrom(rs.getDate("effective_from").toLocalDate());
+        schedule.setEffectiveTo(rs.getDate("effective_to").toLocalDate());
+        schedule.setCapacity(rs.getInt("capacity"));
+        schedule.setPrice(rs.getBigDecimal("price"));
+
+        return schedule;
+    }
+}
@@ -0,0 +1,311 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+import com.GoAero.model.Booking;
+import com.GoAero.model.SeatHold;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for SeatHold entity.
+ * Expiry is always evaluated against the database clock (NOW()) so that every
+ * client agrees on whether a hold is still active.
+ */
+public class SeatHoldDAO implements BaseDAO<SeatHold, Integer> {
+
+    public static final int DEFAULT_TTL_SECONDS = 600;
+
+    private static final String INSERT_HOLD =
+        "INSERT INTO seat_holds (flight_id, user_id, seats, expires_at, status) " +
+        "VALUES (?, ?, ?, DATE_ADD(NOW(), INTERVAL ? SECOND), 'Active')";
+
+    private static final String SELECT_HOLD_COLUMNS =
+        "SELECT hold_id, flight_id, user_id, seats, created_at, expires_at, status, booking_id FROM seat_holds ";
+
+    private static final String SELECT_HOLD_BY_ID =
+        SELECT_HOLD_COLUMNS + "WHERE hold_id = ?";
+
+    private static final String SELECT_ALL_HOLDS =
+        SELECT_HOLD_COLUMNS + "ORDER BY created_at DESC";
+
+    private static final String UPDATE_HOLD =
+        "UPDATE seat_holds SET flight_id = ?, user_id = ?, seats = ?, expires_at = ?, status = ?, booking_id = ? " +
+        "WHERE hold_id = ?";
+
+    private static final String DELETE_HOLD =
+        "DELETE FROM seat_holds WHERE hold_id = ?";
+
+    private static final String COUNT_HOLDS =
+        "SELECT COUNT(*) FROM seat_holds";
+
+    private static final String LOCK_ACTIVE_HOLD =
+        "SELECT seats FROM seat_holds WHERE hold_id = ? AND status = 'Active' AND expires_at > NOW() FOR UPDATE";
+
+    private static final String MARK_CONVERTED =
+        "UPDATE seat_holds SET status = 'Converted', booking_id = ? WHERE hold_id = ?";
+
+    private static final String RELEASE_HOLD =
+        "UPDATE seat_holds SET status = 'Released' WHERE hold_id = ? AND status = 'Active'";
+
+    private static final String RELEASE_EXPIRED_HOLDS =
+        "UPDATE seat_holds SET status = 'Released' WHERE status = 'Active' AND expires_at <= NOW() LIMIT ?";
+
+    @Override
+    public SeatHold create(SeatHold hold) {
+        return createIfAvailable(hold, DEFAULT_TTL_SECONDS);
+    }
+
+    /**
+     * Places a hold if the flight still has enough free seats. Capacity, confirmed bookings
+     * and other active holds are checked under a row lock on the flight, in one short transaction.
+     * @param hold The hold to place (flight, user and seat count)
+     * @param ttlSeconds How long the hold stays active
+     * @return The hold with its ID and expiry, or null if there are not enough seats
+     */
+    public SeatHold createIfAvailable(SeatHold hold, int ttlSeconds) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Serializes hold creation per flight for this short check-and-insert transaction
+                if (FlightDAO.lockAndCountFreeSeats(conn, hold.getFlightId()) < hold.getSeats()) {
+                    conn.rollback();
+                    return null;
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_HOLD, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setInt(1, hold.getFlightId());
+                    stmt.setInt(2, hold.getUserId());
+                    stmt.setInt(3, hold.getSeats());
+                    stmt.setInt(4, ttlSeconds);
+                    stmt.executeUpdate();
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            hold.setHoldId(generatedKeys.getInt(1));
+                        }
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        // Re-read to pick up the database-assigned timestamps
+        SeatHold saved = findById(hold.getHoldId());
+        return saved != null ? saved : hold;
+    }
+
+    @Override
+    public SeatHold findById(Integer id) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_HOLD_BY_ID)) {
+
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToHold(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public List<SeatHold> findAll() {
+        List<SeatHold> holds = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_HOLDS);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                holds.add(mapResultSetToHold(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return holds;
+    }
+
+    @Override
+    public boolean update(SeatHold hold) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_HOLD)) {
+
+            stmt.setInt(1, hold.getFlightId());
+            stmt.setInt(2, hold.getUserId());
+            stmt.setInt(3, hold.getSeats());
+            stmt.setTimestamp(4, hold.getExpiresAt());
+            stmt.setString(5, hold.getStatus().getDisplayName());
+            if (hold.getBookingId() != null) {
+                stmt.setInt(6, hold.getBookingId());
+            } else {
+                stmt.setNull(6, Types.INTEGER);
+            }
+            stmt.setInt(7, hold.getHoldId());
+
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_HOLD)) {
+
+            stmt.setInt(1, id);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean exists(Integer id) {
+        return findById(id) != null;
+    }
+
+    @Override
+    public long count() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_HOLDS);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Converts an active, unexpired single-seat hold into a booking
+     * @param holdId The hold to convert
+     * @param booking The booking to create for the held seat
+     * @return The saved booking, or null if the hold was missing, expired or already used
+     */
+    public Booking convertToBooking(int holdId, Booking booking) {
+        List<Booking> bookings = new ArrayList<>(1);
+        bookings.add(booking);
+        return convertToBookings(holdId, bookings) ? booking : null;
+    }
+
+    /**
+     * Converts an active, unexpired hold into one booking per held seat. The booking batch
+     * and the hold status change commit together, so a seat is never both held and booked.
+     * @param holdId The hold to convert
+     * @param bookings One booking per held seat
+     * @return true if converted, false if the hold was missing, expired, already used or
+     *         holds a different number of seats
+     */
+    public boolean convertToBookings(int holdId, List<Booking> bookings) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(LOCK_ACTIVE_HOLD)) {
+                    stmt.setInt(1, holdId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next() || rs.getInt("seats") != bookings.size()) {
+                            conn.rollback();
+                            return false;
+                        }
+                    }
+                }
+
+                if (!new BookingDAO().insertBookings(conn, bookings)) {
+                    conn.rollback();
+                    return false;
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(MARK_CONVERTED)) {
+                    stmt.setInt(1, bookings.get(0).getBookingId());
+                    stmt.setInt(2, holdId);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Releases an active hold (e.g. checkout abandoned or payment failed)
+     * @param holdId The hold ID
+     * @return true if an active hold was released
+     */
+    public boolean release(int holdId) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(RELEASE_HOLD)) {
+
+            stmt.setInt(1, holdId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Marks up to batchSize expired holds as released
+     * @param batchSize Maximum rows to update in one statement
+     * @return Number of holds released, or -1 on error
+     */
+    public int releaseExpired(int batchSize) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(RELEASE_EXPIRED_HOLDS)) {
+
+            stmt.setInt(1, batchSize);
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    /**
+     * Maps a ResultSet row to a SeatHold object
+     * @param rs The ResultSet
+     * @return A SeatHold object
+     * @throws SQLException if database access error occurs
+     */
+    private SeatHold mapResultSetToHold(ResultSet rs) throws SQLException {
+        SeatHold hold = new SeatHold();
+        hold.setHoldId(rs.getInt("hold_id"));
+        hold.setFlightId(rs.getInt("flight_id"));
+        hold.setUserId(rs.getInt("user_id"));
+        hold.setSeats(rs.getInt("seats"));
+        hold.setCreatedAt(rs.getTimestamp("created_at"));
+        hold.setExpiresAt(rs.getTimestamp("expires_at"));
+        hold.setStatus(SeatHold.HoldStatus.fromString(rs.getString("status")));
+        int bookingId = rs.getInt("booking_id");
+        hold.setBookingId(rs.wasNull() ? null : bookingId);
+
+        return hold;
+    }
+}
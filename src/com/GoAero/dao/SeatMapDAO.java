@@ -0,0 +1,318 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+import com.GoAero.model.Booking;
+import com.GoAero.model.SeatLayout;
+import com.GoAero.model.SeatMap;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Data Access Object for flight_seat_maps, the per-flight bitsets of seats that can no
+ * longer be assigned, and for the seat numbers of bookings. Bookings are seated by
+ * BookingDAO in the transaction that inserts them, so every active booking holds a bit.
+ * Every write locks the flight's seat map row and stores the bits together with the
+ * bookings' seat numbers, so a seat is assigned once no matter how many bookings are made
+ * at the same time.
+ */
+public class SeatMapDAO {
+
+    private static final String SELECT_SEAT_MAP =
+        "SELECT layout, occupied, version FROM flight_seat_maps WHERE flight_id = ?";
+
+    private static final String LOCK_SEAT_MAP =
+        SELECT_SEAT_MAP + " FOR UPDATE";
+
+    // A cancelled flight keeps its map, with every seat taken
+    private static final String SELECT_ASSIGNABLE_SEATS =
+        "SELECT CASE WHEN cancelled_at IS NULL THEN capacity ELSE 0 END FROM flight_data WHERE flight_id = ?";
+
+    // Two first bookings on one flight may race to create its map; the loser keeps the winner's
+    private static final String INSERT_SEAT_MAP =
+        "INSERT IGNORE INTO flight_seat_maps (flight_id, layout, occupied) VALUES (?, ?, ?)";
+
+    private static final String UPDATE_SEAT_MAP =
+        "UPDATE flight_seat_maps SET layout = ?, occupied = ?, version = version + 1 WHERE flight_id = ?";
+
+    private static final String ASSIGN_SEAT =
+        "UPDATE bookings SET seat_number = ? WHERE booking_id = ?";
+
+    // Cancelled bookings keep their seat number for the record but no longer hold the seat
+    private static final String SELECT_ACTIVE_SEATS =
+        "SELECT booking_id, record_locator, seat_number FROM bookings WHERE flight_id = ? " +
+        "AND booking_status IN ('Pending', 'Confirmed') ORDER BY booking_id";
+
+    private static final String SELECT_UPCOMING_SEAT_MAPS =
+        "SELECT m.flight_id FROM flight_seat_maps m JOIN flight_data fd ON m.flight_id = fd.flight_id " +
+        "WHERE fd.departure_time > NOW()";
+
+    /**
+     * Gets a flight's seat map
+     * @param flightId The flight ID
+     * @return The seat map, or null if the flight has not been booked or held since seat
+     *         maps were introduced, or the query failed
+     */
+    public SeatMap findByFlightId(int flightId) {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SEAT_MAP)) {
+
+            stmt.setInt(1, flightId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToSeatMap(flightId, rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Seats bookings just inserted on the caller's connection, in the caller's transaction.
+     * A party sharing a record locator sits next to each other where possible, in the
+     * main cabin first; a party that no longer fits stays unseated.
+     * @param conn A connection with auto-commit disabled
+     * @param bookings The new bookings with their IDs set, all on one flight; their seat
+     *                 numbers are set
+     * @throws SQLException if database access error occurs
+     */
+    static void seatNewBookings(Connection conn, List<Booking> bookings) throws SQLException {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Set<Integer> newIds = new HashSet<>();
+        for (Booking booking : bookings) {
+            newIds.add(booking.getBookingId());
+        }
+        SeatMap seatMap = lockOrCreateSeatMap(conn, bookings.get(0).getFlightId(), newIds);
+        if (seatMap != null && seatParties(conn, seatMap, bookings)) {
+            writeSeatMap(conn, seatMap);
+        }
+    }
+
+    /**
+     * Locks a flight's seat map row, creating the map from the layout for the flight's
+     * capacity if the flight has none yet. A new map seats the flight's existing active
+     * bookings, so it accounts for every booking.
+     * @param conn A connection with auto-commit disabled
+     * @param flightId The flight ID
+     * @return The locked seat map, or null if the flight does not exist
+     * @throws SQLException if database access error occurs
+     */
+    static SeatMap lockOrCreateSeatMap(Connection conn, int flightId) throws SQLException {
+        return lockOrCreateSeatMap(conn, flightId, new HashSet<>());
+    }
+
+    /**
+     * Recomputes a flight's seat map from its active bookings, which frees the seats of
+     * cancelled and deleted bookings and applies capacity changes. Active bookings without
+     * a seat, or sharing one, are seated again. Runs in the caller's transaction.
+     * @param conn A connection with auto-commit disabled
+     * @param flightId The flight ID
+     * @return The rebuilt seat map, or null if the flight has none
+     * @throws SQLException if database access error occurs
+     */
+    static SeatMap rebuild(Connection conn, int flightId) throws SQLException {
+        return rebuild(conn, flightId, new HashSet<>());
+    }
+
+    // Bookings in `excluded` are left for the caller to seat
+    private static SeatMap rebuild(Connection conn, int flightId, Set<Integer> excluded) throws SQLException {
+        SeatMap current = lockSeatMap(conn, flightId);
+        int capacity = current != null ? findAssignableSeats(conn, flightId) : -1;
+        if (capacity < 0) {
+            return null;
+        }
+
+        // Free seats are read off the map, so a capacity the layout cannot seat needs a larger one;
+        // seat numbers the new layout lacks are reassigned below
+        SeatLayout layout = capacity > current.getLayout().getSeatCount()
+            ? SeatLayout.forCapacity(capacity) : current.getLayout();
+        SeatMap seatMap = SeatMap.create(flightId, layout, capacity);
+        List<Booking> unseated = new ArrayList<>();
+        Set<String> taken = new HashSet<>();
+        for (Booking booking : findActiveSeats(conn, flightId)) {
+            String seatNumber = booking.getSeatNumber();
+            if (excluded.contains(booking.getBookingId())) {
+                continue;
+            }
+            if (seatNumber != null && seatMap.getLayout().getPosition(seatNumber) >= 0 && taken.add(seatNumber)) {
+                // Seats past a reduced capacity are taken already; their passengers keep them
+                seatMap.occupy(seatNumber);
+            } else {
+                unseated.add(booking);
+            }
+        }
+        seatParties(conn, seatMap, unseated);
+        seatMap.setVersion(current.getVersion());
+        writeSeatMap(conn, seatMap);
+        return seatMap;
+    }
+
+    /**
+     * Rebuilds a flight's seat map in a transaction of its own
+     * @param flightId The flight ID
+     * @return The rebuilt seat map, or null if the flight has none or the rebuild failed
+     */
+    public SeatMap rebuild(int flightId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                SeatMap seatMap = rebuild(conn, flightId);
+                conn.commit();
+                return seatMap;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the flights with a seat map that have not departed yet
+     * @return The flight IDs, or null if the query failed
+     */
+    public List<Integer> findUpcomingFlightIds() {
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_UPCOMING_SEAT_MAPS);
+             ResultSet rs = stmt.executeQuery()) {
+
+            List<Integer> flightIds = new ArrayList<>();
+            while (rs.next()) {
+                flightIds.add(rs.getInt(1));
+            }
+            return flightIds;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private static SeatMap lockOrCreateSeatMap(Connection conn, int flightId, Set<Integer> newIds)
+            throws SQLException {
+        SeatMap seatMap = lockSeatMap(conn, flightId);
+        if (seatMap != null) {
+            return seatMap;
+        }
+        int capacity = findAssignableSeats(conn, flightId);
+        if (capacity < 0) {
+            return null;
+        }
+        SeatLayout layout = SeatLayout.forCapacity(capacity);
+        int created;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SEAT_MAP)) {
+            stmt.setInt(1, flightId);
+            stmt.setString(2, layout.getDefinition());
+            stmt.setBytes(3, SeatMap.create(flightId, layout, capacity).toBytes());
+            created = stmt.executeUpdate();
+        }
+        // Bookings made before the flight had a map take their bits; the caller seats its new ones
+        return created > 0 ? rebuild(conn, flightId, newIds) : lockSeatMap(conn, flightId);
+    }
+
+    // Seats bookings party by party, a party being a run of bookings sharing a record locator.
+    // Returns true if any booking was seated.
+    private static boolean seatParties(Connection conn, SeatMap seatMap, List<Booking> bookings) throws SQLException {
+        List<Booking> seated = new ArrayList<>();
+        int start = 0;
+        while (start < bookings.size()) {
+            int end = start + 1;
+            String locator = bookings.get(start).getRecordLocator();
+            while (locator != null && end < bookings.size()
+                    && Objects.equals(locator, bookings.get(end).getRecordLocator())) {
+                end++;
+            }
+            List<Booking> party = bookings.subList(start, end);
+            List<String> seats = seatMap.assignAdjacent(party.size(), null);
+            if (seats != null) {
+                for (int i = 0; i < seats.size(); i++) {
+                    party.get(i).setSeatNumber(seats.get(i));
+                    seated.add(party.get(i));
+                }
+            }
+            start = end;
+        }
+        if (seated.isEmpty()) {
+            return false;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(ASSIGN_SEAT)) {
+            for (Booking booking : seated) {
+                stmt.setString(1, booking.getSeatNumber());
+                stmt.setInt(2, booking.getBookingId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return true;
+    }
+
+    private static List<Booking> findActiveSeats(Connection conn, int flightId) throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE_SEATS)) {
+            stmt.setInt(1, flightId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Booking booking = new Booking();
+                    booking.setBookingId(rs.getInt("booking_id"));
+                    booking.setFlightId(flightId);
+                    booking.setRecordLocator(rs.getString("record_locator"));
+                    booking.setSeatNumber(rs.getString("seat_number"));
+                    bookings.add(booking);
+                }
+            }
+        }
+        return bookings;
+    }
+
+    private static SeatMap lockSeatMap(Connection conn, int flightId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_SEAT_MAP)) {
+            stmt.setInt(1, flightId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapResultSetToSeatMap(flightId, rs) : null;
+            }
+        }
+    }
+
+    private static int findAssignableSeats(Connection conn, int flightId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ASSIGNABLE_SEATS)) {
+            stmt.setInt(1, flightId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    private static void writeSeatMap(Connection conn, SeatMap seatMap) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SEAT_MAP)) {
+            stmt.setString(1, seatMap.getLayout().getDefinition());
+            stmt.setBytes(2, seatMap.toBytes());
+            stmt.setInt(3, seatMap.getFlightId());
+            stmt.executeUpdate();
+        }
+        seatMap.setVersion(seatMap.getVersion() + 1);
+    }
+
+    /**
+     * Maps a ResultSet row to a SeatMap object
+     * @param flightId The flight the row belongs to
+     * @param rs The ResultSet
+     * @return A SeatMap object
+     * @throws SQLException if database access error occurs
+     */
+    private static SeatMap mapResultSetToSeatMap(int flightId, ResultSet rs) throws SQLException {
+        return SeatMap.fromBytes(flightId, SeatLayout.parse(rs.getString("layout")),
+            rs.getBytes("occupied"), rs.getInt("version"));
+    }
+}
@@ -1,5 +1,7 @@
 package com.GoAero.dao;
 
+import com.GoAero.cache.EntityCache;
+import com.GoAero.cache.EntityCaches;
 import com.GoAero.db.DBConnection;
 import com.GoAero.model.User;
 
@@ -24,8 +26,11 @@ public class UserDAO implements BaseDAO<User, Integer> {
     private static final String UPDATE_USER = 
         "UPDATE users SET first_name = ?, last_name = ?, email = ?, phone = ?, DOB = ?, password = ? WHERE user_id = ?";
     
+    // bookings is partitioned and cannot carry foreign keys, so references are checked here
     private static final String DELETE_USER = 
-        "DELETE FROM users WHERE user_id = ?";
+        "DELETE FROM users WHERE user_id = ? " +
+        "AND NOT EXISTS (SELECT 1 FROM bookings WHERE user_id = ?) " +
+        "AND NOT EXISTS (SELECT 1 FROM bookings_archive WHERE user_id = ?)";
     
     private static final String SELECT_USER_BY_EMAIL = 
         "SELECT user_id, first_name, last_name, email, phone, DOB, password, created_at, updated_at FROM users WHERE email = ?";
@@ -36,6 +41,17 @@ public class UserDAO implements BaseDAO<User, Integer> {
     private static final String CHECK_EMAIL_EXISTS = 
         "SELECT COUNT(*) FROM users WHERE email = ? AND user_id != ?";
 
+    private static final EntityCache<Integer, User> CACHE =
+        EntityCaches.create("users", 10_000, 300, UserDAO::copyOf);
+
+    /**
+     * Gets the cache behind findById, for cache-aside use and invalidation by other DAOs
+     * @return The user cache
+     */
+    public static EntityCache<Integer, User> getCache() {
+        return CACHE;
+    }
+
     @Override
     public User create(User user) {
         try (Connection conn = DBConnection.getConnection();
@@ -66,6 +82,10 @@ public class UserDAO implements BaseDAO<User, Integer> {
 
     @Override
     public User findById(Integer id) {
+        return CACHE.get(id, this::loadById);
+    }
+
+    private User loadById(Integer id) {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_USER_BY_ID)) {
             
@@ -86,7 +106,7 @@ public class UserDAO implements BaseDAO<User, Integer> {
     public List<User> findAll() {
         List<User> users = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_USERS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -116,6 +136,8 @@ public class UserDAO implements BaseDAO<User, Integer> {
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            CACHE.invalidate(user.getUserId());
         }
         return false;
     }
@@ -126,9 +148,13 @@ public class UserDAO implements BaseDAO<User, Integer> {
              PreparedStatement stmt = conn.prepareStatement(DELETE_USER)) {
             
             stmt.setInt(1, id);
+            stmt.setInt(2, id);
+            stmt.setInt(3, id);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            CACHE.invalidate(id);
         }
         return false;
     }
@@ -140,7 +166,7 @@ public class UserDAO implements BaseDAO<User, Integer> {
 
     @Override
     public long count() {
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(COUNT_USERS);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -208,6 +234,17 @@ public class UserDAO implements BaseDAO<User, Integer> {
         return findByEmail(email) != null;
     }
 
+    // Callers may edit the users they get back, so the cache stores and hands out copies
+    private static User copyOf(User user) {
+        return new User(user.getUserId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+            user.getPhone(), user.getDateOfBirth(), user.getPasswordHash(),
+            copyOf(user.getCreatedAt()), copyOf(user.getUpdatedAt()));
+    }
+
+    private static Timestamp copyOf(Timestamp timestamp) {
+        return timestamp != null ? (Timestamp) timestamp.clone() : null;
+    }
+
     /**
      * Maps a ResultSet row to a User object
      * @param rs The ResultSet
@@ -0,0 +1,282 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+import com.GoAero.model.Booking;
+import com.GoAero.model.WaitlistEntry;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Data Access Object for waitlist_entries, the passengers waiting for seats on full flights.
+ * Promotion takes the same flight row lock as bookings and seat holds, so a freed seat is
+ * handed out once no matter how many releases and promotions run at the same time.
+ */
+public class WaitlistDAO {
+
+    // One waiting entry per passenger and flight; cancelled flights take no new entries
+    private static final String INSERT_ENTRY =
+        "INSERT INTO waitlist_entries (flight_id, user_id, seats, status) " +
+        "SELECT flight_id, ?, ?, 'Waiting' FROM flight_data WHERE flight_id = ? AND cancelled_at IS NULL " +
+        "AND NOT EXISTS (SELECT 1 FROM waitlist_entries WHERE flight_id = ? AND user_id = ? AND status = 'Waiting')";
+
+    private static final String SELECT_ENTRY_COLUMNS =
+        "SELECT entry_id, flight_id, user_id, seats, requested_at, status, booking_id FROM waitlist_entries ";
+
+    private static final String SELECT_ENTRY_BY_ID =
+        SELECT_ENTRY_COLUMNS + "WHERE entry_id = ?";
+
+    // Walks idx_waitlist_queue in request order
+    private static final String LOCK_WAITLIST_HEAD =
+        SELECT_ENTRY_COLUMNS + "WHERE flight_id = ? AND status = 'Waiting' " +
+        "ORDER BY requested_at, entry_id LIMIT ? FOR UPDATE";
+
+    private static final String MARK_PROMOTED =
+        "UPDATE waitlist_entries SET status = 'Promoted', booking_id = ?, promoted_at = NOW() WHERE entry_id = ?";
+
+    private static final String CLOSE_WAITING =
+        "UPDATE waitlist_entries SET status = 'Closed' WHERE flight_id = ? AND status = 'Waiting'";
+
+    private static final String COUNT_POSITION =
+        "SELECT COUNT(*) FROM waitlist_entries WHERE flight_id = ? AND status = 'Waiting' " +
+        "AND (requested_at < ? OR (requested_at = ? AND entry_id <= ?))";
+
+    private static final String SELECT_WAITING_FLIGHTS =
+        "SELECT DISTINCT flight_id FROM waitlist_entries WHERE status = 'Waiting'";
+
+    /**
+     * Adds a passenger to the end of a flight's waitlist
+     * @param entry The entry to add (flight, user and seat count)
+     * @return The entry with its ID and request time, or null if the passenger is already
+     *         waiting for this flight, the flight is cancelled or the insert failed
+     */
+    public WaitlistEntry join(WaitlistEntry entry) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_ENTRY, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setInt(1, entry.getUserId());
+            stmt.setInt(2, entry.getSeats());
+            stmt.setInt(3, entry.getFlightId());
+            stmt.setInt(4, entry.getFlightId());
+            stmt.setInt(5, entry.getUserId());
+            if (stmt.executeUpdate() == 0) {
+                return null;
+            }
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    return null;
+                }
+                entry.setEntryId(generatedKeys.getInt(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        // Re-read to pick up the database-assigned request time
+        WaitlistEntry saved = findById(entry.getEntryId());
+        return saved != null ? saved : entry;
+    }
+
+    public WaitlistEntry findById(int entryId) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ENTRY_BY_ID)) {
+
+            stmt.setInt(1, entryId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToEntry(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Gets a waiting entry's place in its flight's queue
+     * @param entry A waiting entry with its request time
+     * @return 1 for the head of the queue, or -1 if the query failed
+     */
+    public int findPosition(WaitlistEntry entry) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_POSITION)) {
+
+            stmt.setInt(1, entry.getFlightId());
+            stmt.setTimestamp(2, entry.getRequestedAt());
+            stmt.setTimestamp(3, entry.getRequestedAt());
+            stmt.setInt(4, entry.getEntryId());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the flights that have passengers waiting
+     * @return The flight IDs, or null if the query failed
+     */
+    public List<Integer> findFlightsWithWaiting() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_WAITING_FLIGHTS);
+             ResultSet rs = stmt.executeQuery()) {
+
+            List<Integer> flightIds = new ArrayList<>();
+            while (rs.next()) {
+                flightIds.add(rs.getInt(1));
+            }
+            return flightIds;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Promotes waiting passengers at the head of a flight's queue into bookings, in one
+     * short transaction. Entries are served strictly in request order: promotion stops at
+     * the first party that does not fit into the free seats. If the flight has been
+     * cancelled or deleted, its waiting entries are closed instead.
+     * @param flightId The flight ID
+     * @param maxEntries Maximum entries to promote
+     * @param bookingFactory Builds the bookings for an entry, one per seat; called while the
+     *                       flight is locked, so it should not be slow
+     * @return The promoted entries with their stored bookings, or null if the batch failed
+     */
+    public List<Promotion> promote(int flightId, int maxEntries,
+                                   Function<WaitlistEntry, List<Booking>> bookingFactory) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Promotion> promotions = new ArrayList<>();
+                int freeSeats = FlightDAO.lockAndCountSeatsForWaitlist(conn, flightId);
+                if (freeSeats < 0) {
+                    closeWaiting(conn, flightId);
+                    conn.commit();
+                    return promotions;
+                }
+
+                List<Booking> bookings = new ArrayList<>();
+                if (freeSeats > 0) {
+                    try (PreparedStatement stmt = conn.prepareStatement(LOCK_WAITLIST_HEAD)) {
+                        stmt.setInt(1, flightId);
+                        stmt.setInt(2, maxEntries);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                WaitlistEntry entry = mapResultSetToEntry(rs);
+                                if (entry.getSeats() > freeSeats) {
+                                    break;
+                                }
+                                freeSeats -= entry.getSeats();
+                                List<Booking> party = bookingFactory.apply(entry);
+                                promotions.add(new Promotion(entry, party));
+                                bookings.addAll(party);
+                            }
+                        }
+                    }
+                }
+                if (promotions.isEmpty()) {
+                    conn.commit();
+                    return promotions;
+                }
+
+                if (!new BookingDAO().insertBookings(conn, bookings)) {
+                    conn.rollback();
+                    return null;
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(MARK_PROMOTED)) {
+                    for (Promotion promotion : promotions) {
+                        int bookingId = promotion.getBookings().get(0).getBookingId();
+                        stmt.setInt(1, bookingId);
+                        stmt.setInt(2, promotion.getEntry().getEntryId());
+                        stmt.addBatch();
+                        promotion.getEntry().setBookingId(bookingId);
+                        promotion.getEntry().setStatus(WaitlistEntry.WaitlistStatus.PROMOTED);
+                    }
+                    stmt.executeBatch();
+                }
+                conn.commit();
+                return promotions;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Closes every waiting entry of a flight that can no longer be booked, e.g. one that has departed
+     * @param flightId The flight ID
+     * @return Number of entries closed, or -1 on error
+     */
+    public int close(int flightId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            return closeWaiting(conn, flightId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    private int closeWaiting(Connection conn, int flightId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(CLOSE_WAITING)) {
+            stmt.setInt(1, flightId);
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Maps a ResultSet row to a WaitlistEntry object
+     * @param rs The ResultSet
+     * @return A WaitlistEntry object
+     * @throws SQLException if database access error occurs
+     */
+    private WaitlistEntry mapResultSetToEntry(ResultSet rs) throws SQLException {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setEntryId(rs.getInt("entry_id"));
+        entry.setFlightId(rs.getInt("flight_id"));
+        entry.setUserId(rs.getInt("user_id"));
+        entry.setSeats(rs.getInt("seats"));
+        entry.setRequestedAt(rs.getTimestamp("requested_at"));
+        entry.setStatus(WaitlistEntry.WaitlistStatus.fromString(rs.getString("status")));
+        int bookingId = rs.getInt("booking_id");
+        entry.setBookingId(rs.wasNull() ? null : bookingId);
+        return entry;
+    }
+
+    /**
+     * A waitlist entry promoted into bookings
+     */
+    public static class Promotion {
+        private final WaitlistEntry entry;
+        private final List<Booking> bookings;
+
+        Promotion(WaitlistEntry entry, List<Booking> bookings) {
+            this.entry = entry;
+            this.bookings = bookings;
+        }
+
+        public WaitlistEntry getEntry() {
+            return entry;
+        }
+
+        /**
+         * Gets the bookings created for the entry, one per seat
+         * @return The stored bookings
+         */
+        public List<Booking> getBookings() {
+            return bookings;
+        }
+    }
+}
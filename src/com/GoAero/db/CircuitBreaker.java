@@ -0,0 +1,88 @@
+package com.GoAero.db;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker guarding the database.
+ * After failureThreshold consecutive connection failures or timeouts the circuit opens and
+ * DBConnection fails fast instead of waiting on a dead server. Once the open interval has
+ * passed a single trial request is let through (half-open); its outcome closes or re-opens
+ * the circuit.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED("Closed"),
+        OPEN("Open"),
+        HALF_OPEN("Half-Open");
+
+        private final String displayName;
+
+        State(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Checks whether a request may go to the database
+     * @return true if the circuit is closed, or this caller won the half-open trial
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt.get() >= openMillis) {
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void recordSuccess() {
+        // Avoid a shared write on the hot path when nothing has failed
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        if (state.get() != State.CLOSED) {
+            state.set(State.CLOSED);
+        }
+    }
+
+    public void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        State current = state.get();
+        if (current == State.HALF_OPEN || (current == State.CLOSED && failures >= failureThreshold)) {
+            openedAt.set(System.currentTimeMillis());
+            state.set(State.OPEN);
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Checks whether callers are currently being turned away
+     * @return true while open or half-open
+     */
+    public boolean isOpen() {
+        return state.get() != State.CLOSED;
+    }
+}
@@ -0,0 +1,400 @@
+package com.GoAero.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Small JDBC connection pool.
+ * Callers close the connections they borrow as usual; close() hands the physical connection
+ * back instead of disconnecting. Connections that failed with a connection error, outlived
+ * maxLifetime, or were opened with settings that have since been reloaded are discarded
+ * rather than reused. Size and timeouts follow the current DatabaseConfig and can change
+ * while connections are out.
+ */
+public class ConnectionPool {
+
+    private static final long HOUSEKEEPING_INTERVAL_SECONDS = 30;
+    // Connections idle for less than this are handed out without a validation round trip
+    private static final long VALIDATION_GRACE_MILLIS = 1000;
+
+    private final String name;
+    private final Function<DatabaseConfig, String> urlResolver;
+    private final Function<DatabaseConfig, Properties> propertiesResolver;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition returned = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile DatabaseConfig config;
+    private volatile int generation;
+    private int total;
+    private int waiting;
+    private boolean shutdown;
+
+    /**
+     * Creates a pool
+     * @param name Pool name used in thread names and messages
+     * @param config The initial configuration
+     * @param urlResolver Extracts the JDBC URL from a configuration snapshot
+     * @param propertiesResolver Extracts the driver properties (including credentials) from a snapshot
+     */
+    ConnectionPool(String name, DatabaseConfig config, Function<DatabaseConfig, String> urlResolver,
+                   Function<DatabaseConfig, Properties> propertiesResolver) {
+        this.name = name;
+        this.config = config;
+        this.urlResolver = urlResolver;
+        this.propertiesResolver = propertiesResolver;
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name + "-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::evictIdle,
+            HOUSEKEEPING_INTERVAL_SECONDS, HOUSEKEEPING_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured acquire timeout when the pool is exhausted
+     * @return A connection whose close() returns it to the pool
+     * @throws SQLException if a connection cannot be opened or none became free in time
+     */
+    public Connection acquire() throws SQLException {
+        DatabaseConfig settings = config;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getAcquireTimeoutMillis());
+        int connectGeneration;
+        DatabaseConfig connectSettings;
+        lock.lock();
+        try {
+            while (true) {
+                if (shutdown) {
+                    throw new SQLTransientException(name + " pool is shut down");
+                }
+                PooledConnection candidate = idle.pollFirst();
+                if (candidate != null) {
+                    lock.unlock();
+                    try {
+                        if (isUsable(candidate, settings)) {
+                            return candidate.lend();
+                        }
+                        discard(candidate);
+                    } finally {
+                        lock.lock();
+                    }
+                    continue;
+                }
+                if (total < config.getPoolMaxSize()) {
+                    total++;
+                    connectGeneration = generation;
+                    connectSettings = config;
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLTransientException(String.format(
+                        "Timed out after %d ms waiting for a %s connection (%d in use, max %d)",
+                        settings.getAcquireTimeoutMillis(), name, total, config.getPoolMaxSize()));
+                }
+                waiting++;
+                try {
+                    returned.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLTransientException("Interrupted while waiting for a " + name + " connection", e);
+                } finally {
+                    waiting--;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            Connection physical = DriverManager.getConnection(
+                urlResolver.apply(connectSettings), propertiesResolver.apply(connectSettings));
+            return new PooledConnection(physical, connectGeneration).lend();
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                returned.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Applies a new configuration. Size and timeout changes take effect on the next acquire;
+     * if the connection settings changed, existing connections are retired as they come back.
+     * @param next The new configuration
+     */
+    void reconfigure(DatabaseConfig next) {
+        DatabaseConfig previous = config;
+        config = next;
+        List<PooledConnection> retired = new ArrayList<>();
+        lock.lock();
+        try {
+            if (!urlResolver.apply(next).equals(urlResolver.apply(previous))
+                    || !propertiesResolver.apply(next).equals(propertiesResolver.apply(previous))) {
+                generation++;
+                retired.addAll(idle);
+                idle.clear();
+            }
+            while (idle.size() > next.getPoolMaxSize()) {
+                retired.add(idle.pollLast());
+            }
+            // A larger pool may admit callers that are already waiting
+            returned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        retired.forEach(this::discard);
+    }
+
+    /**
+     * Closes idle connections and stops housekeeping; borrowed connections are closed when returned
+     */
+    void shutdown() {
+        List<PooledConnection> closing;
+        lock.lock();
+        try {
+            shutdown = true;
+            closing = new ArrayList<>(idle);
+            idle.clear();
+            returned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        closing.forEach(this::discard);
+        housekeeper.shutdownNow();
+    }
+
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveConnections() {
+        lock.lock();
+        try {
+            return total - idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaitingThreads() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return config.getPoolMaxSize();
+    }
+
+    private boolean isUsable(PooledConnection candidate, DatabaseConfig settings) {
+        long now = System.currentTimeMillis();
+        if (isExpired(candidate, settings, now)) {
+            return false;
+        }
+        if (now - candidate.lastReturned < VALIDATION_GRACE_MILLIS) {
+            return true;
+        }
+        try {
+            return candidate.physical.isValid(settings.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection candidate, DatabaseConfig settings, long now) {
+        long maxLifetime = settings.getMaxLifetimeMillis();
+        return candidate.generation != generation
+            || (maxLifetime > 0 && now - candidate.created >= maxLifetime);
+    }
+
+    private void release(PooledConnection connection) {
+        boolean reusable = !connection.broken && resetState(connection);
+        lock.lock();
+        try {
+            if (reusable && !shutdown && !isExpired(connection, config, System.currentTimeMillis())
+                    && total <= config.getPoolMaxSize()) {
+                connection.lastReturned = System.currentTimeMillis();
+                // Most recently used first keeps a warm core and lets the rest go idle
+                idle.addFirst(connection);
+                returned.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(connection);
+    }
+
+    /**
+     * Undoes anything the borrower may have left behind so the next caller gets a clean connection
+     */
+    private static boolean resetState(PooledConnection connection) {
+        try {
+            Connection physical = connection.physical;
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        try {
+            connection.physical.close();
+        } catch (SQLException ignored) {
+            // Already closed or broken
+        }
+        lock.lock();
+        try {
+            total--;
+            returned.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictIdle() {
+        DatabaseConfig settings = config;
+        long now = System.currentTimeMillis();
+        long idleTimeout = settings.getIdleTimeoutMillis();
+        List<PooledConnection> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            // Oldest returns are at the tail
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection candidate = it.next();
+                boolean idleTooLong = idleTimeout > 0 && now - candidate.lastReturned >= idleTimeout
+                    && idle.size() - evicted.size() > settings.getPoolMinIdle();
+                if (idleTooLong || isExpired(candidate, settings, now)) {
+                    evicted.add(candidate);
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(this::discard);
+    }
+
+    /**
+     * A physical connection owned by the pool. Each loan gets its own proxy so a stale
+     * reference cannot touch the connection after it has been handed to someone else.
+     */
+    private class PooledConnection {
+        private final Connection physical;
+        private final int generation;
+        private final long created = System.currentTimeMillis();
+        private long lastReturned = created;
+        private volatile boolean broken;
+
+        PooledConnection(Connection physical, int generation) {
+            this.physical = physical;
+            this.generation = generation;
+        }
+
+        Connection lend() {
+            Loan loan = new Loan();
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> loan.invoke(proxy, method, args));
+        }
+
+        private class Loan {
+            private boolean closed;
+
+            Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            release(PooledConnection.this);
+                        }
+                        return null;
+                    case "abort":
+                        // The borrower knows the connection is unusable; never hand it out again
+                        broken = true;
+                        if (!closed) {
+                            closed = true;
+                            release(PooledConnection.this);
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || physical.isClosed();
+                    case "toString":
+                        return "Pooled[" + name + "]" + physical;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        break;
+                }
+                if (closed) {
+                    throw new SQLException("Connection has been returned to the pool", "08003");
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof SQLException && ResiliencePolicy.isConnectionFailure((SQLException) cause)) {
+                        broken = true;
+                    }
+                    throw cause;
+                }
+            }
+        }
+    }
+}
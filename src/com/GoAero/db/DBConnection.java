@@ -1,8 +1,12 @@
 package com.GoAero.db;
 
+import com.GoAero.jfr.ConnectionAcquireEvent;
+
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
 
 /**
  * A utility class to handle the database connection.
@@ -10,42 +14,185 @@ import java.sql.SQLException;
  */
 public class DBConnection {
 
-    // --- Database Credentials ---
-    // URL format: jdbc:mysql://hostname:port/databasename
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/goAero";
+    // Connection settings, pool sizing and driver flags come from DatabaseConfig
+    // (goaero-db.properties, GOAERO_DB_* environment variables or -Dgoaero.db.* system properties)
+
+    private static final int LOGIN_TIMEOUT_SECONDS = 5;
+
+    // Opens after 5 consecutive connection failures or timeouts; retries after 10 seconds
+    private static final CircuitBreaker circuitBreaker = new CircuitBreaker(5, 10_000);
 
-    // Replace with your MySQL username (often 'root')
-    private static final String USER = "root";
+    private static final ConnectionPool pool;
 
-    // Replace with your MySQL password
-    private static final String PASS = "QWERTY";
-    // ----------------------------
+    // Read replica for search traffic; disabled unless goaero.db.replicaUrl is set
+    private static final ReplicaRouter replicaRouter;
 
-    private static Connection connection = null;
+    static {
+        DriverManager.setLoginTimeout(LOGIN_TIMEOUT_SECONDS);
+        DatabaseConfig config = DatabaseConfig.get();
+        pool = new ConnectionPool("primary", config, DatabaseConfig::getUrl, DatabaseConfig::getDriverProperties);
+        replicaRouter = new ReplicaRouter(config);
+        DatabaseConfig.addChangeListener(pool::reconfigure);
+        DatabaseConfig.addChangeListener(replicaRouter::reconfigure);
+        DatabaseConfig.startWatching();
+    }
 
     /**
      * Creates and returns a connection to the database.
      * This method is static so we can call it from anywhere without creating an object.
-     * @return A Connection object or null if connection fails.
+     * While the database is unhealthy (circuit breaker open) or the connection attempt fails,
+     * the returned connection throws SQLException on use, so DAOs fail fast through their
+     * normal error handling instead of blocking.
+     * @return A Connection object
      */
     public static Connection getConnection() {
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
         try {
+            if (!circuitBreaker.allowRequest()) {
+                return unavailableConnection("Database unavailable: circuit breaker is open");
+            }
+
             // Register the MySQL JDBC driver.
             // This line is technically not required for modern JDBC drivers (4.0+),
             // but it's good practice for compatibility.
             Class.forName("com.mysql.cj.jdbc.Driver");
 
-            // Establish the connection
-            connection = DriverManager.getConnection(DB_URL, USER, PASS);
-             System.out.println("Database connected successfully!");
+            // Borrow a pooled connection; statements get timeouts, retries, metrics and slow query logging
+            Connection connection = InstrumentedConnection.wrap(
+                pool.acquire(), circuitBreaker, DBConnection::reconnect, true);
+            circuitBreaker.recordSuccess();
+            event.succeeded = true;
+            return connection;
 
         } catch (ClassNotFoundException e) {
             System.err.println("JDBC Driver not found!");
             e.printStackTrace();
+            return unavailableConnection("JDBC Driver not found");
         } catch (SQLException e) {
             System.err.println("Database connection failed!");
             e.printStackTrace();
+            // Pool exhaustion or bad credentials say nothing about the server's health
+            if (ResiliencePolicy.isHealthFailure(e)) {
+                circuitBreaker.recordFailure();
+            }
+            return unavailableConnection("Database connection failed: " + e.getMessage());
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns a connection for read-only queries that tolerate replication lag (searches,
+     * listings, counts). Uses the read replica when one is configured, healthy and caught up,
+     * and the current session has not written recently; otherwise the primary.
+     * Queries that feed a write or must see the latest data use getConnection() instead.
+     * @return A Connection object
+     */
+    public static Connection getReadConnection() {
+        if (!replicaRouter.shouldUseReplica()) {
+            return getConnection();
+        }
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        try {
+            Connection connection = InstrumentedConnection.wrap(replicaRouter.openReplicaConnection(),
+                replicaRouter.getBreaker(), replicaRouter::openReplicaConnection, false);
+            replicaRouter.getBreaker().recordSuccess();
+            event.succeeded = true;
+            return connection;
+        } catch (SQLException e) {
+            System.err.println("Replica connection failed, reading from primary: " + e.getMessage());
+            if (ResiliencePolicy.isHealthFailure(e)) {
+                replicaRouter.getBreaker().recordFailure();
+            }
+            return getConnection();
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Gets the read replica router
+     * @return The router
+     */
+    public static ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    /**
+     * Gets the primary connection pool
+     * @return The pool
+     */
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets the circuit breaker guarding the database
+     * @return The circuit breaker
+     */
+    public static CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Checks whether the database is currently considered unhealthy
+     * @return true if the circuit breaker is open
+     */
+    public static boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    /**
+     * Borrows a fresh connection for the instrumented connection to swap in after a
+     * connection failure
+     * @return A pooled, uninstrumented Connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    static Connection reconnect() throws SQLException {
+        return pool.acquire();
+    }
+
+    /**
+     * Creates a stand-in connection whose statements all fail with the given reason
+     */
+    private static Connection unavailableConnection(String reason) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                        return null;
+                    case "isClosed":
+                        return true;
+                    case "isValid":
+                        return false;
+                    case "toString":
+                        return "UnavailableConnection[" + reason + "]";
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new SQLNonTransientConnectionException(reason, "08001");
+                }
+            });
+    }
+
+    /**
+     * Opens a connection that bypasses metrics and the slow query log
+     * (used by the slow query log itself to run EXPLAIN)
+     * @return A Connection object or null if connection fails.
+     */
+    static Connection getUninstrumentedConnection() {
+        try {
+            DatabaseConfig config = DatabaseConfig.get();
+            return DriverManager.getConnection(config.getUrl(), config.getDriverProperties());
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
         }
-        return connection;
     }
 }
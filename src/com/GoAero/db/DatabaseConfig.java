@@ -0,0 +1,325 @@
+package com.GoAero.db;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Database and connection pool settings.
+ *
+ * Values are resolved with increasing precedence from built-in defaults, the properties file
+ * (-Dgoaero.db.config, the GOAERO_DB_CONFIG environment variable, or ./goaero-db.properties),
+ * environment variables (key upper-cased with dots as underscores, e.g. GOAERO_DB_POOL_MAXSIZE)
+ * and system properties.
+ *
+ * A snapshot is immutable. The properties file is polled for changes and reload() can be
+ * called directly; listeners receive the new snapshot. Pool sizes, pool timeouts, query
+ * timeouts, retries and replica routing limits take effect immediately. Changed connection
+ * settings (URL, credentials, driver.*) apply to connections opened after the reload.
+ */
+public final class DatabaseConfig {
+
+    public static final String CONFIG_FILE_PROPERTY = "goaero.db.config";
+    public static final String DEFAULT_CONFIG_FILE = "goaero-db.properties";
+    public static final String DRIVER_PREFIX = "goaero.db.driver.";
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+    static {
+        DEFAULTS.put("goaero.db.url", "jdbc:mysql://localhost:3306/goAero");
+        DEFAULTS.put("goaero.db.user", "root");
+        DEFAULTS.put("goaero.db.password", "");
+
+        DEFAULTS.put("goaero.db.pool.maxSize", "10");
+        DEFAULTS.put("goaero.db.pool.minIdle", "2");
+        DEFAULTS.put("goaero.db.pool.acquireTimeoutMillis", "5000");
+        DEFAULTS.put("goaero.db.pool.idleTimeoutMillis", "300000");
+        DEFAULTS.put("goaero.db.pool.maxLifetimeMillis", "1800000");
+        DEFAULTS.put("goaero.db.pool.validationTimeoutSeconds", "2");
+
+        DEFAULTS.put("goaero.db.queryTimeoutSeconds", "10");
+        DEFAULTS.put("goaero.db.maxRetries", "2");
+        DEFAULTS.put("goaero.db.retryBackoffMillis", "100");
+        DEFAULTS.put("goaero.db.config.reloadSeconds", "10");
+
+        DEFAULTS.put("goaero.db.replicaUrl", "");
+        DEFAULTS.put("goaero.db.replicaUser", "");
+        DEFAULTS.put("goaero.db.replicaPassword", "");
+        DEFAULTS.put("goaero.db.replica.maxLagSeconds", "2");
+        DEFAULTS.put("goaero.db.replica.stickySeconds", "5");
+        DEFAULTS.put("goaero.db.replica.lagCheckSeconds", "5");
+
+        DEFAULTS.put("goaero.db.migrations.enabled", "true");
+        DEFAULTS.put("goaero.db.migrations.dir", "src/database/migrations");
+
+        // Connector/J settings tuned for throughput: server-side prepared statements cached
+        // per connection, multi-row batch inserts, and no round trips for session state the
+        // driver already knows
+        DEFAULTS.put(DRIVER_PREFIX + "connectTimeout", "5000");
+        DEFAULTS.put(DRIVER_PREFIX + "socketTimeout", "180000");
+        DEFAULTS.put(DRIVER_PREFIX + "tcpKeepAlive", "true");
+        DEFAULTS.put(DRIVER_PREFIX + "useServerPrepStmts", "true");
+        DEFAULTS.put(DRIVER_PREFIX + "cachePrepStmts", "true");
+        DEFAULTS.put(DRIVER_PREFIX + "prepStmtCacheSize", "250");
+        DEFAULTS.put(DRIVER_PREFIX + "prepStmtCacheSqlLimit", "2048");
+        DEFAULTS.put(DRIVER_PREFIX + "rewriteBatchedStatements", "true");
+        DEFAULTS.put(DRIVER_PREFIX + "useLocalSessionState", "true");
+        DEFAULTS.put(DRIVER_PREFIX + "cacheServerConfiguration", "true");
+        DEFAULTS.put(DRIVER_PREFIX + "elideSetAutoCommits", "true");
+        DEFAULTS.put(DRIVER_PREFIX + "maintainTimeStats", "false");
+        DEFAULTS.put(DRIVER_PREFIX + "useCompression", "false");
+    }
+
+    private static volatile DatabaseConfig current = load();
+    private static final List<Consumer<DatabaseConfig>> listeners = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService watcher;
+
+    private final Map<String, String> values;
+    private final String source;
+    private final long sourceModified;
+
+    private DatabaseConfig(Map<String, String> values, String source, long sourceModified) {
+        this.values = Collections.unmodifiableMap(values);
+        this.source = source;
+        this.sourceModified = sourceModified;
+    }
+
+    /**
+     * Gets the current configuration
+     * @return The current snapshot
+     */
+    public static DatabaseConfig get() {
+        return current;
+    }
+
+    /**
+     * Re-reads every source and notifies listeners if anything changed
+     * @return The new current snapshot
+     */
+    public static synchronized DatabaseConfig reload() {
+        DatabaseConfig previous = current;
+        DatabaseConfig next = load();
+        current = next;
+        if (!next.values.equals(previous.values)) {
+            System.out.println("Database configuration reloaded from " + next.source);
+            for (Consumer<DatabaseConfig> listener : listeners) {
+                try {
+                    listener.accept(next);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Registers a callback for configuration changes
+     * @param listener Receives the new snapshot after each change
+     */
+    public static void addChangeListener(Consumer<DatabaseConfig> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts polling the properties file for changes (goaero.db.config.reloadSeconds; 0 disables)
+     */
+    static synchronized void startWatching() {
+        int interval = current.getInt("goaero.db.config.reloadSeconds", 10);
+        if (watcher != null || interval <= 0) {
+            return;
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-config-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(() -> {
+            DatabaseConfig snapshot = current;
+            File file = resolveConfigFile();
+            long modified = file != null && file.isFile() ? file.lastModified() : 0;
+            if (modified != snapshot.sourceModified || !Objects.equals(describe(file), snapshot.source)) {
+                reload();
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private static DatabaseConfig load() {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        File file = resolveConfigFile();
+        long modified = 0;
+        if (file != null && file.isFile()) {
+            Properties fileProperties = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                fileProperties.load(in);
+                modified = file.lastModified();
+            } catch (IOException e) {
+                System.err.println("Could not read database configuration " + file + ": " + e.getMessage());
+            }
+            for (String key : fileProperties.stringPropertyNames()) {
+                values.put(key, fileProperties.getProperty(key).trim());
+            }
+        }
+
+        List<String> keys = new ArrayList<>(values.keySet());
+        for (String key : keys) {
+            String fromEnv = System.getenv(toEnvironmentName(key));
+            if (fromEnv != null) {
+                values.put(key, fromEnv.trim());
+            }
+        }
+
+        Properties system = System.getProperties();
+        for (String key : system.stringPropertyNames()) {
+            if (key.startsWith("goaero.db.")) {
+                values.put(key, system.getProperty(key).trim());
+            }
+        }
+        return new DatabaseConfig(values, describe(file), modified);
+    }
+
+    private static File resolveConfigFile() {
+        String path = System.getProperty(CONFIG_FILE_PROPERTY);
+        if (path == null) {
+            path = System.getenv("GOAERO_DB_CONFIG");
+        }
+        return new File(path != null ? path : DEFAULT_CONFIG_FILE);
+    }
+
+    private static String describe(File file) {
+        return file != null && file.isFile() ? file.getAbsolutePath() : "defaults";
+    }
+
+    /**
+     * Converts a key to its environment variable name, e.g. goaero.db.pool.maxSize to GOAERO_DB_POOL_MAXSIZE
+     * @param key The configuration key
+     * @return The environment variable name
+     */
+    static String toEnvironmentName(String key) {
+        return key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = values.get(key);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+
+    /**
+     * Gets an integer setting, falling back to the default when missing or malformed
+     * @param key The configuration key
+     * @param defaultValue Value to use when the key is missing or not a number
+     * @return The value
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public String getUrl() {
+        return get("goaero.db.url", DEFAULTS.get("goaero.db.url"));
+    }
+
+    public String getUser() {
+        return get("goaero.db.user", DEFAULTS.get("goaero.db.user"));
+    }
+
+    public String getPassword() {
+        return values.getOrDefault("goaero.db.password", "");
+    }
+
+    public int getPoolMaxSize() {
+        return Math.max(1, getInt("goaero.db.pool.maxSize", 10));
+    }
+
+    public int getPoolMinIdle() {
+        return Math.max(0, Math.min(getPoolMaxSize(), getInt("goaero.db.pool.minIdle", 2)));
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return Math.max(0, getLong("goaero.db.pool.acquireTimeoutMillis", 5000));
+    }
+
+    public long getIdleTimeoutMillis() {
+        return getLong("goaero.db.pool.idleTimeoutMillis", 300_000);
+    }
+
+    public long getMaxLifetimeMillis() {
+        return getLong("goaero.db.pool.maxLifetimeMillis", 1_800_000);
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return Math.max(1, getInt("goaero.db.pool.validationTimeoutSeconds", 2));
+    }
+
+    /**
+     * Builds the driver properties for the primary: credentials plus every goaero.db.driver.* setting
+     * @return Properties for DriverManager.getConnection
+     */
+    public Properties getDriverProperties() {
+        return getDriverProperties(getUser(), getPassword());
+    }
+
+    /**
+     * Builds driver properties with the given credentials
+     * @param user Database user
+     * @param password Database password
+     * @return Properties for DriverManager.getConnection
+     */
+    public Properties getDriverProperties(String user, String password) {
+        Properties properties = new Properties();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getKey().startsWith(DRIVER_PREFIX)) {
+                properties.setProperty(entry.getKey().substring(DRIVER_PREFIX.length()), entry.getValue());
+            }
+        }
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        return properties;
+    }
+
+    /**
+     * Gets where the file-based settings came from
+     * @return The absolute path of the properties file, or "defaults"
+     */
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,359 @@
+package com.GoAero.db;
+
+import com.GoAero.metrics.DaoMetrics;
+import com.GoAero.metrics.OperationMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC connection wrapper that applies the resilience policy, records DAO metrics and
+ * feeds the slow query log.
+ * Each statement is attributed to the DAO method that prepared it, found once per
+ * statement by walking the stack. Statements get that operation's query timeout, idempotent
+ * reads outside a transaction are retried on transient failures (reconnecting if the
+ * connection broke), and every execution records latency, errors and rows.
+ */
+class InstrumentedConnection implements InvocationHandler {
+
+    private static final String DAO_PACKAGE = "com.GoAero.dao.";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    /**
+     * Opens a replacement connection after a connection failure
+     */
+    interface Reconnector {
+        Connection open() throws SQLException;
+    }
+
+    private final CircuitBreaker breaker;
+    private final Reconnector reconnector;
+    private final boolean primary;
+    private Connection delegate;
+
+    private InstrumentedConnection(Connection delegate, CircuitBreaker breaker, Reconnector reconnector,
+                                   boolean primary) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.reconnector = reconnector;
+        this.primary = primary;
+    }
+
+    /**
+     * Wraps a connection so that every statement it creates is measured
+     * @param connection The connection to wrap: a pool loan or a physical connection
+     * @param breaker The circuit breaker guarding the server the connection points at
+     * @param reconnector Opens a replacement connection to the same server
+     * @param primary true for the primary, where successful writes pin the session's reads
+     * @return The instrumented connection
+     */
+    static Connection wrap(Connection connection, CircuitBreaker breaker, Reconnector reconnector,
+                           boolean primary) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new InstrumentedConnection(connection, breaker, reconnector, primary));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Connection connection = currentDelegate();
+        Object result = invokeDelegate(connection, method, args);
+        if (result instanceof Statement) {
+            String operation = resolveOperation();
+            OperationMetrics metrics = DaoMetrics.isEnabled() ? DaoMetrics.forOperation(operation) : null;
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            Statement statement = (Statement) result;
+            statement.setQueryTimeout(ResiliencePolicy.queryTimeoutSeconds(operation));
+            return wrap(method.getReturnType(),
+                new StatementHandler(this, connection, statement, method, args, operation, metrics, sql));
+        }
+        return result;
+    }
+
+    /**
+     * Replaces a broken connection. Only used outside transactions, where nothing is lost
+     * by switching connections. Aborting a pool loan marks its physical connection broken,
+     * so the pool discards it instead of lending it again.
+     * @param broken The connection that failed, as this wrapper received it; a statement's
+     *               getConnection() would return the physical connection behind a pool loan
+     * @return The connection to use from now on
+     * @throws SQLException if a new connection cannot be opened
+     */
+    private synchronized Connection reconnect(Connection broken) throws SQLException {
+        if (delegate == broken) {
+            try {
+                broken.abort(Runnable::run);
+            } catch (SQLException ignored) {
+                // Already broken
+            }
+            delegate = reconnector.open();
+        }
+        return delegate;
+    }
+
+    private synchronized Connection currentDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Names the operation after the innermost DAO method on the stack,
+     * e.g. "FlightDAO.searchFlights"
+     */
+    static String resolveOperation() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(f -> f.getClassName().startsWith(DAO_PACKAGE))
+            .findFirst()
+            .map(f -> simpleName(f.getClassName()) + "." + f.getMethodName())
+            .orElse("unknown"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static Object wrap(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invokeDelegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Applies timeouts and retries to execute* calls, records them, and captures bind values
+     * so a statement can be replayed and logged
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final InstrumentedConnection owner;
+        private final Method creator;
+        private final Object[] creatorArgs;
+        private final String operation;
+        private final OperationMetrics metrics;
+        private final String sql;
+        private final List<Object> parameters = new ArrayList<>();
+        private Connection connection; // The connection the statement was created on
+        private Statement delegate;
+        private PendingSlowQuery pending;
+
+        StatementHandler(InstrumentedConnection owner, Connection connection, Statement delegate, Method creator,
+                         Object[] creatorArgs, String operation, OperationMetrics metrics, String sql) {
+            this.owner = owner;
+            this.connection = connection;
+            this.delegate = delegate;
+            this.creator = creator;
+            this.creatorArgs = creatorArgs;
+            this.operation = operation;
+            this.metrics = metrics;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    captureParameter((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.equals("close") && pending != null) {
+                    pending.submit();
+                }
+                Object result = invokeDelegate(delegate, method, args);
+                if (result instanceof ResultSet && "getResultSet".equals(name)) {
+                    return wrap(ResultSet.class, new ResultSetHandler((ResultSet) result, metrics, pending));
+                }
+                return result;
+            }
+
+            if (pending != null) {
+                // A re-execution implicitly closes the previous result set
+                pending.submit();
+                pending = null;
+            }
+
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            long start = System.nanoTime();
+            Object result = executeWithRetry(method, args, statementSql);
+            long elapsed = System.nanoTime() - start;
+            if (metrics != null) {
+                metrics.recordCall(elapsed, false);
+            }
+            owner.breaker.recordSuccess();
+            if (owner.primary && !ResiliencePolicy.isIdempotentRead(statementSql)) {
+                // Read-your-writes: keep this session's reads on the primary for a while
+                DBConnection.getReplicaRouter().recordWrite();
+            }
+
+            long rows = 0;
+            if (result instanceof Integer) {
+                rows = Math.max(0, (Integer) result);
+            } else if (result instanceof Long) {
+                rows = Math.max(0L, (Long) result);
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows += Math.max(0, count);
+                }
+            }
+            if (metrics != null && rows > 0) {
+                metrics.addRows(rows);
+            }
+
+            if (SlowQueryLog.isSlow(elapsed)) {
+                pending = new PendingSlowQuery(operation, statementSql, new ArrayList<>(parameters), elapsed, rows);
+                if (!(result instanceof ResultSet)) {
+                    pending.submit();
+                }
+            }
+
+            if (result instanceof ResultSet) {
+                return wrap(ResultSet.class, new ResultSetHandler((ResultSet) result, metrics, pending));
+            }
+            return result;
+        }
+
+        /**
+         * Executes, retrying idempotent reads outside a transaction on transient failures
+         * with jittered exponential backoff
+         */
+        private Object executeWithRetry(Method method, Object[] args, String statementSql) throws Throwable {
+            int attempt = 0;
+            while (true) {
+                long attemptStart = System.nanoTime();
+                try {
+                    return invokeDelegate(delegate, method, args);
+                } catch (SQLException e) {
+                    if (ResiliencePolicy.isHealthFailure(e)) {
+                        owner.breaker.recordFailure();
+                    }
+                    if (attempt >= ResiliencePolicy.maxRetries() || !isRetryable(method, statementSql, e)) {
+                        if (metrics != null) {
+                            metrics.recordCall(System.nanoTime() - attemptStart, true);
+                        }
+                        throw e;
+                    }
+                    attempt++;
+                    Thread.sleep(ResiliencePolicy.backoffMillis(attempt));
+                    if (ResiliencePolicy.isConnectionFailure(e)) {
+                        recreateStatement();
+                    }
+                }
+            }
+        }
+
+        private boolean isRetryable(Method method, String statementSql, SQLException e) {
+            if (!"executeQuery".equals(method.getName()) || !ResiliencePolicy.isTransient(e)
+                    || !ResiliencePolicy.isIdempotentRead(statementSql)
+                    || !owner.breaker.allowRequest()) {
+                return false;
+            }
+            try {
+                // Never retry inside a caller's transaction: its earlier work may be gone
+                return owner.currentDelegate().getAutoCommit();
+            } catch (SQLException ignored) {
+                // A broken connection outside a transaction is still auto-commit
+                return ResiliencePolicy.isConnectionFailure(e);
+            }
+        }
+
+        /**
+         * Re-creates the statement on a fresh connection and re-binds its parameters
+         */
+        private void recreateStatement() throws Throwable {
+            Connection replacementConnection = owner.reconnect(connection);
+            Statement replacement = (Statement) invokeDelegate(replacementConnection, creator, creatorArgs);
+            replacement.setQueryTimeout(ResiliencePolicy.queryTimeoutSeconds(operation));
+            if (replacement instanceof PreparedStatement) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    ((PreparedStatement) replacement).setObject(i + 1, parameters.get(i));
+                }
+            }
+            try {
+                delegate.close();
+            } catch (SQLException ignored) {
+                // The old statement belonged to the broken connection
+            }
+            delegate = replacement;
+            connection = replacementConnection;
+        }
+
+        private void captureParameter(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+
+    /**
+     * A slow statement waiting for its result set to be read, so the row count is known
+     */
+    private static class PendingSlowQuery {
+        private final String operation;
+        private final String sql;
+        private final List<Object> parameters;
+        private final long durationNanos;
+        private long rows;
+        private boolean submitted;
+
+        PendingSlowQuery(String operation, String sql, List<Object> parameters, long durationNanos, long rows) {
+            this.operation = operation;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.durationNanos = durationNanos;
+            this.rows = rows;
+        }
+
+        void submit() {
+            if (!submitted && sql != null) {
+                submitted = true;
+                SlowQueryLog.submit(new SlowQueryLog.Entry(operation, sql, parameters, durationNanos, rows));
+            }
+        }
+    }
+
+    /**
+     * Counts rows as the caller reads them
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet delegate;
+        private final OperationMetrics metrics;
+        private final PendingSlowQuery pending;
+
+        ResultSetHandler(ResultSet delegate, OperationMetrics metrics, PendingSlowQuery pending) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+            this.pending = pending;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeDelegate(delegate, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                if (metrics != null) {
+                    metrics.addRows(1);
+                }
+                if (pending != null) {
+                    pending.rows++;
+                }
+            } else if (pending != null && "close".equals(method.getName())) {
+                pending.submit();
+            }
+            return result;
+        }
+    }
+}
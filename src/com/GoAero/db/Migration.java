@@ -0,0 +1,43 @@
+package com.GoAero.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A versioned schema change applied once by MigrationRunner.
+ * Migrations run in version order; once applied, their checksum is recorded and must not change.
+ */
+public interface Migration {
+
+    /**
+     * Gets the version, which orders migrations and identifies them in schema_migrations
+     * @return The version number
+     */
+    int getVersion();
+
+    /**
+     * Gets a short description of the change
+     * @return The description
+     */
+    String getDescription();
+
+    /**
+     * Gets the type recorded in schema_migrations
+     * @return "SQL" or "JAVA"
+     */
+    String getType();
+
+    /**
+     * Gets a checksum of the migration's content, used to detect edits to applied migrations
+     * @return The checksum
+     */
+    String getChecksum();
+
+    /**
+     * Applies the change. DDL commits implicitly, so a failed migration may leave some of
+     * its statements applied.
+     * @param conn Connection to the primary database
+     * @throws SQLException if a statement fails
+     */
+    void apply(Connection conn) throws SQLException;
+}
@@ -0,0 +1,356 @@
+package com.GoAero.db;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the database schema up to date by applying versioned migrations in order.
+ *
+ * SQL migrations are V&lt;version&gt;__&lt;description&gt;.sql files in goaero.db.migrations.dir;
+ * Java migrations are registered in JAVA_MIGRATIONS. Each applied migration is recorded in
+ * schema_migrations with a checksum of its content. Startup stops with an error if an applied
+ * migration was edited or a previous run failed part-way, since DDL cannot be rolled back and
+ * the schema then needs a manual fix (after which the failed row is deleted).
+ *
+ * Databases created from the old one-shot scripts have no schema_migrations table; their
+ * existing changes are detected and recorded as BASELINE instead of being applied again.
+ * A named lock keeps two application instances from migrating at the same time.
+ */
+public class MigrationRunner {
+
+    private static final String LOCK_NAME = "goaero_schema_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final String CREATE_HISTORY_TABLE =
+        "CREATE TABLE IF NOT EXISTS schema_migrations (" +
+        "version INT PRIMARY KEY, " +
+        "description VARCHAR(255) NOT NULL, " +
+        "type VARCHAR(20) NOT NULL, " +
+        "checksum CHAR(64) NOT NULL, " +
+        "installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+        "execution_ms BIGINT NOT NULL, " +
+        "success BOOLEAN NOT NULL)";
+
+    private static final String SELECT_HISTORY =
+        "SELECT version, description, type, checksum, installed_at, execution_ms, success " +
+        "FROM schema_migrations ORDER BY version";
+
+    private static final String INSERT_HISTORY =
+        "INSERT INTO schema_migrations (version, description, type, checksum, execution_ms, success) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String TABLE_EXISTS =
+        "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    // How to recognise each change on a database built from the old scripts
+    private static final Map<Integer, String> LEGACY_PROBES = new LinkedHashMap<>();
+    static {
+        LEGACY_PROBES.put(1, "SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users'");
+        LEGACY_PROBES.put(2, "SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'flight_schedules'");
+        LEGACY_PROBES.put(3, "SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'seat_holds'");
+        LEGACY_PROBES.put(4, "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'bookings' AND COLUMN_NAME = 'idempotency_key'");
+        LEGACY_PROBES.put(5, "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'bookings' AND COLUMN_NAME = 'record_locator'");
+        LEGACY_PROBES.put(6, "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'bookings' AND PARTITION_NAME IS NOT NULL");
+        LEGACY_PROBES.put(7, "SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'bookings_archive'");
+    }
+
+    private static final List<Migration> JAVA_MIGRATIONS = List.of(new PartitionBookingsMigration());
+
+    private final Path directory;
+
+    public MigrationRunner(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Runs pending migrations at startup unless goaero.db.migrations.enabled is false.
+     * Failures are reported but do not stop the application.
+     * @return true if the schema is up to date
+     */
+    public static boolean migrateFromConfig() {
+        DatabaseConfig config = DatabaseConfig.get();
+        if (!Boolean.parseBoolean(config.get("goaero.db.migrations.enabled", "true"))) {
+            return true;
+        }
+        try {
+            new MigrationRunner(Paths.get(config.get("goaero.db.migrations.dir"))).migrate();
+            return true;
+        } catch (SQLException | IOException | IllegalStateException e) {
+            System.err.println("Schema migration failed!");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Applies every pending migration in version order
+     * @return Number of migrations applied
+     * @throws SQLException if a migration or the history table fails
+     * @throws IOException if a migration file cannot be read
+     * @throws IllegalStateException if the history does not match the available migrations
+     */
+    public int migrate() throws SQLException, IOException {
+        List<Migration> migrations = loadMigrations();
+        try (Connection conn = openConnection()) {
+            acquireLock(conn);
+            try {
+                boolean legacy = !tableExists(conn, "schema_migrations") && tableExists(conn, "users");
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate(CREATE_HISTORY_TABLE);
+                }
+                if (legacy) {
+                    baseline(conn, migrations);
+                }
+
+                Map<Integer, AppliedMigration> applied = new HashMap<>();
+                for (AppliedMigration entry : readHistory(conn)) {
+                    applied.put(entry.version, entry);
+                }
+                validate(migrations, applied);
+
+                int count = 0;
+                for (Migration migration : migrations) {
+                    if (applied.containsKey(migration.getVersion())) {
+                        continue;
+                    }
+                    System.out.println("Applying schema migration V" + migration.getVersion()
+                        + " (" + migration.getDescription() + ")");
+                    long start = System.currentTimeMillis();
+                    try {
+                        migration.apply(conn);
+                    } catch (SQLException e) {
+                        record(conn, migration, migration.getType(), System.currentTimeMillis() - start, false);
+                        throw e;
+                    }
+                    record(conn, migration, migration.getType(), System.currentTimeMillis() - start, true);
+                    count++;
+                }
+                return count;
+            } finally {
+                releaseLock(conn);
+            }
+        }
+    }
+
+    /**
+     * Lists every known migration with its recorded state, without changing anything
+     * @return One line per migration
+     * @throws SQLException if the history cannot be read
+     * @throws IOException if a migration file cannot be read
+     */
+    public List<String> describe() throws SQLException, IOException {
+        List<Migration> migrations = loadMigrations();
+        Map<Integer, AppliedMigration> applied = new HashMap<>();
+        try (Connection conn = openConnection()) {
+            if (tableExists(conn, "schema_migrations")) {
+                for (AppliedMigration entry : readHistory(conn)) {
+                    applied.put(entry.version, entry);
+                }
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (Migration migration : migrations) {
+            AppliedMigration entry = applied.get(migration.getVersion());
+            String state;
+            if (entry == null) {
+                state = "Pending";
+            } else if (!entry.success) {
+                state = "FAILED";
+            } else if (!"BASELINE".equals(entry.type) && !entry.checksum.equals(migration.getChecksum())) {
+                state = "CHANGED since " + entry.installedAt;
+            } else {
+                state = (entry.type.equals("BASELINE") ? "Baseline " : "Applied ") + entry.installedAt
+                    + " (" + entry.executionMillis + " ms)";
+            }
+            lines.add(String.format("V%-3d %-45s %-5s %s", migration.getVersion(),
+                migration.getDescription(), migration.getType(), state));
+        }
+        return lines;
+    }
+
+    /**
+     * Loads the SQL migrations from the directory and merges in the Java ones
+     * @return All migrations ordered by version
+     */
+    List<Migration> loadMigrations() throws IOException {
+        Map<Integer, Migration> byVersion = new HashMap<>();
+        for (Migration migration : JAVA_MIGRATIONS) {
+            byVersion.put(migration.getVersion(), migration);
+        }
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Migration directory not found: " + directory.toAbsolutePath());
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "V*__*.sql")) {
+            for (Path file : files) {
+                if (!SqlMigration.FILE_NAME.matcher(file.getFileName().toString()).matches()) {
+                    continue;
+                }
+                SqlMigration migration = SqlMigration.load(file);
+                Migration duplicate = byVersion.put(migration.getVersion(), migration);
+                if (duplicate != null) {
+                    throw new IllegalStateException("Two migrations share version "
+                        + migration.getVersion() + ": " + duplicate + " and " + migration);
+                }
+            }
+        }
+        List<Migration> migrations = new ArrayList<>(byVersion.values());
+        migrations.sort(Comparator.comparingInt(Migration::getVersion));
+        return migrations;
+    }
+
+    private static Connection openConnection() throws SQLException {
+        // Bypasses the pool and query timeouts: index builds on large tables take minutes
+        Connection conn = DBConnection.getUninstrumentedConnection();
+        if (conn == null) {
+            throw new SQLException("Cannot connect to the database to run migrations", "08001");
+        }
+        conn.setNetworkTimeout(Runnable::run, 0);
+        return conn;
+    }
+
+    private void validate(List<Migration> migrations, Map<Integer, AppliedMigration> applied) {
+        Map<Integer, Migration> known = new HashMap<>();
+        for (Migration migration : migrations) {
+            known.put(migration.getVersion(), migration);
+        }
+        for (AppliedMigration entry : applied.values()) {
+            if (!entry.success) {
+                throw new IllegalStateException("Migration V" + entry.version + " (" + entry.description
+                    + ") failed on " + entry.installedAt + ". Fix the schema by hand, then delete its row "
+                    + "from schema_migrations to retry.");
+            }
+            Migration migration = known.get(entry.version);
+            if (migration == null) {
+                throw new IllegalStateException("Database has migration V" + entry.version
+                    + " (" + entry.description + ") which this build does not know; refusing to continue.");
+            }
+            if (!"BASELINE".equals(entry.type) && !entry.checksum.equals(migration.getChecksum())) {
+                throw new IllegalStateException("Migration V" + entry.version + " (" + entry.description
+                    + ") was changed after it was applied. Add a new migration instead of editing it.");
+            }
+        }
+    }
+
+    /**
+     * Records the changes an unversioned database already has, stopping at the first one missing
+     */
+    private void baseline(Connection conn, List<Migration> migrations) throws SQLException {
+        for (Migration migration : migrations) {
+            String probe = LEGACY_PROBES.get(migration.getVersion());
+            if (probe == null) {
+                return;
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(probe);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) == 0) {
+                    return;
+                }
+            }
+            System.out.println("Baselining existing schema at V" + migration.getVersion()
+                + " (" + migration.getDescription() + ")");
+            record(conn, migration, "BASELINE", 0, true);
+        }
+    }
+
+    private static void record(Connection conn, Migration migration, String type, long millis, boolean success)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_HISTORY)) {
+            stmt.setInt(1, migration.getVersion());
+            stmt.setString(2, migration.getDescription());
+            stmt.setString(3, type);
+            stmt.setString(4, migration.getChecksum());
+            stmt.setLong(5, millis);
+            stmt.setBoolean(6, success);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static List<AppliedMigration> readHistory(Connection conn) throws SQLException {
+        List<AppliedMigration> history = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_HISTORY);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                history.add(new AppliedMigration(rs.getInt("version"), rs.getString("description"),
+                    rs.getString("type"), rs.getString("checksum"), String.valueOf(rs.getTimestamp("installed_at")),
+                    rs.getLong("execution_ms"), rs.getBoolean("success")));
+            }
+        }
+        return history;
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(TABLE_EXISTS)) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another instance to finish migrating");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            // The lock is released with the connection anyway
+        }
+    }
+
+    /**
+     * A row of schema_migrations
+     */
+    private static class AppliedMigration {
+        private final int version;
+        private final String description;
+        private final String type;
+        private final String checksum;
+        private final String installedAt;
+        private final long executionMillis;
+        private final boolean success;
+
+        AppliedMigration(int version, String description, String type, String checksum,
+                         String installedAt, long executionMillis, boolean success) {
+            this.version = version;
+            this.description = description;
+            this.type = type;
+            this.checksum = checksum;
+            this.installedAt = installedAt;
+            this.executionMillis = executionMillis;
+            this.success = success;
+        }
+    }
+}
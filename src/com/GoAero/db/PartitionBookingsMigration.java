@@ -0,0 +1,121 @@
+package com.GoAero.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Range-partitions bookings by departure month.
+ * Partitioned InnoDB tables cannot have or be the target of foreign keys, and every unique
+ * key must include the partitioning column, so this migration:
+ * drops the foreign keys on bookings and the one from seat_holds.booking_id
+ * (FlightDAO/UserDAO refuse to delete rows that bookings still reference);
+ * turns PNR into a plain index (uniqueness is checked across bookings and bookings_archive
+ * when a PNR is generated); and makes the idempotency key unique per departure date, which
+ * a replayed request shares.
+ * Written in Java because the generated foreign key and index names vary between databases
+ * and the partition bounds depend on the current date.
+ */
+class PartitionBookingsMigration implements Migration {
+
+    private static final String SELECT_FOREIGN_KEYS =
+        "SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+        "WHERE CONSTRAINT_SCHEMA = DATABASE() AND (TABLE_NAME = 'bookings' OR REFERENCED_TABLE_NAME = 'bookings')";
+
+    private static final String SELECT_UNIQUE_PNR_INDEXES =
+        "SELECT DISTINCT INDEX_NAME FROM information_schema.STATISTICS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'bookings' AND COLUMN_NAME = 'PNR' AND NON_UNIQUE = 0";
+
+    private static final String COUNT_HOLD_BOOKING_INDEXES =
+        "SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() " +
+        "AND TABLE_NAME = 'seat_holds' AND COLUMN_NAME = 'booking_id' AND SEQ_IN_INDEX = 1";
+
+    // Monthly partitions are created this far ahead; BookingArchiveService keeps extending them
+    private static final int MONTHS_AHEAD = 3;
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Override
+    public int getVersion() {
+        return 6;
+    }
+
+    @Override
+    public String getDescription() {
+        return "partition bookings by departure month";
+    }
+
+    @Override
+    public String getType() {
+        return "JAVA";
+    }
+
+    @Override
+    public String getChecksum() {
+        // Bump the suffix if the steps below change meaning
+        return SqlMigration.sha256(getClass().getName() + ":1");
+    }
+
+    @Override
+    public void apply(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String[] foreignKey : queryRows(conn, SELECT_FOREIGN_KEYS)) {
+                stmt.executeUpdate("ALTER TABLE " + foreignKey[0] + " DROP FOREIGN KEY " + foreignKey[1]);
+            }
+            if (queryRows(conn, COUNT_HOLD_BOOKING_INDEXES).get(0)[0].equals("0")) {
+                stmt.executeUpdate("ALTER TABLE seat_holds ADD INDEX idx_hold_booking (booking_id)");
+            }
+
+            StringBuilder keys = new StringBuilder("ALTER TABLE bookings DROP PRIMARY KEY, " +
+                "ADD PRIMARY KEY (booking_id, date_of_departure), " +
+                "DROP INDEX uk_booking_idempotency, " +
+                "ADD UNIQUE KEY uk_booking_idempotency (idempotency_key, date_of_departure), " +
+                "ADD INDEX idx_pnr (PNR)");
+            for (String[] index : queryRows(conn, SELECT_UNIQUE_PNR_INDEXES)) {
+                keys.append(", DROP INDEX `").append(index[0]).append('`');
+            }
+            stmt.executeUpdate(keys.toString());
+
+            stmt.executeUpdate(partitionClause(YearMonth.now()));
+        }
+    }
+
+    /**
+     * Builds the partitioning statement: one partition for everything before the current
+     * year, monthly partitions through MONTHS_AHEAD months from now, and a catch-all
+     */
+    static String partitionClause(YearMonth now) {
+        YearMonth first = YearMonth.of(now.getYear(), 1);
+        List<String> definitions = new ArrayList<>();
+        definitions.add(String.format("PARTITION p_before_%d VALUES LESS THAN ('%s')",
+            first.getYear(), first.atDay(1)));
+        for (YearMonth month = first; !month.isAfter(now.plusMonths(MONTHS_AHEAD)); month = month.plusMonths(1)) {
+            definitions.add(String.format("PARTITION %s VALUES LESS THAN ('%s')",
+                month.format(PARTITION_NAME), month.plusMonths(1).atDay(1)));
+        }
+        definitions.add("PARTITION p_future VALUES LESS THAN (MAXVALUE)");
+        return "ALTER TABLE bookings PARTITION BY RANGE COLUMNS(date_of_departure) (\n"
+            + String.join(",\n", definitions) + "\n)";
+    }
+
+    private static List<String[]> queryRows(Connection conn, String sql) throws SQLException {
+        List<String[]> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                String[] row = new String[columns];
+                for (int i = 0; i < columns; i++) {
+                    row[i] = rs.getString(i + 1);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,187 @@
+package com.GoAero.db;
+
+import com.GoAero.model.SessionManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a read may go to the read replica.
+ *
+ * Reads go to the primary when no replica is configured, when the current session wrote
+ * within the stickiness window (read-your-writes), when the replica's lag exceeds the limit
+ * or cannot be determined, or when the replica's circuit breaker is open. Lag is polled in
+ * the background, so routing itself never queries the replica.
+ *
+ * Configured through DatabaseConfig: goaero.db.replicaUrl (empty disables routing),
+ * goaero.db.replicaUser/replicaPassword (default to the primary's),
+ * goaero.db.replica.maxLagSeconds, goaero.db.replica.stickySeconds and
+ * goaero.db.replica.lagCheckSeconds. All of them can be changed by a reload.
+ */
+public class ReplicaRouter {
+
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 10_000);
+    private final ConcurrentMap<String, Long> lastWriteBySession = new ConcurrentHashMap<>();
+    private final ConnectionPool pool;
+    private volatile DatabaseConfig config;
+    private volatile long replicaLagSeconds = -1;
+    private ScheduledExecutorService lagMonitor;
+    private int lagCheckSeconds;
+
+    ReplicaRouter(DatabaseConfig config) {
+        this.config = config;
+        this.pool = new ConnectionPool("replica", config, ReplicaRouter::replicaUrl,
+            c -> c.getDriverProperties(c.get("goaero.db.replicaUser", c.getUser()),
+                c.get("goaero.db.replicaPassword", c.getPassword())));
+        updateLagMonitor();
+    }
+
+    /**
+     * Applies a reloaded configuration, starting or stopping the lag monitor as needed
+     * @param next The new configuration
+     */
+    void reconfigure(DatabaseConfig next) {
+        config = next;
+        pool.reconfigure(next);
+        updateLagMonitor();
+    }
+
+    public boolean isConfigured() {
+        return !replicaUrl(config).isEmpty();
+    }
+
+    private static String replicaUrl(DatabaseConfig config) {
+        return config.get("goaero.db.replicaUrl", "");
+    }
+
+    /**
+     * Checks whether the next read for the current session should use the replica
+     * @return true to read from the replica, false to read from the primary
+     */
+    boolean shouldUseReplica() {
+        DatabaseConfig settings = config;
+        if (replicaUrl(settings).isEmpty()) {
+            return false;
+        }
+        long lag = replicaLagSeconds;
+        if (lag < 0 || lag > settings.getInt("goaero.db.replica.maxLagSeconds", 2)) {
+            return false;
+        }
+        Long lastWrite = lastWriteBySession.get(currentSessionKey());
+        long stickyMillis = settings.getInt("goaero.db.replica.stickySeconds", 5) * 1000L;
+        if (lastWrite != null && System.currentTimeMillis() - lastWrite < stickyMillis) {
+            return false;
+        }
+        return breaker.allowRequest();
+    }
+
+    /**
+     * Records that the current session wrote to the primary, pinning its reads there for
+     * the stickiness window
+     */
+    void recordWrite() {
+        if (isConfigured()) {
+            lastWriteBySession.put(currentSessionKey(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Borrows a connection to the replica from the replica pool
+     * @return The connection
+     * @throws SQLException if the replica cannot be reached
+     */
+    Connection openReplicaConnection() throws SQLException {
+        return pool.acquire();
+    }
+
+    CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets the last measured replica lag
+     * @return Lag in seconds, or -1 if unknown (replica unreachable or replication stopped)
+     */
+    public long getReplicaLagSeconds() {
+        return replicaLagSeconds;
+    }
+
+    private static String currentSessionKey() {
+        SessionManager session = SessionManager.getInstance();
+        return session.getCurrentUserType() + ":" + session.getCurrentUserId();
+    }
+
+    private synchronized void updateLagMonitor() {
+        int interval = isConfigured() ? Math.max(1, config.getInt("goaero.db.replica.lagCheckSeconds", 5)) : 0;
+        if (interval == lagCheckSeconds) {
+            return;
+        }
+        if (lagMonitor != null) {
+            lagMonitor.shutdownNow();
+            lagMonitor = null;
+            replicaLagSeconds = -1;
+        }
+        lagCheckSeconds = interval;
+        if (interval == 0) {
+            return;
+        }
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagMonitor.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.SECONDS);
+    }
+
+    private void checkLag() {
+        try (Connection conn = openReplicaConnection();
+             Statement stmt = conn.createStatement()) {
+            replicaLagSeconds = readLag(stmt);
+            breaker.recordSuccess();
+        } catch (SQLException e) {
+            replicaLagSeconds = -1;
+            if (ResiliencePolicy.isHealthFailure(e)) {
+                breaker.recordFailure();
+            }
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the next check retries
+            replicaLagSeconds = -1;
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads Seconds_Behind_Source (MySQL 8.0.22+) or Seconds_Behind_Master (older servers).
+     * A server without replication configured (e.g. a local stand-in) reports zero lag;
+     * a NULL lag means replication is stopped.
+     */
+    private static long readLag(Statement stmt) throws SQLException {
+        ResultSet rs;
+        String column;
+        try {
+            rs = stmt.executeQuery("SHOW REPLICA STATUS");
+            column = "Seconds_Behind_Source";
+        } catch (SQLException e) {
+            rs = stmt.executeQuery("SHOW SLAVE STATUS");
+            column = "Seconds_Behind_Master";
+        }
+        try (ResultSet status = rs) {
+            if (!status.next()) {
+                return 0;
+            }
+            long lag = status.getLong(column);
+            return status.wasNull() ? -1 : lag;
+        }
+    }
+}
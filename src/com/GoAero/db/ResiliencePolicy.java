@@ -0,0 +1,133 @@
+package com.GoAero.db;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Timeouts and retry rules applied by the instrumented JDBC connection.
+ *
+ * Every statement gets a query timeout (goaero.db.queryTimeoutSeconds, default 10s), which
+ * can be overridden per DAO operation with goaero.db.queryTimeout.&lt;Operation&gt;, e.g.
+ * -Dgoaero.db.queryTimeout.FlightDAO.searchFlights=3. Only idempotent reads outside a
+ * transaction are retried, and only for transient failures. Settings are read from the
+ * current DatabaseConfig, so a reload applies to the next statement.
+ */
+public class ResiliencePolicy {
+
+    public static final int DEFAULT_QUERY_TIMEOUT_SECONDS = 10;
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    public static final long DEFAULT_BASE_BACKOFF_MILLIS = 100;
+    public static final long MAX_BACKOFF_MILLIS = 2000;
+
+    // MySQL error codes worth retrying
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int ER_LOCK_DEADLOCK = 1213;
+
+    // Bulk operations legitimately run longer than interactive queries
+    private static final Map<String, Integer> BUILT_IN_TIMEOUTS = new HashMap<>();
+    static {
+        BUILT_IN_TIMEOUTS.put("AirportDAO.upsertBatch", 120);
+        BUILT_IN_TIMEOUTS.put("FlightDAO.createBatch", 120);
+        BUILT_IN_TIMEOUTS.put("SeatHoldDAO.releaseExpired", 30);
+        BUILT_IN_TIMEOUTS.put("BookingArchiveDAO.archiveBatch", 60);
+        BUILT_IN_TIMEOUTS.put("BookingArchiveDAO.ensureMonthlyPartitions", 120);
+        BUILT_IN_TIMEOUTS.put("BookingArchiveDAO.dropArchivedPartitions", 120);
+        BUILT_IN_TIMEOUTS.put("BookingDAO.findStatusTotals", 60);
+        BUILT_IN_TIMEOUTS.put("BookingSummaryDAO.findChangedDays", 60);
+        BUILT_IN_TIMEOUTS.put("BookingSummaryDAO.rebuildDay", 60);
+        // Exports stream for as long as the file takes to write
+        BUILT_IN_TIMEOUTS.put("BookingDAO.streamAll", 0);
+        BUILT_IN_TIMEOUTS.put("FlightDAO.streamAll", 0);
+        BUILT_IN_TIMEOUTS.put("BookingSummaryDAO.streamRows", 0);
+    }
+
+    private ResiliencePolicy() {}
+
+    /**
+     * Gets the query timeout for a DAO operation
+     * @param operation The operation name, e.g. "FlightDAO.searchFlights"
+     * @return Timeout in seconds (0 means no timeout)
+     */
+    static int queryTimeoutSeconds(String operation) {
+        DatabaseConfig config = DatabaseConfig.get();
+        int fallback = BUILT_IN_TIMEOUTS.getOrDefault(operation,
+            config.getInt("goaero.db.queryTimeoutSeconds", DEFAULT_QUERY_TIMEOUT_SECONDS));
+        return config.getInt("goaero.db.queryTimeout." + operation, fallback);
+    }
+
+    static int maxRetries() {
+        return DatabaseConfig.get().getInt("goaero.db.maxRetries", DEFAULT_MAX_RETRIES);
+    }
+
+    /**
+     * Checks whether a statement is an idempotent read that may safely be re-executed
+     * @param sql The statement text
+     * @return true for plain SELECTs without locking clauses
+     */
+    static boolean isIdempotentRead(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String normalized = sql.trim().toUpperCase(Locale.ROOT);
+        // Parenthesised UNION queries start with "("
+        while (normalized.startsWith("(")) {
+            normalized = normalized.substring(1).trim();
+        }
+        return normalized.startsWith("SELECT")
+            && !normalized.contains("FOR UPDATE")
+            && !normalized.contains("LOCK IN SHARE MODE");
+    }
+
+    /**
+     * Checks whether a failure is transient: deadlock, lock wait timeout or a broken connection.
+     * Query timeouts are not retried, since the caller has already waited the full timeout.
+     * @param e The failure
+     * @return true if retrying may succeed
+     */
+    static boolean isTransient(SQLException e) {
+        if (e instanceof SQLTimeoutException) {
+            return false;
+        }
+        return e.getErrorCode() == ER_LOCK_DEADLOCK
+            || e.getErrorCode() == ER_LOCK_WAIT_TIMEOUT
+            || isConnectionFailure(e);
+    }
+
+    /**
+     * Checks whether a failure means the connection itself is unusable (SQLSTATE class 08)
+     * @param e The failure
+     * @return true for connection failures
+     */
+    static boolean isConnectionFailure(SQLException e) {
+        String state = e.getSQLState();
+        return (state != null && state.startsWith("08"))
+            || e instanceof SQLRecoverableException
+            || e instanceof SQLTransientConnectionException;
+    }
+
+    /**
+     * Checks whether a failure indicates the database is unhealthy (counts against the circuit breaker)
+     * @param e The failure
+     * @return true for connection failures and timeouts
+     */
+    static boolean isHealthFailure(SQLException e) {
+        return isConnectionFailure(e) || e instanceof SQLTimeoutException;
+    }
+
+    /**
+     * Computes the delay before a retry using exponential backoff with full jitter
+     * @param attempt The retry number, starting at 1
+     * @return Delay in milliseconds
+     */
+    static long backoffMillis(int attempt) {
+        long base = Math.max(1, DatabaseConfig.get().getLong("goaero.db.retryBackoffMillis", DEFAULT_BASE_BACKOFF_MILLIS));
+        long cap = Math.min(MAX_BACKOFF_MILLIS, base << Math.min(attempt - 1, 10));
+        return ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+    }
+}
@@ -0,0 +1,330 @@
+package com.GoAero.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Slow query log for the JDBC layer.
+ * Statements slower than the threshold are queued with their bind values, row count and
+ * duration; a background thread masks personal data, prints the entry and, the first time
+ * a statement shape is seen, runs EXPLAIN for it. The query thread only pays for an
+ * offer() onto a bounded queue.
+ *
+ * Configured with system properties:
+ * goaero.slowQuery.thresholdMillis (default 500, negative disables the log) and
+ * goaero.slowQuery.explain (default true).
+ */
+public class SlowQueryLog {
+
+    public static final long DEFAULT_THRESHOLD_MILLIS = 500;
+
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final int RECENT_CAPACITY = 200;
+    private static final int MAX_EXPLAINED_SHAPES = 10000;
+
+    // Columns whose bind values are never written to the log
+    private static final Pattern SENSITIVE_COLUMN = Pattern.compile("(?i).*(password|passwd|email|phone).*");
+    private static final Pattern EMAIL_VALUE = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+    private static final Pattern COMPARISON_COLUMN =
+        Pattern.compile("(?i)([A-Za-z_][A-Za-z0-9_.]*)\\s*(=|<>|!=|<=|>=|<|>|\\bLIKE\\b)\\s*$");
+    private static final Pattern INSERT_COLUMNS =
+        Pattern.compile("(?is)^\\s*INSERT\\s+INTO\\s+\\S+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+
+    private static final long THRESHOLD_NANOS =
+        Long.getLong("goaero.slowQuery.thresholdMillis", DEFAULT_THRESHOLD_MILLIS) * 1_000_000L;
+    private static final boolean EXPLAIN_ENABLED =
+        Boolean.parseBoolean(System.getProperty("goaero.slowQuery.explain", "true"));
+
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static final Deque<Entry> recent = new ArrayDeque<>();
+    private static final Set<String> explainedShapes = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    static {
+        if (isEnabled()) {
+            Thread writer = new Thread(SlowQueryLog::drainQueue, "slow-query-log");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    private SlowQueryLog() {}
+
+    public static boolean isEnabled() {
+        return THRESHOLD_NANOS >= 0;
+    }
+
+    public static long getThresholdMillis() {
+        return THRESHOLD_NANOS / 1_000_000L;
+    }
+
+    /**
+     * Checks whether a statement execution should be logged
+     * @param nanos Execution time in nanoseconds
+     * @return true if the execution is at or above the threshold
+     */
+    static boolean isSlow(long nanos) {
+        return isEnabled() && nanos >= THRESHOLD_NANOS;
+    }
+
+    /**
+     * Queues a slow statement for logging. Never blocks; entries are dropped if the
+     * writer has fallen behind.
+     */
+    static void submit(Entry entry) {
+        if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the most recent slow statements, newest first
+     * @return List of logged entries
+     */
+    public static List<Entry> getRecentEntries() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    /**
+     * Gets the number of entries dropped because the log queue was full
+     * @return The dropped count
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static void drainQueue() {
+        while (true) {
+            try {
+                Entry entry = queue.take();
+                process(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Never let a bad entry stop the writer
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void process(Entry entry) {
+        entry.maskedParameters = maskParameters(entry.sql, entry.rawParameters);
+
+        String shape = normalizeShape(entry.sql);
+        if (EXPLAIN_ENABLED && explainedShapes.size() < MAX_EXPLAINED_SHAPES && explainedShapes.add(shape)) {
+            entry.plan = explain(entry.sql, entry.rawParameters);
+        }
+        // Raw bind values were only needed for EXPLAIN
+        entry.rawParameters = null;
+
+        synchronized (recent) {
+            recent.addFirst(entry);
+            while (recent.size() > RECENT_CAPACITY) {
+                recent.removeLast();
+            }
+        }
+
+        StringBuilder line = new StringBuilder();
+        line.append("[slow-query] ").append(entry.getDurationMillis()).append(" ms, ")
+            .append(entry.rows).append(" rows, ").append(entry.operation).append(": ")
+            .append(entry.sql.replaceAll("\\s+", " ").trim());
+        if (!entry.maskedParameters.isEmpty()) {
+            line.append(" | params: ").append(entry.maskedParameters);
+        }
+        if (entry.plan != null) {
+            line.append('\n').append(entry.plan);
+        }
+        System.err.println(line);
+    }
+
+    /**
+     * Renders bind values, replacing those bound to sensitive columns (or that look like
+     * email addresses) with a mask
+     */
+    static List<String> maskParameters(String sql, List<Object> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> columns = placeholderColumns(sql);
+        List<String> masked = new ArrayList<>(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            String column = i < columns.size() ? columns.get(i) : null;
+            if (value == null) {
+                masked.add("NULL");
+            } else if ((column != null && SENSITIVE_COLUMN.matcher(column).matches())
+                    || EMAIL_VALUE.matcher(value.toString()).matches()) {
+                masked.add("'***'");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                masked.add(value.toString());
+            } else {
+                masked.add("'" + value + "'");
+            }
+        }
+        return masked;
+    }
+
+    /**
+     * Finds the column each '?' placeholder is bound to, by position for INSERT column
+     * lists and from the preceding comparison elsewhere (null when unknown)
+     */
+    private static List<String> placeholderColumns(String sql) {
+        List<String> columns = new ArrayList<>();
+        List<String> insertColumns = null;
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        if (insert.find()) {
+            insertColumns = new ArrayList<>();
+            for (String column : insert.group(1).split(",")) {
+                insertColumns.add(column.trim());
+            }
+        }
+
+        boolean inString = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inString = !inString;
+            } else if (c == '?' && !inString) {
+                int index = columns.size();
+                if (insertColumns != null && index < insertColumns.size()) {
+                    columns.add(insertColumns.get(index));
+                } else {
+                    Matcher comparison = COMPARISON_COLUMN.matcher(sql.substring(0, i));
+                    columns.add(comparison.find() ? comparison.group(1) : null);
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Reduces a statement to its shape: literals become '?' and whitespace is collapsed
+     */
+    static String normalizeShape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return shape.replaceAll("\\s+", " ").trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String explain(String sql, List<Object> parameters) {
+        String trimmed = sql.trim().toUpperCase(Locale.ROOT);
+        if (!(trimmed.startsWith("SELECT") || trimmed.startsWith("UPDATE")
+                || trimmed.startsWith("DELETE") || trimmed.startsWith("INSERT"))) {
+            return null;
+        }
+
+        // Uses an uninstrumented connection so the EXPLAIN is not itself measured or logged
+        Connection conn = DBConnection.getUninstrumentedConnection();
+        if (conn == null) {
+            return null;
+        }
+        try (Connection c = conn;
+             PreparedStatement stmt = c.prepareStatement("EXPLAIN " + sql)) {
+            if (parameters != null) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    stmt.setObject(i + 1, parameters.get(i));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return formatPlan(rs);
+            }
+        } catch (SQLException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static String formatPlan(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        StringBuilder plan = new StringBuilder("EXPLAIN:");
+        while (rs.next()) {
+            plan.append("\n  ");
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (i > 1) {
+                    plan.append(", ");
+                }
+                plan.append(meta.getColumnLabel(i)).append('=').append(rs.getString(i));
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * One slow statement execution
+     */
+    public static class Entry {
+        private final LocalDateTime loggedAt = LocalDateTime.now();
+        private final String operation;
+        private final String sql;
+        private final long durationNanos;
+        private final long rows;
+        private List<Object> rawParameters;
+        private List<String> maskedParameters = Collections.emptyList();
+        private String plan;
+
+        Entry(String operation, String sql, List<Object> parameters, long durationNanos, long rows) {
+            this.operation = operation;
+            this.sql = sql;
+            this.rawParameters = parameters;
+            this.durationNanos = durationNanos;
+            this.rows = rows;
+        }
+
+        public LocalDateTime getLoggedAt() {
+            return loggedAt;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getDurationMillis() {
+            return durationNanos / 1_000_000L;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Gets the bind values with personal data masked
+         * @return The masked values in placeholder order
+         */
+        public List<String> getMaskedParameters() {
+            return maskedParameters;
+        }
+
+        /**
+         * Gets the EXPLAIN output captured for the first occurrence of this statement shape
+         * @return The plan, or null if none was captured
+         */
+        public String getPlan() {
+            return plan;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.GoAero.db;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A migration read from a V&lt;version&gt;__&lt;description&gt;.sql file.
+ * Statements end with a semicolon at the end of a line; lines starting with -- are comments.
+ */
+class SqlMigration implements Migration {
+
+    static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private final int version;
+    private final String description;
+    private final String fileName;
+    private final List<String> statements;
+    private final String checksum;
+
+    private SqlMigration(int version, String description, String fileName, String script) {
+        this.version = version;
+        this.description = description;
+        this.fileName = fileName;
+        this.statements = split(script);
+        this.checksum = sha256(script);
+    }
+
+    /**
+     * Loads a migration file
+     * @param file Path to a file whose name matches FILE_NAME
+     * @return The migration
+     * @throws IOException if the file cannot be read
+     */
+    static SqlMigration load(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a migration file name: " + fileName);
+        }
+        // Normalise line endings so a checkout on another OS does not change the checksum
+        String script = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        return new SqlMigration(Integer.parseInt(matcher.group(1)),
+            matcher.group(2).replace('_', ' '), fileName, script);
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String getType() {
+        return "SQL";
+    }
+
+    @Override
+    public String getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public void apply(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    throw new SQLException(fileName + ": " + e.getMessage() + "\n" + sql,
+                        e.getSQLState(), e.getErrorCode(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return fileName;
+    }
+
+    private static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest(content.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.GoAero.event;
+
+import com.GoAero.model.Booking;
+
+import java.math.BigDecimal;
+
+/**
+ * A new booking was stored (one event per passenger of a group booking)
+ */
+public final class BookingCreated extends DomainEvent {
+    private final int bookingId;
+    private final int userId;
+    private final int flightId;
+    private final String pnr;
+    private final BigDecimal amount;
+    private final Booking.BookingStatus bookingStatus;
+    private final Booking.PaymentStatus paymentStatus;
+
+    public BookingCreated(Booking booking) {
+        this.bookingId = booking.getBookingId();
+        this.userId = booking.getUserId();
+        this.flightId = booking.getFlightId();
+        this.pnr = booking.getPnr();
+        this.amount = booking.getAmount();
+        this.bookingStatus = booking.getBookingStatus();
+        this.paymentStatus = booking.getPaymentStatus();
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public String getPnr() {
+        return pnr;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Booking.BookingStatus getBookingStatus() {
+        return bookingStatus;
+    }
+
+    public Booking.PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingCreated{bookingId=" + bookingId + ", flightId=" + flightId + ", pnr='" + pnr + "'}";
+    }
+}
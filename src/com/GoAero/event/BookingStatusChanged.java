@@ -0,0 +1,67 @@
+package com.GoAero.event;
+
+import com.GoAero.model.Booking;
+
+import java.math.BigDecimal;
+
+/**
+ * The booking status of a booking changed
+ */
+public final class BookingStatusChanged extends DomainEvent {
+    private final int bookingId;
+    private final int userId;
+    private final int flightId;
+    private final BigDecimal amount;
+    private final Booking.PaymentStatus paymentStatus;
+    private final Booking.BookingStatus previousStatus;
+    private final Booking.BookingStatus newStatus;
+
+    public BookingStatusChanged(int bookingId, int userId, int flightId, BigDecimal amount,
+                                Booking.PaymentStatus paymentStatus,
+                                Booking.BookingStatus previousStatus, Booking.BookingStatus newStatus) {
+        this.bookingId = bookingId;
+        this.userId = userId;
+        this.flightId = flightId;
+        this.amount = amount;
+        this.paymentStatus = paymentStatus;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the booking's payment status, which this change left as it was
+     * @return The unchanged status
+     */
+    public Booking.PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public Booking.BookingStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Booking.BookingStatus getNewStatus() {
+        return newStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingStatusChanged{bookingId=" + bookingId + ", " + previousStatus + " -> " + newStatus + "}";
+    }
+}
@@ -0,0 +1,16 @@
+package com.GoAero.event;
+
+import java.time.Instant;
+
+/**
+ * Something that changed in the domain, published on the EventBus after the change
+ * was committed. Events are immutable and carry enough of the changed row for
+ * subscribers to apply the change without reading it back.
+ */
+public abstract class DomainEvent {
+    private final Instant occurredAt = Instant.now();
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,204 @@
+package com.GoAero.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process publish/subscribe for domain events.
+ * Published events go into a fixed-size ring buffer. Every subscription reads the ring
+ * on its own daemon thread at its own pace, so a slow subscriber never holds up
+ * publishers or other subscribers. Publishing never blocks: the ring simply wraps, and
+ * a subscription that falls a full ring behind skips ahead and is told how many events
+ * it missed, so it can reload from the database instead.
+ *
+ * Configured with system property goaero.events.bufferSize (default 4096, rounded up
+ * to a power of two).
+ */
+public class EventBus {
+
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    // Upper bound on how long an idle subscription sleeps between checks
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final EventBus instance =
+        new EventBus(Integer.getInteger("goaero.events.bufferSize", DEFAULT_BUFFER_SIZE));
+
+    private final AtomicReferenceArray<Slot> ring;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a bus
+     * @param bufferSize Events kept for subscriptions that are behind
+     */
+    public EventBus(int bufferSize) {
+        int size = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public static EventBus getInstance() {
+        return instance;
+    }
+
+    /**
+     * Publishes an event to every subscription. Call after the change has been committed.
+     * @param event The event
+     */
+    public void publish(DomainEvent event) {
+        long sequence = nextSequence.getAndIncrement();
+        ring.set((int) sequence & mask, new Slot(sequence, event));
+        for (Subscriber subscriber : subscribers) {
+            subscriber.wake();
+        }
+    }
+
+    /**
+     * Starts delivering events published from now on to a listener
+     * @param name Subscription name, used for its thread
+     * @param listener The listener
+     * @return The subscription; close it to stop delivery
+     */
+    public Subscription subscribe(String name, EventListener listener) {
+        Subscriber subscriber = new Subscriber(name, listener, nextSequence.get());
+        subscribers.add(subscriber);
+        subscriber.thread.start();
+        return subscriber;
+    }
+
+    /**
+     * Gets the open subscriptions
+     * @return List of subscriptions
+     */
+    public List<Subscription> getSubscriptions() {
+        return new ArrayList<>(subscribers);
+    }
+
+    /**
+     * Gets the number of events published so far
+     * @return Event count
+     */
+    public long getPublishedCount() {
+        return nextSequence.get();
+    }
+
+    public int getBufferSize() {
+        return ring.length();
+    }
+
+    private static final class Slot {
+        final long sequence;
+        final DomainEvent event;
+
+        Slot(long sequence, DomainEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    private final class Subscriber implements Subscription, Runnable {
+        private final String name;
+        private final EventListener listener;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean parked;
+        // Next sequence to read; written only by the subscriber thread
+        private volatile long next;
+        private volatile long delivered;
+        private volatile long missed;
+
+        Subscriber(String name, EventListener listener, long start) {
+            this.name = name;
+            this.listener = listener;
+            this.next = start;
+            this.thread = new Thread(this, "event-" + name);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long sequence = next;
+            while (running) {
+                Slot slot = ring.get((int) sequence & mask);
+                if (slot != null && slot.sequence == sequence) {
+                    deliver(slot.event);
+                    next = ++sequence;
+                } else if (slot != null && slot.sequence > sequence) {
+                    // The slot was reused: everything older than one ring is gone
+                    long resume = Math.max(sequence + 1, nextSequence.get() - ring.length() + 1);
+                    missed += resume - sequence;
+                    next = resume;
+                    notifyMissed(resume - sequence);
+                    sequence = resume;
+                } else if (nextSequence.get() > sequence) {
+                    // Claimed by a publisher that has not stored the event yet
+                    Thread.onSpinWait();
+                } else {
+                    parked = true;
+                    if (nextSequence.get() == sequence && running) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    parked = false;
+                }
+            }
+        }
+
+        private void deliver(DomainEvent event) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                // A failing listener must not stop delivery of later events
+                e.printStackTrace();
+            }
+            delivered++;
+        }
+
+        private void notifyMissed(long count) {
+            try {
+                listener.onEventsMissed(count);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+
+        void wake() {
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getLag() {
+            return Math.max(0, nextSequence.get() - next);
+        }
+
+        @Override
+        public long getDeliveredCount() {
+            return delivered;
+        }
+
+        @Override
+        public long getMissedCount() {
+            return missed;
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            subscribers.remove(this);
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.GoAero.event;
+
+/**
+ * Receives domain events from the EventBus. Called on the subscription's own thread,
+ * one event at a time and in publication order; Swing listeners must hand off to the
+ * event dispatch thread themselves.
+ */
+public interface EventListener {
+
+    /**
+     * Handles one event
+     * @param event The event
+     */
+    void onEvent(DomainEvent event);
+
+    /**
+     * Called when this listener fell so far behind that events were overwritten before it
+     * read them. Listeners that keep derived state should rebuild it from the database.
+     * @param count Number of events skipped
+     */
+    default void onEventsMissed(long count) {
+    }
+}
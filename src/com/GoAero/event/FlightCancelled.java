@@ -0,0 +1,46 @@
+package com.GoAero.event;
+
+import java.math.BigDecimal;
+
+/**
+ * A flight was cancelled and its bookings were cancelled with it. Each booking also
+ * published its own BookingStatusChanged event.
+ */
+public final class FlightCancelled extends DomainEvent {
+    private final int flightId;
+    private final int bookingsCancelled;
+    private final int refundsDue;
+    private final BigDecimal refundAmount;
+
+    public FlightCancelled(int flightId, int bookingsCancelled, int refundsDue, BigDecimal refundAmount) {
+        this.flightId = flightId;
+        this.bookingsCancelled = bookingsCancelled;
+        this.refundsDue = refundsDue;
+        this.refundAmount = refundAmount;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public int getBookingsCancelled() {
+        return bookingsCancelled;
+    }
+
+    /**
+     * Gets the number of cancelled bookings whose payment had completed and is owed back
+     * @return The number of refunds marked due
+     */
+    public int getRefundsDue() {
+        return refundsDue;
+    }
+
+    public BigDecimal getRefundAmount() {
+        return refundAmount;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightCancelled{flightId=" + flightId + ", bookingsCancelled=" + bookingsCancelled + "}";
+    }
+}
@@ -0,0 +1,21 @@
+package com.GoAero.event;
+
+/**
+ * A flight was deleted
+ */
+public final class FlightDeleted extends DomainEvent {
+    private final int flightId;
+
+    public FlightDeleted(int flightId) {
+        this.flightId = flightId;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightDeleted{flightId=" + flightId + "}";
+    }
+}
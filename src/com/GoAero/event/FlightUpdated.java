@@ -0,0 +1,31 @@
+package com.GoAero.event;
+
+/**
+ * A flight's schedule, capacity, price or owner was changed
+ */
+public final class FlightUpdated extends DomainEvent {
+    private final int flightId;
+    private final int companyId;
+
+    public FlightUpdated(int flightId, int companyId) {
+        this.flightId = flightId;
+        this.companyId = companyId;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    /**
+     * Gets the owner of the flight after the change
+     * @return The flight owner ID
+     */
+    public int getCompanyId() {
+        return companyId;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightUpdated{flightId=" + flightId + "}";
+    }
+}
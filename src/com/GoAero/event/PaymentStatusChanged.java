@@ -0,0 +1,67 @@
+package com.GoAero.event;
+
+import com.GoAero.model.Booking;
+
+import java.math.BigDecimal;
+
+/**
+ * The payment status of a booking changed
+ */
+public final class PaymentStatusChanged extends DomainEvent {
+    private final int bookingId;
+    private final int userId;
+    private final int flightId;
+    private final BigDecimal amount;
+    private final Booking.BookingStatus bookingStatus;
+    private final Booking.PaymentStatus previousStatus;
+    private final Booking.PaymentStatus newStatus;
+
+    public PaymentStatusChanged(int bookingId, int userId, int flightId, BigDecimal amount,
+                                Booking.BookingStatus bookingStatus,
+                                Booking.PaymentStatus previousStatus, Booking.PaymentStatus newStatus) {
+        this.bookingId = bookingId;
+        this.userId = userId;
+        this.flightId = flightId;
+        this.amount = amount;
+        this.bookingStatus = bookingStatus;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the booking's booking status, which this change left as it was
+     * @return The unchanged status
+     */
+    public Booking.BookingStatus getBookingStatus() {
+        return bookingStatus;
+    }
+
+    public Booking.PaymentStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Booking.PaymentStatus getNewStatus() {
+        return newStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentStatusChanged{bookingId=" + bookingId + ", " + previousStatus + " -> " + newStatus + "}";
+    }
+}
@@ -0,0 +1,25 @@
+package com.GoAero.event;
+
+/**
+ * A listener registered on the EventBus
+ */
+public interface Subscription extends AutoCloseable {
+
+    String getName();
+
+    /**
+     * Gets how many published events this subscription has not handled yet
+     * @return Number of pending events
+     */
+    long getLag();
+
+    long getDeliveredCount();
+
+    long getMissedCount();
+
+    /**
+     * Stops delivery and ends the subscription's thread
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,52 @@
+package com.GoAero.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for creating a booking (single passenger or group).
+ * The locked seat availability check inside the insert transaction is recorded as a
+ * nested {@link SeatCheckEvent} on the same thread.
+ */
+@Name("com.goaero.Booking")
+@Label("Booking Creation")
+@Category({"GoAero", "Booking"})
+@Description("Booking creation from PNR generation to commit")
+@StackTrace(false)
+public class BookingEvent extends Event {
+
+    @Label("Flight ID")
+    public int flightId;
+
+    @Label("Passengers")
+    public int passengers;
+
+    @Label("Held Seats")
+    @Description("Seats were converted from a seat hold")
+    public boolean fromHold;
+
+    @Label("PNR Attempts")
+    @Description("PNR or record locator candidates generated before an unused one was found")
+    public int pnrAttempts;
+
+    @Label("PNR Generation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long pnrTime;
+
+    @Label("Insert Time")
+    @Description("Time in the insert transaction, including the seat check")
+    @Timespan(Timespan.NANOSECONDS)
+    public long insertTime;
+
+    @Label("Replayed")
+    @Description("An earlier booking with the same client request ID was returned")
+    public boolean replayed;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
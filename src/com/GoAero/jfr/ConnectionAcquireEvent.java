@@ -0,0 +1,20 @@
+package com.GoAero.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for obtaining a JDBC connection from DBConnection
+ */
+@Name("com.goaero.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category({"GoAero", "Database"})
+@Description("Opening a database connection")
+public class ConnectionAcquireEvent extends Event {
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
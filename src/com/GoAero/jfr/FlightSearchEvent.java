@@ -0,0 +1,31 @@
+package com.GoAero.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a passenger flight search, including the per-flight availability lookups
+ */
+@Name("com.goaero.FlightSearch")
+@Label("Flight Search")
+@Category({"GoAero", "Search"})
+@Description("Flight search by route and date")
+@StackTrace(false)
+public class FlightSearchEvent extends Event {
+
+    @Label("Departure Airport")
+    public String departureAirport;
+
+    @Label("Destination Airport")
+    public String destinationAirport;
+
+    @Label("Departure Date")
+    public String departureDate;
+
+    @Label("Result Count")
+    public int resultCount;
+}
@@ -0,0 +1,68 @@
+package com.GoAero.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for a login attempt. Never records the identifier or password.
+ */
+@Name("com.goaero.Login")
+@Label("Login")
+@Category({"GoAero", "Login"})
+@Description("Account lookup and password verification")
+@StackTrace(false)
+public class LoginEvent extends Event {
+
+    @Label("Account Type")
+    public String accountType;
+
+    @Label("Lookup Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lookupTime;
+
+    @Label("Account Found")
+    public boolean accountFound;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    private long lookupStart;
+
+    public LoginEvent(String accountType) {
+        this.accountType = accountType;
+    }
+
+    /**
+     * Marks the start of the account lookup (and of the event)
+     */
+    public void lookupStarted() {
+        begin();
+        lookupStart = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of the account lookup
+     * @param found true if an account matched
+     */
+    public void lookupFinished(boolean found) {
+        lookupTime = System.nanoTime() - lookupStart;
+        accountFound = found;
+    }
+
+    /**
+     * Records the outcome and commits the event if it is enabled
+     * @param success true if the password was verified
+     */
+    public void finish(boolean success) {
+        end();
+        if (shouldCommit()) {
+            succeeded = success;
+            commit();
+        }
+    }
+}
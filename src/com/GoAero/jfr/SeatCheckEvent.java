@@ -0,0 +1,26 @@
+package com.GoAero.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the locked free-seat count taken before placing a hold or a booking.
+ * Its duration includes waiting for the flight row lock.
+ */
+@Name("com.goaero.SeatCheck")
+@Label("Seat Check")
+@Category({"GoAero", "Booking"})
+@Description("Flight row lock and free seat count")
+@StackTrace(false)
+public class SeatCheckEvent extends Event {
+
+    @Label("Flight ID")
+    public int flightId;
+
+    @Label("Free Seats")
+    public int freeSeats;
+}
@@ -0,0 +1,94 @@
+package com.GoAero.main;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+import com.GoAero.model.SeatHold;
+import com.GoAero.service.BookingService;
+import com.GoAero.service.SeatHoldService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares group booking (one locked availability check and one batch insert per party)
+ * against booking the same seats one passenger at a time the way the booking dialog does,
+ * by placing a one-seat hold and converting it.
+ * Every booking created by the run is deleted afterwards.
+ *
+ * Usage: BookingThroughputBenchmark flightId userId [groupSize] [rounds]
+ */
+public class BookingThroughputBenchmark {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BookingThroughputBenchmark flightId userId [groupSize] [rounds]");
+            System.exit(1);
+        }
+        int flightId = Integer.parseInt(args[0]);
+        int userId = Integer.parseInt(args[1]);
+        int groupSize = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        FlightDAO flightDAO = new FlightDAO();
+        Flight flight = flightDAO.findById(flightId);
+        if (flight == null) {
+            System.err.println("Flight " + flightId + " not found");
+            System.exit(1);
+        }
+        // findById does not count seats; availability comes from bookings and active holds
+        if (flightDAO.getAvailableSeats(flightId) < groupSize * rounds * 2) {
+            System.err.println("Flight " + flightId + " needs at least " + (groupSize * rounds * 2)
+                    + " free seats for this run");
+            System.exit(1);
+        }
+
+        BookingDAO bookingDAO = new BookingDAO();
+        BookingService bookingService = new BookingService();
+        SeatHoldService seatHoldService = SeatHoldService.getInstance();
+        List<Integer> passengers = Collections.nCopies(groupSize, userId);
+        List<Booking> created = new ArrayList<>();
+
+        try {
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                for (int seat = 0; seat < groupSize; seat++) {
+                    SeatHold hold = seatHoldService.placeHold(flightId, userId, 1);
+                    if (hold == null) {
+                        continue;
+                    }
+                    Booking booking = bookingService.bookHeldSeat(hold, flight, userId,
+                            BookingService.newIdempotencyKey());
+                    if (booking != null) {
+                        created.add(booking);
+                    }
+                }
+            }
+            long sequentialNanos = System.nanoTime() - start;
+            int sequentialSeats = created.size();
+
+            start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                created.addAll(bookingService.bookGroup(flight, passengers, BookingService.newIdempotencyKey()));
+            }
+            long groupNanos = System.nanoTime() - start;
+            int groupSeats = created.size() - sequentialSeats;
+
+            System.out.printf("Sequential: %d seats in %d ms (%.1f seats/sec)%n",
+                    sequentialSeats, sequentialNanos / 1_000_000, seatsPerSecond(sequentialSeats, sequentialNanos));
+            System.out.printf("Group (%d): %d seats in %d ms (%.1f seats/sec)%n",
+                    groupSize, groupSeats, groupNanos / 1_000_000, seatsPerSecond(groupSeats, groupNanos));
+        } finally {
+            for (Booking booking : created) {
+                bookingDAO.delete(booking.getBookingId());
+            }
+            seatHoldService.stopSweeper();
+        }
+    }
+
+    private static double seatsPerSecond(int seats, long nanos) {
+        return nanos > 0 ? seats * 1_000_000_000.0 / nanos : 0;
+    }
+}
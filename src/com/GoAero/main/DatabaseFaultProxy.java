@@ -0,0 +1,143 @@
+package com.GoAero.main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local TCP proxy in front of MySQL for exercising timeouts, retries and the circuit breaker.
+ * Point the application at it with -Dgoaero.db.url=jdbc:mysql://localhost:3307/goAero and
+ * type commands on stdin to inject faults while the app runs:
+ *
+ *   pass          forward traffic normally
+ *   delay &lt;ms&gt;    delay every chunk of server responses
+ *   blackhole     keep connections open but stop forwarding (stalled server)
+ *   reset         drop every open connection (connection reset)
+ *   refuse        reject new connections (server down)
+ *   quit          stop the proxy
+ *
+ * Usage: DatabaseFaultProxy [listenPort] [targetHost] [targetPort]
+ */
+public class DatabaseFaultProxy {
+
+    private enum Mode { PASS, DELAY, BLACKHOLE, REFUSE }
+
+    private static volatile Mode mode = Mode.PASS;
+    private static volatile long delayMillis;
+    private static final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+
+    public static void main(String[] args) throws IOException {
+        int listenPort = args.length > 0 ? Integer.parseInt(args[0]) : 3307;
+        String targetHost = args.length > 1 ? args[1] : "localhost";
+        int targetPort = args.length > 2 ? Integer.parseInt(args[2]) : 3306;
+
+        ServerSocket server = new ServerSocket(listenPort, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> acceptLoop(server, targetHost, targetPort), "fault-proxy-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        System.out.println("Proxying 127.0.0.1:" + listenPort + " -> " + targetHost + ":" + targetPort);
+
+        BufferedReader console = new BufferedReader(new InputStreamReader(System.in));
+        String line;
+        while ((line = console.readLine()) != null) {
+            String[] command = line.trim().split("\\s+");
+            switch (command[0].toLowerCase()) {
+                case "pass":
+                    mode = Mode.PASS;
+                    break;
+                case "delay":
+                    delayMillis = command.length > 1 ? Long.parseLong(command[1]) : 5000;
+                    mode = Mode.DELAY;
+                    break;
+                case "blackhole":
+                    mode = Mode.BLACKHOLE;
+                    break;
+                case "reset":
+                    closeAll();
+                    break;
+                case "refuse":
+                    mode = Mode.REFUSE;
+                    closeAll();
+                    break;
+                case "quit":
+                    closeAll();
+                    server.close();
+                    return;
+                default:
+                    System.out.println("Commands: pass | delay <ms> | blackhole | reset | refuse | quit");
+                    continue;
+            }
+            System.out.println("Mode: " + mode + (mode == Mode.DELAY ? " " + delayMillis + " ms" : "")
+                + ", open sockets: " + openSockets.size());
+        }
+    }
+
+    private static void acceptLoop(ServerSocket server, String targetHost, int targetPort) {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                if (mode == Mode.REFUSE) {
+                    client.close();
+                    continue;
+                }
+                Socket upstream = new Socket(targetHost, targetPort);
+                openSockets.add(client);
+                openSockets.add(upstream);
+                pump(client, upstream, false);
+                pump(upstream, client, true);
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void pump(Socket from, Socket to, boolean serverToClient) {
+        Thread thread = new Thread(() -> {
+            byte[] buffer = new byte[16 * 1024];
+            try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    while (mode == Mode.BLACKHOLE) {
+                        Thread.sleep(100);
+                    }
+                    if (serverToClient && mode == Mode.DELAY) {
+                        Thread.sleep(delayMillis);
+                    }
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // Connection closed or reset
+            } finally {
+                close(from);
+                close(to);
+            }
+        }, "fault-proxy-pump");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void closeAll() {
+        for (Socket socket : openSockets) {
+            close(socket);
+        }
+    }
+
+    private static void close(Socket socket) {
+        openSockets.remove(socket);
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.GoAero.main;
+
+import com.GoAero.dao.CredentialDAO;
+import com.GoAero.model.Principal;
+import com.GoAero.model.SessionManager.UserType;
+import com.GoAero.service.CredentialService;
+import com.GoAero.util.PasswordUtil;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how many logins per second CredentialService sustains at different PBKDF2 costs,
+ * to pick goaero.password.iterations and goaero.login.threads for the hardware.
+ * Credentials come from memory, so the figures are the hashing ceiling without database time.
+ *
+ * Usage: LoginBenchmark [secondsPerCost] [threads] [iterations,iterations,...]
+ */
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "Benchmark123";
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String[] costs = (args.length > 2 ? args[2] : "10000,100000,310000,600000").split(",");
+
+        System.out.printf("%d verifier thread(s), %d s per cost%n", threads, seconds);
+        for (String cost : costs) {
+            int iterations = Integer.parseInt(cost.trim());
+            System.setProperty(PasswordUtil.ITERATIONS_PROPERTY, String.valueOf(iterations));
+            Principal principal = new Principal(1, UserType.USER, PasswordUtil.hashPassword(PASSWORD, iterations));
+
+            CredentialService service = new CredentialService(new InMemoryCredentialDAO(principal),
+                threads, threads * 4, TimeUnit.SECONDS.toMillis(30));
+            try {
+                // Warm up the JIT before measuring
+                service.authenticate(UserType.USER, "bench", PASSWORD).join();
+                run(service, threads, seconds, iterations);
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    private static void run(CredentialService service, int threads, int seconds, int iterations)
+            throws InterruptedException {
+        // Keep every verifier busy plus a short queue, like a burst of users at the login screen
+        Semaphore inFlight = new Semaphore(threads * 2);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            CompletableFuture<Principal> login = service.authenticate(UserType.USER, "bench", PASSWORD);
+            login.whenComplete((principal, error) -> {
+                if (error != null) {
+                    rejected.incrementAndGet();
+                } else if (principal != null) {
+                    succeeded.incrementAndGet();
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(threads * 2);
+        long elapsed = System.nanoTime() - start;
+
+        double perSecond = succeeded.get() * 1_000_000_000.0 / elapsed;
+        System.out.printf("%,9d iterations: %8.1f logins/sec, %7.1f ms per verification%s%n",
+            iterations, perSecond, perSecond > 0 ? threads * 1000.0 / perSecond : 0,
+            rejected.get() > 0 ? " (" + rejected.get() + " rejected)" : "");
+    }
+
+    /**
+     * Serves one account from memory and ignores re-hash writes
+     */
+    private static class InMemoryCredentialDAO extends CredentialDAO {
+        private final Principal principal;
+
+        InMemoryCredentialDAO(Principal principal) {
+            this.principal = principal;
+        }
+
+        @Override
+        public Principal findByLogin(UserType userType, String login) {
+            return principal;
+        }
+
+        @Override
+        public boolean updatePasswordHash(Principal principal, String newHash) {
+            return false;
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package com.GoAero.main;
 
+import com.GoAero.db.MigrationRunner;
+import com.GoAero.metrics.MetricsServer;
+import com.GoAero.service.BookingArchiveService;
+import com.GoAero.service.BookingSketchService;
+import com.GoAero.service.BookingSummaryService;
+import com.GoAero.service.FlightScheduleService;
+import com.GoAero.service.SeatMapService;
+import com.GoAero.service.WaitlistService;
 import com.GoAero.ui.LandingPage;
 import javax.swing.SwingUtilities;
 
@@ -8,6 +16,30 @@ import javax.swing.SwingUtilities;
  */
 public class Main {
     public static void main(String[] args) {
+        // Bring the schema up to date before anything queries it
+        MigrationRunner.migrateFromConfig();
+
+        // Expose DAO metrics for Prometheus when -Dgoaero.metrics.port is set
+        MetricsServer.startFromSystemProperties();
+
+        // Move completed trips past the archive horizon out of the bookings table
+        BookingArchiveService.startFromSystemProperties();
+
+        // Keep the daily booking summaries behind the reports current
+        BookingSummaryService.startFromSystemProperties();
+
+        // Count busiest routes and distinct travellers per month for the reports
+        BookingSketchService.startFromSystemProperties();
+
+        // Keep recurring schedules expanded into bookable flights over the horizon
+        FlightScheduleService.startFromSystemProperties();
+
+        // Book freed seats for waitlisted passengers
+        WaitlistService.startFromSystemProperties();
+
+        // Free the seats of cancelled bookings on the flights' seat maps
+        SeatMapService.startFromSystemProperties();
+
         // Swing GUI should be created and updated on the Event Dispatch Thread (EDT).
         // SwingUtilities.invokeLater ensures this.
         SwingUtilities.invokeLater(new Runnable() {
@@ -0,0 +1,39 @@
+package com.GoAero.main;
+
+import com.GoAero.db.DatabaseConfig;
+import com.GoAero.db.MigrationRunner;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
+/**
+ * Command-line access to the schema migrations, for running them ahead of a deployment
+ * (e.g. with -Dgoaero.db.migrations.enabled=false on the application) or checking their state.
+ *
+ *   migrate   apply pending migrations (default)
+ *   info      list migrations and whether each is applied, pending, failed or changed
+ *
+ * Usage: MigrateDatabase [migrate|info]
+ */
+public class MigrateDatabase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        String command = args.length > 0 ? args[0].toLowerCase() : "migrate";
+        MigrationRunner runner = new MigrationRunner(
+            Paths.get(DatabaseConfig.get().get("goaero.db.migrations.dir")));
+
+        switch (command) {
+            case "migrate":
+                int applied = runner.migrate();
+                System.out.println(applied == 0 ? "Schema is up to date" : "Applied " + applied + " migration(s)");
+                break;
+            case "info":
+                runner.describe().forEach(System.out::println);
+                break;
+            default:
+                System.err.println("Usage: MigrateDatabase [migrate|info]");
+                System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.GoAero.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of per-operation DAO metrics.
+ * Operations are recorded by the instrumented JDBC connection handed out by DBConnection,
+ * so every DAO method is covered without changes to the DAOs themselves.
+ * Can be switched off with -Dgoaero.metrics.enabled=false.
+ */
+public class DaoMetrics {
+
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("goaero.metrics.enabled", "true"));
+
+    private static final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    private DaoMetrics() {}
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Gets (or creates) the metrics for an operation
+     * @param operation The operation name, e.g. "BookingDAO.findByPNR"
+     * @return The operation's metrics
+     */
+    public static OperationMetrics forOperation(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        if (metrics == null) {
+            metrics = operations.computeIfAbsent(operation, OperationMetrics::new);
+        }
+        return metrics;
+    }
+
+    /**
+     * Gets all recorded operations sorted by name
+     * @return List of operation metrics
+     */
+    public static List<OperationMetrics> getOperations() {
+        List<OperationMetrics> list = new ArrayList<>(operations.values());
+        list.sort(Comparator.comparing(OperationMetrics::getOperation));
+        return list;
+    }
+
+    /**
+     * Discards everything recorded so far
+     */
+    public static void reset() {
+        operations.clear();
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format (version 0.0.4)
+     * @return The exposition text
+     */
+    public static String toPrometheusText() {
+        List<OperationMetrics> list = getOperations();
+        StringBuilder out = new StringBuilder(4096);
+
+        out.append("# HELP goaero_dao_calls_total Statements executed per DAO operation\n");
+        out.append("# TYPE goaero_dao_calls_total counter\n");
+        for (OperationMetrics m : list) {
+            appendSample(out, "goaero_dao_calls_total", m.getOperation(), null, m.getCalls());
+        }
+
+        out.append("# HELP goaero_dao_errors_total Statements that failed with an SQLException\n");
+        out.append("# TYPE goaero_dao_errors_total counter\n");
+        for (OperationMetrics m : list) {
+            appendSample(out, "goaero_dao_errors_total", m.getOperation(), null, m.getErrors());
+        }
+
+        out.append("# HELP goaero_dao_rows_total Rows returned by queries or affected by updates\n");
+        out.append("# TYPE goaero_dao_rows_total counter\n");
+        for (OperationMetrics m : list) {
+            appendSample(out, "goaero_dao_rows_total", m.getOperation(), null, m.getRows());
+        }
+
+        out.append("# HELP goaero_dao_latency_seconds Statement execution time\n");
+        out.append("# TYPE goaero_dao_latency_seconds histogram\n");
+        for (OperationMetrics m : list) {
+            LatencyHistogram h = m.getLatency();
+            for (int i = 0; i < LatencyHistogram.getBucketCount(); i++) {
+                appendSample(out, "goaero_dao_latency_seconds_bucket", m.getOperation(),
+                    formatSeconds(LatencyHistogram.getBoundNanos(i)), h.getCumulativeCount(i));
+            }
+            long count = h.getCount();
+            appendSample(out, "goaero_dao_latency_seconds_bucket", m.getOperation(), "+Inf", count);
+            out.append("goaero_dao_latency_seconds_sum{operation=\"").append(escape(m.getOperation())).append("\"} ")
+               .append(formatSeconds(h.getSumNanos())).append('\n');
+            appendSample(out, "goaero_dao_latency_seconds_count", m.getOperation(), null, count);
+        }
+
+        return out.toString();
+    }
+
+    private static void appendSample(StringBuilder out, String name, String operation, String le, long value) {
+        out.append(name).append("{operation=\"").append(escape(operation)).append('"');
+        if (le != null) {
+            out.append(",le=\"").append(le).append('"');
+        }
+        out.append("} ").append(value).append('\n');
+    }
+
+    private static String formatSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1_000_000_000.0);
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
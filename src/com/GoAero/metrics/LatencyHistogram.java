@@ -0,0 +1,110 @@
+package com.GoAero.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram. Recording only touches LongAdder cells, so it is
+ * lock-free and cheap enough to call on every query.
+ */
+public class LatencyHistogram {
+
+    /** Bucket upper bounds in nanoseconds, from 250 microseconds to 10 seconds */
+    private static final long[] BOUNDS_NANOS = {
+        250_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L,
+        50_000_000L, 100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L,
+        2_500_000_000L, 5_000_000_000L, 10_000_000_000L
+    };
+
+    // One extra cell for observations above the last bound (+Inf)
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one observation
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(long nanos) {
+        int i = 0;
+        while (i < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public static int getBucketCount() {
+        return BOUNDS_NANOS.length;
+    }
+
+    /**
+     * Gets the upper bound of a bucket
+     * @param bucket Bucket index, 0 to getBucketCount() - 1
+     * @return The upper bound in nanoseconds
+     */
+    public static long getBoundNanos(int bucket) {
+        return BOUNDS_NANOS[bucket];
+    }
+
+    /**
+     * Gets the number of observations at or below a bucket's upper bound (Prometheus "le" semantics)
+     * @param bucket Bucket index, 0 to getBucketCount() - 1
+     * @return The cumulative count
+     */
+    public long getCumulativeCount(int bucket) {
+        long total = 0;
+        for (int i = 0; i <= bucket; i++) {
+            total += buckets[i].sum();
+        }
+        return total;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket that contains it
+     * @param percentile Percentile between 0 and 100
+     * @return The estimated latency in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_NANOS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(BOUNDS_NANOS[i], getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+}
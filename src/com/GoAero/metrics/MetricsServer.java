@@ -0,0 +1,97 @@
+package com.GoAero.metrics;
+
+import com.GoAero.cache.EntityCaches;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves DAO and entity cache metrics for Prometheus scraping at http://127.0.0.1:&lt;port&gt;/metrics.
+ * Bound to the loopback interface only. Enabled by setting -Dgoaero.metrics.port.
+ */
+public class MetricsServer {
+
+    private static HttpServer server;
+
+    private MetricsServer() {}
+
+    /**
+     * Starts the endpoint if the goaero.metrics.port system property is set
+     */
+    public static void startFromSystemProperties() {
+        int port = Integer.getInteger("goaero.metrics.port", 0);
+        if (port > 0) {
+            start(port);
+        }
+    }
+
+    /**
+     * Starts the endpoint on the given port
+     * @param port The local port
+     * @return true if the endpoint is running
+     */
+    public static synchronized boolean start(int port) {
+        if (server != null) {
+            return true;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", MetricsServer::handleMetrics);
+            server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "metrics-http");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+            System.out.println("Metrics endpoint listening on " + getEndpointUrl());
+            return true;
+        } catch (IOException e) {
+            System.err.println("Could not start metrics endpoint on port " + port);
+            e.printStackTrace();
+            server = null;
+            return false;
+        }
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    /**
+     * Gets the scrape URL
+     * @return The URL, or null if the endpoint is not running
+     */
+    public static synchronized String getEndpointUrl() {
+        if (server == null) {
+            return null;
+        }
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/metrics";
+    }
+
+    private static void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String text = DaoMetrics.toPrometheusText() + EntityCaches.toPrometheusText();
+            byte[] body = text.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.GoAero.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for a single DAO operation (e.g. "FlightDAO.searchFlights")
+ */
+public class OperationMetrics {
+    private final String operation;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public OperationMetrics(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Records a completed statement execution
+     * @param nanos Execution time in nanoseconds
+     * @param failed true if the statement threw
+     */
+    public void recordCall(long nanos, boolean failed) {
+        calls.increment();
+        if (failed) {
+            errors.increment();
+        }
+        latency.record(nanos);
+    }
+
+    /**
+     * Adds rows returned by a query or affected by an update
+     * @param count Number of rows
+     */
+    public void addRows(long count) {
+        rows.add(count);
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
@@ -23,6 +23,9 @@ public class Booking {
     private BigDecimal amount;
     private PaymentStatus paymentStatus;
     private BookingStatus bookingStatus;
+    private String idempotencyKey; // Client request ID; replays return the original booking
+    private String recordLocator; // Shared by every passenger row of a group booking
+    private String seatNumber; // Assigned from the flight's seat map, e.g. "12C"
     
     // Additional fields for display purposes (not in database)
     private String userFullName;
@@ -242,6 +245,30 @@ public class Booking {
         this.bookingStatus = bookingStatus;
     }
 
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRecordLocator() {
+        return recordLocator;
+    }
+
+    public void setRecordLocator(String recordLocator) {
+        this.recordLocator = recordLocator;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+
+    public void setSeatNumber(String seatNumber) {
+        this.seatNumber = seatNumber;
+    }
+
     // Additional display fields getters and setters
     public String getUserFullName() {
         return userFullName;
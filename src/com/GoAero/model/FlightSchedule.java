@@ -0,0 +1,207 @@
+package com.GoAero.model;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * FlightSchedule model class representing a recurring flight that is expanded into
+ * dated flight_data rows (one per operating day within the effective date range)
+ */
+public class FlightSchedule {
+    private int scheduleId;
+    private int companyId;
+    private String flightCode;
+    private String flightName;
+    private int departureAirportId;
+    private int destinationAirportId;
+    private int daysOfWeek; // bit (dayOfWeek - 1) set for each operating day, Monday = bit 0
+    private LocalTime departureTime;
+    private int durationMinutes;
+    private LocalDate effectiveFrom;
+    private LocalDate effectiveTo;
+    private int capacity;
+    private BigDecimal price;
+
+    public static final int ALL_DAYS = 0x7F;
+
+    // Default constructor
+    public FlightSchedule() {}
+
+    // Constructor without ID (for new schedules)
+    public FlightSchedule(int companyId, String flightCode, String flightName,
+                          int departureAirportId, int destinationAirportId, Set<DayOfWeek> days,
+                          LocalTime departureTime, int durationMinutes,
+                          LocalDate effectiveFrom, LocalDate effectiveTo, int capacity, BigDecimal price) {
+        this.companyId = companyId;
+        this.flightCode = flightCode;
+        this.flightName = flightName;
+        this.departureAirportId = departureAirportId;
+        this.destinationAirportId = destinationAirportId;
+        setOperatingDays(days);
+        this.departureTime = departureTime;
+        this.durationMinutes = durationMinutes;
+        this.effectiveFrom = effectiveFrom;
+        this.effectiveTo = effectiveTo;
+        this.capacity = capacity;
+        this.price = price;
+    }
+
+    // Getters and Setters
+    public int getScheduleId() {
+        return scheduleId;
+    }
+
+    public void setScheduleId(int scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    public int getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(int companyId) {
+        this.companyId = companyId;
+    }
+
+    public String getFlightCode() {
+        return flightCode;
+    }
+
+    public void setFlightCode(String flightCode) {
+        this.flightCode = flightCode;
+    }
+
+    public String getFlightName() {
+        return flightName;
+    }
+
+    public void setFlightName(String flightName) {
+        this.flightName = flightName;
+    }
+
+    public int getDepartureAirportId() {
+        return departureAirportId;
+    }
+
+    public void setDepartureAirportId(int departureAirportId) {
+        this.departureAirportId = departureAirportId;
+    }
+
+    public int getDestinationAirportId() {
+        return destinationAirportId;
+    }
+
+    public void setDestinationAirportId(int destinationAirportId) {
+        this.destinationAirportId = destinationAirportId;
+    }
+
+    public int getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(int daysOfWeek) {
+        this.daysOfWeek = daysOfWeek & ALL_DAYS;
+    }
+
+    public LocalTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(LocalTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    // Utility methods
+    public boolean operatesOn(DayOfWeek day) {
+        return (daysOfWeek & (1 << (day.getValue() - 1))) != 0;
+    }
+
+    public Set<DayOfWeek> getOperatingDays() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (operatesOn(day)) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    public void setOperatingDays(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        this.daysOfWeek = mask;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightSchedule{" +
+                "scheduleId=" + scheduleId +
+                ", flightCode='" + flightCode + '\'' +
+                ", days=" + getOperatingDays() +
+                ", departureTime=" + departureTime +
+                ", effectiveFrom=" + effectiveFrom +
+                ", effectiveTo=" + effectiveTo +
+                ", capacity=" + capacity +
+                ", price=" + price +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        FlightSchedule schedule = (FlightSchedule) obj;
+        return scheduleId == schedule.scheduleId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(scheduleId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.GoAero.model;
+
+/**
+ * Permissions checked by the UI. Each is one bit, so a session's permissions are
+ * precomputed once at login as an int mask and checked with a single AND.
+ */
+public enum Permission {
+    USER_BOOKING("user_booking"),
+    ADMIN_MANAGEMENT("admin_management"),
+    FLIGHT_MANAGEMENT("flight_management"),
+    VIEW_ALL_BOOKINGS("view_all_bookings"),
+    VIEW_OWN_FLIGHTS("view_own_flights");
+
+    private final String key;
+    private final int bit;
+
+    Permission(String key) {
+        this.key = key;
+        this.bit = 1 << ordinal();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    /**
+     * Checks whether a mask grants this permission
+     * @param mask Permission mask of a session
+     * @return true if the bit is set
+     */
+    public boolean isGrantedBy(int mask) {
+        return (mask & bit) != 0;
+    }
+
+    /**
+     * Looks up a permission by its key
+     * @param key Permission key, e.g. "view_all_bookings" (case-insensitive)
+     * @return The permission, or null if unknown
+     */
+    public static Permission fromKey(String key) {
+        for (Permission permission : values()) {
+            if (permission.key.equalsIgnoreCase(key)) {
+                return permission;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the permission mask granted to an account type
+     * @param userType The account type
+     * @return Bitwise OR of the granted permissions
+     */
+    public static int maskFor(SessionManager.UserType userType) {
+        switch (userType) {
+            case USER:
+                return USER_BOOKING.bit;
+            case ADMIN:
+                return ADMIN_MANAGEMENT.bit | FLIGHT_MANAGEMENT.bit | VIEW_ALL_BOOKINGS.bit;
+            case FLIGHT_OWNER:
+                return FLIGHT_MANAGEMENT.bit | VIEW_OWN_FLIGHTS.bit;
+            default:
+                return 0;
+        }
+    }
+}
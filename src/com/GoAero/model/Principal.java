@@ -0,0 +1,48 @@
+package com.GoAero.model;
+
+/**
+ * Principal model class holding just what login needs from an account: its ID, its
+ * account type and its stored password hash. The full User, Admin or FlightOwner is only
+ * loaded once the password has been verified.
+ */
+public class Principal {
+    private final int id;
+    private final SessionManager.UserType userType;
+    private final String passwordHash;
+
+    public Principal(int id, SessionManager.UserType userType, String passwordHash) {
+        this.id = id;
+        this.userType = userType;
+        this.passwordHash = passwordHash;
+    }
+
+    // Getters
+    public int getId() {
+        return id;
+    }
+
+    public SessionManager.UserType getUserType() {
+        return userType;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    /**
+     * Creates a copy with a new password hash
+     * @param newHash The new hash
+     * @return The updated principal
+     */
+    public Principal withPasswordHash(String newHash) {
+        return new Principal(id, userType, newHash);
+    }
+
+    @Override
+    public String toString() {
+        return "Principal{" +
+                "id=" + id +
+                ", userType=" + userType +
+                '}';
+    }
+}
@@ -0,0 +1,154 @@
+package com.GoAero.model;
+
+import java.sql.Timestamp;
+
+/**
+ * SeatHold model class representing a short-lived seat reservation made while the
+ * passenger completes checkout. Active holds count against flight availability until
+ * they are converted into a booking, released, or expire.
+ */
+public class SeatHold {
+    private int holdId;
+    private int flightId;
+    private int userId;
+    private int seats;
+    private Timestamp createdAt;
+    private Timestamp expiresAt;
+    private HoldStatus status;
+    private Integer bookingId; // Set once the hold is converted
+
+    public enum HoldStatus {
+        ACTIVE("Active"),
+        CONVERTED("Converted"),
+        RELEASED("Released");
+
+        private final String displayName;
+
+        HoldStatus(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public static HoldStatus fromString(String status) {
+            for (HoldStatus hs : HoldStatus.values()) {
+                if (hs.displayName.equalsIgnoreCase(status)) {
+                    return hs;
+                }
+            }
+            return RELEASED;
+        }
+    }
+
+    // Default constructor
+    public SeatHold() {}
+
+    // Constructor without ID (for new holds)
+    public SeatHold(int flightId, int userId, int seats) {
+        this.flightId = flightId;
+        this.userId = userId;
+        this.seats = seats;
+        this.status = HoldStatus.ACTIVE;
+    }
+
+    // Getters and Setters
+    public int getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(int holdId) {
+        this.holdId = holdId;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(int flightId) {
+        this.flightId = flightId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public void setSeats(int seats) {
+        this.seats = seats;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Timestamp getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Timestamp expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public HoldStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HoldStatus status) {
+        this.status = status;
+    }
+
+    public Integer getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Integer bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    // Utility methods
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.getTime() <= System.currentTimeMillis();
+    }
+
+    public boolean isActive() {
+        return status == HoldStatus.ACTIVE && !isExpired();
+    }
+
+    @Override
+    public String toString() {
+        return "SeatHold{" +
+                "holdId=" + holdId +
+                ", flightId=" + flightId +
+                ", userId=" + userId +
+                ", seats=" + seats +
+                ", expiresAt=" + expiresAt +
+                ", status=" + status +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        SeatHold hold = (SeatHold) obj;
+        return holdId == hold.holdId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(holdId);
+    }
+}
@@ -0,0 +1,293 @@
+package com.GoAero.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SeatLayout model class describing an aircraft's cabins. A layout is written as
+ * cabin:firstRow-lastRow:pattern sections separated by ';', where the pattern gives a
+ * row's seat letters from left to right and '_' marks an aisle, e.g.
+ * "Business:1-3:AC_DF;Economy:4-30:ABC_DEF".
+ *
+ * Rows are numbered into positions front to back and left to right, aisles included, so
+ * a seat map can keep one bit per position and an aisle never joins two seats.
+ */
+public class SeatLayout {
+
+    public static final char AISLE = '_';
+
+    // Rows are read as single words of a seat map
+    public static final int MAX_ROW_WIDTH = 64;
+
+    // Fits the flight_seat_maps.occupied column
+    public static final int MAX_POSITIONS = 1024 * 8;
+
+    private static final Map<String, SeatLayout> TEMPLATES = new LinkedHashMap<>();
+
+    static {
+        TEMPLATES.put("ATR72", parse("Economy:1-18:AC_DF"));
+        TEMPLATES.put("A320", parse("Business:1-3:AC_DF;Economy:4-30:ABC_DEF"));
+        TEMPLATES.put("A321", parse("Business:1-5:AC_DF;Economy:6-37:ABC_DEF"));
+        TEMPLATES.put("B787", parse("Business:1-6:A_DG_K;Economy:7-40:ABC_DEF_HJK"));
+    }
+
+    private final String definition;
+    private final List<Cabin> cabins;
+    private final int[] rowNumbers;
+    private final int[] rowStarts;
+    private final String[] rowPatterns;
+    private final int positionCount;
+    private final int seatCount;
+
+    public static class Cabin {
+        private final String name;
+        private final int firstRowIndex;
+        private final int lastRowIndex;
+        private final String pattern;
+        private final int seatCount;
+
+        Cabin(String name, int firstRowIndex, int lastRowIndex, String pattern) {
+            this.name = name;
+            this.firstRowIndex = firstRowIndex;
+            this.lastRowIndex = lastRowIndex;
+            this.pattern = pattern;
+            int seatsPerRow = 0;
+            for (char c : pattern.toCharArray()) {
+                if (c != AISLE) {
+                    seatsPerRow++;
+                }
+            }
+            this.seatCount = seatsPerRow * (lastRowIndex - firstRowIndex + 1);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the index of the cabin's first row within the layout, counting from 0
+         * @return The first row index
+         */
+        public int getFirstRowIndex() {
+            return firstRowIndex;
+        }
+
+        public int getLastRowIndex() {
+            return lastRowIndex;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public int getSeatCount() {
+            return seatCount;
+        }
+    }
+
+    private SeatLayout(String definition, List<Cabin> cabins, int[] rowNumbers, String[] rowPatterns) {
+        this.definition = definition;
+        this.cabins = Collections.unmodifiableList(cabins);
+        this.rowNumbers = rowNumbers;
+        this.rowPatterns = rowPatterns;
+        this.rowStarts = new int[rowNumbers.length + 1];
+        int seats = 0;
+        for (int i = 0; i < rowPatterns.length; i++) {
+            rowStarts[i + 1] = rowStarts[i] + rowPatterns[i].length();
+        }
+        for (Cabin cabin : cabins) {
+            seats += cabin.getSeatCount();
+        }
+        this.positionCount = rowStarts[rowNumbers.length];
+        this.seatCount = seats;
+    }
+
+    /**
+     * Parses a layout definition
+     * @param definition Sections such as "Economy:1-30:ABC_DEF", separated by ';'
+     * @return The layout
+     * @throws IllegalArgumentException if the definition is malformed, rows overlap or
+     *         the layout is too large for a seat map
+     */
+    public static SeatLayout parse(String definition) {
+        List<Cabin> cabins = new ArrayList<>();
+        List<Integer> rowNumbers = new ArrayList<>();
+        List<String> rowPatterns = new ArrayList<>();
+        int positions = 0;
+        for (String section : definition.split(";")) {
+            String[] parts = section.trim().split(":");
+            String[] rows = parts.length == 3 ? parts[1].split("-") : new String[0];
+            if (rows.length != 2 || parts[0].trim().isEmpty()) {
+                throw new IllegalArgumentException("Invalid cabin section: " + section);
+            }
+            int firstRow;
+            int lastRow;
+            try {
+                firstRow = Integer.parseInt(rows[0].trim());
+                lastRow = Integer.parseInt(rows[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rows in cabin section: " + section);
+            }
+            String pattern = parts[2].trim();
+            if (pattern.isEmpty() || pattern.length() > MAX_ROW_WIDTH || !pattern.matches("[A-Z_]+")) {
+                throw new IllegalArgumentException("Invalid seat pattern: " + pattern);
+            }
+            int previousRow = rowNumbers.isEmpty() ? 0 : rowNumbers.get(rowNumbers.size() - 1);
+            if (firstRow <= previousRow || lastRow < firstRow) {
+                throw new IllegalArgumentException("Rows must increase from cabin to cabin: " + section);
+            }
+            cabins.add(new Cabin(parts[0].trim(), rowNumbers.size(), rowNumbers.size() + lastRow - firstRow, pattern));
+            for (int row = firstRow; row <= lastRow; row++) {
+                rowNumbers.add(row);
+                rowPatterns.add(pattern);
+            }
+            positions += pattern.length() * (lastRow - firstRow + 1);
+            if (positions > MAX_POSITIONS) {
+                throw new IllegalArgumentException("Layout has more than " + MAX_POSITIONS + " positions");
+            }
+        }
+
+        int[] numbers = new int[rowNumbers.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = rowNumbers.get(i);
+        }
+        return new SeatLayout(definition, cabins, numbers, rowPatterns.toArray(new String[0]));
+    }
+
+    /**
+     * Gets the layout for a flight of the given capacity: the template with exactly that
+     * many seats, or otherwise single-aisle economy rows with the seats of the last row
+     * beyond capacity left over
+     * @param capacity The flight's capacity
+     * @return The layout
+     */
+    public static SeatLayout forCapacity(int capacity) {
+        for (SeatLayout template : TEMPLATES.values()) {
+            if (template.getSeatCount() == capacity) {
+                return template;
+            }
+        }
+        int rows = Math.max(1, (capacity + 5) / 6);
+        return parse("Economy:1-" + rows + ":ABC_DEF");
+    }
+
+    /**
+     * Gets the built-in layout templates by aircraft type
+     * @return Templates keyed by type, e.g. "A320"
+     */
+    public static Map<String, SeatLayout> getTemplates() {
+        return Collections.unmodifiableMap(TEMPLATES);
+    }
+
+    public String getDefinition() {
+        return definition;
+    }
+
+    public List<Cabin> getCabins() {
+        return cabins;
+    }
+
+    /**
+     * Gets the cabin with the most seats, where bookings without a fare class are seated
+     * @return The main cabin
+     */
+    public Cabin getMainCabin() {
+        Cabin main = cabins.get(0);
+        for (Cabin cabin : cabins) {
+            if (cabin.getSeatCount() > main.getSeatCount()) {
+                main = cabin;
+            }
+        }
+        return main;
+    }
+
+    public Cabin getCabin(String name) {
+        for (Cabin cabin : cabins) {
+            if (cabin.getName().equalsIgnoreCase(name)) {
+                return cabin;
+            }
+        }
+        return null;
+    }
+
+    public int getRowCount() {
+        return rowNumbers.length;
+    }
+
+    public int getRowStart(int rowIndex) {
+        return rowStarts[rowIndex];
+    }
+
+    public int getRowWidth(int rowIndex) {
+        return rowPatterns[rowIndex].length();
+    }
+
+    /**
+     * Gets the number of positions, seats and aisles, in the layout
+     * @return The position count
+     */
+    public int getPositionCount() {
+        return positionCount;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public boolean isAisle(int position) {
+        int rowIndex = rowIndexOf(position);
+        return rowPatterns[rowIndex].charAt(position - rowStarts[rowIndex]) == AISLE;
+    }
+
+    /**
+     * Gets the seat number at a position
+     * @param position The position, counting from 0
+     * @return The seat number, e.g. "12C", or null for an aisle
+     */
+    public String getSeatNumber(int position) {
+        int rowIndex = rowIndexOf(position);
+        char letter = rowPatterns[rowIndex].charAt(position - rowStarts[rowIndex]);
+        return letter == AISLE ? null : rowNumbers[rowIndex] + String.valueOf(letter);
+    }
+
+    /**
+     * Gets the position of a seat
+     * @param seatNumber The seat number, e.g. "12C"
+     * @return The position, or -1 if the layout has no such seat
+     */
+    public int getPosition(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2) {
+            return -1;
+        }
+        char letter = Character.toUpperCase(seatNumber.charAt(seatNumber.length() - 1));
+        int row;
+        try {
+            row = Integer.parseInt(seatNumber.substring(0, seatNumber.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        int rowIndex = Arrays.binarySearch(rowNumbers, row);
+        if (rowIndex < 0 || letter == AISLE) {
+            return -1;
+        }
+        int column = rowPatterns[rowIndex].indexOf(letter);
+        return column < 0 ? -1 : rowStarts[rowIndex] + column;
+    }
+
+    private int rowIndexOf(int position) {
+        if (position < 0 || position >= positionCount) {
+            throw new IndexOutOfBoundsException("Position " + position + " is outside the layout");
+        }
+        int rowIndex = Arrays.binarySearch(rowStarts, position);
+        return rowIndex >= 0 ? rowIndex : -rowIndex - 2;
+    }
+
+    @Override
+    public String toString() {
+        return definition;
+    }
+}
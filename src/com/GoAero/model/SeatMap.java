@@ -0,0 +1,283 @@
+package com.GoAero.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SeatMap model class holding which seats of a flight can still be assigned, as one bit
+ * per layout position. A set bit is a position that cannot be assigned: a taken seat, a
+ * seat beyond the flight's capacity, or an aisle. Counting free seats is a popcount over
+ * the words, and finding adjacent free seats is a shift-and-AND over one row's bits, so
+ * neither reads a booking row.
+ */
+public class SeatMap {
+    private final int flightId;
+    private final SeatLayout layout;
+    private final long[] words;
+    private int version; // Bumped on every write, for diagnostics and cache checks
+
+    private SeatMap(int flightId, SeatLayout layout, long[] words, int version) {
+        this.flightId = flightId;
+        this.layout = layout;
+        this.words = words;
+        this.version = version;
+    }
+
+    /**
+     * Creates an empty seat map. Seats past the flight's capacity, counted from the back
+     * of the layout, are never assigned.
+     * @param flightId The flight ID
+     * @param layout The cabin layout
+     * @param capacity Seats that may be assigned
+     * @return The seat map
+     */
+    public static SeatMap create(int flightId, SeatLayout layout, int capacity) {
+        int positions = layout.getPositionCount();
+        SeatMap map = new SeatMap(flightId, layout, new long[(positions + 63) >>> 6], 0);
+        // Bits past the last position are set, so free seats are simply the clear bits
+        for (int position = positions; position < map.words.length << 6; position++) {
+            map.set(position);
+        }
+        int seats = 0;
+        for (int position = 0; position < positions; position++) {
+            if (layout.isAisle(position) || ++seats > capacity) {
+                map.set(position);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Restores a seat map from its stored form
+     * @param flightId The flight ID
+     * @param layout The cabin layout the bits were written for
+     * @param bytes The bits as written by toBytes
+     * @param version The stored version
+     * @return The seat map
+     */
+    public static SeatMap fromBytes(int flightId, SeatLayout layout, byte[] bytes, int version) {
+        long[] words = new long[(layout.getPositionCount() + 63) >>> 6];
+        if (bytes.length != words.length * Long.BYTES) {
+            throw new IllegalArgumentException("Seat map of flight " + flightId + " does not match its layout");
+        }
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(words);
+        return new SeatMap(flightId, layout, words, version);
+    }
+
+    /**
+     * Gets the bits in the form stored in flight_seat_maps.occupied
+     * @return 8 bytes per word, little-endian
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    /**
+     * Copies the seat map, so cached instances are never shared with callers
+     * @return A copy
+     */
+    public SeatMap copy() {
+        return new SeatMap(flightId, layout, words.clone(), version);
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Gets the number of seats that can still be assigned
+     * @return Free seats
+     */
+    public int getFreeSeats() {
+        int set = 0;
+        for (long word : words) {
+            set += Long.bitCount(word);
+        }
+        return (words.length << 6) - set;
+    }
+
+    /**
+     * Gets the number of seats that can still be assigned in one cabin
+     * @param cabin A cabin of this map's layout
+     * @return Free seats in the cabin
+     */
+    public int getFreeSeats(SeatLayout.Cabin cabin) {
+        int from = layout.getRowStart(cabin.getFirstRowIndex());
+        int to = layout.getRowStart(cabin.getLastRowIndex()) + layout.getRowWidth(cabin.getLastRowIndex());
+        return (to - from) - countSet(from, to);
+    }
+
+    public boolean isFree(String seatNumber) {
+        int position = layout.getPosition(seatNumber);
+        return position >= 0 && !get(position);
+    }
+
+    /**
+     * Marks a seat as taken
+     * @param seatNumber The seat number, e.g. "12C"
+     * @return true if the seat was free, false if it was taken or is not in the layout
+     */
+    public boolean occupy(String seatNumber) {
+        int position = layout.getPosition(seatNumber);
+        if (position < 0 || get(position)) {
+            return false;
+        }
+        set(position);
+        return true;
+    }
+
+    /**
+     * Finds seats for a party and marks them as taken. Every cabin is tried in turn,
+     * starting with the given one, for seats next to each other in one row; a party too
+     * large for any row block is split into the largest adjacent blocks that fit, front
+     * to back. A party that fits in no single cabin is spread over all of them.
+     * @param seats Number of seats wanted
+     * @param preferred The cabin to try first, or null for the layout's main cabin
+     * @return The assigned seat numbers, or null if fewer seats are free; the map is
+     *         unchanged in that case
+     */
+    public List<String> assignAdjacent(int seats, SeatLayout.Cabin preferred) {
+        if (seats < 1 || seats > getFreeSeats()) {
+            return null;
+        }
+        SeatLayout.Cabin first = preferred != null ? preferred : layout.getMainCabin();
+        List<SeatLayout.Cabin> order = new ArrayList<>();
+        order.add(first);
+        for (SeatLayout.Cabin cabin : layout.getCabins()) {
+            if (cabin != first) {
+                order.add(cabin);
+            }
+        }
+
+        for (SeatLayout.Cabin cabin : order) {
+            if (getFreeSeats(cabin) >= seats) {
+                List<String> assigned = assignIn(seats, cabin.getFirstRowIndex(), cabin.getLastRowIndex());
+                if (assigned != null) {
+                    return assigned;
+                }
+            }
+        }
+        return assignIn(seats, 0, layout.getRowCount() - 1);
+    }
+
+    // Seats the party within rows [firstRow, lastRow], largest adjacent blocks first
+    private List<String> assignIn(int seats, int firstRow, int lastRow) {
+        long[] saved = words.clone();
+        List<String> assigned = new ArrayList<>(seats);
+        int block = Math.min(seats, SeatLayout.MAX_ROW_WIDTH);
+        while (assigned.size() < seats) {
+            int position = findRun(block, firstRow, lastRow);
+            if (position < 0) {
+                if (--block == 0) {
+                    System.arraycopy(saved, 0, words, 0, words.length);
+                    return null;
+                }
+                continue;
+            }
+            for (int i = 0; i < block; i++) {
+                set(position + i);
+                assigned.add(layout.getSeatNumber(position + i));
+            }
+            block = Math.min(block, seats - assigned.size());
+        }
+        return assigned;
+    }
+
+    // First position, front to back, starting a run of `length` free seats within one row
+    private int findRun(int length, int firstRow, int lastRow) {
+        for (int row = firstRow; row <= lastRow; row++) {
+            int width = layout.getRowWidth(row);
+            if (width < length) {
+                continue;
+            }
+            int start = layout.getRowStart(row);
+            long free = ~bits(start, width) & mask(width);
+            // Bit i of runs stays set while seats i..i+k are all free
+            long runs = free;
+            for (int k = 1; k < length && runs != 0; k++) {
+                runs &= free >>> k;
+            }
+            if (runs != 0) {
+                return start + Long.numberOfTrailingZeros(runs);
+            }
+        }
+        return -1;
+    }
+
+    // Reads `width` (at most 64) bits starting at `from` as the low bits of a long
+    private long bits(int from, int width) {
+        int word = from >>> 6;
+        int offset = from & 63;
+        long value = words[word] >>> offset;
+        if (offset + width > 64) {
+            value |= words[word + 1] << (64 - offset);
+        }
+        return value & mask(width);
+    }
+
+    // Set bits in [from, to), touching each word once
+    private int countSet(int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+        if (firstWord == lastWord) {
+            return Long.bitCount(words[firstWord] & firstMask & lastMask);
+        }
+        int count = Long.bitCount(words[firstWord] & firstMask) + Long.bitCount(words[lastWord] & lastMask);
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            count += Long.bitCount(words[word]);
+        }
+        return count;
+    }
+
+    private static long mask(int width) {
+        return width == 64 ? -1L : (1L << width) - 1;
+    }
+
+    private boolean get(int position) {
+        return (words[position >>> 6] & (1L << position)) != 0;
+    }
+
+    private void set(int position) {
+        words[position >>> 6] |= 1L << position;
+    }
+
+    /**
+     * Draws the seat map row by row, e.g. "12  X.X ..X", for logs and diagnostics
+     * @return One line per row
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < layout.getRowCount(); row++) {
+            int start = layout.getRowStart(row);
+            String first = layout.getSeatNumber(start);
+            sb.append(String.format("%-4s", first != null ? first.substring(0, first.length() - 1) : ""));
+            for (int position = start; position < start + layout.getRowWidth(row); position++) {
+                sb.append(layout.isAisle(position) ? ' ' : get(position) ? 'X' : '.');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
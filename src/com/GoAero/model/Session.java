@@ -0,0 +1,58 @@
+package com.GoAero.model;
+
+/**
+ * Session model class for one signed-in principal in the SessionRegistry.
+ * Kept deliberately small (the registry can hold hundreds of thousands): the token is only
+ * the registry key, and the account itself is not referenced, only its type and ID.
+ */
+public class Session {
+    private final int principalId;
+    private final SessionManager.UserType userType;
+    private final int permissions;
+    private volatile long lastAccessed;
+
+    public Session(int principalId, SessionManager.UserType userType, int permissions, long lastAccessed) {
+        this.principalId = principalId;
+        this.userType = userType;
+        this.permissions = permissions;
+        this.lastAccessed = lastAccessed;
+    }
+
+    // Getters
+    public int getPrincipalId() {
+        return principalId;
+    }
+
+    public SessionManager.UserType getUserType() {
+        return userType;
+    }
+
+    /**
+     * Gets the precomputed permission mask
+     * @return Bitwise OR of Permission bits
+     */
+    public int getPermissions() {
+        return permissions;
+    }
+
+    public boolean hasPermission(Permission permission) {
+        return permission.isGrantedBy(permissions);
+    }
+
+    public long getLastAccessed() {
+        return lastAccessed;
+    }
+
+    void setLastAccessed(long lastAccessed) {
+        this.lastAccessed = lastAccessed;
+    }
+
+    @Override
+    public String toString() {
+        return "Session{" +
+                "principalId=" + principalId +
+                ", userType=" + userType +
+                ", permissions=" + Integer.toBinaryString(permissions) +
+                '}';
+    }
+}
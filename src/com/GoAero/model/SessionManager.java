@@ -1,14 +1,17 @@
 package com.GoAero.model;
 
 /**
- * SessionManager class to track the currently logged-in user across the application
+ * SessionManager class to track the currently logged-in user of this application window.
+ * Sessions themselves live in the thread-safe SessionRegistry; this class holds the token
+ * of the desktop session and the account it belongs to. When the registry expires the
+ * session, the getters report nobody logged in.
  */
 public class SessionManager {
-    private static SessionManager instance;
-    private User currentUser;
-    private Admin currentAdmin;
-    private FlightOwner currentFlightOwner;
-    private UserType currentUserType;
+    private static final SessionManager instance = new SessionManager(SessionRegistry.getInstance());
+
+    private final SessionRegistry registry;
+    private volatile String currentToken;
+    private volatile Object currentAccount;
 
     public enum UserType {
         USER,
@@ -17,128 +20,144 @@ public class SessionManager {
         NONE
     }
 
-    // Private constructor for singleton pattern
-    private SessionManager() {
-        this.currentUserType = UserType.NONE;
+    private SessionManager(SessionRegistry registry) {
+        this.registry = registry;
     }
 
     // Get singleton instance
     public static SessionManager getInstance() {
-        if (instance == null) {
-            instance = new SessionManager();
-        }
         return instance;
     }
 
     // User session methods
     public void loginUser(User user) {
-        logout(); // Clear any existing session
-        this.currentUser = user;
-        this.currentUserType = UserType.USER;
+        login(UserType.USER, user.getUserId(), user);
     }
 
     public User getCurrentUser() {
-        return currentUser;
+        return currentAccount(UserType.USER, User.class);
     }
 
     public boolean isUserLoggedIn() {
-        return currentUser != null && currentUserType == UserType.USER;
+        return getCurrentUser() != null;
     }
 
     // Admin session methods
     public void loginAdmin(Admin admin) {
-        logout(); // Clear any existing session
-        this.currentAdmin = admin;
-        this.currentUserType = UserType.ADMIN;
+        login(UserType.ADMIN, admin.getAdminId(), admin);
     }
 
     public Admin getCurrentAdmin() {
-        return currentAdmin;
+        return currentAccount(UserType.ADMIN, Admin.class);
     }
 
     public boolean isAdminLoggedIn() {
-        return currentAdmin != null && currentUserType == UserType.ADMIN;
+        return getCurrentAdmin() != null;
     }
 
     // Flight Owner session methods
     public void loginFlightOwner(FlightOwner flightOwner) {
-        logout(); // Clear any existing session
-        this.currentFlightOwner = flightOwner;
-        this.currentUserType = UserType.FLIGHT_OWNER;
+        login(UserType.FLIGHT_OWNER, flightOwner.getOwnerId(), flightOwner);
     }
 
     public FlightOwner getCurrentFlightOwner() {
-        return currentFlightOwner;
+        return currentAccount(UserType.FLIGHT_OWNER, FlightOwner.class);
     }
 
     public boolean isFlightOwnerLoggedIn() {
-        return currentFlightOwner != null && currentUserType == UserType.FLIGHT_OWNER;
+        return getCurrentFlightOwner() != null;
     }
 
     // General session methods
     public UserType getCurrentUserType() {
-        return currentUserType;
+        Session session = currentSession();
+        return session != null ? session.getUserType() : UserType.NONE;
     }
 
     public boolean isLoggedIn() {
-        return currentUserType != UserType.NONE;
+        return currentSession() != null;
+    }
+
+    /**
+     * Gets the token of the current session
+     * @return The token, or null if nobody is logged in
+     */
+    public String getCurrentToken() {
+        return currentSession() != null ? currentToken : null;
     }
 
     public String getCurrentUserDisplayName() {
-        switch (currentUserType) {
+        switch (getCurrentUserType()) {
             case USER:
-                return currentUser != null ? currentUser.getFullName() : "Unknown User";
+                User user = getCurrentUser();
+                return user != null ? user.getFullName() : "Unknown User";
             case ADMIN:
-                return currentAdmin != null ? currentAdmin.getUsername() : "Unknown Admin";
+                Admin admin = getCurrentAdmin();
+                return admin != null ? admin.getUsername() : "Unknown Admin";
             case FLIGHT_OWNER:
-                return currentFlightOwner != null ? currentFlightOwner.getCompanyName() : "Unknown Company";
+                FlightOwner owner = getCurrentFlightOwner();
+                return owner != null ? owner.getCompanyName() : "Unknown Company";
             default:
                 return "Not Logged In";
         }
     }
 
     public int getCurrentUserId() {
-        switch (currentUserType) {
-            case USER:
-                return currentUser != null ? currentUser.getUserId() : -1;
-            case ADMIN:
-                return currentAdmin != null ? currentAdmin.getAdminId() : -1;
-            case FLIGHT_OWNER:
-                return currentFlightOwner != null ? currentFlightOwner.getOwnerId() : -1;
-            default:
-                return -1;
-        }
+        Session session = currentSession();
+        return session != null ? session.getPrincipalId() : -1;
     }
 
-    public void logout() {
-        this.currentUser = null;
-        this.currentAdmin = null;
-        this.currentFlightOwner = null;
-        this.currentUserType = UserType.NONE;
+    public synchronized void logout() {
+        registry.invalidate(currentToken);
+        this.currentToken = null;
+        this.currentAccount = null;
     }
 
     // Utility method to check permissions
     public boolean hasPermission(String permission) {
-        switch (permission.toLowerCase()) {
-            case "user_booking":
-                return isUserLoggedIn();
-            case "admin_management":
-                return isAdminLoggedIn();
-            case "flight_management":
-                return isAdminLoggedIn() || isFlightOwnerLoggedIn();
-            case "view_all_bookings":
-                return isAdminLoggedIn();
-            case "view_own_flights":
-                return isFlightOwnerLoggedIn();
-            default:
-                return false;
+        Permission resolved = Permission.fromKey(permission);
+        return resolved != null && hasPermission(resolved);
+    }
+
+    public boolean hasPermission(Permission permission) {
+        Session session = currentSession();
+        return session != null && session.hasPermission(permission);
+    }
+
+    private synchronized void login(UserType userType, int id, Object account) {
+        logout(); // Clear any existing session
+        this.currentAccount = account;
+        this.currentToken = registry.create(userType, id);
+    }
+
+    private Session currentSession() {
+        String token = currentToken;
+        Session session = registry.get(token);
+        if (session == null && token != null) {
+            // Expired or evicted
+            synchronized (this) {
+                if (token.equals(currentToken)) {
+                    currentToken = null;
+                    currentAccount = null;
+                }
+            }
+        }
+        return session;
+    }
+
+    private <T> T currentAccount(UserType userType, Class<T> type) {
+        Session session = currentSession();
+        Object account = currentAccount;
+        if (session == null || session.getUserType() != userType || !type.isInstance(account)) {
+            return null;
         }
+        return type.cast(account);
     }
 
     @Override
     public String toString() {
         return "SessionManager{" +
-                "currentUserType=" + currentUserType +
+                "currentUserType=" + getCurrentUserType() +
                 ", currentUserDisplayName='" + getCurrentUserDisplayName() + '\'' +
                 '}';
     }
@@ -0,0 +1,225 @@
+package com.GoAero.model;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe registry of signed-in sessions keyed by an opaque random token.
+ *
+ * Sessions expire after goaero.session.idleMinutes without use (sliding expiry); a daemon
+ * sweeper removes expired ones every goaero.session.sweepSeconds, and lookups never return
+ * one. The registry holds at most goaero.session.maxSessions: when full, about the least
+ * recently used percent of sessions is evicted at once, which approximates LRU without
+ * ordering every session.
+ */
+public class SessionRegistry {
+
+    public static final int DEFAULT_MAX_SESSIONS = 500_000;
+    public static final int DEFAULT_IDLE_MINUTES = 30;
+    public static final int DEFAULT_SWEEP_INTERVAL_SECONDS = 60;
+
+    private static final int TOKEN_BYTES = 16;
+    private static final int EVICTION_SAMPLE_SIZE = 1000;
+    private static final int EVICTION_PERCENT = 1;
+    // Lookups closer together than this do not rewrite the access time
+    private static final long TOUCH_GRANULARITY_MILLIS = 1000;
+
+    private static SessionRegistry instance;
+
+    private final ConcurrentHashMap<String, Session> sessions;
+    private final int maxSessions;
+    private final long idleTimeoutMillis;
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder tokenEncoder = Base64.getUrlEncoder().withoutPadding();
+    private ScheduledExecutorService sweeper;
+
+    public SessionRegistry(int maxSessions, long idleTimeoutMillis) {
+        this.maxSessions = maxSessions;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.sessions = new ConcurrentHashMap<>(Math.min(maxSessions, 1024));
+    }
+
+    /**
+     * Gets the shared registry configured from system properties, starting its sweeper on first use
+     * @return The shared SessionRegistry
+     */
+    public static synchronized SessionRegistry getInstance() {
+        if (instance == null) {
+            instance = new SessionRegistry(
+                Integer.getInteger("goaero.session.maxSessions", DEFAULT_MAX_SESSIONS),
+                TimeUnit.MINUTES.toMillis(Integer.getInteger("goaero.session.idleMinutes", DEFAULT_IDLE_MINUTES)));
+            instance.startSweeper(Integer.getInteger("goaero.session.sweepSeconds", DEFAULT_SWEEP_INTERVAL_SECONDS));
+        }
+        return instance;
+    }
+
+    /**
+     * Opens a session
+     * @param userType The account type
+     * @param principalId The account ID
+     * @return The session token
+     */
+    public String create(SessionManager.UserType userType, int principalId) {
+        if (sessions.size() >= maxSessions) {
+            makeRoom();
+        }
+        Session session = new Session(principalId, userType, Permission.maskFor(userType), System.currentTimeMillis());
+        String token;
+        do {
+            token = newToken();
+        } while (sessions.putIfAbsent(token, session) != null);
+        return token;
+    }
+
+    /**
+     * Looks up a live session and extends its expiry
+     * @param token The session token
+     * @return The session, or null if unknown or expired
+     */
+    public Session get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long lastAccessed = session.getLastAccessed();
+        if (now - lastAccessed > idleTimeoutMillis) {
+            sessions.remove(token, session);
+            return null;
+        }
+        if (now - lastAccessed >= TOUCH_GRANULARITY_MILLIS) {
+            session.setLastAccessed(now);
+        }
+        return session;
+    }
+
+    /**
+     * Ends a session
+     * @param token The session token
+     */
+    public void invalidate(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Ends every session of an account, e.g. after it was deleted or its password changed
+     * @param userType The account type
+     * @param principalId The account ID
+     * @return Number of sessions ended
+     */
+    public int invalidateAll(SessionManager.UserType userType, int principalId) {
+        int removed = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            Session session = it.next();
+            if (session.getUserType() == userType && session.getPrincipalId() == principalId) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every expired session
+     * @return Number of sessions removed
+     */
+    public int sweep() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        int removed = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (it.next().getLastAccessed() < cutoff) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Starts the background sweeper on a daemon thread
+     * @param intervalSeconds Seconds between sweeps
+     */
+    public synchronized void startSweeper(int intervalSeconds) {
+        if (sweeper != null || intervalSeconds <= 0) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; the next sweep retries
+                e.printStackTrace();
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the background sweeper
+     */
+    public synchronized void stopSweeper() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    /**
+     * Frees room when the registry is full: first drops expired sessions, then roughly the
+     * least recently used EVICTION_PERCENT of the rest. The age cutoff is estimated from a
+     * sample; hash order is unrelated to age, so the first entries of the table serve.
+     * Evicting in bulk keeps the cost per created session constant.
+     */
+    private synchronized void makeRoom() {
+        if (sessions.size() < maxSessions || sweep() > 0 && sessions.size() < maxSessions) {
+            return;
+        }
+        long[] sample = new long[Math.min(EVICTION_SAMPLE_SIZE, sessions.size())];
+        int sampled = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext() && sampled < sample.length; ) {
+            sample[sampled++] = it.next().getLastAccessed();
+        }
+        if (sampled == 0) {
+            return;
+        }
+        Arrays.sort(sample, 0, sampled);
+        long cutoff = sample[sampled * EVICTION_PERCENT / 100];
+        sessions.values().removeIf(session -> session.getLastAccessed() < cutoff);
+        // Sessions created in a burst share the cutoff timestamp; take only as many as needed
+        int target = maxSessions * (100 - EVICTION_PERCENT) / 100;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext() && sessions.size() > target; ) {
+            if (it.next().getLastAccessed() <= cutoff) {
+                it.remove();
+            }
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return tokenEncoder.encodeToString(bytes);
+    }
+}
@@ -0,0 +1,136 @@
+package com.GoAero.model;
+
+import java.sql.Timestamp;
+
+/**
+ * WaitlistEntry model class representing a passenger waiting for seats on a full flight.
+ * Entries are served in request order; a waiting entry is promoted to a booking as soon
+ * as enough seats are freed for it, and closed if the flight is cancelled or departs first.
+ */
+public class WaitlistEntry {
+    private int entryId;
+    private int flightId;
+    private int userId;
+    private int seats;
+    private Timestamp requestedAt;
+    private WaitlistStatus status;
+    private Integer bookingId; // First booking of the party, set once promoted
+
+    public enum WaitlistStatus {
+        WAITING("Waiting"),
+        PROMOTED("Promoted"),
+        CLOSED("Closed");
+
+        private final String displayName;
+
+        WaitlistStatus(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public static WaitlistStatus fromString(String status) {
+            for (WaitlistStatus ws : WaitlistStatus.values()) {
+                if (ws.displayName.equalsIgnoreCase(status)) {
+                    return ws;
+                }
+            }
+            return CLOSED;
+        }
+    }
+
+    // Default constructor
+    public WaitlistEntry() {}
+
+    // Constructor without ID (for new entries)
+    public WaitlistEntry(int flightId, int userId, int seats) {
+        this.flightId = flightId;
+        this.userId = userId;
+        this.seats = seats;
+        this.status = WaitlistStatus.WAITING;
+    }
+
+    // Getters and Setters
+    public int getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(int entryId) {
+        this.entryId = entryId;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(int flightId) {
+        this.flightId = flightId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public void setSeats(int seats) {
+        this.seats = seats;
+    }
+
+    public Timestamp getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(Timestamp requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Integer getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Integer bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "entryId=" + entryId +
+                ", flightId=" + flightId +
+                ", userId=" + userId +
+                ", seats=" + seats +
+                ", requestedAt=" + requestedAt +
+                ", status=" + status +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        WaitlistEntry entry = (WaitlistEntry) obj;
+        return entryId == entry.entryId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(entryId);
+    }
+}
@@ -0,0 +1,225 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.AirportDAO;
+import com.GoAero.model.Airport;
+import com.GoAero.util.AirportCsvParser;
+import com.GoAero.util.ValidationUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk importer for airport lists in OpenFlights-style CSV format.
+ * Rows are validated, deduplicated against the file itself and the codes already
+ * stored, and upserted through {@link AirportDAO#upsertBatch(List, int)}.
+ */
+public class AirportImportService {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final AirportDAO airportDAO;
+    private final int batchSize;
+
+    public AirportImportService(AirportDAO airportDAO) {
+        this(airportDAO, DEFAULT_BATCH_SIZE);
+    }
+
+    public AirportImportService(AirportDAO airportDAO, int batchSize) {
+        this.airportDAO = airportDAO;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Column positions of the fields the importer reads
+     */
+    public static class ColumnMapping {
+        /** OpenFlights airports.dat: id, name, city, country, IATA, ICAO, ... (no header) */
+        public static final ColumnMapping OPENFLIGHTS = new ColumnMapping(1, 2, 3, 4, 5);
+
+        private final int nameColumn;
+        private final int cityColumn;
+        private final int countryColumn;
+        private final int iataColumn;
+        private final int icaoColumn;
+
+        /**
+         * @param icaoColumn Fallback code column used when the IATA code is missing, or -1 for none
+         */
+        public ColumnMapping(int nameColumn, int cityColumn, int countryColumn, int iataColumn, int icaoColumn) {
+            this.nameColumn = nameColumn;
+            this.cityColumn = cityColumn;
+            this.countryColumn = countryColumn;
+            this.iataColumn = iataColumn;
+            this.icaoColumn = icaoColumn;
+        }
+    }
+
+    /**
+     * Imports an OpenFlights airports.dat file, updating airports that already exist
+     * @param file The CSV file
+     * @return The import result
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importOpenFlights(Path file) throws IOException {
+        return importFile(file, ColumnMapping.OPENFLIGHTS, false, true);
+    }
+
+    /**
+     * Imports airports from a CSV file
+     * @param file The CSV file
+     * @param mapping Column positions in the file
+     * @param skipHeader true if the first line is a header
+     * @param updateExisting true to overwrite airports whose code already exists, false to skip them
+     * @return The import result
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importFile(Path file, ColumnMapping mapping, boolean skipHeader,
+                                   boolean updateExisting) throws IOException {
+        long startNanos = System.nanoTime();
+        ImportResult result = new ImportResult();
+        Set<String> existingCodes = airportDAO.findAllCodes();
+        Set<String> seenCodes = new HashSet<>();
+        List<Airport> pending = new ArrayList<>(batchSize);
+
+        result.rowsRead = AirportCsvParser.parse(file, skipHeader, row -> {
+            String code = pickCode(row, mapping);
+            String name = trim(row.get(mapping.nameColumn));
+            String city = trim(row.get(mapping.cityColumn));
+            String country = trim(row.get(mapping.countryColumn));
+
+            if (code == null || !ValidationUtil.isNotEmpty(name)
+                    || !ValidationUtil.isNotEmpty(city) || !ValidationUtil.isNotEmpty(country)) {
+                result.skippedInvalid++;
+                return;
+            }
+            if (!seenCodes.add(code)) {
+                result.skippedDuplicate++;
+                return;
+            }
+
+            boolean exists = existingCodes.contains(code);
+            if (exists && !updateExisting) {
+                result.skippedDuplicate++;
+                return;
+            }
+
+            pending.add(new Airport(code, name, city, country));
+            if (pending.size() >= batchSize) {
+                flush(pending, existingCodes, result);
+            }
+        });
+        flush(pending, existingCodes, result);
+
+        result.elapsedNanos = System.nanoTime() - startNanos;
+        return result;
+    }
+
+    // Rows are counted only once their batch has committed; the rest are reported as failed
+    private void flush(List<Airport> pending, Set<String> existingCodes, ImportResult result) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        int written = airportDAO.upsertBatch(pending, batchSize);
+        for (int i = 0; i < written; i++) {
+            if (existingCodes.contains(pending.get(i).getAirportCode())) {
+                result.updated++;
+            } else {
+                result.inserted++;
+            }
+        }
+        result.failed += pending.size() - written;
+        pending.clear();
+    }
+
+    /**
+     * Picks the IATA code if valid, otherwise the ICAO code
+     * @return The formatted code, or null if neither is valid
+     */
+    private String pickCode(AirportCsvParser.Row row, ColumnMapping mapping) {
+        String iata = row.get(mapping.iataColumn);
+        if (ValidationUtil.isValidAirportCode(iata)) {
+            return ValidationUtil.formatAirportCode(iata);
+        }
+        if (mapping.icaoColumn >= 0) {
+            String icao = row.get(mapping.icaoColumn);
+            if (ValidationUtil.isValidAirportCode(icao)) {
+                return ValidationUtil.formatAirportCode(icao);
+            }
+        }
+        return null;
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    /**
+     * Counters reported after an import
+     */
+    public static class ImportResult {
+        private long rowsRead;
+        private int inserted;
+        private int updated;
+        private int skippedInvalid;
+        private int skippedDuplicate;
+        private int failed;
+        private long elapsedNanos;
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public int getInserted() {
+            return inserted;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getSkippedInvalid() {
+            return skippedInvalid;
+        }
+
+        public int getSkippedDuplicate() {
+            return skippedDuplicate;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos > 0 ? rowsRead * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        public String getSummary() {
+            return String.format(
+                "Rows read: %d\nInserted: %d\nUpdated: %d\nSkipped (invalid): %d\n" +
+                "Skipped (duplicate): %d\nFailed: %d\nTime: %d ms (%.0f rows/s)",
+                rowsRead, inserted, updated, skippedInvalid, skippedDuplicate, failed,
+                getElapsedMillis(), getRowsPerSecond());
+        }
+
+        @Override
+        public String toString() {
+            return "ImportResult{" +
+                    "rowsRead=" + rowsRead +
+                    ", inserted=" + inserted +
+                    ", updated=" + updated +
+                    ", skippedInvalid=" + skippedInvalid +
+                    ", skippedDuplicate=" + skippedDuplicate +
+                    ", failed=" + failed +
+                    ", elapsedMillis=" + getElapsedMillis() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingArchiveDAO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the partitioned bookings table small by moving completed trips older than the
+ * archive horizon to bookings_archive, a bounded batch at a time, and by maintaining the
+ * table's monthly partitions: future months are added ahead of time and months that have
+ * been fully archived are dropped.
+ *
+ * Configured with system properties: goaero.archive.horizonDays (default 365),
+ * goaero.archive.batchSize (default 1000), goaero.archive.intervalMinutes (default 60,
+ * 0 disables the background job) and goaero.archive.monthsAhead (default 3).
+ */
+public class BookingArchiveService {
+
+    public static final int DEFAULT_HORIZON_DAYS = 365;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_INTERVAL_MINUTES = 60;
+    public static final int DEFAULT_MONTHS_AHEAD = 3;
+
+    // Pause between batches so archival never monopolises the table
+    private static final long PAUSE_BETWEEN_BATCHES_MILLIS = 50;
+
+    private static BookingArchiveService instance;
+
+    private final BookingArchiveDAO archiveDAO;
+    private final int horizonDays;
+    private final int batchSize;
+    private final int monthsAhead;
+    private ScheduledExecutorService scheduler;
+
+    public BookingArchiveService(BookingArchiveDAO archiveDAO, int horizonDays, int batchSize, int monthsAhead) {
+        this.archiveDAO = archiveDAO;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * Gets the shared service configured from system properties
+     * @return The shared BookingArchiveService
+     */
+    public static synchronized BookingArchiveService getInstance() {
+        if (instance == null) {
+            instance = new BookingArchiveService(new BookingArchiveDAO(),
+                Integer.getInteger("goaero.archive.horizonDays", DEFAULT_HORIZON_DAYS),
+                Integer.getInteger("goaero.archive.batchSize", DEFAULT_BATCH_SIZE),
+                Integer.getInteger("goaero.archive.monthsAhead", DEFAULT_MONTHS_AHEAD));
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the shared service's background job unless goaero.archive.intervalMinutes is 0
+     */
+    public static void startFromSystemProperties() {
+        int interval = Integer.getInteger("goaero.archive.intervalMinutes", DEFAULT_INTERVAL_MINUTES);
+        if (interval > 0) {
+            getInstance().start(interval);
+        }
+    }
+
+    /**
+     * Gets the date before which completed trips are archived
+     * @return Today minus the horizon
+     */
+    public LocalDate getCutoff() {
+        return LocalDate.now().minusDays(horizonDays);
+    }
+
+    /**
+     * Runs one full pass: adds upcoming partitions, archives everything past the horizon
+     * and drops partitions left empty
+     * @return Number of bookings archived
+     */
+    public int runOnce() {
+        archiveDAO.ensureMonthlyPartitions(YearMonth.now().plusMonths(monthsAhead));
+
+        LocalDate cutoff = getCutoff();
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveDAO.archiveBatch(cutoff, batchSize);
+            if (moved > 0) {
+                total += moved;
+                try {
+                    Thread.sleep(PAUSE_BETWEEN_BATCHES_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return total;
+                }
+            }
+        } while (moved == batchSize);
+
+        int dropped = archiveDAO.dropArchivedPartitions(cutoff);
+        if (total > 0 || dropped > 0) {
+            System.out.println("Archived " + total + " bookings before " + cutoff
+                + ", dropped " + dropped + " empty partitions");
+        }
+        return total;
+    }
+
+    /**
+     * Starts the background job on a daemon thread
+     * @param intervalMinutes Minutes between runs
+     */
+    public synchronized void start(int intervalMinutes) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "booking-archiver");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; the next run retries
+                e.printStackTrace();
+            }
+        }, 1, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background job
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.event.BookingCreated;
+import com.GoAero.event.EventBus;
+import com.GoAero.jfr.BookingEvent;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+import com.GoAero.model.SeatHold;
+import com.GoAero.util.PNRGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Booking workflow shared by the booking screens.
+ * Every submission carries a client request ID (idempotency key); replaying the same
+ * request returns the original booking instead of consuming another seat or PNR.
+ * A BookingCreated event is published for every booking stored, but not for replays.
+ */
+public class BookingService {
+
+    /** Largest party that can share one record locator (as on most airline PNRs) */
+    public static final int MAX_GROUP_SIZE = 9;
+
+    private final BookingDAO bookingDAO;
+    private final SeatHoldService seatHoldService;
+
+    public BookingService() {
+        this(new BookingDAO(), SeatHoldService.getInstance());
+    }
+
+    public BookingService(BookingDAO bookingDAO, SeatHoldService seatHoldService) {
+        this.bookingDAO = bookingDAO;
+        this.seatHoldService = seatHoldService;
+    }
+
+    /**
+     * Generates a new client request ID. Callers create one per checkout and reuse it
+     * for every retry of that checkout.
+     * @return A random request ID
+     */
+    public static String newIdempotencyKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Finds the booking already created for a client request ID
+     * @param idempotencyKey The client request ID
+     * @return The booking, or null if the request has not been processed
+     */
+    public Booking findByIdempotencyKey(String idempotencyKey) {
+        return bookingDAO.findByIdempotencyKey(idempotencyKey);
+    }
+
+    /**
+     * Books a held seat. If a booking already exists for the idempotency key it is
+     * returned unchanged and the hold is released.
+     * @param hold The active seat hold
+     * @param flight The flight being booked
+     * @param userId The passenger's user ID
+     * @param idempotencyKey The client request ID
+     * @return The booking, or null if the hold expired before it could be converted
+     */
+    public Booking bookHeldSeat(SeatHold hold, Flight flight, int userId, String idempotencyKey) {
+        BookingEvent event = new BookingEvent();
+        event.begin();
+
+        Booking existing = bookingDAO.findByIdempotencyKey(idempotencyKey);
+        if (existing != null) {
+            seatHoldService.release(hold);
+            commitEvent(event, flight, 1, true, true, true);
+            return existing;
+        }
+
+        Booking booking = buildBooking(flight, userId, generateUniquePnr(flight.getCompanyCode(), event));
+        booking.setIdempotencyKey(idempotencyKey);
+
+        long insertStart = System.nanoTime();
+        Booking saved = seatHoldService.convertToBooking(hold, booking);
+        event.insertTime = System.nanoTime() - insertStart;
+        if (saved != null) {
+            commitEvent(event, flight, 1, true, false, true);
+            publishCreated(Collections.singletonList(saved));
+            return saved;
+        }
+
+        // Either the hold expired, or a concurrent replay of this request converted it first
+        existing = bookingDAO.findByIdempotencyKey(idempotencyKey);
+        if (existing != null) {
+            seatHoldService.release(hold);
+        }
+        commitEvent(event, flight, 1, true, existing != null, existing != null);
+        return existing;
+    }
+
+    /**
+     * Creates a booking for a flight without a seat hold. The seat is checked and taken
+     * under the flight's row lock, like a group booking.
+     * @param flight The flight being booked
+     * @param userId The passenger's user ID
+     * @param idempotencyKey The client request ID
+     * @return The new or previously created booking, or null if the flight is full or
+     *         creation failed
+     */
+    public Booking book(Flight flight, int userId, String idempotencyKey) {
+        BookingEvent event = new BookingEvent();
+        event.begin();
+
+        Booking existing = bookingDAO.findByIdempotencyKey(idempotencyKey);
+        if (existing != null) {
+            commitEvent(event, flight, 1, false, true, true);
+            return existing;
+        }
+
+        Booking booking = buildBooking(flight, userId, generateUniquePnr(flight.getCompanyCode(), event));
+        booking.setIdempotencyKey(idempotencyKey);
+
+        long insertStart = System.nanoTime();
+        Booking saved = bookingDAO.createIdempotent(booking);
+        event.insertTime = System.nanoTime() - insertStart;
+        commitEvent(event, flight, 1, false, false, saved != null);
+        // A concurrent replay may have won the insert, in which case its booking comes back
+        if (saved == booking) {
+            publishCreated(Collections.singletonList(saved));
+        }
+        return saved;
+    }
+
+    /**
+     * Books seats for a group on a held block of seats. All passenger rows share one record
+     * locator and are inserted in a single batch together with the hold conversion.
+     * @param hold An active hold for exactly passengerUserIds.size() seats
+     * @param flight The flight being booked
+     * @param passengerUserIds One user ID per seat (the booker's ID may repeat)
+     * @param idempotencyKey The client request ID for the whole group
+     * @return The group's bookings, or an empty list if the hold expired
+     */
+    public List<Booking> bookHeldSeats(SeatHold hold, Flight flight, List<Integer> passengerUserIds,
+                                       String idempotencyKey) {
+        BookingEvent event = new BookingEvent();
+        event.begin();
+        int passengers = passengerUserIds.size();
+
+        List<Booking> existing = findGroupByIdempotencyKey(idempotencyKey);
+        if (!existing.isEmpty()) {
+            seatHoldService.release(hold);
+            commitEvent(event, flight, passengers, true, true, true);
+            return existing;
+        }
+
+        List<Booking> group = buildGroup(flight, passengerUserIds, idempotencyKey, event);
+        long insertStart = System.nanoTime();
+        boolean converted = seatHoldService.convertToBookings(hold, group);
+        event.insertTime = System.nanoTime() - insertStart;
+        if (converted) {
+            commitEvent(event, flight, passengers, true, false, true);
+            publishCreated(group);
+            return group;
+        }
+
+        existing = findGroupByIdempotencyKey(idempotencyKey);
+        if (!existing.isEmpty()) {
+            seatHoldService.release(hold);
+        }
+        commitEvent(event, flight, passengers, true, !existing.isEmpty(), !existing.isEmpty());
+        return existing;
+    }
+
+    /**
+     * Books seats for a group without a hold. Availability is checked once for the whole
+     * group and either every passenger row is inserted or none is.
+     * @param flight The flight being booked
+     * @param passengerUserIds One user ID per seat (the booker's ID may repeat)
+     * @param idempotencyKey The client request ID for the whole group
+     * @return The group's bookings, or an empty list if there were not enough seats
+     */
+    public List<Booking> bookGroup(Flight flight, List<Integer> passengerUserIds, String idempotencyKey) {
+        BookingEvent event = new BookingEvent();
+        event.begin();
+        int passengers = passengerUserIds.size();
+
+        List<Booking> existing = findGroupByIdempotencyKey(idempotencyKey);
+        if (!existing.isEmpty()) {
+            commitEvent(event, flight, passengers, false, true, true);
+            return existing;
+        }
+
+        List<Booking> group = buildGroup(flight, passengerUserIds, idempotencyKey, event);
+        long insertStart = System.nanoTime();
+        boolean created = bookingDAO.createGroup(group);
+        event.insertTime = System.nanoTime() - insertStart;
+        if (created) {
+            commitEvent(event, flight, passengers, false, false, true);
+            publishCreated(group);
+            return group;
+        }
+
+        existing = findGroupByIdempotencyKey(idempotencyKey);
+        commitEvent(event, flight, passengers, false, !existing.isEmpty(), !existing.isEmpty());
+        return existing;
+    }
+
+    /**
+     * Builds the bookings for one passenger or a group without storing them, for callers
+     * that insert them in a transaction of their own. Groups share a new record locator.
+     * @param flight The flight being booked
+     * @param passengerUserIds One user ID per seat
+     * @param idempotencyKey The request ID the bookings are stored under
+     * @return One unsaved booking per seat
+     */
+    public List<Booking> prepareBookings(Flight flight, List<Integer> passengerUserIds, String idempotencyKey) {
+        if (passengerUserIds.size() != 1) {
+            return buildGroup(flight, passengerUserIds, idempotencyKey, null);
+        }
+        Booking booking = buildBooking(flight, passengerUserIds.get(0), generateUniquePnr(flight.getCompanyCode()));
+        booking.setIdempotencyKey(idempotencyKey);
+        return Collections.singletonList(booking);
+    }
+
+    /**
+     * Finds the bookings already created for a group request
+     * @param idempotencyKey The client request ID for the group
+     * @return The group's bookings, or an empty list if the request has not been processed
+     */
+    public List<Booking> findGroupByIdempotencyKey(String idempotencyKey) {
+        Booking first = bookingDAO.findByIdempotencyKey(groupMemberKey(idempotencyKey, 1));
+        if (first == null || first.getRecordLocator() == null) {
+            return Collections.emptyList();
+        }
+        return bookingDAO.findByRecordLocator(first.getRecordLocator());
+    }
+
+    /**
+     * Builds one booking per passenger under a fresh record locator. Passenger PNRs are the
+     * locator plus a 1-based sequence digit, so the group costs a single uniqueness probe.
+     */
+    private List<Booking> buildGroup(Flight flight, List<Integer> passengerUserIds, String idempotencyKey,
+                                     BookingEvent event) {
+        if (passengerUserIds.isEmpty() || passengerUserIds.size() > MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("Group size must be between 1 and " + MAX_GROUP_SIZE);
+        }
+
+        String locator = generateUniqueRecordLocator(flight.getCompanyCode(), event);
+        List<Booking> group = new ArrayList<>(passengerUserIds.size());
+        for (int i = 0; i < passengerUserIds.size(); i++) {
+            Booking booking = buildBooking(flight, passengerUserIds.get(i), locator + (i + 1));
+            booking.setRecordLocator(locator);
+            booking.setIdempotencyKey(groupMemberKey(idempotencyKey, i + 1));
+            group.add(booking);
+        }
+        return group;
+    }
+
+    private static String groupMemberKey(String idempotencyKey, int passengerNumber) {
+        return idempotencyKey + "/" + passengerNumber;
+    }
+
+    /**
+     * Generates a record locator with the airline prefix that is not yet in use
+     * @param companyCode The airline code
+     * @return An unused record locator
+     */
+    public String generateUniqueRecordLocator(String companyCode) {
+        return generateUniqueRecordLocator(companyCode, null);
+    }
+
+    private String generateUniqueRecordLocator(String companyCode, BookingEvent event) {
+        long start = System.nanoTime();
+        int attempts = 0;
+        String locator;
+        do {
+            locator = PNRGenerator.generatePNRWithAirline(companyCode);
+            attempts++;
+        } while (bookingDAO.recordLocatorExists(locator));
+        recordPnrGeneration(event, attempts, start);
+        return locator;
+    }
+
+    /**
+     * Generates a PNR with the airline prefix that is not yet in use
+     * @param companyCode The airline code
+     * @return An unused PNR
+     */
+    public String generateUniquePnr(String companyCode) {
+        return generateUniquePnr(companyCode, null);
+    }
+
+    private String generateUniquePnr(String companyCode, BookingEvent event) {
+        long start = System.nanoTime();
+        int attempts = 0;
+        String pnr;
+        do {
+            pnr = PNRGenerator.generatePNRWithAirline(companyCode);
+            attempts++;
+        } while (bookingDAO.pnrExists(pnr));
+        recordPnrGeneration(event, attempts, start);
+        return pnr;
+    }
+
+    private static void recordPnrGeneration(BookingEvent event, int attempts, long startNanos) {
+        if (event != null) {
+            event.pnrAttempts += attempts;
+            event.pnrTime += System.nanoTime() - startNanos;
+        }
+    }
+
+    private static void publishCreated(List<Booking> bookings) {
+        EventBus bus = EventBus.getInstance();
+        for (Booking booking : bookings) {
+            bus.publish(new BookingCreated(booking));
+        }
+    }
+
+    private static void commitEvent(BookingEvent event, Flight flight, int passengers, boolean fromHold,
+                                    boolean replayed, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.flightId = flight.getFlightId();
+            event.passengers = passengers;
+            event.fromHold = fromHold;
+            event.replayed = replayed;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    private Booking buildBooking(Flight flight, int userId, String pnr) {
+        Booking booking = new Booking();
+        booking.setUserId(userId);
+        booking.setFlightId(flight.getFlightId());
+        booking.setDepartureAirportId(flight.getDepartureAirportId());
+        booking.setDestinationAirportId(flight.getDestinationAirportId());
+        booking.setDepartureTime(flight.getDepartureTime());
+        booking.setDestinationTime(flight.getDestinationTime());
+        booking.setPnr(pnr);
+        booking.setDateOfDeparture(flight.getDepartureTime().toLocalDate());
+        booking.setDateOfDestination(flight.getDestinationTime().toLocalDate());
+        booking.setAmount(flight.getPrice());
+        booking.setPaymentStatus(Booking.PaymentStatus.PENDING);
+        booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
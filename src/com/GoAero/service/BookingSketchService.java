@@ -0,0 +1,287 @@
+package com.GoAero.service;
+
+import com.GoAero.analytics.BookingSketches;
+import com.GoAero.dao.BookingSketchDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.event.BookingCreated;
+import com.GoAero.event.DomainEvent;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.EventListener;
+import com.GoAero.event.Subscription;
+import com.GoAero.model.Flight;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts each month's bookings into fixed-size sketches, so reports can show the busiest
+ * routes and airlines and the number of distinct travellers without grouping or
+ * DISTINCT queries over bookings. Fed by BookingCreated events, so only bookings made
+ * while the service runs are counted.
+ *
+ * Every instance keeps sketches of the bookings it made itself and stores them in
+ * booking_sketches under its own instance ID. Reports merge all instances' rows for a
+ * month. The ID survives restarts, so a restarted instance reads its saved row back and
+ * keeps counting into it rather than adding a row per launch. Bookings made after the
+ * last save are lost if the process dies, so saves also run on a timer, at month end and
+ * at shutdown.
+ *
+ * Configured with system properties goaero.sketches.persistMinutes (default 5, 0 disables
+ * saving) and goaero.instanceId (default host name; processes sharing a host must each
+ * set their own).
+ */
+public class BookingSketchService {
+
+    public static final int DEFAULT_PERSIST_MINUTES = 5;
+
+    private static BookingSketchService instance;
+
+    private final BookingSketchDAO sketchDAO;
+    private final FlightDAO flightDAO;
+    private final String instanceId;
+
+    // Guarded by this; the month bookings are currently counted into
+    private BookingSketches current;
+
+    // Guarded by this; true once this instance's saved row for the month has been read back
+    private boolean resumed;
+
+    private Subscription subscription;
+    private ScheduledExecutorService scheduler;
+
+    public BookingSketchService(BookingSketchDAO sketchDAO, FlightDAO flightDAO, String instanceId) {
+        this.sketchDAO = sketchDAO;
+        this.flightDAO = flightDAO;
+        this.instanceId = instanceId;
+    }
+
+    /**
+     * Gets the shared service
+     * @return The shared BookingSketchService
+     */
+    public static synchronized BookingSketchService getInstance() {
+        if (instance == null) {
+            instance = new BookingSketchService(new BookingSketchDAO(), new FlightDAO(), defaultInstanceId());
+        }
+        return instance;
+    }
+
+    /**
+     * Starts counting bookings into the shared service, saving every
+     * goaero.sketches.persistMinutes unless that is 0
+     */
+    public static void startFromSystemProperties() {
+        getInstance().start(EventBus.getInstance(),
+            Integer.getInteger("goaero.sketches.persistMinutes", DEFAULT_PERSIST_MINUTES));
+    }
+
+    /**
+     * Subscribes to booking events and starts the periodic save on a daemon thread
+     * @param eventBus The bus booking events are published on
+     * @param persistMinutes Minutes between saves, or 0 to keep the sketches in memory only
+     */
+    public synchronized void start(EventBus eventBus, int persistMinutes) {
+        if (subscription != null) {
+            return;
+        }
+        resume();
+        subscription = eventBus.subscribe("booking-sketches", new SketchListener());
+        if (persistMinutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "booking-sketches");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                persist();
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; the next run retries
+                e.printStackTrace();
+            }
+        }, persistMinutes, persistMinutes, TimeUnit.MINUTES);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::persist, "booking-sketches-shutdown"));
+    }
+
+    /**
+     * Stops counting and saves what was counted
+     */
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            persist();
+        }
+    }
+
+    /**
+     * Saves this instance's sketches of the current month
+     * @return true if they were saved or there was nothing to save
+     */
+    public boolean persist() {
+        BookingSketches snapshot;
+        synchronized (this) {
+            if (current == null) {
+                return true;
+            }
+        }
+        // Saving before the row was read back would overwrite what the last run counted
+        if (!isResumed() && !resume()) {
+            return false;
+        }
+        synchronized (this) {
+            snapshot = current.copy();
+        }
+        return sketchDAO.save(snapshot.getMonth(), instanceId, snapshot.toBytes());
+    }
+
+    /**
+     * Gets a month's sketches merged across all instances. This instance contributes its
+     * live sketches, the others what they last saved.
+     * @param month The month
+     * @return The merged sketches, or null if nothing was counted for that month
+     */
+    public BookingSketches getSketches(YearMonth month) {
+        BookingSketches merged = null;
+        synchronized (this) {
+            if (current != null && current.getMonth().equals(month)) {
+                merged = current.copy();
+            }
+        }
+        // Until the saved row is read back, the live sketches do not include it
+        boolean haveOwn = merged != null && isResumed();
+
+        Map<String, byte[]> stored = sketchDAO.findByMonth(month);
+        if (stored == null) {
+            return merged;
+        }
+        for (Map.Entry<String, byte[]> entry : stored.entrySet()) {
+            if (haveOwn && entry.getKey().equals(instanceId)) {
+                continue;
+            }
+            try {
+                BookingSketches sketches = BookingSketches.fromBytes(entry.getValue());
+                if (merged == null) {
+                    merged = sketches;
+                } else {
+                    merged.merge(sketches);
+                }
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Skipping unreadable booking sketches of instance " + entry.getKey()
+                    + ": " + e.getMessage());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Reads back the sketches this instance saved for the current month before it restarted
+     * and counts on from them
+     * @return true if the row was read or there was none
+     */
+    private boolean resume() {
+        YearMonth month = YearMonth.now();
+        Map<String, byte[]> stored = sketchDAO.findByMonth(month);
+        if (stored == null) {
+            return false;
+        }
+        BookingSketches saved = null;
+        byte[] own = stored.get(instanceId);
+        if (own != null) {
+            try {
+                saved = BookingSketches.fromBytes(own);
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Discarding unreadable booking sketches of instance " + instanceId
+                    + ": " + e.getMessage());
+            }
+        }
+        synchronized (this) {
+            if (resumed) {
+                return true;
+            }
+            if (saved != null) {
+                if (current == null) {
+                    current = saved;
+                } else if (current.getMonth().equals(month)) {
+                    // Bookings counted since start, while the row could not be read
+                    current.merge(saved);
+                }
+            }
+            resumed = true;
+        }
+        return true;
+    }
+
+    private synchronized boolean isResumed() {
+        return resumed;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private void onBookingCreated(BookingCreated event) {
+        // Looked up before locking so reports do not wait on the database
+        Flight flight = flightDAO.findById(event.getFlightId());
+        String route = flight != null ? flight.getRoute() : "Unknown";
+        String airline = flight != null && flight.getCompanyName() != null ? flight.getCompanyName() : "Unknown";
+        YearMonth month = YearMonth.from(event.getOccurredAt().atZone(ZoneId.systemDefault()));
+
+        BookingSketches finished = null;
+        boolean persisting;
+        synchronized (this) {
+            if (current == null || !current.getMonth().equals(month)) {
+                finished = current;
+                current = new BookingSketches(month);
+            }
+            current.add(event.getUserId(), route, airline);
+            persisting = scheduler != null;
+        }
+        if (finished != null && persisting) {
+            // The month is over; save its final state once
+            sketchDAO.save(finished.getMonth(), instanceId, finished.toBytes());
+        }
+    }
+
+    private static String defaultInstanceId() {
+        String configured = System.getProperty("goaero.instanceId");
+        if (configured != null && !configured.trim().isEmpty()) {
+            return configured.trim();
+        }
+        // Stable across restarts, so a restarted process finds its own row again
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    private class SketchListener implements EventListener {
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (event instanceof BookingCreated) {
+                onBookingCreated((BookingCreated) event);
+            }
+        }
+
+        @Override
+        public void onEventsMissed(long count) {
+            // Missed bookings cannot be recovered from a sketch; the counts are low by this much
+            System.out.println("Booking sketches missed " + count + " events");
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.event.BookingCreated;
+import com.GoAero.event.BookingStatusChanged;
+import com.GoAero.event.DomainEvent;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.EventListener;
+import com.GoAero.event.FlightUpdated;
+import com.GoAero.event.PaymentStatusChanged;
+import com.GoAero.event.Subscription;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lifetime booking counts and revenue per flight, per flight owner and overall, for the
+ * reports dashboards. Seeded once with an aggregate query over bookings and
+ * bookings_archive, then kept current by applying each booking event as a delta, so reading
+ * the totals costs the same however many bookings there are.
+ *
+ * Counters live in primitive long arrays, four per flight, owner or the global row:
+ * confirmed, pending and cancelled bookings, and revenue in minor units (paise). Revenue
+ * counts confirmed bookings whose payment completed, as the dashboards always have.
+ *
+ * The store is rebuilt from the database when its subscription falls behind the event
+ * buffer. A status change committed while a rebuild's query runs can be counted twice;
+ * call refresh() to resynchronise.
+ */
+public class BookingStatistics {
+
+    private static final int CONFIRMED = 0;
+    private static final int PENDING = 1;
+    private static final int CANCELLED = 2;
+    private static final int REVENUE = 3;
+    private static final int STRIDE = 4;
+
+    private static BookingStatistics instance;
+
+    private final BookingDAO bookingDAO;
+    private final FlightDAO flightDAO;
+
+    // All guarded by this
+    private final long[] globalCounters = new long[STRIDE];
+    private final Map<Integer, Integer> flightSlots = new HashMap<>();
+    private long[] flightCounters = new long[STRIDE * 64];
+    private int[] flightCompanies = new int[64];
+    private final Map<Integer, Integer> companySlots = new HashMap<>();
+    private long[] companyCounters = new long[STRIDE * 16];
+    private boolean seeded;
+    // Bookings up to this ID are in the seed, so their BookingCreated events are skipped
+    private int seededThroughBookingId;
+
+    private Subscription subscription;
+
+    public BookingStatistics(BookingDAO bookingDAO, FlightDAO flightDAO) {
+        this.bookingDAO = bookingDAO;
+        this.flightDAO = flightDAO;
+    }
+
+    /**
+     * Gets the shared statistics, subscribed to booking events and seeded on first use
+     * @return The shared BookingStatistics
+     */
+    public static synchronized BookingStatistics getInstance() {
+        if (instance == null) {
+            instance = new BookingStatistics(new BookingDAO(), new FlightDAO());
+            instance.start(EventBus.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Subscribes to booking events and seeds the counters. Events published from here on are
+     * applied; earlier ones are covered by the seed.
+     * @param eventBus The bus booking events are published on
+     */
+    public void start(EventBus eventBus) {
+        if (subscription == null) {
+            subscription = eventBus.subscribe("booking-statistics", new StatisticsListener());
+            refresh();
+        }
+    }
+
+    /**
+     * Stops applying events
+     */
+    public void stop() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    /**
+     * Rebuilds every counter from the database. Events arriving meanwhile wait and are
+     * applied afterwards.
+     * @return true if the aggregate query succeeded
+     */
+    public synchronized boolean refresh() {
+        List<BookingDAO.StatusTotal> totals = bookingDAO.findStatusTotals();
+        if (totals == null) {
+            return false;
+        }
+
+        Arrays.fill(globalCounters, 0);
+        flightSlots.clear();
+        Arrays.fill(flightCounters, 0);
+        companySlots.clear();
+        Arrays.fill(companyCounters, 0);
+        seededThroughBookingId = 0;
+
+        for (BookingDAO.StatusTotal total : totals) {
+            int flightSlot = flightSlot(total.getFlightId(), total.getCompanyId());
+            apply(flightSlot, total.getBookingStatus(), total.getPaymentStatus(), total.getCount(),
+                toMinorUnits(total.getAmount()));
+            seededThroughBookingId = Math.max(seededThroughBookingId, total.getMaxBookingId());
+        }
+        seeded = true;
+        return true;
+    }
+
+    /**
+     * Gets totals over all bookings
+     * @return The totals
+     */
+    public synchronized Totals getTotals() {
+        ensureSeeded();
+        return snapshot(globalCounters, 0);
+    }
+
+    /**
+     * Gets totals over one flight's bookings
+     * @param flightId The flight ID
+     * @return The totals, all zero if the flight has no bookings
+     */
+    public synchronized Totals getFlightTotals(int flightId) {
+        ensureSeeded();
+        Integer slot = flightSlots.get(flightId);
+        return slot == null ? Totals.EMPTY : snapshot(flightCounters, slot);
+    }
+
+    /**
+     * Gets totals over the bookings of all of a flight owner's flights
+     * @param companyId The flight owner's ID
+     * @return The totals, all zero if the owner has no bookings
+     */
+    public synchronized Totals getCompanyTotals(int companyId) {
+        ensureSeeded();
+        Integer slot = companySlots.get(companyId);
+        return slot == null ? Totals.EMPTY : snapshot(companyCounters, slot);
+    }
+
+    private void ensureSeeded() {
+        // Only retried while the database was unreachable at startup
+        if (!seeded) {
+            refresh();
+        }
+    }
+
+    private static Totals snapshot(long[] counters, int slot) {
+        int base = slot * STRIDE;
+        return new Totals(counters[base + CONFIRMED], counters[base + PENDING], counters[base + CANCELLED],
+            counters[base + REVENUE]);
+    }
+
+    private synchronized void onBookingCreated(BookingCreated event) {
+        if (!seeded || event.getBookingId() <= seededThroughBookingId) {
+            return;
+        }
+        apply(flightSlot(event.getFlightId()), event.getBookingStatus(), event.getPaymentStatus(), 1,
+            toMinorUnits(event.getAmount()));
+    }
+
+    private synchronized void onBookingStatusChanged(BookingStatusChanged event) {
+        if (!seeded) {
+            return;
+        }
+        int slot = flightSlot(event.getFlightId());
+        long amount = toMinorUnits(event.getAmount());
+        apply(slot, event.getPreviousStatus(), event.getPaymentStatus(), -1, -amount);
+        apply(slot, event.getNewStatus(), event.getPaymentStatus(), 1, amount);
+    }
+
+    private synchronized void onPaymentStatusChanged(PaymentStatusChanged event) {
+        if (!seeded) {
+            return;
+        }
+        int slot = flightSlot(event.getFlightId());
+        long amount = toMinorUnits(event.getAmount());
+        apply(slot, event.getBookingStatus(), event.getPreviousStatus(), -1, -amount);
+        apply(slot, event.getBookingStatus(), event.getNewStatus(), 1, amount);
+    }
+
+    private synchronized void onFlightUpdated(FlightUpdated event) {
+        Integer slot = flightSlots.get(event.getFlightId());
+        if (slot == null || flightCompanies[slot] == event.getCompanyId()) {
+            return;
+        }
+        // The flight changed owner: its bookings now count towards the new one
+        int base = slot * STRIDE;
+        int from = companySlot(flightCompanies[slot]) * STRIDE;
+        int to = companySlot(event.getCompanyId()) * STRIDE;
+        for (int i = 0; i < STRIDE; i++) {
+            companyCounters[from + i] -= flightCounters[base + i];
+            companyCounters[to + i] += flightCounters[base + i];
+        }
+        flightCompanies[slot] = event.getCompanyId();
+    }
+
+    /**
+     * Adds bookings in one status combination to a flight, its owner and the global totals
+     * @param count Number of bookings, negative to remove them
+     * @param amountMinor Their combined amount in minor units, negative to remove it
+     */
+    private void apply(int flightSlot, Booking.BookingStatus bookingStatus, Booking.PaymentStatus paymentStatus,
+                       long count, long amountMinor) {
+        int statusIndex;
+        switch (bookingStatus) {
+            case CONFIRMED:
+                statusIndex = CONFIRMED;
+                break;
+            case CANCELLED:
+                statusIndex = CANCELLED;
+                break;
+            default:
+                statusIndex = PENDING;
+                break;
+        }
+        long revenue = bookingStatus == Booking.BookingStatus.CONFIRMED
+            && paymentStatus == Booking.PaymentStatus.COMPLETED ? amountMinor : 0;
+
+        int flightBase = flightSlot * STRIDE;
+        int companyBase = companySlot(flightCompanies[flightSlot]) * STRIDE;
+        flightCounters[flightBase + statusIndex] += count;
+        flightCounters[flightBase + REVENUE] += revenue;
+        companyCounters[companyBase + statusIndex] += count;
+        companyCounters[companyBase + REVENUE] += revenue;
+        globalCounters[statusIndex] += count;
+        globalCounters[REVENUE] += revenue;
+    }
+
+    /**
+     * Gets the slot of a flight seen for the first time in an event, looking up its owner
+     */
+    private int flightSlot(int flightId) {
+        Integer slot = flightSlots.get(flightId);
+        if (slot != null) {
+            return slot;
+        }
+        Flight flight = flightDAO.findById(flightId);
+        return flightSlot(flightId, flight != null ? flight.getCompanyId() : 0);
+    }
+
+    private int flightSlot(int flightId, int companyId) {
+        Integer slot = flightSlots.get(flightId);
+        if (slot == null) {
+            slot = flightSlots.size();
+            if (slot == flightCompanies.length) {
+                flightCompanies = Arrays.copyOf(flightCompanies, slot * 2);
+                flightCounters = Arrays.copyOf(flightCounters, slot * 2 * STRIDE);
+            }
+            flightSlots.put(flightId, slot);
+            flightCompanies[slot] = companyId;
+        }
+        return slot;
+    }
+
+    private int companySlot(int companyId) {
+        Integer slot = companySlots.get(companyId);
+        if (slot == null) {
+            slot = companySlots.size();
+            if ((slot + 1) * STRIDE > companyCounters.length) {
+                companyCounters = Arrays.copyOf(companyCounters, companyCounters.length * 2);
+            }
+            companySlots.put(companyId, slot);
+        }
+        return slot;
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private class StatisticsListener implements EventListener {
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (event instanceof BookingCreated) {
+                onBookingCreated((BookingCreated) event);
+            } else if (event instanceof BookingStatusChanged) {
+                onBookingStatusChanged((BookingStatusChanged) event);
+            } else if (event instanceof PaymentStatusChanged) {
+                onPaymentStatusChanged((PaymentStatusChanged) event);
+            } else if (event instanceof FlightUpdated) {
+                onFlightUpdated((FlightUpdated) event);
+            }
+        }
+
+        @Override
+        public void onEventsMissed(long count) {
+            refresh();
+        }
+    }
+
+    /**
+     * Booking counts and revenue at one point in time
+     */
+    public static class Totals {
+        static final Totals EMPTY = new Totals(0, 0, 0, 0);
+
+        private final long confirmed;
+        private final long pending;
+        private final long cancelled;
+        private final long revenueMinor;
+
+        Totals(long confirmed, long pending, long cancelled, long revenueMinor) {
+            this.confirmed = confirmed;
+            this.pending = pending;
+            this.cancelled = cancelled;
+            this.revenueMinor = revenueMinor;
+        }
+
+        public long getConfirmed() {
+            return confirmed;
+        }
+
+        public long getPending() {
+            return pending;
+        }
+
+        public long getCancelled() {
+            return cancelled;
+        }
+
+        public long getTotal() {
+            return confirmed + pending + cancelled;
+        }
+
+        /**
+         * Gets revenue from confirmed bookings with completed payments
+         * @return Revenue in minor units (paise)
+         */
+        public long getRevenueMinor() {
+            return revenueMinor;
+        }
+
+        public BigDecimal getRevenue() {
+            return BigDecimal.valueOf(revenueMinor, 2);
+        }
+    }
+}
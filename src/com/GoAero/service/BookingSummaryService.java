@@ -0,0 +1,144 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingSummaryDAO;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps booking_daily_summary current so reports read a few pre-aggregated rows per day
+ * instead of scanning bookings. Each run looks up the booking days touched since the last
+ * watermark (bookings.updated_at) and recomputes just those days; the first run builds
+ * every day, archived bookings included.
+ *
+ * The watermark trails the run's start by a short overlap, because updated_at is set when
+ * a statement runs and the transaction may commit later. Days are recomputed from scratch,
+ * so seeing a change twice is harmless. Deleting a booking does not touch updated_at; a
+ * full rebuild (rebuildAll) picks such deletions up.
+ *
+ * Configured with system property goaero.summary.intervalMinutes (default 15, 0 disables
+ * the background job).
+ */
+public class BookingSummaryService {
+
+    public static final int DEFAULT_INTERVAL_MINUTES = 15;
+
+    // Transactions still open when a run starts commit with updated_at before the watermark
+    private static final long WATERMARK_OVERLAP_MILLIS = 60_000;
+
+    private static BookingSummaryService instance;
+
+    private final BookingSummaryDAO summaryDAO;
+    private ScheduledExecutorService scheduler;
+
+    public BookingSummaryService(BookingSummaryDAO summaryDAO) {
+        this.summaryDAO = summaryDAO;
+    }
+
+    /**
+     * Gets the shared service
+     * @return The shared BookingSummaryService
+     */
+    public static synchronized BookingSummaryService getInstance() {
+        if (instance == null) {
+            instance = new BookingSummaryService(new BookingSummaryDAO());
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the shared service's background job unless goaero.summary.intervalMinutes is 0
+     */
+    public static void startFromSystemProperties() {
+        int interval = Integer.getInteger("goaero.summary.intervalMinutes", DEFAULT_INTERVAL_MINUTES);
+        if (interval > 0) {
+            getInstance().start(interval);
+        }
+    }
+
+    /**
+     * Brings the summary up to date with bookings changed since the last run
+     * @return Number of days recomputed, or -1 if the run failed and will be retried
+     */
+    public synchronized int runOnce() {
+        return rollUp(summaryDAO.findWatermark());
+    }
+
+    /**
+     * Recomputes every day, e.g. after bookings were deleted or changed outside the application
+     * @return Number of days recomputed, or -1 if the run failed
+     */
+    public synchronized int rebuildAll() {
+        return rollUp(null);
+    }
+
+    /**
+     * Gets the time up to which the summary reflects bookings
+     * @return The watermark, or null if the summary has not been built yet
+     */
+    public Timestamp getWatermark() {
+        return summaryDAO.findWatermark();
+    }
+
+    private int rollUp(Timestamp since) {
+        Timestamp runStart = summaryDAO.currentTimestamp();
+        if (runStart == null) {
+            return -1;
+        }
+        List<LocalDate> days = summaryDAO.findChangedDays(since);
+        if (days == null) {
+            return -1;
+        }
+
+        for (LocalDate day : days) {
+            if (summaryDAO.rebuildDay(day) < 0) {
+                // Keep the old watermark so the next run retries every one of these days
+                return -1;
+            }
+        }
+
+        summaryDAO.saveWatermark(new Timestamp(runStart.getTime() - WATERMARK_OVERLAP_MILLIS));
+        if (!days.isEmpty()) {
+            System.out.println("Rolled up bookings for " + days.size() + " days");
+        }
+        return days.size();
+    }
+
+    /**
+     * Starts the background job on a daemon thread
+     * @param intervalMinutes Minutes between runs
+     */
+    public synchronized void start(int intervalMinutes) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "booking-summary");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; the next run retries
+                e.printStackTrace();
+            }
+        }, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background job
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.CredentialDAO;
+import com.GoAero.jfr.LoginEvent;
+import com.GoAero.model.Principal;
+import com.GoAero.model.SessionManager.UserType;
+import com.GoAero.util.PasswordUtil;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies login credentials off the Swing event thread.
+ *
+ * Password hashing is deliberately slow, so verification runs on a small fixed pool with a
+ * bounded queue: a login storm queues up to goaero.login.queueSize attempts and rejects the
+ * rest instead of exhausting CPU or database connections. The ID, type and password hash of
+ * accounts that recently logged in are cached for goaero.login.cacheTtlSeconds so repeated
+ * attempts skip the database. Unknown accounts are checked against a dummy hash so they take
+ * as long as a wrong password. Hashes below the configured cost, including legacy plain-text
+ * passwords, are re-hashed after a successful login.
+ *
+ * Pool size defaults to the number of processors (goaero.login.threads).
+ */
+public class CredentialService {
+
+    public static final int DEFAULT_QUEUE_SIZE = 64;
+    public static final int DEFAULT_CACHE_TTL_SECONDS = 30;
+
+    // Beyond this the cache is purged of expired entries, then cleared
+    private static final int MAX_CACHED_PRINCIPALS = 10_000;
+
+    private static CredentialService instance;
+
+    private final CredentialDAO credentialDAO;
+    private final long cacheTtlMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+    private volatile String dummyHash;
+
+    public CredentialService(CredentialDAO credentialDAO, int threads, int queueSize, long cacheTtlMillis) {
+        this.credentialDAO = credentialDAO;
+        this.cacheTtlMillis = cacheTtlMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize), r -> {
+                Thread thread = new Thread(r, "credential-verifier-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Gets the shared service configured from system properties
+     * @return The shared CredentialService
+     */
+    public static synchronized CredentialService getInstance() {
+        if (instance == null) {
+            instance = new CredentialService(new CredentialDAO(),
+                Integer.getInteger("goaero.login.threads", Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger("goaero.login.queueSize", DEFAULT_QUEUE_SIZE),
+                TimeUnit.SECONDS.toMillis(Integer.getInteger("goaero.login.cacheTtlSeconds", DEFAULT_CACHE_TTL_SECONDS)));
+        }
+        return instance;
+    }
+
+    /**
+     * Verifies a login on the verification pool
+     * @param userType The account type
+     * @param login Email, admin username or company code
+     * @param password The plain text password
+     * @return Future completing with the principal, or null if the login or password is wrong;
+     *         completes exceptionally with RejectedExecutionException when too many logins are queued
+     */
+    public CompletableFuture<Principal> authenticate(UserType userType, String login, String password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> verify(userType, login, password), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Verifies a login on the calling thread
+     * @param userType The account type
+     * @param login Email, admin username or company code
+     * @param password The plain text password
+     * @return The principal, or null if the login or password is wrong
+     */
+    public Principal verify(UserType userType, String login, String password) {
+        LoginEvent loginEvent = new LoginEvent(accountType(userType));
+        loginEvent.lookupStarted();
+        String key = userType + ":" + login;
+        CachedPrincipal cached = cache.get(key);
+        boolean fromCache = cached != null && cached.expiresAt > System.currentTimeMillis();
+        Principal principal = fromCache ? cached.principal : credentialDAO.findByLogin(userType, login);
+        loginEvent.lookupFinished(principal != null);
+
+        if (principal == null) {
+            PasswordUtil.verifyPassword(password, getDummyHash());
+            loginEvent.finish(false);
+            return null;
+        }
+
+        boolean authenticated = PasswordUtil.verifyPassword(password, principal.getPasswordHash());
+        if (!authenticated && fromCache) {
+            // The password may have been changed since the hash was cached
+            cache.remove(key);
+            Principal current = credentialDAO.findByLogin(userType, login);
+            if (current != null && !current.getPasswordHash().equals(principal.getPasswordHash())) {
+                principal = current;
+                authenticated = PasswordUtil.verifyPassword(password, principal.getPasswordHash());
+            }
+        }
+
+        if (authenticated) {
+            if (PasswordUtil.needsRehash(principal.getPasswordHash())) {
+                String newHash = PasswordUtil.hashPassword(password);
+                if (credentialDAO.updatePasswordHash(principal, newHash)) {
+                    principal = principal.withPasswordHash(newHash);
+                }
+            }
+            remember(key, principal);
+        }
+        loginEvent.finish(authenticated);
+        return authenticated ? principal : null;
+    }
+
+    /**
+     * Forgets cached credentials of an account, e.g. after its password or login changed
+     * @param userType The account type
+     * @param id The account ID
+     */
+    public void invalidate(UserType userType, int id) {
+        cache.values().removeIf(entry ->
+            entry.principal.getUserType() == userType && entry.principal.getId() == id);
+    }
+
+    /**
+     * Forgets all cached credentials
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Stops the verification pool; queued logins are abandoned
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void remember(String key, Principal principal) {
+        if (cacheTtlMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (cache.size() >= MAX_CACHED_PRINCIPALS) {
+            cache.values().removeIf(entry -> entry.expiresAt <= now);
+            if (cache.size() >= MAX_CACHED_PRINCIPALS) {
+                cache.clear();
+            }
+        }
+        cache.put(key, new CachedPrincipal(principal, now + cacheTtlMillis));
+    }
+
+    /**
+     * Gets a hash of a random password at the current cost, for timing-equivalent failures
+     */
+    private String getDummyHash() {
+        String hash = dummyHash;
+        if (hash == null || PasswordUtil.needsRehash(hash)) {
+            hash = PasswordUtil.hashPassword(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private static String accountType(UserType userType) {
+        switch (userType) {
+            case ADMIN:
+                return "Admin";
+            case FLIGHT_OWNER:
+                return "FlightOwner";
+            default:
+                return "User";
+        }
+    }
+
+    private static class CachedPrincipal {
+        private final Principal principal;
+        private final long expiresAt;
+
+        CachedPrincipal(Principal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
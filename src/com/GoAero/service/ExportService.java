@@ -0,0 +1,234 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingArchiveDAO;
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.dao.BookingSummaryDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+import com.GoAero.util.RecordWriter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Exports bookings, flights and booking summaries to CSV or JSON Lines files. Rows stream
+ * from the database straight into the file, so memory use does not grow with the export.
+ * The format follows the file name (.csv or .jsonl, plus .gz to compress).
+ *
+ * Exports are written to a ".part" file that replaces the target only once complete.
+ * They stop with an InterruptedIOException when the exporting thread is interrupted.
+ */
+public class ExportService {
+
+    // Rows between progress callbacks and interrupt checks
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private static final String[] BOOKING_COLUMNS = {
+        "booking_id", "pnr", "record_locator", "seat_number", "user_id", "passenger", "email", "flight_id",
+        "flight_code", "airline", "from", "to", "departure_time", "arrival_time", "booked_at", "amount",
+        "booking_status", "payment_status"
+    };
+
+    private static final String[] FLIGHT_COLUMNS = {
+        "flight_id", "flight_code", "flight_name", "airline_code", "airline", "from", "to",
+        "departure_time", "arrival_time", "capacity", "price"
+    };
+
+    private static final String[] SUMMARY_COLUMNS = {
+        "date", "airline", "from", "to", "bookings", "confirmed", "cancelled", "revenue"
+    };
+
+    /**
+     * Receives progress while an export runs
+     */
+    public interface ProgressListener {
+        /**
+         * @param rowsWritten Rows written so far
+         * @param totalRows Rows expected, or 0 if unknown
+         */
+        void onProgress(long rowsWritten, long totalRows);
+    }
+
+    /**
+     * Writes one record's fields
+     */
+    private interface RecordFormatter<T> {
+        void write(RecordWriter writer, T item) throws IOException;
+    }
+
+    /**
+     * Streams items from the database
+     * @return Number of items streamed, or -1 if the query failed
+     */
+    private interface RowSource<T> {
+        long stream(Consumer<T> action);
+    }
+
+    private final BookingDAO bookingDAO;
+    private final BookingArchiveDAO archiveDAO;
+    private final FlightDAO flightDAO;
+    private final BookingSummaryDAO summaryDAO;
+
+    public ExportService() {
+        this(new BookingDAO(), new BookingArchiveDAO(), new FlightDAO(), new BookingSummaryDAO());
+    }
+
+    public ExportService(BookingDAO bookingDAO, BookingArchiveDAO archiveDAO, FlightDAO flightDAO,
+                         BookingSummaryDAO summaryDAO) {
+        this.bookingDAO = bookingDAO;
+        this.archiveDAO = archiveDAO;
+        this.flightDAO = flightDAO;
+        this.summaryDAO = summaryDAO;
+    }
+
+    /**
+     * Exports bookings
+     * @param file Target file
+     * @param includeArchived true to include completed trips from bookings_archive
+     * @param progress Progress callback, or null
+     * @return Number of bookings written
+     * @throws IOException if writing fails, the database cannot be read or the export was interrupted
+     */
+    public long exportBookings(Path file, boolean includeArchived, ProgressListener progress) throws IOException {
+        long total = bookingDAO.count() + (includeArchived ? archiveDAO.countArchived() : 0);
+        return export(file, BOOKING_COLUMNS, total, action -> bookingDAO.streamAll(includeArchived, action),
+            ExportService::writeBooking, progress);
+    }
+
+    /**
+     * Exports flights
+     * @param file Target file
+     * @param progress Progress callback, or null
+     * @return Number of flights written
+     * @throws IOException if writing fails, the database cannot be read or the export was interrupted
+     */
+    public long exportFlights(Path file, ProgressListener progress) throws IOException {
+        return export(file, FLIGHT_COLUMNS, flightDAO.count(), flightDAO::streamAll,
+            ExportService::writeFlight, progress);
+    }
+
+    /**
+     * Exports the daily booking summary rows of a date range
+     * @param file Target file
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @param progress Progress callback, or null
+     * @return Number of rows written
+     * @throws IOException if writing fails, the database cannot be read or the export was interrupted
+     */
+    public long exportDailySummaries(Path file, LocalDate from, LocalDate to, ProgressListener progress)
+            throws IOException {
+        return export(file, SUMMARY_COLUMNS, summaryDAO.countRows(from, to),
+            action -> summaryDAO.streamRows(from, to, action), ExportService::writeSummaryRow, progress);
+    }
+
+    private <T> long export(Path file, String[] columns, long totalRows, RowSource<T> source,
+                            RecordFormatter<T> formatter, ProgressListener progress) throws IOException {
+        String fileName = file.getFileName().toString();
+        Path partial = file.resolveSibling(fileName + ".part");
+        long[] written = {0};
+        boolean complete = false;
+
+        try {
+            try (RecordWriter writer = RecordWriter.open(partial, RecordWriter.Format.forFileName(fileName),
+                    RecordWriter.isGzip(fileName), columns)) {
+                long streamed;
+                try {
+                    streamed = source.stream(item -> {
+                        try {
+                            formatter.write(writer, item);
+                            writer.endRecord();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        if (++written[0] % PROGRESS_INTERVAL == 0) {
+                            if (Thread.currentThread().isInterrupted()) {
+                                throw new UncheckedIOException(new InterruptedIOException("Export cancelled"));
+                            }
+                            if (progress != null) {
+                                progress.onProgress(written[0], totalRows);
+                            }
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (streamed < 0) {
+                    throw new IOException("Could not read the export data from the database");
+                }
+            }
+            moveIntoPlace(partial, file);
+            complete = true;
+            if (progress != null) {
+                progress.onProgress(written[0], totalRows);
+            }
+            return written[0];
+        } finally {
+            if (!complete) {
+                Files.deleteIfExists(partial);
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path partial, Path file) throws IOException {
+        try {
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeBooking(RecordWriter writer, Booking booking) throws IOException {
+        writer.field(booking.getBookingId());
+        writer.field(booking.getPnr());
+        writer.field(booking.getRecordLocator());
+        writer.field(booking.getSeatNumber());
+        writer.field(booking.getUserId());
+        writer.field(booking.getUserFullName());
+        writer.field(booking.getUserEmail());
+        writer.field(booking.getFlightId());
+        writer.field(booking.getFlightCode());
+        writer.field(booking.getCompanyName());
+        writer.field(booking.getDepartureAirportCode());
+        writer.field(booking.getDestinationAirportCode());
+        writer.field(booking.getDepartureTime());
+        writer.field(booking.getDestinationTime());
+        writer.field(booking.getDateOfBooking() != null ? booking.getDateOfBooking().toLocalDateTime() : null);
+        writer.field(booking.getAmount());
+        writer.field(booking.getBookingStatus().getDisplayName());
+        writer.field(booking.getPaymentStatus().getDisplayName());
+    }
+
+    private static void writeFlight(RecordWriter writer, Flight flight) throws IOException {
+        writer.field(flight.getFlightId());
+        writer.field(flight.getFlightCode());
+        writer.field(flight.getFlightName());
+        writer.field(flight.getCompanyCode());
+        writer.field(flight.getCompanyName());
+        writer.field(flight.getDepartureAirportCode());
+        writer.field(flight.getDestinationAirportCode());
+        writer.field(flight.getDepartureTime());
+        writer.field(flight.getDestinationTime());
+        writer.field(flight.getCapacity());
+        writer.field(flight.getPrice());
+    }
+
+    private static void writeSummaryRow(RecordWriter writer, BookingSummaryDAO.SummaryRow row) throws IOException {
+        writer.field(row.getDate());
+        writer.field(row.getAirline());
+        writer.field(row.getDepartureAirportCode());
+        writer.field(row.getDestinationAirportCode());
+        writer.field(row.getBookings());
+        writer.field(row.getConfirmed());
+        writer.field(row.getCancelled());
+        writer.field(row.getRevenue());
+    }
+}
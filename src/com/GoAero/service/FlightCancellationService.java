@@ -0,0 +1,154 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.FlightCancelled;
+import com.GoAero.model.Booking;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Cancels a flight together with all of its bookings. The flight is marked cancelled
+ * first, which stops new bookings and releases its seat holds; its bookings are then
+ * cancelled a batch at a time, each batch one UPDATE in its own short transaction, so a
+ * full widebody never keeps the bookings table locked for long. Bookings whose payment
+ * had completed get a refund marked due in the same transaction.
+ *
+ * Every cancelled booking publishes a BookingStatusChanged event as soon as its batch
+ * commits, and a FlightCancelled event follows at the end. Listeners receive them on
+ * their own threads, so notifying passengers and refreshing screens never slows the
+ * cancellation down. A cancellation that stopped part way can simply be run again.
+ *
+ * Configured with system property goaero.cancellation.batchSize (default 100).
+ */
+public class FlightCancellationService {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    // Lets bookings on other flights get at the table between batches
+    private static final long PAUSE_BETWEEN_BATCHES_MILLIS = 20;
+
+    private static FlightCancellationService instance;
+
+    private final FlightDAO flightDAO;
+    private final BookingDAO bookingDAO;
+    private final int batchSize;
+
+    public FlightCancellationService(FlightDAO flightDAO, BookingDAO bookingDAO, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.flightDAO = flightDAO;
+        this.bookingDAO = bookingDAO;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the shared service configured from system properties
+     * @return The shared FlightCancellationService
+     */
+    public static synchronized FlightCancellationService getInstance() {
+        if (instance == null) {
+            instance = new FlightCancellationService(new FlightDAO(), new BookingDAO(),
+                Integer.getInteger("goaero.cancellation.batchSize", DEFAULT_BATCH_SIZE));
+        }
+        return instance;
+    }
+
+    /**
+     * Cancels a flight and all of its active bookings
+     * @param flightId The flight ID
+     * @param progress Told the number of bookings cancelled so far after each batch; may be null
+     * @return What was cancelled, or null if the flight does not exist or could not be cancelled
+     */
+    public Result cancelFlight(int flightId, IntConsumer progress) {
+        if (!flightDAO.cancel(flightId)) {
+            return null;
+        }
+
+        int cancelled = 0;
+        int refundsDue = 0;
+        BigDecimal refundAmount = BigDecimal.ZERO;
+        List<Booking> batch;
+        do {
+            batch = bookingDAO.cancelFlightBookings(flightId, batchSize);
+            if (batch == null) {
+                return new Result(flightId, cancelled, refundsDue, refundAmount, false);
+            }
+            for (Booking booking : batch) {
+                if (booking.getPaymentStatus() == Booking.PaymentStatus.COMPLETED) {
+                    refundsDue++;
+                    refundAmount = refundAmount.add(booking.getAmount());
+                }
+            }
+            cancelled += batch.size();
+            if (progress != null) {
+                progress.accept(cancelled);
+            }
+            if (batch.size() == batchSize) {
+                try {
+                    Thread.sleep(PAUSE_BETWEEN_BATCHES_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new Result(flightId, cancelled, refundsDue, refundAmount, false);
+                }
+            }
+        } while (batch.size() == batchSize);
+
+        EventBus.getInstance().publish(new FlightCancelled(flightId, cancelled, refundsDue, refundAmount));
+        System.out.println("Cancelled flight " + flightId + ": " + cancelled + " bookings, "
+            + refundsDue + " refunds due");
+        return new Result(flightId, cancelled, refundsDue, refundAmount, true);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * The outcome of cancelling a flight
+     */
+    public static class Result {
+        private final int flightId;
+        private final int bookingsCancelled;
+        private final int refundsDue;
+        private final BigDecimal refundAmount;
+        private final boolean complete;
+
+        Result(int flightId, int bookingsCancelled, int refundsDue, BigDecimal refundAmount, boolean complete) {
+            this.flightId = flightId;
+            this.bookingsCancelled = bookingsCancelled;
+            this.refundsDue = refundsDue;
+            this.refundAmount = refundAmount;
+            this.complete = complete;
+        }
+
+        public int getFlightId() {
+            return flightId;
+        }
+
+        public int getBookingsCancelled() {
+            return bookingsCancelled;
+        }
+
+        public int getRefundsDue() {
+            return refundsDue;
+        }
+
+        public BigDecimal getRefundAmount() {
+            return refundAmount;
+        }
+
+        /**
+         * Tells whether every booking was cancelled. If not, a batch failed or the
+         * cancellation was interrupted; the batches before it stay cancelled.
+         * @return true if the flight has no active bookings left
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.dao.FlightScheduleDAO;
+import com.GoAero.model.Flight;
+import com.GoAero.model.FlightSchedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expands recurring flight schedules into dated flight_data rows.
+ * Generation is idempotent: flight codes are unique per departure date, and
+ * {@link FlightDAO#createBatch(List, int)} skips instances that already exist,
+ * so regenerating a season only inserts the missing days.
+ *
+ * A background job keeps every schedule expanded over a rolling horizon, so flights
+ * appear for booking as the horizon moves forward. Configured with system properties
+ * goaero.schedules.horizonDays (default 90) and goaero.schedules.intervalHours
+ * (default 24, 0 disables the background job).
+ */
+public class FlightScheduleService {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_HORIZON_DAYS = 90;
+    public static final int DEFAULT_INTERVAL_HOURS = 24;
+
+    // Instances buffered before each createBatch call (one transaction per flush)
+    private static final int FLUSH_SIZE = 10000;
+
+    private static FlightScheduleService instance;
+
+    private final FlightDAO flightDAO;
+    private final FlightScheduleDAO scheduleDAO;
+    private final int batchSize;
+    private final int horizonDays;
+    private ScheduledExecutorService scheduler;
+
+    public FlightScheduleService(FlightDAO flightDAO, FlightScheduleDAO scheduleDAO) {
+        this(flightDAO, scheduleDAO, DEFAULT_BATCH_SIZE, DEFAULT_HORIZON_DAYS);
+    }
+
+    public FlightScheduleService(FlightDAO flightDAO, FlightScheduleDAO scheduleDAO, int batchSize,
+                                 int horizonDays) {
+        this.flightDAO = flightDAO;
+        this.scheduleDAO = scheduleDAO;
+        this.batchSize = batchSize;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Gets the shared service configured from system properties
+     * @return The shared FlightScheduleService
+     */
+    public static synchronized FlightScheduleService getInstance() {
+        if (instance == null) {
+            instance = new FlightScheduleService(new FlightDAO(), new FlightScheduleDAO(), DEFAULT_BATCH_SIZE,
+                Integer.getInteger("goaero.schedules.horizonDays", DEFAULT_HORIZON_DAYS));
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the shared service's background job unless goaero.schedules.intervalHours is 0
+     */
+    public static void startFromSystemProperties() {
+        int interval = Integer.getInteger("goaero.schedules.intervalHours", DEFAULT_INTERVAL_HOURS);
+        if (interval > 0) {
+            getInstance().start(interval);
+        }
+    }
+
+    /**
+     * Gets the last date flights are generated for
+     * @return Today plus the horizon
+     */
+    public LocalDate getHorizonEnd() {
+        return LocalDate.now().plusDays(horizonDays);
+    }
+
+    /**
+     * Stores a new schedule and generates its flights up to the horizon
+     * @param schedule The schedule to create
+     * @return The generation result, or null if the schedule could not be stored
+     */
+    public GenerationResult createSchedule(FlightSchedule schedule) {
+        if (scheduleDAO.create(schedule) == null) {
+            return null;
+        }
+        return generate(Collections.singletonList(schedule), LocalDate.now(), getHorizonEnd());
+    }
+
+    /**
+     * Runs one pass: generates every schedule's missing flights from today to the horizon
+     * @return The generation result
+     */
+    public GenerationResult runOnce() {
+        List<FlightSchedule> schedules = scheduleDAO.findAll();
+        GenerationResult result = generate(schedules, LocalDate.now(), getHorizonEnd());
+        if (result.inserted > 0 || result.failed > 0) {
+            System.out.println("Generated flights from " + schedules.size() + " schedules: " + result);
+        }
+        return result;
+    }
+
+    /**
+     * Starts the background job on a daemon thread
+     * @param intervalHours Hours between runs
+     */
+    public synchronized void start(int intervalHours) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "flight-scheduler");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; the next run retries
+                e.printStackTrace();
+            }
+        }, 1, TimeUnit.HOURS.toMinutes(intervalHours), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background job
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Expands a schedule into one flight per operating day of its effective range
+     * @param schedule The schedule
+     * @return Dated flight instances (not yet persisted)
+     */
+    public List<Flight> expand(FlightSchedule schedule) {
+        List<Flight> flights = new ArrayList<>();
+        expand(schedule, schedule.getEffectiveFrom(), schedule.getEffectiveTo(), flights);
+        return flights;
+    }
+
+    /**
+     * Generates flights for a single schedule from today (or its start date) onwards
+     * @param schedule The schedule
+     * @return The generation result
+     */
+    public GenerationResult generate(FlightSchedule schedule) {
+        return generate(Collections.singletonList(schedule), LocalDate.now(), null);
+    }
+
+    /**
+     * Generates flights for many schedules (e.g. a carrier's whole network for a season)
+     * @param schedules The schedules to expand
+     * @param from First date to generate, or null for each schedule's start date
+     * @param to Last date to generate, or null for each schedule's end date
+     * @return The generation result
+     */
+    public GenerationResult generate(List<FlightSchedule> schedules, LocalDate from, LocalDate to) {
+        long startNanos = System.nanoTime();
+        GenerationResult result = new GenerationResult();
+        List<Flight> buffer = new ArrayList<>(FLUSH_SIZE);
+
+        for (FlightSchedule schedule : schedules) {
+            LocalDate start = schedule.getEffectiveFrom();
+            LocalDate end = schedule.getEffectiveTo();
+            if (from != null && from.isAfter(start)) {
+                start = from;
+            }
+            if (to != null && to.isBefore(end)) {
+                end = to;
+            }
+
+            expand(schedule, start, end, buffer);
+            if (buffer.size() >= FLUSH_SIZE) {
+                flush(buffer, result);
+            }
+        }
+        flush(buffer, result);
+
+        result.elapsedNanos = System.nanoTime() - startNanos;
+        return result;
+    }
+
+    private void expand(FlightSchedule schedule, LocalDate start, LocalDate end, List<Flight> out) {
+        if (schedule.getDaysOfWeek() == 0) {
+            return;
+        }
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (!schedule.operatesOn(date.getDayOfWeek())) {
+                continue;
+            }
+            LocalDateTime departure = date.atTime(schedule.getDepartureTime());
+            out.add(new Flight(
+                schedule.getCompanyId(),
+                schedule.getFlightCode(),
+                schedule.getFlightName(),
+                schedule.getCapacity(),
+                schedule.getDepartureAirportId(),
+                schedule.getDestinationAirportId(),
+                departure,
+                departure.plusMinutes(schedule.getDurationMinutes()),
+                schedule.getPrice()
+            ));
+        }
+    }
+
+    private void flush(List<Flight> buffer, GenerationResult result) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        int inserted = flightDAO.createBatch(buffer, batchSize);
+        result.generated += buffer.size();
+        if (inserted < 0) {
+            result.failed += buffer.size();
+        } else {
+            result.inserted += inserted;
+            result.skippedExisting += buffer.size() - inserted;
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Counters reported after a generation run
+     */
+    public static class GenerationResult {
+        private int generated;
+        private int inserted;
+        private int skippedExisting;
+        private int failed;
+        private long elapsedNanos;
+
+        public int getGenerated() {
+            return generated;
+        }
+
+        public int getInserted() {
+            return inserted;
+        }
+
+        public int getSkippedExisting() {
+            return skippedExisting;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return "GenerationResult{" +
+                    "generated=" + generated +
+                    ", inserted=" + inserted +
+                    ", skippedExisting=" + skippedExisting +
+                    ", failed=" + failed +
+                    ", elapsedMillis=" + getElapsedMillis() +
+                    '}';
+        }
+    }
+}
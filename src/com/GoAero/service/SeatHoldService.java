@@ -0,0 +1,150 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.SeatHoldDAO;
+import com.GoAero.model.Booking;
+import com.GoAero.model.SeatHold;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat hold subsystem that decouples seat selection from payment.
+ * A hold reserves seats for a short TTL; it is either converted into a booking when
+ * payment succeeds, released explicitly, or released by the background sweeper once
+ * it expires. Each step is its own short transaction, so no database transaction stays
+ * open while the passenger is paying.
+ */
+public class SeatHoldService {
+
+    public static final int DEFAULT_SWEEP_INTERVAL_SECONDS = 30;
+    public static final int DEFAULT_SWEEP_BATCH_SIZE = 500;
+
+    private static SeatHoldService instance;
+
+    private final SeatHoldDAO seatHoldDAO;
+    private final int ttlSeconds;
+    private final int sweepBatchSize;
+    private ScheduledExecutorService sweeper;
+    private ScheduledFuture<?> sweepTask;
+
+    public SeatHoldService(SeatHoldDAO seatHoldDAO, int ttlSeconds, int sweepBatchSize) {
+        this.seatHoldDAO = seatHoldDAO;
+        this.ttlSeconds = ttlSeconds;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Gets the shared service, starting its expiry sweeper on first use.
+     * The TTL can be overridden with the goaero.seatHold.ttlSeconds system property.
+     * @return The shared SeatHoldService
+     */
+    public static synchronized SeatHoldService getInstance() {
+        if (instance == null) {
+            int ttl = Integer.getInteger("goaero.seatHold.ttlSeconds", SeatHoldDAO.DEFAULT_TTL_SECONDS);
+            instance = new SeatHoldService(new SeatHoldDAO(), ttl, DEFAULT_SWEEP_BATCH_SIZE);
+            instance.startSweeper(DEFAULT_SWEEP_INTERVAL_SECONDS);
+        }
+        return instance;
+    }
+
+    public int getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Places a hold on seats for a user
+     * @param flightId The flight ID
+     * @param userId The user ID
+     * @param seats Number of seats to hold
+     * @return The active hold, or null if the flight does not have enough free seats
+     */
+    public SeatHold placeHold(int flightId, int userId, int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Seats to hold must be positive");
+        }
+        return seatHoldDAO.createIfAvailable(new SeatHold(flightId, userId, seats), ttlSeconds);
+    }
+
+    /**
+     * Converts a hold into a booking once payment has succeeded
+     * @param hold The active hold
+     * @param booking The booking to create
+     * @return The saved booking, or null if the hold has expired or was already used
+     */
+    public Booking convertToBooking(SeatHold hold, Booking booking) {
+        return seatHoldDAO.convertToBooking(hold.getHoldId(), booking);
+    }
+
+    /**
+     * Converts a multi-seat hold into one booking per seat in a single transaction
+     * @param hold The active hold
+     * @param bookings One booking per held seat
+     * @return true if converted, false if the hold has expired or was already used
+     */
+    public boolean convertToBookings(SeatHold hold, List<Booking> bookings) {
+        return seatHoldDAO.convertToBookings(hold.getHoldId(), bookings);
+    }
+
+    /**
+     * Releases a hold whose checkout was abandoned or whose payment failed
+     * @param hold The hold to release
+     * @return true if the hold was still active and has been released
+     */
+    public boolean release(SeatHold hold) {
+        return hold != null && seatHoldDAO.release(hold.getHoldId());
+    }
+
+    /**
+     * Releases all expired holds, one bounded UPDATE at a time so each statement
+     * only locks a small slice of the table
+     * @return Total number of holds released
+     */
+    public int releaseExpiredHolds() {
+        int total = 0;
+        int released;
+        do {
+            released = seatHoldDAO.releaseExpired(sweepBatchSize);
+            if (released > 0) {
+                total += released;
+            }
+        } while (released == sweepBatchSize);
+        return total;
+    }
+
+    /**
+     * Starts the background sweeper on a daemon thread
+     * @param intervalSeconds Seconds between sweeps
+     */
+    public synchronized void startSweeper(int intervalSeconds) {
+        if (sweepTask != null) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "seat-hold-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweepTask = sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                releaseExpiredHolds();
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; the next sweep retries
+                e.printStackTrace();
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the background sweeper
+     */
+    public synchronized void stopSweeper() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+            sweepTask = null;
+        }
+    }
+}
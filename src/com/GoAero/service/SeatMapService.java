@@ -0,0 +1,178 @@
+package com.GoAero.service;
+
+import com.GoAero.cache.EntityCache;
+import com.GoAero.cache.EntityCaches;
+import com.GoAero.dao.SeatMapDAO;
+import com.GoAero.event.DomainEvent;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.EventListener;
+import com.GoAero.event.FlightCancelled;
+import com.GoAero.event.Subscription;
+import com.GoAero.model.SeatMap;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-flight seat maps. Bookings are seated by BookingDAO in the transaction that stores
+ * them, and booking status changes free or re-take seats in theirs; this service serves
+ * seat maps from a cache and rebuilds the maps of cancelled flights.
+ *
+ * Flight cancellations cancel bookings in batches, so the flight's bitset is rebuilt from
+ * its active bookings on a worker thread shortly after, and a burst of events on one
+ * flight costs one rebuild.
+ *
+ * The seat map cache is sized with goaero.cache.seatMaps.maxSize (default 1000) and
+ * goaero.cache.seatMaps.ttlSeconds (default 30).
+ */
+public class SeatMapService {
+
+    // Cancellations arriving within this window are rebuilt together
+    private static final long COALESCE_MILLIS = 200;
+
+    private static SeatMapService instance;
+
+    // Other instances assign seats too, so cached maps are kept short-lived
+    private static final EntityCache<Integer, SeatMap> CACHE =
+        EntityCaches.create("seatMaps", 1_000, 30, SeatMap::copy);
+
+    private final SeatMapDAO seatMapDAO;
+
+    // Flights cancelled since the worker last ran
+    private final Set<Integer> pendingFlights = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean runScheduled = new AtomicBoolean();
+
+    private Subscription subscription;
+    private ScheduledExecutorService worker;
+
+    public SeatMapService(SeatMapDAO seatMapDAO) {
+        this.seatMapDAO = seatMapDAO;
+    }
+
+    /**
+     * Gets the shared service
+     * @return The shared SeatMapService
+     */
+    public static synchronized SeatMapService getInstance() {
+        if (instance == null) {
+            instance = new SeatMapService(new SeatMapDAO());
+        }
+        return instance;
+    }
+
+    /**
+     * Starts rebuilding the seat maps of cancelled flights for the shared service
+     */
+    public static void startFromSystemProperties() {
+        getInstance().start(EventBus.getInstance());
+    }
+
+    /**
+     * Subscribes to flight cancellations and starts the rebuild worker on a daemon thread
+     * @param eventBus The bus booking events are published on
+     */
+    public synchronized void start(EventBus eventBus) {
+        if (worker != null) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "seat-map-rebuilder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        subscription = eventBus.subscribe("seat-maps", new ReleaseListener());
+    }
+
+    /**
+     * Stops the rebuild worker
+     */
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    /**
+     * Gets a flight's seat map, from the cache where possible
+     * @param flightId The flight ID
+     * @return The seat map, or null if no seat has been assigned on the flight yet
+     */
+    public SeatMap getSeatMap(int flightId) {
+        return CACHE.get(flightId, seatMapDAO::findByFlightId);
+    }
+
+    /**
+     * Marks a flight's seat map as stale; the worker rebuilds it shortly
+     * @param flightId The flight ID
+     */
+    public void requestRebuild(int flightId) {
+        pendingFlights.add(flightId);
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = worker;
+        }
+        if (current != null && runScheduled.compareAndSet(false, true)) {
+            current.schedule(this::rebuildPending, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Rebuilds a flight's seat map from its active bookings
+     * @param flightId The flight ID
+     * @return The rebuilt seat map, or null if the flight has none or the rebuild failed
+     */
+    public SeatMap rebuild(int flightId) {
+        SeatMap seatMap = seatMapDAO.rebuild(flightId);
+        if (seatMap != null) {
+            CACHE.put(flightId, seatMap);
+        } else {
+            CACHE.invalidate(flightId);
+        }
+        return seatMap;
+    }
+
+    private void rebuildPending() {
+        // Cleared first, so cancellations arriving during this run schedule another one
+        runScheduled.set(false);
+        for (Integer flightId : pendingFlights) {
+            pendingFlights.remove(flightId);
+            try {
+                rebuild(flightId);
+            } catch (RuntimeException e) {
+                // One flight's failure must not stop the others
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private class ReleaseListener implements EventListener {
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (event instanceof FlightCancelled) {
+                // Takes every seat of the cancelled flight
+                requestRebuild(((FlightCancelled) event).getFlightId());
+            }
+        }
+
+        @Override
+        public void onEventsMissed(long count) {
+            // A flight cancellation may have been missed on any flight still to depart
+            List<Integer> flightIds = seatMapDAO.findUpcomingFlightIds();
+            if (flightIds != null) {
+                for (int flightId : flightIds) {
+                    requestRebuild(flightId);
+                }
+            }
+        }
+    }
+}
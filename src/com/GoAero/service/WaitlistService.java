@@ -0,0 +1,270 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.dao.WaitlistDAO;
+import com.GoAero.event.BookingCreated;
+import com.GoAero.event.BookingStatusChanged;
+import com.GoAero.event.DomainEvent;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.EventListener;
+import com.GoAero.event.FlightCancelled;
+import com.GoAero.event.Subscription;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+import com.GoAero.model.WaitlistEntry;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Waitlist for full flights. Passengers join a flight's queue when it has no seats left;
+ * seats they wait for are kept back from everyone else, so a freed seat goes to the head
+ * of the queue, which is booked automatically and seated together.
+ *
+ * Promotion runs on one worker thread. Cancellations mark their flight for promotion and
+ * the worker runs shortly after, so a burst of cancellations on one flight is handled in
+ * a few batches rather than one promotion per seat. Expired seat holds publish no event;
+ * a periodic sweep of every flight with passengers waiting picks their seats up. Each
+ * batch locks the flight row like bookings and seat holds do, and each entry is booked
+ * under its own idempotency key, so a seat is never assigned twice, even when several
+ * application instances promote at once.
+ *
+ * Configured with system properties goaero.waitlist.batchSize (default 20) and
+ * goaero.waitlist.sweepSeconds (default 30, 0 sweeps only at startup).
+ */
+public class WaitlistService {
+
+    public static final int DEFAULT_BATCH_SIZE = 20;
+    public static final int DEFAULT_SWEEP_SECONDS = 30;
+
+    // Releases arriving within this window are promoted together
+    private static final long COALESCE_MILLIS = 200;
+
+    private static WaitlistService instance;
+
+    private final WaitlistDAO waitlistDAO;
+    private final FlightDAO flightDAO;
+    private final BookingService bookingService;
+    private final int batchSize;
+
+    // Flights with seats released since the worker last ran
+    private final Set<Integer> pendingFlights = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean runScheduled = new AtomicBoolean();
+
+    private Subscription subscription;
+    private ScheduledExecutorService worker;
+
+    public WaitlistService(WaitlistDAO waitlistDAO, FlightDAO flightDAO, BookingService bookingService,
+                           int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.waitlistDAO = waitlistDAO;
+        this.flightDAO = flightDAO;
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the shared service configured from system properties
+     * @return The shared WaitlistService
+     */
+    public static synchronized WaitlistService getInstance() {
+        if (instance == null) {
+            instance = new WaitlistService(new WaitlistDAO(), new FlightDAO(), new BookingService(),
+                Integer.getInteger("goaero.waitlist.batchSize", DEFAULT_BATCH_SIZE));
+        }
+        return instance;
+    }
+
+    /**
+     * Starts promoting the shared service's waitlists, sweeping every
+     * goaero.waitlist.sweepSeconds
+     */
+    public static void startFromSystemProperties() {
+        getInstance().start(EventBus.getInstance(),
+            Integer.getInteger("goaero.waitlist.sweepSeconds", DEFAULT_SWEEP_SECONDS));
+    }
+
+    /**
+     * Subscribes to cancellations and starts the promotion worker on a daemon thread
+     * @param eventBus The bus booking events are published on
+     * @param sweepSeconds Seconds between sweeps of every waiting flight, or 0 to sweep once
+     */
+    public synchronized void start(EventBus eventBus, int sweepSeconds) {
+        if (worker != null) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "waitlist-promoter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        subscription = eventBus.subscribe("waitlist", new ReleaseListener());
+        // The first sweep catches up on seats released while the application was down
+        if (sweepSeconds <= 0) {
+            worker.execute(this::sweep);
+            return;
+        }
+        worker.scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; the next sweep retries
+                e.printStackTrace();
+            }
+        }, 0, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the promotion worker
+     */
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    /**
+     * Adds a passenger to a flight's waitlist
+     * @param flight The full flight
+     * @param userId The passenger's user ID
+     * @param seats Seats wanted, booked together
+     * @return The waiting entry, or null if the passenger is already waiting for this
+     *         flight or the flight has been cancelled
+     */
+    public WaitlistEntry join(Flight flight, int userId, int seats) {
+        if (seats < 1 || seats > BookingService.MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("Seats must be between 1 and " + BookingService.MAX_GROUP_SIZE);
+        }
+        WaitlistEntry entry = waitlistDAO.join(new WaitlistEntry(flight.getFlightId(), userId, seats));
+        if (entry != null) {
+            // Seats may have been freed since the passenger saw the flight as full
+            requestPromotion(flight.getFlightId());
+        }
+        return entry;
+    }
+
+    /**
+     * Gets a waiting entry's place in its flight's queue
+     * @param entry The waiting entry
+     * @return 1 for the head of the queue, or -1 if it could not be determined
+     */
+    public int getPosition(WaitlistEntry entry) {
+        return waitlistDAO.findPosition(entry);
+    }
+
+    /**
+     * Marks a flight as having released seats; the worker promotes its waitlist shortly
+     * @param flightId The flight ID
+     */
+    public void requestPromotion(int flightId) {
+        pendingFlights.add(flightId);
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = worker;
+        }
+        if (current != null && runScheduled.compareAndSet(false, true)) {
+            current.schedule(this::promotePending, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Promotes as many passengers off a flight's waitlist as its free seats allow
+     * @param flightId The flight ID
+     * @return Number of entries promoted
+     */
+    public int promote(int flightId) {
+        Flight flight = flightDAO.findById(flightId);
+        if (flight == null) {
+            return 0;
+        }
+        if (flight.getDepartureTime().isBefore(LocalDateTime.now())) {
+            waitlistDAO.close(flightId);
+            return 0;
+        }
+
+        int total = 0;
+        List<WaitlistDAO.Promotion> promotions;
+        do {
+            // A cancelled flight has no seats; the DAO closes its waiting entries instead
+            promotions = waitlistDAO.promote(flightId, batchSize, entry ->
+                bookingService.prepareBookings(flight, Collections.nCopies(entry.getSeats(), entry.getUserId()),
+                    "waitlist-" + entry.getEntryId()));
+            if (promotions == null) {
+                return total;
+            }
+            EventBus bus = EventBus.getInstance();
+            for (WaitlistDAO.Promotion promotion : promotions) {
+                for (Booking booking : promotion.getBookings()) {
+                    bus.publish(new BookingCreated(booking));
+                }
+            }
+            total += promotions.size();
+        } while (promotions.size() == batchSize);
+
+        if (total > 0) {
+            System.out.println("Promoted " + total + " waitlisted passengers on flight " + flightId);
+        }
+        return total;
+    }
+
+    /**
+     * Queues every flight with passengers waiting for promotion
+     */
+    public void sweep() {
+        List<Integer> flightIds = waitlistDAO.findFlightsWithWaiting();
+        if (flightIds != null) {
+            for (int flightId : flightIds) {
+                requestPromotion(flightId);
+            }
+        }
+    }
+
+    private void promotePending() {
+        // Cleared first, so releases arriving during this run schedule another one
+        runScheduled.set(false);
+        for (Integer flightId : pendingFlights) {
+            pendingFlights.remove(flightId);
+            try {
+                promote(flightId);
+            } catch (RuntimeException e) {
+                // One flight's failure must not stop the others; the sweep retries it
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private class ReleaseListener implements EventListener {
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (event instanceof BookingStatusChanged) {
+                BookingStatusChanged changed = (BookingStatusChanged) event;
+                if (changed.getNewStatus() == Booking.BookingStatus.CANCELLED
+                        && changed.getPreviousStatus() != Booking.BookingStatus.CANCELLED) {
+                    requestPromotion(changed.getFlightId());
+                }
+            } else if (event instanceof FlightCancelled) {
+                // Closes the flight's waitlist
+                requestPromotion(((FlightCancelled) event).getFlightId());
+            }
+        }
+
+        @Override
+        public void onEventsMissed(long count) {
+            sweep();
+        }
+    }
+}
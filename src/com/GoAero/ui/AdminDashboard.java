@@ -73,6 +73,8 @@ public class AdminDashboard extends JFrame {
         tabbedPane.addTab("🛫 Flights", new FlightManagementPanel());
         tabbedPane.addTab("📋 Bookings", new BookingManagementPanel());
         tabbedPane.addTab("📊 Reports", new ReportsPanel());
+        tabbedPane.addTab("📈 Analytics", new AnalyticsPanel());
+        tabbedPane.addTab("🩺 Diagnostics", new DiagnosticsPanel());
 
         // Style individual tabs
         for (int i = 0; i < tabbedPane.getTabCount(); i++) {
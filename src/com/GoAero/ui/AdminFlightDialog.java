@@ -322,20 +322,17 @@ public class AdminFlightDialog extends JDialog {
             return false;
         }
 
-        // Check if flight code already exists (simplified check for now)
-        // Note: This would need a proper flightCodeExists method in FlightDAO
+        // Flight codes are unique per departure date (recurring flights reuse the code daily)
         try {
-            List<Flight> existingFlights = flightDAO.findAll();
-            for (Flight existingFlight : existingFlights) {
-                if (existingFlight.getFlightCode().equalsIgnoreCase(code) &&
-                    (!isEditMode || existingFlight.getFlightId() != flight.getFlightId())) {
-                    showError("A flight with this code already exists.");
-                    flightCodeField.requestFocus();
-                    return false;
-                }
+            LocalDateTime depTime = LocalDateTime.parse(departureTimeField.getText().trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+            int excludeId = isEditMode ? flight.getFlightId() : -1;
+            if (flightDAO.flightCodeExistsOnDate(ValidationUtil.formatFlightCode(code), depTime.toLocalDate(), excludeId)) {
+                showError("A flight with this code already departs on that date.");
+                flightCodeField.requestFocus();
+                return false;
             }
         } catch (Exception e) {
-            // Continue with validation
+            // Continue with validation; the departure time is checked below
         }
 
         // Flight Name validation
@@ -2,6 +2,8 @@ package com.GoAero.ui;
 
 import com.GoAero.dao.FlightOwnerDAO;
 import com.GoAero.model.FlightOwner;
+import com.GoAero.model.SessionManager;
+import com.GoAero.service.CredentialService;
 import com.GoAero.util.PasswordUtil;
 import com.GoAero.util.ValidationUtil;
 
@@ -121,8 +123,12 @@ public class AdminFlightOwnerDialog extends JDialog {
         cancelButton.addActionListener(e -> dispose());
         generatePasswordButton.addActionListener(e -> generatePassword());
         
-        // Enter key on confirm password field
-        confirmPasswordField.addActionListener(e -> saveFlightOwner());
+        // Enter key on confirm password field, unless a save is already running
+        confirmPasswordField.addActionListener(e -> {
+            if (saveButton.isEnabled()) {
+                saveFlightOwner();
+            }
+        });
 
         // Auto-format company code as user types
         companyCodeField.addKeyListener(new java.awt.event.KeyAdapter() {
@@ -173,16 +179,34 @@ public class AdminFlightOwnerDialog extends JDialog {
         newOwner.setCompanyName(companyNameField.getText().trim());
         newOwner.setCompanyCode(ValidationUtil.formatCompanyCode(companyCodeField.getText().trim()));
         newOwner.setContactInfo(contactInfoField.getText().trim());
-        newOwner.setPasswordHash(PasswordUtil.hashPassword(new String(passwordField.getPassword())));
+        String password = new String(passwordField.getPassword());
 
-        FlightOwner savedOwner = flightOwnerDAO.create(newOwner);
-        if (savedOwner != null) {
-            showSuccess("Airline created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create airline. Please try again.");
-        }
+        // Password hashing is deliberately slow, so it runs off the event thread with the insert
+        saveButton.setEnabled(false);
+        new SwingWorker<FlightOwner, Void>() {
+            @Override
+            protected FlightOwner doInBackground() {
+                newOwner.setPasswordHash(PasswordUtil.hashPassword(password));
+                return flightOwnerDAO.create(newOwner);
+            }
+
+            @Override
+            protected void done() {
+                saveButton.setEnabled(true);
+                try {
+                    if (get() != null) {
+                        showSuccess("Airline created successfully!");
+                        dataChanged = true;
+                        dispose();
+                    } else {
+                        showError("Failed to create airline. Please try again.");
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Save failed: " + cause.getMessage());
+                }
+            }
+        }.execute();
     }
 
     private void updateFlightOwner() {
@@ -192,18 +216,35 @@ public class AdminFlightOwnerDialog extends JDialog {
 
         // Update password only if new password is provided
         String newPassword = new String(passwordField.getPassword());
-        if (!newPassword.isEmpty()) {
-            flightOwner.setPasswordHash(PasswordUtil.hashPassword(newPassword));
-        }
 
-        boolean success = flightOwnerDAO.update(flightOwner);
-        if (success) {
-            showSuccess("Airline updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update airline. Please try again.");
-        }
+        saveButton.setEnabled(false);
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                if (!newPassword.isEmpty()) {
+                    flightOwner.setPasswordHash(PasswordUtil.hashPassword(newPassword));
+                }
+                return flightOwnerDAO.update(flightOwner);
+            }
+
+            @Override
+            protected void done() {
+                saveButton.setEnabled(true);
+                try {
+                    if (get()) {
+                        CredentialService.getInstance().invalidate(SessionManager.UserType.FLIGHT_OWNER, flightOwner.getOwnerId());
+                        showSuccess("Airline updated successfully!");
+                        dataChanged = true;
+                        dispose();
+                    } else {
+                        showError("Failed to update airline. Please try again.");
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Save failed: " + cause.getMessage());
+                }
+            }
+        }.execute();
     }
 
     private boolean validateInput() {
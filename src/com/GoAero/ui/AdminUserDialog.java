@@ -1,7 +1,9 @@
 package com.GoAero.ui;
 
 import com.GoAero.dao.UserDAO;
+import com.GoAero.model.SessionManager;
 import com.GoAero.model.User;
+import com.GoAero.service.CredentialService;
 import com.GoAero.util.PasswordUtil;
 import com.GoAero.util.ValidationUtil;
 
@@ -126,8 +128,12 @@ public class AdminUserDialog extends JDialog {
         cancelButton.addActionListener(e -> dispose());
         generatePasswordButton.addActionListener(e -> generatePassword());
         
-        // Enter key on confirm password field
-        confirmPasswordField.addActionListener(e -> saveUser());
+        // Enter key on confirm password field, unless a save is already running
+        confirmPasswordField.addActionListener(e -> {
+            if (saveButton.isEnabled()) {
+                saveUser();
+            }
+        });
     }
 
     private void loadUserData() {
@@ -178,16 +184,34 @@ public class AdminUserDialog extends JDialog {
             newUser.setDateOfBirth(LocalDate.parse(dobText));
         }
         
-        newUser.setPasswordHash(PasswordUtil.hashPassword(new String(passwordField.getPassword())));
+        String password = new String(passwordField.getPassword());
 
-        User savedUser = userDAO.create(newUser);
-        if (savedUser != null) {
-            showSuccess("User created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create user. Please try again.");
-        }
+        // Password hashing is deliberately slow, so it runs off the event thread with the insert
+        saveButton.setEnabled(false);
+        new SwingWorker<User, Void>() {
+            @Override
+            protected User doInBackground() {
+                newUser.setPasswordHash(PasswordUtil.hashPassword(password));
+                return userDAO.create(newUser);
+            }
+
+            @Override
+            protected void done() {
+                saveButton.setEnabled(true);
+                try {
+                    if (get() != null) {
+                        showSuccess("User created successfully!");
+                        dataChanged = true;
+                        dispose();
+                    } else {
+                        showError("Failed to create user. Please try again.");
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Save failed: " + cause.getMessage());
+                }
+            }
+        }.execute();
     }
 
     private void updateUser() {
@@ -203,18 +227,35 @@ public class AdminUserDialog extends JDialog {
 
         // Update password only if new password is provided
         String newPassword = new String(passwordField.getPassword());
-        if (!newPassword.isEmpty()) {
-            user.setPasswordHash(PasswordUtil.hashPassword(newPassword));
-        }
 
-        boolean success = userDAO.update(user);
-        if (success) {
-            showSuccess("User updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update user. Please try again.");
-        }
+        saveButton.setEnabled(false);
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                if (!newPassword.isEmpty()) {
+                    user.setPasswordHash(PasswordUtil.hashPassword(newPassword));
+                }
+                return userDAO.update(user);
+            }
+
+            @Override
+            protected void done() {
+                saveButton.setEnabled(true);
+                try {
+                    if (get()) {
+                        CredentialService.getInstance().invalidate(SessionManager.UserType.USER, user.getUserId());
+                        showSuccess("User updated successfully!");
+                        dataChanged = true;
+                        dispose();
+                    } else {
+                        showError("Failed to update user. Please try again.");
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Save failed: " + cause.getMessage());
+                }
+            }
+        }.execute();
     }
 
     private boolean validateInput() {
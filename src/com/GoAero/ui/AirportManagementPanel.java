@@ -2,6 +2,7 @@ package com.GoAero.ui;
 
 import com.GoAero.dao.AirportDAO;
 import com.GoAero.model.Airport;
+import com.GoAero.service.AirportImportService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -28,7 +29,7 @@ public class AirportManagementPanel extends JPanel {
     private static final Color DANGER_RED = new Color(244, 67, 54);
     private JTable airportsTable;
     private DefaultTableModel tableModel;
-    private JButton addAirportButton, editAirportButton, deleteAirportButton, refreshButton;
+    private JButton addAirportButton, editAirportButton, deleteAirportButton, refreshButton, importButton;
     private JTextField searchField;
     private JButton searchButton;
     private AirportDAO airportDAO;
@@ -88,6 +89,7 @@ public class AirportManagementPanel extends JPanel {
         editAirportButton = createStyledButton("✏ Edit Airport", ACCENT_ORANGE, Color.WHITE, 14);
         deleteAirportButton = createStyledButton("🗑 Delete Airport", DANGER_RED, Color.WHITE, 14);
         refreshButton = createStyledButton("🔄 Refresh", SUCCESS_GREEN, Color.WHITE, 14);
+        importButton = createStyledButton("📥 Import CSV", DARK_BLUE, Color.WHITE, 14);
 
         // Modern search components
         searchField = createStyledTextField("Search airports by code, name, city, or country...");
@@ -125,6 +127,7 @@ public class AirportManagementPanel extends JPanel {
         editAirportButton.addActionListener(e -> editAirport());
         deleteAirportButton.addActionListener(e -> deleteAirport());
         refreshButton.addActionListener(e -> loadAirports());
+        importButton.addActionListener(e -> importAirports());
         searchButton.addActionListener(e -> searchAirports());
         
         // Enter key on search field
@@ -248,6 +251,37 @@ public class AirportManagementPanel extends JPanel {
         }
     }
 
+    private void importAirports() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Airports (OpenFlights CSV)");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        importButton.setEnabled(false);
+
+        // Run the import off the EDT; large files take a few seconds
+        new SwingWorker<AirportImportService.ImportResult, Void>() {
+            @Override
+            protected AirportImportService.ImportResult doInBackground() throws Exception {
+                return new AirportImportService(airportDAO).importOpenFlights(file);
+            }
+
+            @Override
+            protected void done() {
+                importButton.setEnabled(true);
+                try {
+                    showSuccess("Airport import finished.\n\n" + get().getSummary());
+                    loadAirports();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Import failed: " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
     private void searchAirports() {
         String searchTerm = searchField.getText().trim();
         if (searchTerm.isEmpty() || searchTerm.equals("Search airports by code, name, city, or country...")) {
@@ -566,11 +600,13 @@ public class AirportManagementPanel extends JPanel {
         editAirportButton.setPreferredSize(new Dimension(140, 40));
         deleteAirportButton.setPreferredSize(new Dimension(150, 40));
         refreshButton.setPreferredSize(new Dimension(110, 40));
+        importButton.setPreferredSize(new Dimension(140, 40));
         
         buttonsPanel.add(addAirportButton);
         buttonsPanel.add(editAirportButton);
         buttonsPanel.add(deleteAirportButton);
         buttonsPanel.add(refreshButton);
+        buttonsPanel.add(importButton);
 
         // Info panel
         JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
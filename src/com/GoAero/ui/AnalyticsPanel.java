@@ -0,0 +1,436 @@
+package com.GoAero.ui;
+
+import com.GoAero.analytics.AnalyticsQuery;
+import com.GoAero.analytics.AnalyticsResult;
+import com.GoAero.analytics.BookingAnalytics;
+import com.GoAero.analytics.BookingDimension;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Panel for ad-hoc booking analytics in the admin dashboard: group all bookings by up to
+ * three of airline, route, month and status, optionally filtered, with counts, amounts and
+ * revenue per group. Queries run against the in-memory BookingAnalytics snapshot.
+ */
+public class AnalyticsPanel extends JPanel {
+    // Professional color scheme (consistent with other GoAero pages)
+    private static final Color PRIMARY_BLUE = new Color(25, 118, 210);
+    private static final Color ACCENT_ORANGE = new Color(255, 152, 0);
+    private static final Color DARK_BLUE = new Color(13, 71, 161);
+    private static final Color LIGHT_GRAY = new Color(245, 245, 245);
+    private static final Color HOVER_BLUE = new Color(30, 136, 229);
+    private static final Color SUCCESS_GREEN = new Color(76, 175, 80);
+    private static final Color BACKGROUND_GRAY = new Color(250, 250, 250);
+    private static final Color CARD_WHITE = Color.WHITE;
+
+    private static final String NONE = "(none)";
+    private static final String ALL_STATUSES = "All statuses";
+
+    private final BookingAnalytics analytics;
+
+    private JComboBox<Object> groupByCombo1, groupByCombo2, groupByCombo3;
+    private JComboBox<String> statusCombo;
+    private JTextField bookedFromField, bookedToField;
+    private JButton runButton, reloadButton;
+    private JTable resultTable;
+    private DefaultTableModel tableModel;
+    private JLabel snapshotLabel, resultLabel;
+
+    public AnalyticsPanel() {
+        analytics = BookingAnalytics.getInstance();
+        initializeComponents();
+        setupLayout();
+        setupEventListeners();
+        updateSnapshotLabel();
+    }
+
+    private void initializeComponents() {
+        groupByCombo1 = new JComboBox<>(BookingDimension.values());
+        groupByCombo1.setSelectedItem(BookingDimension.AIRLINE);
+        groupByCombo2 = createOptionalDimensionCombo();
+        groupByCombo2.setSelectedItem(BookingDimension.BOOKING_MONTH);
+        groupByCombo3 = createOptionalDimensionCombo();
+
+        statusCombo = new JComboBox<>(new String[] {ALL_STATUSES, "Confirmed", "Pending", "Cancelled"});
+        statusCombo.setFont(new Font("Arial", Font.PLAIN, 13));
+
+        bookedFromField = createMonthField();
+        bookedToField = createMonthField();
+
+        tableModel = new DefaultTableModel(0, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+
+        resultTable = new JTable(tableModel);
+        resultTable.setAutoCreateRowSorter(true);
+        resultTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultTable.setFont(new Font("Arial", Font.PLAIN, 13));
+        resultTable.setRowHeight(32);
+        resultTable.setGridColor(LIGHT_GRAY);
+        resultTable.setSelectionBackground(new Color(230, 240, 255));
+        resultTable.setSelectionForeground(DARK_BLUE);
+
+        // Style table header
+        resultTable.getTableHeader().setFont(new Font("Arial", Font.BOLD, 14));
+        resultTable.getTableHeader().setBackground(DARK_BLUE);
+        resultTable.getTableHeader().setForeground(Color.WHITE);
+        resultTable.getTableHeader().setPreferredSize(new Dimension(0, 40));
+
+        runButton = createStyledButton("▶ Run", PRIMARY_BLUE, Color.WHITE, 14);
+        runButton.setPreferredSize(new Dimension(110, 40));
+        reloadButton = createStyledButton("🔄 Reload Snapshot", ACCENT_ORANGE, Color.WHITE, 14);
+        reloadButton.setPreferredSize(new Dimension(190, 40));
+
+        snapshotLabel = new JLabel();
+        snapshotLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        snapshotLabel.setForeground(new Color(100, 100, 100));
+
+        resultLabel = new JLabel("Choose how to group bookings and press Run");
+        resultLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        resultLabel.setForeground(DARK_BLUE);
+        resultLabel.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(LIGHT_GRAY, 1),
+            new EmptyBorder(8, 15, 8, 15)
+        ));
+        resultLabel.setBackground(CARD_WHITE);
+        resultLabel.setOpaque(true);
+    }
+
+    private JComboBox<Object> createOptionalDimensionCombo() {
+        JComboBox<Object> combo = new JComboBox<>();
+        combo.addItem(NONE);
+        for (BookingDimension dimension : BookingDimension.values()) {
+            combo.addItem(dimension);
+        }
+        combo.setFont(new Font("Arial", Font.PLAIN, 13));
+        return combo;
+    }
+
+    private JTextField createMonthField() {
+        JTextField field = new JTextField(7);
+        field.setFont(new Font("Arial", Font.PLAIN, 13));
+        field.setToolTipText("Month as YYYY-MM; leave empty for no limit");
+        return field;
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+        setBackground(BACKGROUND_GRAY);
+
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBackground(BACKGROUND_GRAY);
+        mainPanel.setBorder(new EmptyBorder(20, 25, 20, 25));
+
+        mainPanel.add(createHeaderSection(), BorderLayout.NORTH);
+        mainPanel.add(createContentSection(), BorderLayout.CENTER);
+        mainPanel.add(createActionSection(), BorderLayout.SOUTH);
+
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void setupEventListeners() {
+        runButton.addActionListener(e -> runQuery());
+        reloadButton.addActionListener(e -> reloadSnapshot());
+    }
+
+    private void runQuery() {
+        AnalyticsQuery query;
+        try {
+            query = buildQuery();
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Enter booking months as YYYY-MM, e.g. 2026-03.",
+                "Invalid Month", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        setBusy(true, analytics.isLoaded() ? "Running query..." : "Loading booking snapshot...");
+        new SwingWorker<AnalyticsResult, Void>() {
+            @Override
+            protected AnalyticsResult doInBackground() {
+                return analytics.query(query);
+            }
+
+            @Override
+            protected void done() {
+                setBusy(false, null);
+                try {
+                    AnalyticsResult result = get();
+                    if (result == null) {
+                        resultLabel.setText("Could not load bookings from the database");
+                    } else {
+                        displayResult(result);
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    resultLabel.setText("Query failed: " + cause.getMessage());
+                }
+                updateSnapshotLabel();
+            }
+        }.execute();
+    }
+
+    private AnalyticsQuery buildQuery() {
+        List<BookingDimension> groupBy = new ArrayList<>();
+        for (JComboBox<Object> combo : List.of(groupByCombo1, groupByCombo2, groupByCombo3)) {
+            Object selected = combo.getSelectedItem();
+            if (selected instanceof BookingDimension && !groupBy.contains(selected)) {
+                groupBy.add((BookingDimension) selected);
+            }
+        }
+
+        AnalyticsQuery query = new AnalyticsQuery(groupBy.toArray(new BookingDimension[0]));
+        String status = (String) statusCombo.getSelectedItem();
+        if (!ALL_STATUSES.equals(status)) {
+            query.where(BookingDimension.BOOKING_STATUS, status);
+        }
+        YearMonth from = parseMonth(bookedFromField);
+        YearMonth to = parseMonth(bookedToField);
+        if (from != null || to != null) {
+            query.between(BookingDimension.BOOKING_MONTH, from, to);
+        }
+        return query;
+    }
+
+    private static YearMonth parseMonth(JTextField field) {
+        String text = field.getText().trim();
+        return text.isEmpty() ? null : YearMonth.parse(text);
+    }
+
+    private void reloadSnapshot() {
+        setBusy(true, "Loading booking snapshot...");
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                return analytics.load();
+            }
+
+            @Override
+            protected void done() {
+                setBusy(false, null);
+                try {
+                    resultLabel.setText(get() ? "Snapshot reloaded" : "Could not load bookings from the database");
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    resultLabel.setText("Reload failed: " + cause.getMessage());
+                }
+                updateSnapshotLabel();
+            }
+        }.execute();
+    }
+
+    private void displayResult(AnalyticsResult result) {
+        BookingDimension[] groupBy = result.getGroupBy();
+        List<String> columnNames = new ArrayList<>();
+        for (BookingDimension dimension : groupBy) {
+            columnNames.add(dimension.getDisplayName());
+        }
+        columnNames.add("Bookings");
+        columnNames.add("Booked Amount");
+        columnNames.add("Revenue");
+        tableModel.setDataVector(new Object[0][], columnNames.toArray());
+
+        for (AnalyticsResult.Row row : result.getRows()) {
+            Object[] values = new Object[groupBy.length + 3];
+            String[] labels = row.getLabels();
+            System.arraycopy(labels, 0, values, 0, labels.length);
+            values[groupBy.length] = row.getBookings();
+            values[groupBy.length + 1] = String.format("₹%.2f", row.getAmount());
+            values[groupBy.length + 2] = String.format("₹%.2f", row.getRevenue());
+            tableModel.addRow(values);
+        }
+        for (int i = groupBy.length; i < columnNames.size(); i++) {
+            resultTable.getColumnModel().getColumn(i).setCellRenderer(new NumberCellRenderer());
+        }
+
+        resultLabel.setText(String.format("%d groups | %,d bookings scanned in %.1f ms",
+            result.getRows().size(), result.getScannedBookings(), result.getElapsedMillis()));
+    }
+
+    private void updateSnapshotLabel() {
+        Instant loadedAt = analytics.getLoadedAt();
+        if (loadedAt == null) {
+            snapshotLabel.setText("Snapshot not loaded yet; the first query loads every booking into memory");
+            return;
+        }
+        snapshotLabel.setText(String.format(
+            "Snapshot: %,d bookings, %.1f MB, loaded at %s and kept current from booking events",
+            analytics.getBookingCount(), analytics.getMemoryBytes() / (1024.0 * 1024.0),
+            loadedAt.atZone(ZoneId.systemDefault()).format(DateTimeFormatter.ofPattern("HH:mm:ss"))));
+    }
+
+    private void setBusy(boolean busy, String message) {
+        runButton.setEnabled(!busy);
+        reloadButton.setEnabled(!busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        if (message != null) {
+            resultLabel.setText(message);
+        }
+    }
+
+    private JButton createStyledButton(String text, Color bgColor, Color textColor, int fontSize) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, fontSize));
+        button.setBackground(bgColor);
+        button.setForeground(textColor);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createRaisedBevelBorder(),
+            BorderFactory.createEmptyBorder(8, 15, 8, 15)
+        ));
+
+        // Add hover effects
+        Color originalBg = bgColor;
+        Color hoverColor = createHoverColor(bgColor);
+
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(hoverColor);
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(originalBg);
+            }
+        });
+
+        return button;
+    }
+
+    private Color createHoverColor(Color originalColor) {
+        if (originalColor.equals(PRIMARY_BLUE)) {
+            return HOVER_BLUE;
+        } else if (originalColor.equals(ACCENT_ORANGE)) {
+            return new Color(255, 167, 38);
+        } else if (originalColor.equals(SUCCESS_GREEN)) {
+            return new Color(102, 187, 106);
+        } else {
+            // For other colors, create a lighter version
+            int r = Math.min(255, originalColor.getRed() + 20);
+            int g = Math.min(255, originalColor.getGreen() + 20);
+            int b = Math.min(255, originalColor.getBlue() + 20);
+            return new Color(r, g, b);
+        }
+    }
+
+    private JPanel createHeaderSection() {
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(BACKGROUND_GRAY);
+        headerPanel.setBorder(new EmptyBorder(0, 0, 25, 0));
+
+        JPanel titlePanel = new JPanel();
+        titlePanel.setLayout(new BoxLayout(titlePanel, BoxLayout.Y_AXIS));
+        titlePanel.setBackground(BACKGROUND_GRAY);
+
+        JLabel titleLabel = new JLabel("📈 Booking Analytics");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
+        titleLabel.setForeground(DARK_BLUE);
+        titleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        JLabel subtitleLabel = new JLabel("Slice every booking by airline, route, month and status");
+        subtitleLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        subtitleLabel.setForeground(new Color(100, 100, 100));
+        subtitleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        snapshotLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        titlePanel.add(titleLabel);
+        titlePanel.add(Box.createVerticalStrut(5));
+        titlePanel.add(subtitleLabel);
+        titlePanel.add(Box.createVerticalStrut(5));
+        titlePanel.add(snapshotLabel);
+
+        headerPanel.add(titlePanel, BorderLayout.WEST);
+        return headerPanel;
+    }
+
+    private JPanel createContentSection() {
+        JPanel contentContainer = new JPanel(new BorderLayout(0, 15));
+        contentContainer.setBackground(CARD_WHITE);
+        contentContainer.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(LIGHT_GRAY, 1),
+            new EmptyBorder(20, 20, 20, 20)
+        ));
+
+        JPanel controlsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        controlsPanel.setBackground(CARD_WHITE);
+        controlsPanel.add(createControlLabel("Group by"));
+        controlsPanel.add(groupByCombo1);
+        controlsPanel.add(createControlLabel("then"));
+        controlsPanel.add(groupByCombo2);
+        controlsPanel.add(createControlLabel("then"));
+        controlsPanel.add(groupByCombo3);
+        controlsPanel.add(Box.createHorizontalStrut(15));
+        controlsPanel.add(statusCombo);
+        controlsPanel.add(Box.createHorizontalStrut(15));
+        controlsPanel.add(createControlLabel("Booked from"));
+        controlsPanel.add(bookedFromField);
+        controlsPanel.add(createControlLabel("to"));
+        controlsPanel.add(bookedToField);
+
+        JScrollPane scrollPane = new JScrollPane(resultTable);
+        scrollPane.setBorder(BorderFactory.createLineBorder(LIGHT_GRAY, 1));
+        scrollPane.getViewport().setBackground(Color.WHITE);
+
+        contentContainer.add(controlsPanel, BorderLayout.NORTH);
+        contentContainer.add(scrollPane, BorderLayout.CENTER);
+        return contentContainer;
+    }
+
+    private JLabel createControlLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Arial", Font.BOLD, 13));
+        label.setForeground(DARK_BLUE);
+        return label;
+    }
+
+    private JPanel createActionSection() {
+        JPanel actionPanel = new JPanel(new BorderLayout());
+        actionPanel.setBackground(BACKGROUND_GRAY);
+        actionPanel.setBorder(new EmptyBorder(20, 0, 0, 0));
+
+        JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 0));
+        buttonsPanel.setBackground(BACKGROUND_GRAY);
+        buttonsPanel.add(runButton);
+        buttonsPanel.add(reloadButton);
+
+        JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        infoPanel.setBackground(BACKGROUND_GRAY);
+        infoPanel.add(resultLabel);
+
+        actionPanel.add(buttonsPanel, BorderLayout.WEST);
+        actionPanel.add(infoPanel, BorderLayout.EAST);
+        return actionPanel;
+    }
+
+    /**
+     * Right-aligns numeric columns
+     */
+    private static class NumberCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            setHorizontalAlignment(SwingConstants.RIGHT);
+            return this;
+        }
+    }
+}
@@ -276,7 +276,7 @@ public class BookingDetailsDialog extends JDialog {
         headerLabel.setBorder(new EmptyBorder(0, 0, 15, 0));
 
         // Content panel
-        JPanel contentPanel = new JPanel(new GridLayout(6, 2, 20, 15));
+        JPanel contentPanel = new JPanel(new GridLayout(7, 2, 20, 15));
         contentPanel.setBackground(CARD_WHITE);
 
         // Flight Code
@@ -342,6 +342,17 @@ public class BookingDetailsDialog extends JDialog {
         arrValue.setFont(new Font("Arial", Font.PLAIN, 14));
         contentPanel.add(arrValue);
 
+        // Seat
+        JLabel seatLabel = new JLabel("Seat");
+        seatLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        seatLabel.setForeground(DARK_BLUE);
+        contentPanel.add(seatLabel);
+
+        JLabel seatValue = new JLabel(booking.getSeatNumber() != null ? booking.getSeatNumber() : "Not assigned");
+        seatValue.setFont(new Font("Arial", Font.BOLD, 14));
+        seatValue.setForeground(PRIMARY_BLUE);
+        contentPanel.add(seatValue);
+
         card.add(headerLabel, BorderLayout.NORTH);
         card.add(contentPanel, BorderLayout.CENTER);
 
@@ -33,6 +33,7 @@ public class BookingHistory extends JFrame {
     private DefaultTableModel tableModel;
     private JButton viewDetailsButton, cancelBookingButton, refreshButton, closeButton;
     private BookingDAO bookingDAO;
+    private JCheckBox pastTripsCheckBox;
     private User currentUser;
     private List<Booking> userBookings;
 
@@ -114,6 +115,12 @@ public class BookingHistory extends JFrame {
         closeButton = createStyledButton("← Close", new Color(108, 117, 125), Color.WHITE, 14);
         closeButton.setPreferredSize(new Dimension(100, 40));
 
+        // Older completed trips live in the archive and are only loaded on request
+        pastTripsCheckBox = new JCheckBox("Show older trips");
+        pastTripsCheckBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        pastTripsCheckBox.setBackground(BACKGROUND_GRAY);
+        pastTripsCheckBox.setForeground(DARK_BLUE);
+
         updateButtonStates();
     }
 
@@ -224,6 +231,7 @@ public class BookingHistory extends JFrame {
         buttonsPanel.add(viewDetailsButton);
         buttonsPanel.add(cancelBookingButton);
         buttonsPanel.add(refreshButton);
+        buttonsPanel.add(pastTripsCheckBox);
 
         // Close button (separate)
         JPanel closePanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
@@ -240,6 +248,7 @@ public class BookingHistory extends JFrame {
         viewDetailsButton.addActionListener(e -> viewBookingDetails());
         cancelBookingButton.addActionListener(e -> cancelSelectedBooking());
         refreshButton.addActionListener(e -> loadBookings());
+        pastTripsCheckBox.addActionListener(e -> loadBookings());
         closeButton.addActionListener(e -> dispose());
 
         // Double-click to view details
@@ -254,7 +263,7 @@ public class BookingHistory extends JFrame {
 
     private void loadBookings() {
         try {
-            userBookings = bookingDAO.findByUserId(currentUser.getUserId());
+            userBookings = bookingDAO.findByUserId(currentUser.getUserId(), pastTripsCheckBox.isSelected());
             displayBookings();
         } catch (Exception e) {
             System.out.println("Failed to load bookings: " + e.getMessage());
@@ -1,6 +1,13 @@
 package com.GoAero.ui;
 
 import com.GoAero.dao.BookingDAO;
+import com.GoAero.event.BookingCreated;
+import com.GoAero.event.BookingStatusChanged;
+import com.GoAero.event.DomainEvent;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.EventListener;
+import com.GoAero.event.PaymentStatusChanged;
+import com.GoAero.event.Subscription;
 import com.GoAero.model.Booking;
 
 import javax.swing.*;
@@ -14,7 +21,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
- * Panel for managing bookings in the admin dashboard with modern UI design
+ * Panel for managing bookings in the admin dashboard with modern UI design.
+ * While shown, new bookings and status changes made anywhere in the application are
+ * applied to the table as they happen.
  */
 public class BookingManagementPanel extends JPanel {
     // Professional color scheme (consistent with other GoAero pages)
@@ -27,13 +36,18 @@ public class BookingManagementPanel extends JPanel {
     private static final Color BACKGROUND_GRAY = new Color(250, 250, 250);
     private static final Color CARD_WHITE = Color.WHITE;
     private static final Color DANGER_RED = new Color(244, 67, 54);
+    private static final int PAYMENT_COLUMN = 6;
+    private static final int STATUS_COLUMN = 7;
     private JTable bookingsTable;
     private DefaultTableModel tableModel;
     private JButton viewDetailsButton, updateStatusButton, updatePaymentButton, refreshButton;
     private JTextField searchField;
     private JButton searchButton;
+    private JCheckBox includeArchivedCheckBox;
     private BookingDAO bookingDAO;
     private List<Booking> bookings;
+    private List<Booking> displayedBookings;
+    private Subscription bookingEvents;
 
     public BookingManagementPanel() {
         bookingDAO = new BookingDAO();
@@ -101,6 +115,12 @@ public class BookingManagementPanel extends JPanel {
         searchField = createStyledTextField("Search by PNR, passenger name, or flight code...");
         searchButton = createStyledButton("🔍 Search", DARK_BLUE, Color.WHITE, 12);
 
+        // Completed trips past the archive horizon are only loaded on request
+        includeArchivedCheckBox = new JCheckBox("Include archived trips");
+        includeArchivedCheckBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        includeArchivedCheckBox.setBackground(BACKGROUND_GRAY);
+        includeArchivedCheckBox.setForeground(DARK_BLUE);
+
         updateButtonStates();
     }
 
@@ -133,6 +153,7 @@ public class BookingManagementPanel extends JPanel {
         updateStatusButton.addActionListener(e -> updateBookingStatus());
         updatePaymentButton.addActionListener(e -> updatePaymentStatus());
         refreshButton.addActionListener(e -> loadBookings());
+        includeArchivedCheckBox.addActionListener(e -> loadBookings());
         searchButton.addActionListener(e -> searchBookings());
         
         // Enter key on search field
@@ -148,9 +169,26 @@ public class BookingManagementPanel extends JPanel {
         });
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (bookingEvents == null) {
+            bookingEvents = EventBus.getInstance().subscribe("booking-management", new BookingEventListener());
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (bookingEvents != null) {
+            bookingEvents.close();
+            bookingEvents = null;
+        }
+        super.removeNotify();
+    }
+
     private void loadBookings() {
         try {
-            bookings = bookingDAO.findAll();
+            bookings = bookingDAO.findAll(includeArchivedCheckBox.isSelected());
             displayBookings(bookings);
             updateInfoPanel();
         } catch (Exception e) {
@@ -161,26 +199,75 @@ public class BookingManagementPanel extends JPanel {
     private void displayBookings(List<Booking> bookingList) {
         // Clear existing data
         tableModel.setRowCount(0);
+        displayedBookings = bookingList;
 
         // Add bookings to table (removed ID column)
         for (Booking booking : bookingList) {
-            Object[] row = {
-                booking.getPnr(),
-                booking.getUserFullName() != null ? booking.getUserFullName() : "N/A",
-                booking.getFlightCode() != null ? booking.getFlightCode() : "N/A",
-                booking.getFullRoute() != null ? booking.getFullRoute() : "Route TBD",
-                booking.getDateOfDeparture() != null ? 
-                    booking.getDateOfDeparture().format(DateTimeFormatter.ofPattern("MM-dd")) : "TBD",
-                String.format("₹%.2f", booking.getAmount()),
-                booking.getPaymentStatus().getDisplayName(),
-                booking.getBookingStatus().getDisplayName()
-            };
-            tableModel.addRow(row);
+            tableModel.addRow(toRow(booking));
         }
 
         updateButtonStates();
     }
 
+    private Object[] toRow(Booking booking) {
+        return new Object[] {
+            booking.getPnr(),
+            booking.getUserFullName() != null ? booking.getUserFullName() : "N/A",
+            booking.getFlightCode() != null ? booking.getFlightCode() : "N/A",
+            booking.getFullRoute() != null ? booking.getFullRoute() : "Route TBD",
+            booking.getDateOfDeparture() != null ? 
+                booking.getDateOfDeparture().format(DateTimeFormatter.ofPattern("MM-dd")) : "TBD",
+            String.format("₹%.2f", booking.getAmount()),
+            booking.getPaymentStatus().getDisplayName(),
+            booking.getBookingStatus().getDisplayName()
+        };
+    }
+
+    private void addBooking(Booking booking) {
+        if (bookings == null || findLoadedBooking(booking.getBookingId()) != null) {
+            return;
+        }
+        // Newest first, as loaded; a filtered view picks it up when the search is cleared
+        bookings.add(0, booking);
+        if (displayedBookings == bookings) {
+            tableModel.insertRow(0, toRow(booking));
+        }
+        updateInfoPanel();
+    }
+
+    private void applyBookingStatus(int bookingId, Booking.BookingStatus status) {
+        Booking booking = findLoadedBooking(bookingId);
+        if (booking != null) {
+            booking.setBookingStatus(status);
+            int row = displayedBookings.indexOf(booking);
+            if (row >= 0) {
+                tableModel.setValueAt(status.getDisplayName(), row, STATUS_COLUMN);
+            }
+        }
+    }
+
+    private void applyPaymentStatus(int bookingId, Booking.PaymentStatus status) {
+        Booking booking = findLoadedBooking(bookingId);
+        if (booking != null) {
+            booking.setPaymentStatus(status);
+            int row = displayedBookings.indexOf(booking);
+            if (row >= 0) {
+                tableModel.setValueAt(status.getDisplayName(), row, PAYMENT_COLUMN);
+            }
+        }
+    }
+
+    private Booking findLoadedBooking(int bookingId) {
+        if (bookings != null) {
+            for (Booking booking : bookings) {
+                if (booking.getBookingId() == bookingId) {
+                    return booking;
+                }
+            }
+        }
+        return null;
+    }
+
     private void updateButtonStates() {
         boolean hasSelection = bookingsTable.getSelectedRow() != -1;
         viewDetailsButton.setEnabled(hasSelection);
@@ -247,7 +334,6 @@ public class BookingManagementPanel extends JPanel {
                     boolean success = bookingDAO.updateBookingStatus(selectedBooking.getBookingId(), newStatus);
                     if (success) {
                         showSuccess("Booking status updated successfully.");
-                        loadBookings();
                     } else {
                         showError("Failed to update booking status.");
                     }
@@ -298,7 +384,6 @@ public class BookingManagementPanel extends JPanel {
                     boolean success = bookingDAO.updatePaymentStatus(selectedBooking.getBookingId(), newStatus);
                     if (success) {
                         showSuccess("Payment status updated successfully.");
-                        loadBookings();
                     } else {
                         showError("Failed to update payment status.");
                     }
@@ -631,6 +716,7 @@ public class BookingManagementPanel extends JPanel {
         buttonsPanel.add(updateStatusButton);
         buttonsPanel.add(updatePaymentButton);
         buttonsPanel.add(refreshButton);
+        buttonsPanel.add(includeArchivedCheckBox);
 
         // Info panel
         JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
@@ -652,6 +738,34 @@ public class BookingManagementPanel extends JPanel {
         return actionPanel;
     }
 
+    /**
+     * Applies booking events to the table. Runs on the subscription's thread, so new
+     * bookings are read there and the table is only touched on the EDT.
+     */
+    private class BookingEventListener implements EventListener {
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (event instanceof BookingCreated) {
+                // The table shows joined passenger and flight details the event does not carry
+                Booking booking = bookingDAO.findById(((BookingCreated) event).getBookingId());
+                if (booking != null) {
+                    SwingUtilities.invokeLater(() -> addBooking(booking));
+                }
+            } else if (event instanceof BookingStatusChanged) {
+                BookingStatusChanged changed = (BookingStatusChanged) event;
+                SwingUtilities.invokeLater(() -> applyBookingStatus(changed.getBookingId(), changed.getNewStatus()));
+            } else if (event instanceof PaymentStatusChanged) {
+                PaymentStatusChanged changed = (PaymentStatusChanged) event;
+                SwingUtilities.invokeLater(() -> applyPaymentStatus(changed.getBookingId(), changed.getNewStatus()));
+            }
+        }
+
+        @Override
+        public void onEventsMissed(long count) {
+            SwingUtilities.invokeLater(BookingManagementPanel.this::loadBookings);
+        }
+    }
+
     /**
      * Custom cell renderer for PNR column
      */
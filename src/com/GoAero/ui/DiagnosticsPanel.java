@@ -0,0 +1,503 @@
+package com.GoAero.ui;
+
+import com.GoAero.cache.CacheStats;
+import com.GoAero.cache.EntityCache;
+import com.GoAero.cache.EntityCaches;
+import com.GoAero.db.ConnectionPool;
+import com.GoAero.db.DBConnection;
+import com.GoAero.db.DatabaseConfig;
+import com.GoAero.db.ReplicaRouter;
+import com.GoAero.db.SlowQueryLog;
+import com.GoAero.metrics.DaoMetrics;
+import com.GoAero.metrics.LatencyHistogram;
+import com.GoAero.metrics.MetricsServer;
+import com.GoAero.metrics.OperationMetrics;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Panel showing per-operation DAO metrics (calls, errors, rows and latency percentiles),
+ * entity cache hit ratios and the slow query log in the admin dashboard
+ */
+public class DiagnosticsPanel extends JPanel {
+    // Professional color scheme (consistent with other GoAero pages)
+    private static final Color PRIMARY_BLUE = new Color(25, 118, 210);
+    private static final Color ACCENT_ORANGE = new Color(255, 152, 0);
+    private static final Color DARK_BLUE = new Color(13, 71, 161);
+    private static final Color LIGHT_GRAY = new Color(245, 245, 245);
+    private static final Color HOVER_BLUE = new Color(30, 136, 229);
+    private static final Color SUCCESS_GREEN = new Color(76, 175, 80);
+    private static final Color BACKGROUND_GRAY = new Color(250, 250, 250);
+    private static final Color CARD_WHITE = Color.WHITE;
+    private static final Color DANGER_RED = new Color(244, 67, 54);
+
+    private static final int AUTO_REFRESH_MILLIS = 5000;
+
+    private JTable metricsTable;
+    private DefaultTableModel tableModel;
+    private JTable slowQueryTable;
+    private DefaultTableModel slowQueryModel;
+    private JTextArea slowQueryDetails;
+    private List<SlowQueryLog.Entry> slowQueries;
+    private JButton refreshButton, resetButton, reloadConfigButton;
+    private JCheckBox autoRefreshCheckBox;
+    private JLabel endpointLabel, cacheLabel, totalsLabel;
+    private Timer autoRefreshTimer;
+
+    public DiagnosticsPanel() {
+        initializeComponents();
+        setupLayout();
+        setupEventListeners();
+        loadMetrics();
+    }
+
+    private void initializeComponents() {
+        String[] columnNames = {"Operation", "Calls", "Errors", "Rows", "Avg (ms)", "p50 (ms)", "p95 (ms)", "p99 (ms)", "Max (ms)"};
+        tableModel = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+
+        metricsTable = new JTable(tableModel);
+        metricsTable.setAutoCreateRowSorter(true);
+        metricsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        metricsTable.setFont(new Font("Arial", Font.PLAIN, 13));
+        metricsTable.setRowHeight(32);
+        metricsTable.setGridColor(LIGHT_GRAY);
+        metricsTable.setSelectionBackground(new Color(230, 240, 255));
+        metricsTable.setSelectionForeground(DARK_BLUE);
+
+        // Style table header
+        metricsTable.getTableHeader().setFont(new Font("Arial", Font.BOLD, 14));
+        metricsTable.getTableHeader().setBackground(DARK_BLUE);
+        metricsTable.getTableHeader().setForeground(Color.WHITE);
+        metricsTable.getTableHeader().setPreferredSize(new Dimension(0, 40));
+
+        metricsTable.getColumnModel().getColumn(0).setPreferredWidth(280); // Operation
+        for (int i = 1; i < columnNames.length; i++) {
+            metricsTable.getColumnModel().getColumn(i).setPreferredWidth(90);
+            metricsTable.getColumnModel().getColumn(i).setCellRenderer(new NumberCellRenderer());
+        }
+
+        // Slow query log
+        String[] slowColumns = {"Time", "Operation", "Duration (ms)", "Rows", "Statement"};
+        slowQueryModel = new DefaultTableModel(slowColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        slowQueryTable = new JTable(slowQueryModel);
+        slowQueryTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        slowQueryTable.setFont(new Font("Arial", Font.PLAIN, 13));
+        slowQueryTable.setRowHeight(28);
+        slowQueryTable.setGridColor(LIGHT_GRAY);
+        slowQueryTable.setSelectionBackground(new Color(230, 240, 255));
+        slowQueryTable.setSelectionForeground(DARK_BLUE);
+        slowQueryTable.getTableHeader().setFont(new Font("Arial", Font.BOLD, 14));
+        slowQueryTable.getTableHeader().setBackground(DARK_BLUE);
+        slowQueryTable.getTableHeader().setForeground(Color.WHITE);
+        slowQueryTable.getColumnModel().getColumn(0).setPreferredWidth(80);
+        slowQueryTable.getColumnModel().getColumn(1).setPreferredWidth(220);
+        slowQueryTable.getColumnModel().getColumn(2).setPreferredWidth(100);
+        slowQueryTable.getColumnModel().getColumn(3).setPreferredWidth(70);
+        slowQueryTable.getColumnModel().getColumn(4).setPreferredWidth(600);
+        slowQueryTable.getColumnModel().getColumn(2).setCellRenderer(new NumberCellRenderer());
+        slowQueryTable.getColumnModel().getColumn(3).setCellRenderer(new NumberCellRenderer());
+
+        slowQueryDetails = new JTextArea(5, 40);
+        slowQueryDetails.setEditable(false);
+        slowQueryDetails.setLineWrap(true);
+        slowQueryDetails.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        refreshButton = createStyledButton("🔄 Refresh", DARK_BLUE, Color.WHITE, 14);
+        refreshButton.setPreferredSize(new Dimension(120, 40));
+        resetButton = createStyledButton("🗑 Reset Metrics", DANGER_RED, Color.WHITE, 14);
+        resetButton.setPreferredSize(new Dimension(160, 40));
+        reloadConfigButton = createStyledButton("⚙ Reload DB Config", ACCENT_ORANGE, Color.WHITE, 14);
+        reloadConfigButton.setPreferredSize(new Dimension(180, 40));
+
+        autoRefreshCheckBox = new JCheckBox("Auto-refresh every 5s", true);
+        autoRefreshCheckBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        autoRefreshCheckBox.setBackground(BACKGROUND_GRAY);
+        autoRefreshCheckBox.setForeground(DARK_BLUE);
+
+        String endpoint = MetricsServer.getEndpointUrl();
+        endpointLabel = new JLabel(endpoint != null
+            ? "Prometheus endpoint: " + endpoint
+            : "Prometheus endpoint disabled (start with -Dgoaero.metrics.port=9404)");
+        endpointLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        endpointLabel.setForeground(new Color(100, 100, 100));
+
+        cacheLabel = new JLabel();
+        cacheLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        cacheLabel.setForeground(new Color(100, 100, 100));
+
+        totalsLabel = new JLabel();
+        totalsLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        totalsLabel.setForeground(DARK_BLUE);
+        totalsLabel.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(LIGHT_GRAY, 1),
+            new EmptyBorder(8, 15, 8, 15)
+        ));
+        totalsLabel.setBackground(CARD_WHITE);
+        totalsLabel.setOpaque(true);
+
+        autoRefreshTimer = new Timer(AUTO_REFRESH_MILLIS, e -> loadMetrics());
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+        setBackground(BACKGROUND_GRAY);
+
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBackground(BACKGROUND_GRAY);
+        mainPanel.setBorder(new EmptyBorder(20, 25, 20, 25));
+
+        mainPanel.add(createHeaderSection(), BorderLayout.NORTH);
+        mainPanel.add(createContentSection(), BorderLayout.CENTER);
+        mainPanel.add(createActionSection(), BorderLayout.SOUTH);
+
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void setupEventListeners() {
+        refreshButton.addActionListener(e -> loadMetrics());
+        resetButton.addActionListener(e -> resetMetrics());
+        reloadConfigButton.addActionListener(e -> reloadDatabaseConfig());
+        autoRefreshCheckBox.addActionListener(e -> updateAutoRefresh());
+        slowQueryTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSlowQueryDetails();
+            }
+        });
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        updateAutoRefresh();
+    }
+
+    @Override
+    public void removeNotify() {
+        autoRefreshTimer.stop();
+        super.removeNotify();
+    }
+
+    private void updateAutoRefresh() {
+        if (autoRefreshCheckBox.isSelected()) {
+            autoRefreshTimer.start();
+        } else {
+            autoRefreshTimer.stop();
+        }
+    }
+
+    private void loadMetrics() {
+        List<OperationMetrics> operations = DaoMetrics.getOperations();
+        tableModel.setRowCount(0);
+
+        long totalCalls = 0;
+        long totalErrors = 0;
+        for (OperationMetrics m : operations) {
+            LatencyHistogram latency = m.getLatency();
+            long count = latency.getCount();
+            Object[] row = {
+                m.getOperation(),
+                m.getCalls(),
+                m.getErrors(),
+                m.getRows(),
+                toMillis(count > 0 ? latency.getSumNanos() / count : 0),
+                toMillis(latency.getPercentileNanos(50)),
+                toMillis(latency.getPercentileNanos(95)),
+                toMillis(latency.getPercentileNanos(99)),
+                toMillis(latency.getMaxNanos())
+            };
+            tableModel.addRow(row);
+            totalCalls += m.getCalls();
+            totalErrors += m.getErrors();
+        }
+
+        ConnectionPool pool = DBConnection.getPool();
+        totalsLabel.setText(String.format(
+            "Operations: %d | Calls: %d | Errors: %d | Pool: %d/%d in use, %d idle | DB circuit: %s | Replica: %s",
+            operations.size(), totalCalls, totalErrors, pool.getActiveConnections(), pool.getMaxSize(),
+            pool.getIdleConnections(), DBConnection.getCircuitBreaker().getState().getDisplayName(),
+            describeReplica(DBConnection.getReplicaRouter())));
+        cacheLabel.setText(describeCaches());
+
+        loadSlowQueries();
+    }
+
+    private String describeReplica(ReplicaRouter router) {
+        if (!router.isConfigured()) {
+            return "not configured";
+        }
+        long lag = router.getReplicaLagSeconds();
+        return lag < 0 ? "unavailable" : "lag " + lag + " s";
+    }
+
+    private String describeCaches() {
+        if (!EntityCaches.isEnabled()) {
+            return "Entity caches disabled (-Dgoaero.cache.enabled=false)";
+        }
+        StringBuilder text = new StringBuilder("Entity caches:");
+        for (EntityCache<?, ?> cache : EntityCaches.getCaches()) {
+            CacheStats stats = cache.getStats();
+            long loads = stats.getLoadCount();
+            text.append(String.format("  %s %.1f%% hits (%d/%d, %d evicted, avg load %s ms)",
+                cache.getName(), stats.getHitRatio() * 100, cache.size(), cache.getMaximumSize(),
+                stats.getEvictionCount(),
+                toMillis(loads > 0 ? stats.getLoadTime().getSumNanos() / loads : 0)));
+        }
+        return text.toString();
+    }
+
+    private void loadSlowQueries() {
+        List<SlowQueryLog.Entry> entries = SlowQueryLog.getRecentEntries();
+        if (slowQueries != null && entries.size() == slowQueries.size()
+                && (entries.isEmpty() || entries.get(0) == slowQueries.get(0))) {
+            // Nothing new; keep the current selection
+            return;
+        }
+        slowQueries = entries;
+        slowQueryModel.setRowCount(0);
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm:ss");
+        for (SlowQueryLog.Entry entry : slowQueries) {
+            Object[] row = {
+                entry.getLoggedAt().format(timeFormat),
+                entry.getOperation(),
+                entry.getDurationMillis(),
+                entry.getRows(),
+                entry.getSql().replaceAll("\\s+", " ").trim()
+            };
+            slowQueryModel.addRow(row);
+        }
+        slowQueryDetails.setText("");
+    }
+
+    private void showSlowQueryDetails() {
+        int selectedRow = slowQueryTable.getSelectedRow();
+        if (selectedRow < 0 || slowQueries == null || selectedRow >= slowQueries.size()) {
+            slowQueryDetails.setText("");
+            return;
+        }
+        SlowQueryLog.Entry entry = slowQueries.get(selectedRow);
+        StringBuilder details = new StringBuilder(entry.getSql().replaceAll("\\s+", " ").trim());
+        if (!entry.getMaskedParameters().isEmpty()) {
+            details.append("\nParameters: ").append(entry.getMaskedParameters());
+        }
+        if (entry.getPlan() != null) {
+            details.append('\n').append(entry.getPlan());
+        }
+        slowQueryDetails.setText(details.toString());
+        slowQueryDetails.setCaretPosition(0);
+    }
+
+    private void resetMetrics() {
+        int confirm = JOptionPane.showConfirmDialog(
+            this,
+            "Discard all recorded DAO metrics?",
+            "Reset Metrics",
+            JOptionPane.YES_NO_OPTION
+        );
+        if (confirm == JOptionPane.YES_OPTION) {
+            DaoMetrics.reset();
+            loadMetrics();
+        }
+    }
+
+    private void reloadDatabaseConfig() {
+        DatabaseConfig config = DatabaseConfig.reload();
+        JOptionPane.showMessageDialog(this,
+            String.format("Configuration loaded from %s%nPool size: %d, acquire timeout: %d ms",
+                config.getSource(), config.getPoolMaxSize(), config.getAcquireTimeoutMillis()),
+            "Database Configuration", JOptionPane.INFORMATION_MESSAGE);
+        loadMetrics();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    private JButton createStyledButton(String text, Color bgColor, Color textColor, int fontSize) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, fontSize));
+        button.setBackground(bgColor);
+        button.setForeground(textColor);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createRaisedBevelBorder(),
+            BorderFactory.createEmptyBorder(8, 15, 8, 15)
+        ));
+
+        // Add hover effects
+        Color originalBg = bgColor;
+        Color hoverColor = createHoverColor(bgColor);
+
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(hoverColor);
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(originalBg);
+            }
+        });
+
+        return button;
+    }
+
+    private Color createHoverColor(Color originalColor) {
+        if (originalColor.equals(PRIMARY_BLUE)) {
+            return HOVER_BLUE;
+        } else if (originalColor.equals(ACCENT_ORANGE)) {
+            return new Color(255, 167, 38);
+        } else if (originalColor.equals(SUCCESS_GREEN)) {
+            return new Color(102, 187, 106);
+        } else if (originalColor.equals(DANGER_RED)) {
+            return new Color(255, 87, 87);
+        } else {
+            // For other colors, create a lighter version
+            int r = Math.min(255, originalColor.getRed() + 20);
+            int g = Math.min(255, originalColor.getGreen() + 20);
+            int b = Math.min(255, originalColor.getBlue() + 20);
+            return new Color(r, g, b);
+        }
+    }
+
+    private JPanel createHeaderSection() {
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(BACKGROUND_GRAY);
+        headerPanel.setBorder(new EmptyBorder(0, 0, 25, 0));
+
+        JPanel titlePanel = new JPanel();
+        titlePanel.setLayout(new BoxLayout(titlePanel, BoxLayout.Y_AXIS));
+        titlePanel.setBackground(BACKGROUND_GRAY);
+
+        JLabel titleLabel = new JLabel("🩺 Diagnostics");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
+        titleLabel.setForeground(DARK_BLUE);
+        titleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        JLabel subtitleLabel = new JLabel("Database call counts, errors, rows and latency per DAO operation, and slow statements");
+        subtitleLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        subtitleLabel.setForeground(new Color(100, 100, 100));
+        subtitleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        endpointLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        cacheLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        titlePanel.add(titleLabel);
+        titlePanel.add(Box.createVerticalStrut(5));
+        titlePanel.add(subtitleLabel);
+        titlePanel.add(Box.createVerticalStrut(5));
+        titlePanel.add(endpointLabel);
+        titlePanel.add(Box.createVerticalStrut(5));
+        titlePanel.add(cacheLabel);
+
+        headerPanel.add(titlePanel, BorderLayout.WEST);
+        return headerPanel;
+    }
+
+    private JPanel createContentSection() {
+        JPanel contentContainer = new JPanel(new BorderLayout());
+        contentContainer.setBackground(CARD_WHITE);
+        contentContainer.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(LIGHT_GRAY, 1),
+            new EmptyBorder(20, 20, 20, 20)
+        ));
+
+        JLabel tableTitle = new JLabel("DAO Operations");
+        tableTitle.setFont(new Font("Arial", Font.BOLD, 18));
+        tableTitle.setForeground(DARK_BLUE);
+        tableTitle.setBorder(new EmptyBorder(0, 0, 15, 0));
+
+        JScrollPane scrollPane = new JScrollPane(metricsTable);
+        scrollPane.setBorder(BorderFactory.createLineBorder(LIGHT_GRAY, 1));
+        scrollPane.setPreferredSize(new Dimension(0, 300));
+        scrollPane.getViewport().setBackground(Color.WHITE);
+
+        JPanel operationsPanel = new JPanel(new BorderLayout());
+        operationsPanel.setBackground(CARD_WHITE);
+        operationsPanel.add(tableTitle, BorderLayout.NORTH);
+        operationsPanel.add(scrollPane, BorderLayout.CENTER);
+
+        // Slow query log with the selected entry's parameters and plan
+        String threshold = SlowQueryLog.isEnabled()
+            ? "statements over " + SlowQueryLog.getThresholdMillis() + " ms"
+            : "disabled";
+        JLabel slowTitle = new JLabel("Slow Queries (" + threshold + ")");
+        slowTitle.setFont(new Font("Arial", Font.BOLD, 18));
+        slowTitle.setForeground(DARK_BLUE);
+        slowTitle.setBorder(new EmptyBorder(15, 0, 15, 0));
+
+        JScrollPane slowScrollPane = new JScrollPane(slowQueryTable);
+        slowScrollPane.setBorder(BorderFactory.createLineBorder(LIGHT_GRAY, 1));
+        slowScrollPane.getViewport().setBackground(Color.WHITE);
+
+        JScrollPane detailsScrollPane = new JScrollPane(slowQueryDetails);
+        detailsScrollPane.setBorder(BorderFactory.createLineBorder(LIGHT_GRAY, 1));
+
+        JPanel slowPanel = new JPanel(new BorderLayout(0, 10));
+        slowPanel.setBackground(CARD_WHITE);
+        slowPanel.add(slowTitle, BorderLayout.NORTH);
+        slowPanel.add(slowScrollPane, BorderLayout.CENTER);
+        slowPanel.add(detailsScrollPane, BorderLayout.SOUTH);
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, operationsPanel, slowPanel);
+        splitPane.setResizeWeight(0.6);
+        splitPane.setBorder(null);
+
+        contentContainer.add(splitPane, BorderLayout.CENTER);
+        return contentContainer;
+    }
+
+    private JPanel createActionSection() {
+        JPanel actionPanel = new JPanel(new BorderLayout());
+        actionPanel.setBackground(BACKGROUND_GRAY);
+        actionPanel.setBorder(new EmptyBorder(20, 0, 0, 0));
+
+        JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 0));
+        buttonsPanel.setBackground(BACKGROUND_GRAY);
+        buttonsPanel.add(refreshButton);
+        buttonsPanel.add(resetButton);
+        buttonsPanel.add(reloadConfigButton);
+        buttonsPanel.add(autoRefreshCheckBox);
+
+        JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        infoPanel.setBackground(BACKGROUND_GRAY);
+        infoPanel.add(totalsLabel);
+
+        actionPanel.add(buttonsPanel, BorderLayout.WEST);
+        actionPanel.add(infoPanel, BorderLayout.EAST);
+        return actionPanel;
+    }
+
+    /**
+     * Right-aligns numeric columns
+     */
+    private static class NumberCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            setHorizontalAlignment(SwingConstants.RIGHT);
+            return this;
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package com.GoAero.ui;
 
-import com.GoAero.dao.BookingDAO;
 import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Booking;
 import com.GoAero.model.Flight;
+import com.GoAero.model.SeatHold;
 import com.GoAero.model.SessionManager;
 import com.GoAero.model.User;
-import com.GoAero.util.PNRGenerator;
+import com.GoAero.service.BookingService;
+import com.GoAero.service.SeatHoldService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Dialog for booking a selected flight with modern UI design
@@ -27,28 +31,76 @@ public class FlightBookingDialog extends JDialog {
     private static final Color CARD_WHITE = Color.WHITE;
     private Flight selectedFlight;
     private User currentUser;
-    private BookingDAO bookingDAO;
     private FlightDAO flightDAO;
+    private BookingService bookingService;
+    private SeatHoldService seatHoldService;
+    private final String bookingRequestId = BookingService.newIdempotencyKey();
+    private SeatHold seatHold; // Seat reserved while this dialog is open
     
     private JLabel flightInfoLabel, priceLabel, passengerInfoLabel;
+    private JSpinner passengerCountSpinner;
     private JButton confirmBookingButton, cancelButton;
 
     public FlightBookingDialog(Frame parent, Flight flight) {
         super(parent, "Book Flight", true);
         this.selectedFlight = flight;
         this.currentUser = SessionManager.getInstance().getCurrentUser();
-        this.bookingDAO = new BookingDAO();
         this.flightDAO = new FlightDAO();
+        this.seatHoldService = SeatHoldService.getInstance();
+        this.bookingService = new BookingService();
         
         initializeComponents();
         setupLayout();
         setupEventListeners();
+
+        placeInitialHold();
+    }
+
+    private void placeInitialHold() {
+        // Hold a seat while the passenger reviews the booking; released again on close
+        confirmBookingButton.setEnabled(false);
+        new SwingWorker<SeatHold, Void>() {
+            @Override
+            protected SeatHold doInBackground() {
+                return seatHoldService.placeHold(selectedFlight.getFlightId(), currentUser.getUserId(), 1);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    keepHold(get());
+                } catch (Exception e) {
+                    // No hold yet; confirming places one
+                } finally {
+                    confirmBookingButton.setEnabled(true);
+                }
+            }
+        }.execute();
+    }
+
+    // Adopts a hold placed on a worker thread, or releases it if the dialog closed meanwhile
+    private void keepHold(SeatHold hold) {
+        if (hold == null) {
+            return;
+        }
+        if (isDisplayable()) {
+            seatHold = hold;
+        } else {
+            releaseInBackground(hold);
+        }
+    }
+
+    private void releaseInBackground(SeatHold hold) {
+        Thread thread = new Thread(() -> seatHoldService.release(hold), "seat-hold-release");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     private void initializeComponents() {
         setSize(600, 550);
         setLocationRelativeTo(getParent());
         setResizable(false);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
 
         // Flight information with modern styling
         String flightInfo = String.format(
@@ -74,14 +126,16 @@ public class FlightBookingDialog extends JDialog {
         flightInfoLabel.setVerticalAlignment(SwingConstants.TOP);
 
         // Price information with modern styling
-        priceLabel = new JLabel(String.format(
-            "<html><div style='text-align: center; font-family: Arial;'>" +
-            "<h2 style='color: #4CAF50; margin: 10px 0;'>💰 Total Price: ₹%.2f</h2>" +
-            "</div></html>",
-            selectedFlight.getPrice()
-        ));
+        priceLabel = new JLabel();
+        updatePriceLabel(1);
         priceLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
+        // Party size: every seat is reserved and booked together under one record locator
+        int maxPassengers = Math.max(1, Math.min(BookingService.MAX_GROUP_SIZE, selectedFlight.getAvailableSeats()));
+        passengerCountSpinner = new JSpinner(new SpinnerNumberModel(1, 1, maxPassengers, 1));
+        passengerCountSpinner.setFont(new Font("Arial", Font.PLAIN, 14));
+        passengerCountSpinner.addChangeListener(e -> updatePriceLabel((Integer) passengerCountSpinner.getValue()));
+
         // Passenger information with modern styling
         String passengerInfo = String.format(
             "<html><div style='font-family: Arial; padding: 10px;'>" +
@@ -172,6 +226,11 @@ public class FlightBookingDialog extends JDialog {
         // Price panel
         JPanel pricePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         pricePanel.setBackground(CARD_WHITE);
+        JLabel passengersLabel = new JLabel("Passengers:");
+        passengersLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        pricePanel.add(passengersLabel);
+        pricePanel.add(passengerCountSpinner);
+        pricePanel.add(Box.createHorizontalStrut(15));
         pricePanel.add(priceLabel);
         contentPanel.add(pricePanel);
         contentPanel.add(Box.createVerticalStrut(20));
@@ -224,68 +283,134 @@ public class FlightBookingDialog extends JDialog {
     private void confirmBooking() {
         // Disable button to prevent double-clicking
         confirmBookingButton.setEnabled(false);
-        
-        try {
-            // Check if flight still has available seats
-            int currentAvailableSeats = flightDAO.getAvailableSeats(selectedFlight.getFlightId());
-            if (currentAvailableSeats <= 0) {
-                showError("Sorry, this flight is now fully booked.");
-                return;
+        // Retries reuse the request ID, and a single booking is stored under other keys than
+        // a group, so the party size is fixed once a submission has been attempted
+        passengerCountSpinner.setEnabled(false);
+        int passengers = (Integer) passengerCountSpinner.getValue();
+        SeatHold currentHold = seatHold;
+        seatHold = null;
+
+        new SwingWorker<List<Booking>, Void>() {
+            private SeatHold hold = currentHold;
+
+            @Override
+            protected List<Booking> doInBackground() {
+                // Re-acquire seats if the hold could not be placed, has expired or the party size changed
+                if (hold == null || hold.isExpired() || hold.getSeats() != passengers) {
+                    seatHoldService.release(hold);
+                    hold = seatHoldService.placeHold(selectedFlight.getFlightId(), currentUser.getUserId(), passengers);
+                    if (hold == null) {
+                        // The last seats may have gone to an earlier attempt of this same request
+                        return findPreviousBookings(passengers);
+                    }
+                }
+
+                // Convert the held seats into bookings. Retries reuse the same request ID,
+                // so a submission that already succeeded returns its original bookings.
+                List<Booking> savedBookings;
+                if (passengers == 1) {
+                    Booking saved = bookingService.bookHeldSeat(
+                        hold, selectedFlight, currentUser.getUserId(), bookingRequestId);
+                    savedBookings = saved != null ? Collections.singletonList(saved) : Collections.emptyList();
+                } else {
+                    savedBookings = bookingService.bookHeldSeats(hold, selectedFlight,
+                        Collections.nCopies(passengers, currentUser.getUserId()), bookingRequestId);
+                }
+                if (!savedBookings.isEmpty()) {
+                    hold = null;
+                }
+                return savedBookings;
             }
 
-            // Generate unique PNR
-            String pnr;
-            do {
-                pnr = PNRGenerator.generatePNRWithAirline(selectedFlight.getCompanyCode());
-            } while (bookingDAO.pnrExists(pnr));
-
-            // Create booking
-            Booking booking = new Booking();
-            booking.setUserId(currentUser.getUserId());
-            booking.setFlightId(selectedFlight.getFlightId());
-            booking.setDepartureAirportId(selectedFlight.getDepartureAirportId());
-            booking.setDestinationAirportId(selectedFlight.getDestinationAirportId());
-            booking.setDepartureTime(selectedFlight.getDepartureTime());
-            booking.setDestinationTime(selectedFlight.getDestinationTime());
-            booking.setPnr(pnr);
-            booking.setDateOfDeparture(selectedFlight.getDepartureTime().toLocalDate());
-            booking.setDateOfDestination(selectedFlight.getDestinationTime().toLocalDate());
-            booking.setAmount(selectedFlight.getPrice());
-            booking.setPaymentStatus(Booking.PaymentStatus.PENDING);
-            booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
-
-            // Save booking to database
-            Booking savedBooking = bookingDAO.create(booking);
-            
-            if (savedBooking != null) {
-                showBookingConfirmation(savedBooking);
-                dispose();
-            } else {
-                showError("Booking failed. Please try again.");
+            @Override
+            protected void done() {
+                confirmBookingButton.setEnabled(true);
+                try {
+                    List<Booking> savedBookings = get();
+                    if (!savedBookings.isEmpty()) {
+                        showBookingConfirmation(savedBookings);
+                        dispose();
+                    } else if (hold == null) {
+                        showError(passengers == 1
+                            ? "Sorry, this flight is now fully booked."
+                            : "Sorry, this flight no longer has " + passengers + " seats available.");
+                    } else {
+                        // The hold expired or was swept; the next attempt places a fresh one
+                        hold = null;
+                        showError("Your seat reservation expired. Please try again.");
+                    }
+                } catch (Exception e) {
+                    // Keep the hold, so the next attempt can still convert it
+                    keepHold(hold);
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Booking failed: " + cause.getMessage());
+                }
             }
+        }.execute();
+    }
+
+    @Override
+    public void dispose() {
+        // Release the seat if the dialog closes without a completed booking
+        if (seatHold != null) {
+            releaseInBackground(seatHold);
+            seatHold = null;
+        }
+        super.dispose();
+    }
 
-        } catch (Exception e) {
-            showError("Booking failed: " + e.getMessage());
-        } finally {
-            confirmBookingButton.setEnabled(true);
+    private List<Booking> findPreviousBookings(int passengers) {
+        if (passengers == 1) {
+            Booking previous = bookingService.findByIdempotencyKey(bookingRequestId);
+            return previous != null ? Collections.singletonList(previous) : Collections.emptyList();
         }
+        return bookingService.findGroupByIdempotencyKey(bookingRequestId);
     }
 
-    private void showBookingConfirmation(Booking booking) {
+    private void updatePriceLabel(int passengers) {
+        BigDecimal total = selectedFlight.getPrice().multiply(BigDecimal.valueOf(passengers));
+        priceLabel.setText(String.format(
+            "<html><div style='text-align: center; font-family: Arial;'>" +
+            "<h2 style='color: #4CAF50; margin: 10px 0;'>💰 Total Price: ₹%.2f</h2>" +
+            "</div></html>",
+            total
+        ));
+    }
+
+    private void showBookingConfirmation(List<Booking> bookings) {
+        Booking booking = bookings.get(0);
+        BigDecimal total = BigDecimal.ZERO;
+        StringBuilder pnrs = new StringBuilder();
+        StringBuilder seats = new StringBuilder();
+        for (Booking b : bookings) {
+            total = total.add(b.getAmount());
+            if (pnrs.length() > 0) {
+                pnrs.append(", ");
+            }
+            pnrs.append(b.getPnr());
+            if (b.getSeatNumber() != null) {
+                seats.append(seats.length() > 0 ? ", " : "").append(b.getSeatNumber());
+            }
+        }
+
         String confirmationMessage = String.format(
             "Booking Confirmed!\n\n" +
+            "%s" +
             "PNR: %s\n" +
             "Flight: %s\n" +
             "Route: %s\n" +
             "Departure: %s\n" +
+            "%s" +
             "Amount: ₹%.2f\n\n" +
             "Please save your PNR for future reference.\n" +
             "You can view your booking details in 'My Bookings'.",
-            booking.getPnr(),
+            booking.getRecordLocator() != null ? "Record Locator: " + booking.getRecordLocator() + "\n" : "",
+            pnrs,
             selectedFlight.getFlightCode(),
             selectedFlight.getFullRoute(),
             selectedFlight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-            booking.getAmount()
+            seats.length() > 0 ? (bookings.size() == 1 ? "Seat: " : "Seats: ") + seats + "\n" : "",
+            total
         );
 
         JOptionPane.showMessageDialog(
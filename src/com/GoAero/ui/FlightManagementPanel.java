@@ -1,7 +1,15 @@
 package com.GoAero.ui;
 
 import com.GoAero.dao.FlightDAO;
+import com.GoAero.event.DomainEvent;
+import com.GoAero.event.EventBus;
+import com.GoAero.event.EventListener;
+import com.GoAero.event.FlightCancelled;
+import com.GoAero.event.FlightDeleted;
+import com.GoAero.event.FlightUpdated;
+import com.GoAero.event.Subscription;
 import com.GoAero.model.Flight;
+import com.GoAero.service.FlightCancellationService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -14,7 +22,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
- * Panel for managing flights in the admin dashboard with modern UI design
+ * Panel for managing flights in the admin dashboard with modern UI design.
+ * While shown, flight edits and deletions made anywhere in the application are applied
+ * to the table as they happen.
  */
 public class FlightManagementPanel extends JPanel {
     // Professional color scheme (consistent with other GoAero pages)
@@ -29,11 +39,14 @@ public class FlightManagementPanel extends JPanel {
     private static final Color DANGER_RED = new Color(244, 67, 54);
     private JTable flightsTable;
     private DefaultTableModel tableModel;
-    private JButton addFlightButton, editFlightButton, deleteFlightButton, refreshButton;
+    private JButton addFlightButton, editFlightButton, cancelFlightButton, deleteFlightButton, refreshButton;
     private JTextField searchField;
     private JButton searchButton;
     private FlightDAO flightDAO;
     private List<Flight> flights;
+    private List<Flight> displayedFlights;
+    private Subscription flightEvents;
+    private boolean cancelling;
 
     public FlightManagementPanel() {
         flightDAO = new FlightDAO();
@@ -93,6 +106,7 @@ public class FlightManagementPanel extends JPanel {
         // Modern styled buttons with icons
         addFlightButton = createStyledButton("✈ Add Flight", PRIMARY_BLUE, Color.WHITE, 14);
         editFlightButton = createStyledButton("✏ Edit Flight", ACCENT_ORANGE, Color.WHITE, 14);
+        cancelFlightButton = createStyledButton("⛔ Cancel Flight", DARK_BLUE, Color.WHITE, 14);
         deleteFlightButton = createStyledButton("🗑 Delete Flight", DANGER_RED, Color.WHITE, 14);
         refreshButton = createStyledButton("🔄 Refresh", SUCCESS_GREEN, Color.WHITE, 14);
 
@@ -130,6 +144,7 @@ public class FlightManagementPanel extends JPanel {
     private void setupEventListeners() {
         addFlightButton.addActionListener(e -> addFlight());
         editFlightButton.addActionListener(e -> editFlight());
+        cancelFlightButton.addActionListener(e -> cancelFlight());
         deleteFlightButton.addActionListener(e -> deleteFlight());
         refreshButton.addActionListener(e -> loadFlights());
         searchButton.addActionListener(e -> searchFlights());
@@ -147,6 +162,23 @@ public class FlightManagementPanel extends JPanel {
         });
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (flightEvents == null) {
+            flightEvents = EventBus.getInstance().subscribe("flight-management", new FlightEventListener());
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (flightEvents != null) {
+            flightEvents.close();
+            flightEvents = null;
+        }
+        super.removeNotify();
+    }
+
     private void loadFlights() {
         try {
             flights = flightDAO.findAll();
@@ -160,30 +192,89 @@ public class FlightManagementPanel extends JPanel {
     private void displayFlights(List<Flight> flightList) {
         // Clear existing data
         tableModel.setRowCount(0);
+        displayedFlights = flightList;
 
         // Add flights to table (removed ID column)
         for (Flight flight : flightList) {
-            Object[] row = {
-                flight.getFlightCode(),
-                flight.getCompanyName() != null ? flight.getCompanyName() : "N/A",
-                flight.getRoute() != null ? flight.getRoute() : "Route TBD",
-                flight.getDepartureTime() != null ? 
-                    flight.getDepartureTime().format(DateTimeFormatter.ofPattern("MM-dd HH:mm")) : "TBD",
-                flight.getDestinationTime() != null ? 
-                    flight.getDestinationTime().format(DateTimeFormatter.ofPattern("MM-dd HH:mm")) : "TBD",
-                String.format("₹%.2f", flight.getPrice()),
-                flight.getCapacity(),
-                flight.getAvailableSeats()
-            };
-            tableModel.addRow(row);
+            tableModel.addRow(toRow(flight));
         }
 
         updateButtonStates();
     }
 
+    private Object[] toRow(Flight flight) {
+        return new Object[] {
+            flight.getFlightCode(),
+            flight.getCompanyName() != null ? flight.getCompanyName() : "N/A",
+            flight.getRoute() != null ? flight.getRoute() : "Route TBD",
+            flight.getDepartureTime() != null ? 
+                flight.getDepartureTime().format(DateTimeFormatter.ofPattern("MM-dd HH:mm")) : "TBD",
+            flight.getDestinationTime() != null ? 
+                flight.getDestinationTime().format(DateTimeFormatter.ofPattern("MM-dd HH:mm")) : "TBD",
+            String.format("₹%.2f", flight.getPrice()),
+            flight.getCapacity(),
+            flight.getAvailableSeats()
+        };
+    }
+
+    private void replaceFlight(Flight updated) {
+        int index = indexOfFlight(flights, updated.getFlightId());
+        if (index < 0) {
+            return;
+        }
+        // findById does not fill in availability; keep what the table showed
+        updated.setAvailableSeats(flights.get(index).getAvailableSeats());
+        flights.set(index, updated);
+        int row = index;
+        if (displayedFlights != flights) {
+            row = indexOfFlight(displayedFlights, updated.getFlightId());
+            if (row >= 0) {
+                displayedFlights.set(row, updated);
+            }
+        }
+        if (row >= 0) {
+            Object[] values = toRow(updated);
+            for (int column = 0; column < values.length; column++) {
+                tableModel.setValueAt(values[column], row, column);
+            }
+        }
+    }
+
+    private void removeFlight(int flightId) {
+        int index = indexOfFlight(flights, flightId);
+        if (index < 0) {
+            return;
+        }
+        flights.remove(index);
+        int row = index;
+        if (displayedFlights != flights) {
+            row = indexOfFlight(displayedFlights, flightId);
+            if (row >= 0) {
+                displayedFlights.remove(row);
+            }
+        }
+        if (row >= 0) {
+            tableModel.removeRow(row);
+        }
+        updateButtonStates();
+        updateInfoPanel();
+    }
+
+    private static int indexOfFlight(List<Flight> flightList, int flightId) {
+        if (flightList != null) {
+            for (int i = 0; i < flightList.size(); i++) {
+                if (flightList.get(i).getFlightId() == flightId) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
     private void updateButtonStates() {
         boolean hasSelection = flightsTable.getSelectedRow() != -1;
         editFlightButton.setEnabled(hasSelection);
+        cancelFlightButton.setEnabled(hasSelection && !cancelling);
         deleteFlightButton.setEnabled(hasSelection);
     }
 
@@ -222,10 +313,7 @@ public class FlightManagementPanel extends JPanel {
             flightDAO
         );
         dialog.setVisible(true);
-        
-        if (dialog.isDataChanged()) {
-            loadFlights();
-        }
+        // A successful save publishes FlightUpdated, which refreshes the row
     }
 
     private void deleteFlight() {
@@ -245,7 +333,6 @@ public class FlightManagementPanel extends JPanel {
                 boolean success = flightDAO.delete(selectedFlight.getFlightId());
                 if (success) {
                     showSuccess("Flight deleted successfully.");
-                    loadFlights();
                 } else {
                     showError("Failed to delete flight. It may have associated bookings.");
                 }
@@ -255,6 +342,78 @@ public class FlightManagementPanel extends JPanel {
         }
     }
 
+    private void cancelFlight() {
+        int selectedRow = flightsTable.getSelectedRow();
+        if (selectedRow == -1) {
+            showError("Please select a flight to cancel.");
+            return;
+        }
+
+        Flight selectedFlight = displayedFlights.get(selectedRow);
+        int choice = JOptionPane.showConfirmDialog(
+            this,
+            "Cancel flight " + selectedFlight.getFlightCode() + "?\n\n" +
+            "All of its bookings will be cancelled, refunds will be marked due for paid\n" +
+            "bookings and the flight will stop taking new bookings. This cannot be undone.",
+            "Cancel Flight",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.WARNING_MESSAGE
+        );
+        if (choice != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        cancelling = true;
+        updateButtonStates();
+        cancelFlightButton.setText("Cancelling...");
+        int flightId = selectedFlight.getFlightId();
+        new SwingWorker<FlightCancellationService.Result, Integer>() {
+            @Override
+            protected FlightCancellationService.Result doInBackground() {
+                return FlightCancellationService.getInstance().cancelFlight(flightId, this::publish);
+            }
+
+            @Override
+            protected void process(List<Integer> counts) {
+                cancelFlightButton.setText("Cancelled " + counts.get(counts.size() - 1) + "...");
+            }
+
+            @Override
+            protected void done() {
+                cancelling = false;
+                cancelFlightButton.setText("⛔ Cancel Flight");
+                updateButtonStates();
+                try {
+                    FlightCancellationService.Result result = get();
+                    if (result == null) {
+                        showError("Failed to cancel flight. It may have been deleted.");
+                    } else if (!result.isComplete()) {
+                        showError("Cancelled " + result.getBookingsCancelled() + " bookings before an error " +
+                            "stopped the cancellation. Cancel the flight again to finish.");
+                    } else {
+                        showSuccess(String.format("Flight cancelled. %d bookings cancelled, %d refunds due (₹%.2f).",
+                            result.getBookingsCancelled(), result.getRefundsDue(), result.getRefundAmount()));
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Cancellation failed: " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private void showNoSeats(int flightId) {
+        int index = indexOfFlight(flights, flightId);
+        if (index < 0) {
+            return;
+        }
+        flights.get(index).setAvailableSeats(0);
+        int row = displayedFlights == flights ? index : indexOfFlight(displayedFlights, flightId);
+        if (row >= 0) {
+            tableModel.setValueAt(0, row, 7);
+        }
+    }
+
     private void searchFlights() {
         String searchTerm = searchField.getText().trim();
         if (searchTerm.isEmpty() || searchTerm.equals("Search flights by code, airline, or route...")) {
@@ -571,11 +730,13 @@ public class FlightManagementPanel extends JPanel {
         
         addFlightButton.setPreferredSize(new Dimension(130, 40));
         editFlightButton.setPreferredSize(new Dimension(130, 40));
+        cancelFlightButton.setPreferredSize(new Dimension(150, 40));
         deleteFlightButton.setPreferredSize(new Dimension(150, 40));
         refreshButton.setPreferredSize(new Dimension(110, 40));
         
         buttonsPanel.add(addFlightButton);
         buttonsPanel.add(editFlightButton);
+        buttonsPanel.add(cancelFlightButton);
         buttonsPanel.add(deleteFlightButton);
         buttonsPanel.add(refreshButton);
 
@@ -599,6 +760,38 @@ public class FlightManagementPanel extends JPanel {
         return actionPanel;
     }
 
+    /**
+     * Applies flight events to the table. Runs on the subscription's thread, so updated
+     * flights are read there and the table is only touched on the EDT.
+     */
+    private class FlightEventListener implements EventListener {
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (event instanceof FlightUpdated) {
+                int flightId = ((FlightUpdated) event).getFlightId();
+                Flight updated = flightDAO.findById(flightId);
+                SwingUtilities.invokeLater(() -> {
+                    if (updated != null) {
+                        replaceFlight(updated);
+                    } else {
+                        removeFlight(flightId);
+                    }
+                });
+            } else if (event instanceof FlightDeleted) {
+                int flightId = ((FlightDeleted) event).getFlightId();
+                SwingUtilities.invokeLater(() -> removeFlight(flightId));
+            } else if (event instanceof FlightCancelled) {
+                int flightId = ((FlightCancelled) event).getFlightId();
+                SwingUtilities.invokeLater(() -> showNoSeats(flightId));
+            }
+        }
+
+        @Override
+        public void onEventsMissed(long count) {
+            SwingUtilities.invokeLater(FlightManagementPanel.this::loadFlights);
+        }
+    }
+
     /**
      * Custom cell renderer for flight code column
      */
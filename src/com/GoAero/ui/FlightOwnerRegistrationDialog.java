@@ -82,8 +82,12 @@ public class FlightOwnerRegistrationDialog extends JDialog {
         registerButton.addActionListener(e -> handleRegistration());
         cancelButton.addActionListener(e -> dispose());
 
-        // Enter key on confirm password field
-        confirmPasswordField.addActionListener(e -> handleRegistration());
+        // Enter key on confirm password field, unless a save is already running
+        confirmPasswordField.addActionListener(e -> {
+            if (registerButton.isEnabled()) {
+                handleRegistration();
+            }
+        });
 
         // Auto-format company code as user types
         companyCodeField.addKeyListener(new java.awt.event.KeyAdapter() {
@@ -107,18 +111,35 @@ public class FlightOwnerRegistrationDialog extends JDialog {
             flightOwner.setCompanyName(companyNameField.getText().trim());
             flightOwner.setCompanyCode(ValidationUtil.formatCompanyCode(companyCodeField.getText().trim()));
             flightOwner.setContactInfo(contactInfoField.getText().trim());
-            flightOwner.setPasswordHash(PasswordUtil.hashPassword(new String(passwordField.getPassword())));
             flightOwner.setFlightCount(0);
+            String password = new String(passwordField.getPassword());
+
+            // Hash the password and save to database off the event thread; hashing is deliberately slow
+            registerButton.setEnabled(false);
+            new SwingWorker<FlightOwner, Void>() {
+                @Override
+                protected FlightOwner doInBackground() {
+                    flightOwner.setPasswordHash(PasswordUtil.hashPassword(password));
+                    return flightOwnerDAO.create(flightOwner);
+                }
 
-            // Save to database
-            FlightOwner savedOwner = flightOwnerDAO.create(flightOwner);
-            if (savedOwner != null) {
-                showSuccess("Company registration successful! You can now login with your company code and password.");
-                clearFields();
-                dispose();
-            } else {
-                showError("Registration failed. Please try again.");
-            }
+                @Override
+                protected void done() {
+                    registerButton.setEnabled(true);
+                    try {
+                        if (get() != null) {
+                            showSuccess("Company registration successful! You can now login with your company code and password.");
+                            clearFields();
+                            dispose();
+                        } else {
+                            showError("Registration failed. Please try again.");
+                        }
+                    } catch (Exception e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        showError("Registration failed: " + cause.getMessage());
+                    }
+                }
+            }.execute();
         } catch (Exception e) {
             showError("Registration failed: " + e.getMessage());
         }
@@ -3,17 +3,16 @@ package com.GoAero.ui;
 import com.GoAero.dao.AdminDAO;
 import com.GoAero.dao.FlightOwnerDAO;
 import com.GoAero.dao.UserDAO;
-import com.GoAero.model.Admin;
-import com.GoAero.model.FlightOwner;
 import com.GoAero.model.SessionManager;
-import com.GoAero.model.User;
-import com.GoAero.util.PasswordUtil;
+import com.GoAero.service.CredentialService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Unified login screen for Users, Admins, and Flight Owners with modern UI design
@@ -532,19 +531,27 @@ public class LoginScreen extends JFrame {
             return;
         }
 
-        try {
-            User user = userDAO.findByEmail(email);
-            if (user != null && PasswordUtil.verifyPassword(password, user.getPasswordHash())) {
-                SessionManager.getInstance().loginUser(user);
-                showSuccess("Login successful! Welcome, " + user.getFullName());
-                openUserDashboard();
-                dispose();
-            } else {
-                showError("Invalid email or password.");
-            }
-        } catch (Exception e) {
-            showError("Login failed: " + e.getMessage());
+        if (!userLoginButton.isEnabled()) {
+            return;
         }
+        userLoginButton.setEnabled(false);
+
+        // Hashing is slow by design; verify on the credential pool and come back to the EDT
+        CredentialService.getInstance().authenticate(SessionManager.UserType.USER, email, password)
+            .thenApply(principal -> principal != null ? userDAO.findById(principal.getId()) : null)
+            .whenComplete((user, error) -> SwingUtilities.invokeLater(() -> {
+                userLoginButton.setEnabled(true);
+                if (error != null) {
+                    showLoginFailure(error);
+                } else if (user != null) {
+                    SessionManager.getInstance().loginUser(user);
+                    showSuccess("Login successful! Welcome, " + user.getFullName());
+                    openUserDashboard();
+                    dispose();
+                } else {
+                    showError("Invalid email or password.");
+                }
+            }));
     }
 
     private void handleAdminLogin() {
@@ -556,19 +563,26 @@ public class LoginScreen extends JFrame {
             return;
         }
 
-        try {
-            Admin admin = adminDAO.findByUsername(username);
-            if (admin != null && PasswordUtil.verifyPassword(password, admin.getPasswordHash())) {
-                SessionManager.getInstance().loginAdmin(admin);
-                showSuccess("Admin login successful! Welcome, " + admin.getUsername());
-                openAdminDashboard();
-                dispose();
-            } else {
-                showError("Invalid username or password.");
-            }
-        } catch (Exception e) {
-            showError("Login failed: " + e.getMessage());
+        if (!adminLoginButton.isEnabled()) {
+            return;
         }
+        adminLoginButton.setEnabled(false);
+
+        CredentialService.getInstance().authenticate(SessionManager.UserType.ADMIN, username, password)
+            .thenApply(principal -> principal != null ? adminDAO.findById(principal.getId()) : null)
+            .whenComplete((admin, error) -> SwingUtilities.invokeLater(() -> {
+                adminLoginButton.setEnabled(true);
+                if (error != null) {
+                    showLoginFailure(error);
+                } else if (admin != null) {
+                    SessionManager.getInstance().loginAdmin(admin);
+                    showSuccess("Admin login successful! Welcome, " + admin.getUsername());
+                    openAdminDashboard();
+                    dispose();
+                } else {
+                    showError("Invalid username or password.");
+                }
+            }));
     }
 
     private void handleFlightOwnerLogin() {
@@ -580,18 +594,34 @@ public class LoginScreen extends JFrame {
             return;
         }
 
-        try {
-            FlightOwner owner = flightOwnerDAO.findByCode(companyCode);
-            if (owner != null && PasswordUtil.verifyPassword(password, owner.getPasswordHash())) {
-                SessionManager.getInstance().loginFlightOwner(owner);
-                showSuccess("Login successful! Welcome, " + owner.getCompanyName());
-                openFlightOwnerDashboard();
-                dispose();
-            } else {
-                showError("Invalid company code or password.");
-            }
-        } catch (Exception e) {
-            showError("Login failed: " + e.getMessage());
+        if (!ownerLoginButton.isEnabled()) {
+            return;
+        }
+        ownerLoginButton.setEnabled(false);
+
+        CredentialService.getInstance().authenticate(SessionManager.UserType.FLIGHT_OWNER, companyCode, password)
+            .thenApply(principal -> principal != null ? flightOwnerDAO.findById(principal.getId()) : null)
+            .whenComplete((owner, error) -> SwingUtilities.invokeLater(() -> {
+                ownerLoginButton.setEnabled(true);
+                if (error != null) {
+                    showLoginFailure(error);
+                } else if (owner != null) {
+                    SessionManager.getInstance().loginFlightOwner(owner);
+                    showSuccess("Login successful! Welcome, " + owner.getCompanyName());
+                    openFlightOwnerDashboard();
+                    dispose();
+                } else {
+                    showError("Invalid company code or password.");
+                }
+            }));
+    }
+
+    private void showLoginFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            showError("The system is busy handling other logins. Please try again in a moment.");
+        } else {
+            showError("Login failed: " + cause.getMessage());
         }
     }
 
@@ -1,11 +1,10 @@
 package com.GoAero.ui;
 
-import com.GoAero.dao.BookingDAO;
 import com.GoAero.dao.FlightDAO;
-import com.GoAero.model.Booking;
 import com.GoAero.model.Flight;
 import com.GoAero.model.FlightOwner;
 import com.GoAero.model.SessionManager;
+import com.GoAero.service.BookingStatistics;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -18,8 +17,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Panel for flight owners to view booking statistics for their flights with modern analytics UI
@@ -38,7 +35,6 @@ public class OwnerBookingStatsPanel extends JPanel {
     private static final Color WARNING_ORANGE = new Color(255, 193, 7);
     private FlightOwner currentOwner;
     private FlightDAO flightDAO;
-    private BookingDAO bookingDAO;
     
     private JTable flightStatsTable;
     private DefaultTableModel tableModel;
@@ -55,7 +51,6 @@ public class OwnerBookingStatsPanel extends JPanel {
         }
         
         flightDAO = new FlightDAO();
-        bookingDAO = new BookingDAO();
         
         initializeComponents();
         setupLayout();
@@ -150,90 +145,50 @@ public class OwnerBookingStatsPanel extends JPanel {
             // Load flights for this owner
             List<Flight> flights = flightDAO.findByCompanyId(currentOwner.getOwnerId());
             
-            // Load all bookings
-            List<Booking> allBookings = bookingDAO.findAll();
-            
-            // Filter bookings for this owner's flights
-            List<Integer> flightIds = flights.stream()
-                .map(Flight::getFlightId)
-                .collect(Collectors.toList());
-            
-            List<Booking> ownerBookings = allBookings.stream()
-                .filter(booking -> flightIds.contains(booking.getFlightId()))
-                .collect(Collectors.toList());
+            // Booking totals (archived trips included) come from the shared statistics store
+            BookingStatistics statistics = BookingStatistics.getInstance();
 
             // Update summary statistics
-            updateSummaryStatistics(flights, ownerBookings);
+            updateSummaryStatistics(flights, statistics.getCompanyTotals(currentOwner.getOwnerId()));
             
             // Update flight-wise table
-            updateFlightStatsTable(flights, ownerBookings);
+            updateFlightStatsTable(flights, statistics);
             
         } catch (Exception e) {
             System.out.println("Failed to load statistics: " + e.getMessage());
         }
     }
 
-    private void updateSummaryStatistics(List<Flight> flights, List<Booking> bookings) {
+    private void updateSummaryStatistics(List<Flight> flights, BookingStatistics.Totals totals) {
         totalFlightsLabel.setText(String.valueOf(flights.size()));
-        totalBookingsLabel.setText(String.valueOf(bookings.size()));
-
-        int confirmed = 0, pending = 0, cancelled = 0;
-        BigDecimal totalRevenue = BigDecimal.ZERO;
-
-        for (Booking booking : bookings) {
-            switch (booking.getBookingStatus()) {
-                case CONFIRMED:
-                    confirmed++;
-                    if (booking.getPaymentStatus() == Booking.PaymentStatus.COMPLETED) {
-                        totalRevenue = totalRevenue.add(booking.getAmount());
-                    }
-                    break;
-                case PENDING:
-                    pending++;
-                    break;
-                case CANCELLED:
-                    cancelled++;
-                    break;
-            }
-        }
-
-        confirmedBookingsLabel.setText(String.valueOf(confirmed));
-        pendingBookingsLabel.setText(String.valueOf(pending));
-        cancelledBookingsLabel.setText(String.valueOf(cancelled));
-        totalRevenueLabel.setText(String.format("₹%.2f", totalRevenue));
+        totalBookingsLabel.setText(String.valueOf(totals.getTotal()));
+        confirmedBookingsLabel.setText(String.valueOf(totals.getConfirmed()));
+        pendingBookingsLabel.setText(String.valueOf(totals.getPending()));
+        cancelledBookingsLabel.setText(String.valueOf(totals.getCancelled()));
+        totalRevenueLabel.setText(String.format("₹%.2f", totals.getRevenue()));
     }
 
-    private void updateFlightStatsTable(List<Flight> flights, List<Booking> allBookings) {
+    private void updateFlightStatsTable(List<Flight> flights, BookingStatistics statistics) {
         // Clear existing data
         tableModel.setRowCount(0);
         
-        if (flights == null || allBookings == null) {
-            showError("Failed to retrieve flight or booking data.");
+        if (flights == null) {
+            showError("Failed to retrieve flight data.");
             return;
         }
 
-        // Group bookings by flight ID
-        Map<Integer, List<Booking>> bookingsByFlight = allBookings.stream()
-            .collect(Collectors.groupingBy(Booking::getFlightId));
-
         // Add flight statistics to table
         for (Flight flight : flights) {
-            List<Booking> flightBookings = bookingsByFlight.getOrDefault(flight.getFlightId(), List.of());
+            BookingStatistics.Totals flightTotals = statistics.getFlightTotals(flight.getFlightId());
 
-            int confirmedBookings = (int) flightBookings.stream()
-                .filter(b -> b.getBookingStatus() == Booking.BookingStatus.CONFIRMED)
-                .count();
+            long confirmedBookings = flightTotals.getConfirmed();
 
             int totalCapacity = flight.getCapacity();
-            int availableSeats = totalCapacity - confirmedBookings;
+            long availableSeats = totalCapacity - confirmedBookings;
             double occupancyPercent = totalCapacity > 0 ? (confirmedBookings * 100.0 / totalCapacity) : 0.0;
 
-            // Calculate revenue from confirmed bookings with completed payments
-            BigDecimal flightRevenue = flightBookings.stream()
-                .filter(b -> b.getBookingStatus() == Booking.BookingStatus.CONFIRMED && 
-                           b.getPaymentStatus() == Booking.PaymentStatus.COMPLETED)
-                .map(Booking::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Revenue from confirmed bookings with completed payments
+            BigDecimal flightRevenue = flightTotals.getRevenue();
 
             // Format route display (using available Flight model methods)
             String route = flight.getRoute() != null ? flight.getRoute() : "Route TBD";
@@ -5,6 +5,8 @@ import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Airport;
 import com.GoAero.model.Flight;
 import com.GoAero.model.FlightOwner;
+import com.GoAero.model.FlightSchedule;
+import com.GoAero.service.FlightScheduleService;
 import com.GoAero.util.ValidationUtil;
 
 import javax.swing.*;
@@ -13,10 +15,15 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Dialog for flight owners to add or edit their own flights with modern UI design
@@ -42,6 +49,8 @@ public class OwnerFlightDialog extends JDialog {
     private JTextField flightCodeField, flightNameField, capacityField, priceField;
     private JTextField departureTimeField, destinationTimeField;
     private JComboBox<Airport> departureAirportComboBox, destinationAirportComboBox;
+    private JCheckBox[] repeatDayBoxes;
+    private JTextField repeatUntilField;
     private JButton saveButton, cancelButton;
 
     public OwnerFlightDialog(Frame parent, Flight flight, FlightDAO flightDAO, FlightOwner currentOwner) {
@@ -74,6 +83,16 @@ public class OwnerFlightDialog extends JDialog {
         priceField = createStyledTextField("Enter ticket price in INR");
         departureTimeField = createStyledTextField("YYYY-MM-DD HH:MM");
         destinationTimeField = createStyledTextField("YYYY-MM-DD HH:MM");
+        repeatUntilField = createStyledTextField("YYYY-MM-DD");
+
+        // New flights can repeat weekly on the checked days
+        repeatDayBoxes = new JCheckBox[DayOfWeek.values().length];
+        for (DayOfWeek day : DayOfWeek.values()) {
+            JCheckBox box = new JCheckBox(day.name().substring(0, 1) + day.name().substring(1, 3).toLowerCase());
+            box.setFont(new Font("Arial", Font.PLAIN, 13));
+            box.setBackground(CARD_WHITE);
+            repeatDayBoxes[day.getValue() - 1] = box;
+        }
         
         // Create styled combo boxes
         departureAirportComboBox = createStyledComboBox();
@@ -186,6 +205,8 @@ public class OwnerFlightDialog extends JDialog {
         try {
             if (isEditMode) {
                 updateFlight();
+            } else if (!getRepeatDays().isEmpty()) {
+                createSchedule();
             } else {
                 createFlight();
             }
@@ -208,6 +229,63 @@ public class OwnerFlightDialog extends JDialog {
         }
     }
 
+    private void createSchedule() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        LocalDateTime depTime = LocalDateTime.parse(departureTimeField.getText().trim(), formatter);
+        LocalDateTime arrTime = LocalDateTime.parse(destinationTimeField.getText().trim(), formatter);
+        FlightSchedule schedule = new FlightSchedule(
+            currentOwner.getOwnerId(),
+            ValidationUtil.formatFlightCode(flightCodeField.getText().trim()),
+            flightNameField.getText().trim(),
+            ((Airport) departureAirportComboBox.getSelectedItem()).getAirportId(),
+            ((Airport) destinationAirportComboBox.getSelectedItem()).getAirportId(),
+            getRepeatDays(),
+            depTime.toLocalTime(),
+            (int) Duration.between(depTime, arrTime).toMinutes(),
+            depTime.toLocalDate(),
+            LocalDate.parse(repeatUntilField.getText().trim()),
+            Integer.parseInt(capacityField.getText().trim()),
+            new BigDecimal(priceField.getText().trim()));
+
+        // Stores the schedule and inserts its flights up to the scheduling horizon
+        saveButton.setEnabled(false);
+        new SwingWorker<FlightScheduleService.GenerationResult, Void>() {
+            @Override
+            protected FlightScheduleService.GenerationResult doInBackground() {
+                return FlightScheduleService.getInstance().createSchedule(schedule);
+            }
+
+            @Override
+            protected void done() {
+                saveButton.setEnabled(true);
+                try {
+                    FlightScheduleService.GenerationResult result = get();
+                    if (result == null) {
+                        showError("Failed to create the schedule. Please try again.");
+                        return;
+                    }
+                    dataChanged = true;
+                    showSuccess("Schedule created: " + result.getInserted() + " flights added, "
+                        + "later dates follow automatically.");
+                    dispose();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Save failed: " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private Set<DayOfWeek> getRepeatDays() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (repeatDayBoxes[day.getValue() - 1].isSelected()) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
     private void updateFlight() {
         populateFlightFromForm(flight);
 
@@ -242,19 +320,17 @@ public class OwnerFlightDialog extends JDialog {
             return false;
         }
 
-        // Check if flight code already exists for this owner
+        // Flight codes are unique per departure date (recurring flights reuse the code daily)
         try {
-            List<Flight> ownerFlights = flightDAO.findByCompanyId(currentOwner.getOwnerId());
-            for (Flight existingFlight : ownerFlights) {
-                if (existingFlight.getFlightCode().equalsIgnoreCase(code) && 
-                    (!isEditMode || existingFlight.getFlightId() != flight.getFlightId())) {
-                    showError("You already have a flight with this code.");
-                    flightCodeField.requestFocus();
-                    return false;
-                }
+            LocalDateTime depTime = LocalDateTime.parse(departureTimeField.getText().trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+            int excludeId = isEditMode ? flight.getFlightId() : -1;
+            if (flightDAO.flightCodeExistsOnDate(ValidationUtil.formatFlightCode(code), depTime.toLocalDate(), excludeId)) {
+                showError("A flight with this code already departs on that date.");
+                flightCodeField.requestFocus();
+                return false;
             }
         } catch (Exception e) {
-            // Continue with validation
+            // Continue with validation; the departure time is checked below
         }
 
         // Flight Name validation
@@ -332,6 +408,23 @@ public class OwnerFlightDialog extends JDialog {
             return false;
         }
 
+        // Repeat validation
+        if (!isEditMode && !getRepeatDays().isEmpty()) {
+            try {
+                LocalDate until = LocalDate.parse(repeatUntilField.getText().trim());
+                LocalDateTime depTime = LocalDateTime.parse(departureTimeField.getText().trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+                if (until.isBefore(depTime.toLocalDate())) {
+                    showError("The repeat end date cannot be before the first departure.");
+                    repeatUntilField.requestFocus();
+                    return false;
+                }
+            } catch (DateTimeParseException e) {
+                showError("Please enter the repeat end date in YYYY-MM-DD format.");
+                repeatUntilField.requestFocus();
+                return false;
+            }
+        }
+
         return true;
     }
 
@@ -797,6 +890,41 @@ public class OwnerFlightDialog extends JDialog {
         gbc.gridx = 1;
         formPanel.add(priceField, gbc);
 
+        if (!isEditMode) {
+            // Repeat Section
+            gbc.gridx = 0; gbc.gridy = 12; gbc.gridwidth = 2;
+            JLabel repeatLabel = new JLabel("🔁 Repeat Weekly (optional)");
+            repeatLabel.setFont(new Font("Arial", Font.BOLD, 16));
+            repeatLabel.setForeground(DARK_BLUE);
+            repeatLabel.setBorder(new EmptyBorder(20, 0, 10, 0));
+            formPanel.add(repeatLabel, gbc);
+
+            // Operating Days
+            gbc.gridy = 13; gbc.gridwidth = 1;
+            JLabel daysLabel = new JLabel("Operating Days");
+            daysLabel.setFont(new Font("Arial", Font.BOLD, 14));
+            daysLabel.setForeground(DARK_BLUE);
+            formPanel.add(daysLabel, gbc);
+
+            gbc.gridx = 1;
+            JPanel daysPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+            daysPanel.setBackground(CARD_WHITE);
+            for (JCheckBox box : repeatDayBoxes) {
+                daysPanel.add(box);
+            }
+            formPanel.add(daysPanel, gbc);
+
+            // Repeat Until
+            gbc.gridx = 0; gbc.gridy = 14;
+            JLabel untilLabel = new JLabel("Repeat Until");
+            untilLabel.setFont(new Font("Arial", Font.BOLD, 14));
+            untilLabel.setForeground(DARK_BLUE);
+            formPanel.add(untilLabel, gbc);
+
+            gbc.gridx = 1;
+            formPanel.add(repeatUntilField, gbc);
+        }
+
         contentPanel.add(formPanel, BorderLayout.CENTER);
         return contentPanel;
     }
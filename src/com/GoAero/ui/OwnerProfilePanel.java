@@ -3,6 +3,7 @@ package com.GoAero.ui;
 import com.GoAero.dao.FlightOwnerDAO;
 import com.GoAero.model.FlightOwner;
 import com.GoAero.model.SessionManager;
+import com.GoAero.service.CredentialService;
 import com.GoAero.util.PasswordUtil;
 import com.GoAero.util.ValidationUtil;
 
@@ -174,37 +175,60 @@ public class OwnerProfilePanel extends JPanel {
             return;
         }
 
-        try {
-            // Update owner object
-            currentOwner.setCompanyName(companyNameField.getText().trim());
-            currentOwner.setContactInfo(contactInfoField.getText().trim());
+        String companyName = companyNameField.getText().trim();
+        String contactInfo = contactInfoField.getText().trim();
+        String currentPassword = isPasswordChangeMode ? new String(currentPasswordField.getPassword()) : null;
+        String newPassword = isPasswordChangeMode ? new String(newPasswordField.getPassword()) : "";
 
-            // Handle password change if in password change mode
-            if (isPasswordChangeMode) {
-                String newPassword = new String(newPasswordField.getPassword());
+        // Password hashing is deliberately slow, so it runs off the event thread with the save
+        saveButton.setEnabled(false);
+        new SwingWorker<Boolean, Void>() {
+            private boolean wrongPassword;
+
+            @Override
+            protected Boolean doInBackground() {
+                if (currentPassword != null
+                        && !PasswordUtil.verifyPassword(currentPassword, currentOwner.getPasswordHash())) {
+                    wrongPassword = true;
+                    return false;
+                }
+
+                // Update owner object
+                currentOwner.setCompanyName(companyName);
+                currentOwner.setContactInfo(contactInfo);
                 if (!newPassword.isEmpty()) {
                     currentOwner.setPasswordHash(PasswordUtil.hashPassword(newPassword));
                 }
+
+                // Save to database
+                return flightOwnerDAO.update(currentOwner);
             }
 
-            // Save to database
-            boolean success = flightOwnerDAO.update(currentOwner);
-            
-            if (success) {
-                // Update session
-                SessionManager.getInstance().loginFlightOwner(currentOwner);
-                showSuccess("Profile updated successfully!");
-                
-                if (isPasswordChangeMode) {
-                    togglePasswordChangeMode();
+            @Override
+            protected void done() {
+                saveButton.setEnabled(true);
+                try {
+                    if (get()) {
+                        CredentialService.getInstance().invalidate(SessionManager.UserType.FLIGHT_OWNER, currentOwner.getOwnerId());
+                        // Update session
+                        SessionManager.getInstance().loginFlightOwner(currentOwner);
+                        showSuccess("Profile updated successfully!");
+
+                        if (isPasswordChangeMode) {
+                            togglePasswordChangeMode();
+                        }
+                    } else if (wrongPassword) {
+                        showError("Current password is incorrect.");
+                        currentPasswordField.requestFocus();
+                    } else {
+                        showError("Failed to update profile. Please try again.");
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Update failed: " + cause.getMessage());
                 }
-            } else {
-                showError("Failed to update profile. Please try again.");
             }
-            
-        } catch (Exception e) {
-            showError("Update failed: " + e.getMessage());
-        }
+        }.execute();
     }
 
     private boolean validateInput() {
@@ -240,12 +264,6 @@ public class OwnerProfilePanel extends JPanel {
                 return false;
             }
 
-            if (!PasswordUtil.verifyPassword(currentPassword, currentOwner.getPasswordHash())) {
-                showError("Current password is incorrect.");
-                currentPasswordField.requestFocus();
-                return false;
-            }
-
             if (newPassword.isEmpty()) {
                 showError("Please enter a new password.");
                 newPasswordField.requestFocus();
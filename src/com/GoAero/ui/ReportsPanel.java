@@ -1,18 +1,34 @@
 package com.GoAero.ui;
 
+import com.GoAero.analytics.BookingSketches;
+import com.GoAero.analytics.SpaceSaving;
 import com.GoAero.dao.BookingDAO;
 import com.GoAero.dao.FlightDAO;
 import com.GoAero.dao.UserDAO;
+import com.GoAero.dao.BookingSummaryDAO;
 import com.GoAero.dao.FlightOwnerDAO;
+import com.GoAero.service.BookingSketchService;
+import com.GoAero.service.BookingStatistics;
+import com.GoAero.service.BookingSummaryService;
+import com.GoAero.service.ExportService;
+import com.GoAero.util.RecordWriter;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.math.BigDecimal;
+import java.io.File;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Panel for displaying reports and analytics in the admin dashboard with modern UI design
@@ -29,20 +45,38 @@ public class ReportsPanel extends JPanel {
     private static final Color CARD_WHITE = Color.WHITE;
     private static final Color DANGER_RED = new Color(244, 67, 54);
     private static final Color WARNING_ORANGE = new Color(255, 193, 7);
+
+    // Window and length of the route and airline rankings
+    private static final int SUMMARY_DAYS = 30;
+    private static final int SUMMARY_ROWS = 10;
+    private static final int SUMMARY_EXPORT_DAYS = 365;
+    // Length of this month's busiest route and airline lists, read from the booking sketches
+    private static final int SKETCH_TOP_ROUTES = 20;
+    private static final int SKETCH_TOP_AIRLINES = 10;
+
     private UserDAO userDAO;
     private FlightDAO flightDAO;
     private FlightOwnerDAO flightOwnerDAO;
     private BookingDAO bookingDAO;
+    private BookingSummaryDAO summaryDAO;
     
-    private JLabel totalUsersLabel, totalFlightsLabel, totalAirlinesLabel, totalBookingsLabel;
+    private JLabel totalUsersLabel, totalFlightsLabel, totalAirlinesLabel, totalBookingsLabel, travellersLabel;
     private JLabel totalRevenueLabel, pendingBookingsLabel, confirmedBookingsLabel, cancelledBookingsLabel;
     private JButton refreshButton, exportButton;
+    private DefaultTableModel routeTableModel, airlineTableModel;
+    private JLabel summaryAsOfLabel;
+    private DefaultTableModel monthRouteTableModel, monthAirlineTableModel;
+    private JLabel sketchNoteLabel;
+    private BookingSketches monthSketches;
+    private List<BookingSummaryDAO.SummaryTotal> routeTotals = List.of();
+    private List<BookingSummaryDAO.SummaryTotal> airlineTotals = List.of();
 
     public ReportsPanel() {
         userDAO = new UserDAO();
         flightDAO = new FlightDAO();
         flightOwnerDAO = new FlightOwnerDAO();
         bookingDAO = new BookingDAO();
+        summaryDAO = new BookingSummaryDAO();
         
         initializeComponents();
         setupLayout();
@@ -56,10 +90,25 @@ public class ReportsPanel extends JPanel {
         totalFlightsLabel = createDataLabel("0", ACCENT_ORANGE);
         totalAirlinesLabel = createDataLabel("0", SUCCESS_GREEN);
         totalBookingsLabel = createDataLabel("0", DARK_BLUE);
+        travellersLabel = createDataLabel("0", PRIMARY_BLUE);
         totalRevenueLabel = createDataLabel("₹0.00", SUCCESS_GREEN);
         pendingBookingsLabel = createDataLabel("0", WARNING_ORANGE);
         confirmedBookingsLabel = createDataLabel("0", SUCCESS_GREEN);
         cancelledBookingsLabel = createDataLabel("0", DANGER_RED);
+
+        // Route and airline rankings read from the daily summary table
+        routeTableModel = createSummaryTableModel("Route");
+        airlineTableModel = createSummaryTableModel("Airline");
+        summaryAsOfLabel = new JLabel(" ");
+        summaryAsOfLabel.setFont(new Font("Arial", Font.ITALIC, 12));
+        summaryAsOfLabel.setForeground(new Color(120, 120, 120));
+
+        // This month's busiest routes and airlines, estimated from the booking sketches
+        monthRouteTableModel = createSketchTableModel("Route");
+        monthAirlineTableModel = createSketchTableModel("Airline");
+        sketchNoteLabel = new JLabel(" ");
+        sketchNoteLabel.setFont(new Font("Arial", Font.ITALIC, 12));
+        sketchNoteLabel.setForeground(new Color(120, 120, 120));
         
         // Modern styled buttons with icons
         refreshButton = createStyledButton("🔄 Refresh Reports", PRIMARY_BLUE, Color.WHITE, 14);
@@ -190,7 +239,7 @@ public class ReportsPanel extends JPanel {
 
     private void setupEventListeners() {
         refreshButton.addActionListener(e -> loadReports());
-        exportButton.addActionListener(e -> exportReports());
+        exportButton.addActionListener(e -> showExportMenu());
     }
 
     private void loadReports() {
@@ -207,8 +256,14 @@ public class ReportsPanel extends JPanel {
             totalAirlinesLabel.setText(String.valueOf(totalAirlines));
             totalBookingsLabel.setText(String.valueOf(totalBookings));
 
-            // Load booking statistics (this would require additional DAO methods)
+            // Load booking statistics
             loadBookingStatistics();
+
+            // Load route and airline rankings
+            loadSummaries();
+
+            // Load this month's estimates
+            loadSketches();
             
         } catch (Exception e) {
             System.out.println("Failed to load reports: " + e.getMessage());
@@ -217,40 +272,212 @@ public class ReportsPanel extends JPanel {
 
     private void loadBookingStatistics() {
         try {
-            // For now, we'll use simple counts
-            // In a real implementation, you'd add methods to BookingDAO for these statistics
-            int confirmed = 0, pending = 0, cancelled = 0;
-            BigDecimal totalRevenue = BigDecimal.ZERO;
-
-            // This is a simplified approach - in practice you'd add specific DAO methods
-            var allBookings = bookingDAO.findAll();
-            for (var booking : allBookings) {
-                switch (booking.getBookingStatus()) {
-                    case CONFIRMED:
-                        confirmed++;
-                        if (booking.getPaymentStatus() == com.GoAero.model.Booking.PaymentStatus.COMPLETED) {
-                            totalRevenue = totalRevenue.add(booking.getAmount());
-                        }
-                        break;
-                    case PENDING:
-                        pending++;
-                        break;
-                    case CANCELLED:
-                        cancelled++;
-                        break;
-                }
-            }
+            // Lifetime totals (archived trips included), kept current from booking events
+            BookingStatistics.Totals totals = BookingStatistics.getInstance().getTotals();
 
-            confirmedBookingsLabel.setText(String.valueOf(confirmed));
-            pendingBookingsLabel.setText(String.valueOf(pending));
-            cancelledBookingsLabel.setText(String.valueOf(cancelled));
-            totalRevenueLabel.setText(String.format("₹%.2f", totalRevenue));
+            confirmedBookingsLabel.setText(String.valueOf(totals.getConfirmed()));
+            pendingBookingsLabel.setText(String.valueOf(totals.getPending()));
+            cancelledBookingsLabel.setText(String.valueOf(totals.getCancelled()));
+            totalRevenueLabel.setText(String.format("₹%.2f", totals.getRevenue()));
 
         } catch (Exception e) {
             System.out.println("Failed to load booking statistics: " + e.getMessage());
         }
     }
 
+    private void loadSummaries() {
+        try {
+            LocalDate to = LocalDate.now();
+            LocalDate from = to.minusDays(SUMMARY_DAYS - 1);
+            routeTotals = summaryDAO.findRouteTotals(from, to, SUMMARY_ROWS);
+            airlineTotals = summaryDAO.findAirlineTotals(from, to, SUMMARY_ROWS);
+            fillSummaryTable(routeTableModel, routeTotals);
+            fillSummaryTable(airlineTableModel, airlineTotals);
+
+            Timestamp watermark = BookingSummaryService.getInstance().getWatermark();
+            summaryAsOfLabel.setText(watermark == null ? "Summaries not built yet"
+                : "Summaries as of " + watermark.toLocalDateTime().format(DateTimeFormatter.ofPattern("MMM dd, HH:mm")));
+
+        } catch (Exception e) {
+            System.out.println("Failed to load booking summaries: " + e.getMessage());
+        }
+    }
+
+    private void loadSketches() {
+        try {
+            monthSketches = BookingSketchService.getInstance().getSketches(YearMonth.now());
+            monthRouteTableModel.setRowCount(0);
+            monthAirlineTableModel.setRowCount(0);
+            if (monthSketches == null) {
+                travellersLabel.setText("0");
+                sketchNoteLabel.setText("No bookings counted this month yet");
+                return;
+            }
+            fillSketchTable(monthRouteTableModel, monthSketches.getTopRoutes(SKETCH_TOP_ROUTES));
+            fillSketchTable(monthAirlineTableModel, monthSketches.getTopAirlines(SKETCH_TOP_AIRLINES));
+            travellersLabel.setText("≈" + monthSketches.getUniqueTravellers());
+            String since = monthSketches.getStartedAt().atZone(ZoneId.systemDefault())
+                .format(DateTimeFormatter.ofPattern("MMM dd, HH:mm"));
+            sketchNoteLabel.setText(String.format("Estimates of %d bookings counted since %s; travellers ±%.1f%%",
+                monthSketches.getBookings(), since, monthSketches.getTravellersRelativeError() * 100));
+
+        } catch (Exception e) {
+            System.out.println("Failed to load booking sketches: " + e.getMessage());
+        }
+    }
+
+    private DefaultTableModel createSketchTableModel(String firstColumn) {
+        String[] columnNames = {firstColumn, "Bookings (est.)", "At Least"};
+        return new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private void fillSketchTable(DefaultTableModel model, List<SpaceSaving.HeavyHitter> hitters) {
+        for (SpaceSaving.HeavyHitter hitter : hitters) {
+            model.addRow(new Object[] {hitter.getItem(), hitter.getCount(), hitter.getGuaranteedCount()});
+        }
+    }
+
+    private DefaultTableModel createSummaryTableModel(String firstColumn) {
+        String[] columnNames = {firstColumn, "Bookings", "Confirmed", "Revenue"};
+        return new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private void fillSummaryTable(DefaultTableModel model, List<BookingSummaryDAO.SummaryTotal> totals) {
+        model.setRowCount(0);
+        for (BookingSummaryDAO.SummaryTotal total : totals) {
+            model.addRow(new Object[] {
+                total.getLabel(),
+                total.getBookings(),
+                total.getConfirmed(),
+                String.format("₹%.2f", total.getRevenue())
+            });
+        }
+    }
+
+    private void showExportMenu() {
+        JPopupMenu menu = new JPopupMenu();
+        addExportMenuItem(menu, "Report summary", e -> exportReports());
+        menu.addSeparator();
+        addExportMenuItem(menu, "Current bookings…", e -> exportToFile("bookings",
+            (service, file, progress) -> service.exportBookings(file, false, progress)));
+        addExportMenuItem(menu, "All bookings incl. archived…", e -> exportToFile("bookings-all",
+            (service, file, progress) -> service.exportBookings(file, true, progress)));
+        addExportMenuItem(menu, "Flights…", e -> exportToFile("flights",
+            (service, file, progress) -> service.exportFlights(file, progress)));
+        addExportMenuItem(menu, "Daily summaries (last " + SUMMARY_EXPORT_DAYS + " days)…", e -> exportToFile(
+            "daily-summaries", (service, file, progress) -> service.exportDailySummaries(file,
+                LocalDate.now().minusDays(SUMMARY_EXPORT_DAYS - 1), LocalDate.now(), progress)));
+        menu.show(exportButton, 0, exportButton.getHeight());
+    }
+
+    private void addExportMenuItem(JPopupMenu menu, String text, java.awt.event.ActionListener action) {
+        JMenuItem item = new JMenuItem(text);
+        item.setFont(new Font("Arial", Font.PLAIN, 13));
+        item.addActionListener(action);
+        menu.add(item);
+    }
+
+    /**
+     * Runs one ExportService export
+     */
+    private interface FileExport {
+        long run(ExportService service, Path file, ExportService.ProgressListener progress) throws Exception;
+    }
+
+    private void exportToFile(String baseName, FileExport export) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export " + baseName);
+        FileNameExtensionFilter csv = new FileNameExtensionFilter("CSV (*.csv, *.csv.gz)", "csv", "gz");
+        FileNameExtensionFilter jsonLines = new FileNameExtensionFilter("JSON Lines (*.jsonl, *.jsonl.gz)", "jsonl", "gz");
+        chooser.addChoosableFileFilter(csv);
+        chooser.addChoosableFileFilter(jsonLines);
+        chooser.setFileFilter(csv);
+        chooser.setSelectedFile(new File(baseName + "-" + LocalDate.now() + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        // Add the chosen format's extension unless the name already has one
+        String name = chooser.getSelectedFile().getName();
+        String plainName = RecordWriter.isGzip(name) ? name.substring(0, name.length() - 3) : name;
+        RecordWriter.Format format = chooser.getFileFilter() == jsonLines
+            ? RecordWriter.Format.JSON_LINES : RecordWriter.Format.CSV;
+        Path file = chooser.getSelectedFile().toPath();
+        if (!plainName.toLowerCase().endsWith(".csv") && !plainName.toLowerCase().endsWith(".jsonl")) {
+            file = file.resolveSibling(name + format.getExtension());
+        }
+
+        JProgressBar progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        progressBar.setString("Starting…");
+        JButton cancelButton = createStyledButton("Cancel", DANGER_RED, Color.WHITE, 13);
+        JDialog progressDialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this),
+            "Exporting " + file.getFileName(), false);
+        JPanel content = new JPanel(new BorderLayout(0, 12));
+        content.setBackground(CARD_WHITE);
+        content.setBorder(new EmptyBorder(20, 20, 20, 20));
+        content.add(progressBar, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        buttonPanel.setBackground(CARD_WHITE);
+        buttonPanel.add(cancelButton);
+        content.add(buttonPanel, BorderLayout.SOUTH);
+        progressDialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        progressDialog.setContentPane(content);
+        progressDialog.setSize(420, 140);
+        progressDialog.setLocationRelativeTo(this);
+
+        Path target = file;
+        // Stream on a background thread; multi-million-row exports take a while
+        SwingWorker<Long, long[]> worker = new SwingWorker<Long, long[]>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return export.run(new ExportService(), target, (rows, total) -> publish(new long[] {rows, total}));
+            }
+
+            @Override
+            protected void process(List<long[]> chunks) {
+                long[] latest = chunks.get(chunks.size() - 1);
+                if (latest[1] > 0) {
+                    progressBar.setValue((int) Math.min(1000, latest[0] * 1000 / latest[1]));
+                } else {
+                    progressBar.setIndeterminate(true);
+                }
+                progressBar.setString(latest[0] + (latest[1] > 0 ? " of " + latest[1] : "") + " rows");
+            }
+
+            @Override
+            protected void done() {
+                progressDialog.dispose();
+                exportButton.setEnabled(true);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    JOptionPane.showMessageDialog(ReportsPanel.this,
+                        "Exported " + get() + " rows to\n" + target.toAbsolutePath(),
+                        "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Export failed: " + cause.getMessage());
+                }
+            }
+        };
+        cancelButton.addActionListener(e -> worker.cancel(true));
+        exportButton.setEnabled(false);
+        worker.execute();
+        progressDialog.setVisible(true);
+    }
+
     private void exportReports() {
         try {
             StringBuilder report = new StringBuilder();
@@ -270,6 +497,23 @@ public class ReportsPanel extends JPanel {
             
             report.append("Revenue Information:\n");
             report.append("- Total Revenue: ").append(totalRevenueLabel.getText()).append("\n");
+
+            report.append("\nTop Routes (last ").append(SUMMARY_DAYS).append(" days):\n");
+            appendSummaryLines(report, routeTotals);
+            report.append("\nAirlines (last ").append(SUMMARY_DAYS).append(" days):\n");
+            appendSummaryLines(report, airlineTotals);
+            report.append(summaryAsOfLabel.getText()).append("\n");
+
+            report.append("\nThis Month (estimated):\n");
+            report.append("- Unique Travellers: ").append(travellersLabel.getText()).append("\n");
+            if (monthSketches != null) {
+                report.append("- Busiest Routes:\n");
+                for (SpaceSaving.HeavyHitter hitter : monthSketches.getTopRoutes(SKETCH_TOP_ROUTES)) {
+                    report.append("  - ").append(hitter.getItem()).append(": ~").append(hitter.getCount())
+                        .append(" bookings\n");
+                }
+            }
+            report.append(sketchNoteLabel.getText()).append("\n");
             
             report.append("\nGenerated on: ").append(java.time.LocalDateTime.now().toString()).append("\n");
 
@@ -288,6 +532,17 @@ public class ReportsPanel extends JPanel {
         }
     }
 
+    private void appendSummaryLines(StringBuilder report, List<BookingSummaryDAO.SummaryTotal> totals) {
+        if (totals.isEmpty()) {
+            report.append("- No bookings\n");
+        }
+        for (BookingSummaryDAO.SummaryTotal total : totals) {
+            report.append("- ").append(total.getLabel()).append(": ").append(total.getBookings())
+                .append(" bookings, ").append(total.getConfirmed()).append(" confirmed, ")
+                .append(String.format("₹%.2f", total.getRevenue())).append("\n");
+        }
+    }
+
     private void showError(String message) {
         // Create a custom styled error dialog
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Reports Error", true);
@@ -485,9 +740,75 @@ public class ReportsPanel extends JPanel {
         cardsPanel.add(performanceCard);
 
         contentContainer.add(cardsPanel, BorderLayout.CENTER);
+
+        // Route and airline rankings
+        contentContainer.add(createSummarySection(), BorderLayout.SOUTH);
         return contentContainer;
     }
 
+    private JPanel createSummarySection() {
+        JPanel card = new JPanel(new BorderLayout());
+        card.setBackground(CARD_WHITE);
+        card.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createCompoundBorder(
+                new EmptyBorder(20, 0, 0, 0),
+                BorderFactory.createLineBorder(LIGHT_GRAY, 1)),
+            new EmptyBorder(15, 20, 15, 20)
+        ));
+
+        // Card header
+        JPanel header = new JPanel(new BorderLayout());
+        header.setBackground(CARD_WHITE);
+        JLabel cardTitle = new JLabel("🗺️ Routes and Airlines");
+        cardTitle.setFont(new Font("Arial", Font.BOLD, 16));
+        cardTitle.setForeground(DARK_BLUE);
+        header.add(cardTitle, BorderLayout.WEST);
+        header.add(summaryAsOfLabel, BorderLayout.EAST);
+
+        JPanel tablesPanel = new JPanel(new GridLayout(1, 2, 20, 0));
+        tablesPanel.setBackground(CARD_WHITE);
+        tablesPanel.setBorder(new EmptyBorder(10, 0, 0, 0));
+        tablesPanel.add(createSummaryTable(routeTableModel));
+        tablesPanel.add(createSummaryTable(airlineTableModel));
+
+        JPanel monthTablesPanel = new JPanel(new GridLayout(1, 2, 20, 0));
+        monthTablesPanel.setBackground(CARD_WHITE);
+        monthTablesPanel.add(createSummaryTable(monthRouteTableModel));
+        monthTablesPanel.add(createSummaryTable(monthAirlineTableModel));
+        JPanel monthPanel = new JPanel(new BorderLayout(0, 5));
+        monthPanel.setBackground(CARD_WHITE);
+        monthPanel.setBorder(new EmptyBorder(10, 0, 0, 0));
+        monthPanel.add(sketchNoteLabel, BorderLayout.NORTH);
+        monthPanel.add(monthTablesPanel, BorderLayout.CENTER);
+
+        JTabbedPane periodTabs = new JTabbedPane();
+        periodTabs.setFont(new Font("Arial", Font.BOLD, 13));
+        periodTabs.addTab("Last " + SUMMARY_DAYS + " Days", tablesPanel);
+        periodTabs.addTab("This Month (top " + SKETCH_TOP_ROUTES + ", estimated)", monthPanel);
+        // The as-of time belongs to the summary tables only
+        periodTabs.addChangeListener(e -> summaryAsOfLabel.setVisible(periodTabs.getSelectedIndex() == 0));
+
+        card.add(header, BorderLayout.NORTH);
+        card.add(periodTabs, BorderLayout.CENTER);
+        return card;
+    }
+
+    private JScrollPane createSummaryTable(DefaultTableModel model) {
+        JTable table = new JTable(model);
+        table.setFont(new Font("Arial", Font.PLAIN, 13));
+        table.setRowHeight(24);
+        table.setGridColor(LIGHT_GRAY);
+        table.getTableHeader().setFont(new Font("Arial", Font.BOLD, 13));
+        table.getTableHeader().setBackground(DARK_BLUE);
+        table.getTableHeader().setForeground(Color.WHITE);
+        table.getColumnModel().getColumn(0).setPreferredWidth(200);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createLineBorder(LIGHT_GRAY, 1));
+        scrollPane.setPreferredSize(new Dimension(0, 180));
+        return scrollPane;
+    }
+
     private JPanel createModernOverviewCard() {
         JPanel card = new JPanel(new BorderLayout());
         card.setBackground(CARD_WHITE);
@@ -502,7 +823,7 @@ public class ReportsPanel extends JPanel {
         cardTitle.setForeground(DARK_BLUE);
 
         // Metrics panel
-        JPanel metricsPanel = new JPanel(new GridLayout(4, 2, 10, 15));
+        JPanel metricsPanel = new JPanel(new GridLayout(5, 2, 10, 15));
         metricsPanel.setBackground(CARD_WHITE);
         metricsPanel.setBorder(new EmptyBorder(15, 0, 0, 0));
 
@@ -511,6 +832,7 @@ public class ReportsPanel extends JPanel {
         addMetricRow(metricsPanel, "✈️ Airlines:", totalAirlinesLabel);
         addMetricRow(metricsPanel, "🛫 Flights:", totalFlightsLabel);
         addMetricRow(metricsPanel, "📋 Bookings:", totalBookingsLabel);
+        addMetricRow(metricsPanel, "🧳 Travellers This Month:", travellersLabel);
 
         card.add(cardTitle, BorderLayout.NORTH);
         card.add(metricsPanel, BorderLayout.CENTER);
@@ -2,9 +2,12 @@ package com.GoAero.ui;
 
 import com.GoAero.dao.AirportDAO;
 import com.GoAero.dao.FlightDAO;
+import com.GoAero.jfr.FlightSearchEvent;
 import com.GoAero.model.Airport;
 import com.GoAero.model.Flight;
 import com.GoAero.model.SessionManager;
+import com.GoAero.model.WaitlistEntry;
+import com.GoAero.service.WaitlistService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -331,6 +334,8 @@ public class SearchFlights extends JFrame {
             Airport destination = (Airport) destinationComboBox.getSelectedItem();
             LocalDate departureDate = LocalDate.parse(departureDateField.getText().trim());
 
+            FlightSearchEvent searchEvent = new FlightSearchEvent();
+            searchEvent.begin();
             searchResults = flightDAO.searchFlights(departure.getAirportId(), destination.getAirportId(), departureDate);
             
             // Update available seats for each flight
@@ -338,6 +343,14 @@ public class SearchFlights extends JFrame {
                 int availableSeats = flightDAO.getAvailableSeats(flight.getFlightId());
                 flight.setAvailableSeats(availableSeats);
             }
+            searchEvent.end();
+            if (searchEvent.shouldCommit()) {
+                searchEvent.departureAirport = departure.getAirportCode();
+                searchEvent.destinationAirport = destination.getAirportCode();
+                searchEvent.departureDate = departureDate.toString();
+                searchEvent.resultCount = searchResults.size();
+                searchEvent.commit();
+            }
             
             displaySearchResults();
             
@@ -415,7 +428,7 @@ public class SearchFlights extends JFrame {
         Flight selectedFlight = searchResults.get(selectedRow);
         
         if (selectedFlight.getAvailableSeats() <= 0) {
-            showError("This flight is fully booked.");
+            offerWaitlist(selectedFlight);
             return;
         }
 
@@ -425,6 +438,48 @@ public class SearchFlights extends JFrame {
         });
     }
 
+    private void offerWaitlist(Flight flight) {
+        int choice = JOptionPane.showConfirmDialog(
+            this,
+            "This flight is fully booked.\n\n" +
+            "Join the waitlist? If a seat becomes free, it is booked for you automatically\n" +
+            "and appears in your booking history for payment.",
+            "Flight Full",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE
+        );
+        if (choice != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        int userId = SessionManager.getInstance().getCurrentUser().getUserId();
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                WaitlistService waitlist = WaitlistService.getInstance();
+                WaitlistEntry entry = waitlist.join(flight, userId, 1);
+                return entry != null ? waitlist.getPosition(entry) : null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    Integer position = get();
+                    if (position == null) {
+                        showError("You are already on the waitlist for this flight, or it is no longer available.");
+                    } else if (position > 0) {
+                        showInfo("You are number " + position + " on the waitlist for " + flight.getFlightCode() + ".");
+                    } else {
+                        showInfo("You have joined the waitlist for " + flight.getFlightCode() + ".");
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Could not join the waitlist: " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
     private void goBackToDashboard() {
         if (SessionManager.getInstance().isUserLoggedIn()) {
             SwingUtilities.invokeLater(() -> {
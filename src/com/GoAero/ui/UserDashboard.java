@@ -239,17 +239,38 @@ public class UserDashboard extends JFrame {
     }
 
     private void openBookingHistory() {
+        if (!checkSessionActive()) {
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
             new BookingHistory().setVisible(true);
         });
     }
 
     private void openProfile() {
+        if (!checkSessionActive()) {
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
             new UserProfileDialog(this).setVisible(true);
         });
     }
 
+    /**
+     * Sends the passenger back to the landing page if the session expired while idle
+     * @return true if the session is still active
+     */
+    private boolean checkSessionActive() {
+        if (SessionManager.getInstance().isUserLoggedIn()) {
+            return true;
+        }
+        JOptionPane.showMessageDialog(this, "Your session has expired. Please login again.",
+            "Session Expired", JOptionPane.WARNING_MESSAGE);
+        new LandingPage().setVisible(true);
+        dispose();
+        return false;
+    }
+
     private void handleLogout() {
         // Create a custom styled confirmation dialog for passengers
         JDialog dialog = new JDialog(this, "Confirm Logout", true);
@@ -235,7 +235,7 @@ public class UserManagementPanel extends JPanel {
                     showSuccess("User deleted successfully.");
                     loadUsers();
                 } else {
-                    showError("Failed to delete user. Please try again.");
+                    showError("Failed to delete user. The user may have existing bookings.");
                 }
             } catch (Exception e) {
                 showError("Deletion failed: " + e.getMessage());
@@ -3,6 +3,7 @@ package com.GoAero.ui;
 import com.GoAero.dao.UserDAO;
 import com.GoAero.model.SessionManager;
 import com.GoAero.model.User;
+import com.GoAero.service.CredentialService;
 import com.GoAero.util.PasswordUtil;
 import com.GoAero.util.ValidationUtil;
 
@@ -308,44 +309,68 @@ public class UserProfileDialog extends JDialog {
             return;
         }
 
-        try {
-            // Update user object
-            currentUser.setFirstName(firstNameField.getText().trim());
-            currentUser.setLastName(lastNameField.getText().trim());
-            currentUser.setEmail(emailField.getText().trim().toLowerCase());
-            currentUser.setPhone(ValidationUtil.cleanPhoneNumber(phoneField.getText().trim()));
-            
-            String dobText = dobField.getText().trim();
-            if (!dobText.isEmpty()) {
-                currentUser.setDateOfBirth(LocalDate.parse(dobText));
-            }
+        String firstName = firstNameField.getText().trim();
+        String lastName = lastNameField.getText().trim();
+        String email = emailField.getText().trim().toLowerCase();
+        String phone = ValidationUtil.cleanPhoneNumber(phoneField.getText().trim());
+        String dobText = dobField.getText().trim();
+        String currentPassword = isPasswordChangeMode ? new String(currentPasswordField.getPassword()) : null;
+        String newPassword = isPasswordChangeMode ? new String(newPasswordField.getPassword()) : "";
+
+        // Password hashing is deliberately slow, so it runs off the event thread with the save
+        saveButton.setEnabled(false);
+        new SwingWorker<Boolean, Void>() {
+            private boolean wrongPassword;
+
+            @Override
+            protected Boolean doInBackground() {
+                if (currentPassword != null
+                        && !PasswordUtil.verifyPassword(currentPassword, currentUser.getPasswordHash())) {
+                    wrongPassword = true;
+                    return false;
+                }
 
-            // Handle password change if in password change mode
-            if (isPasswordChangeMode) {
-                String newPassword = new String(newPasswordField.getPassword());
+                // Update user object
+                currentUser.setFirstName(firstName);
+                currentUser.setLastName(lastName);
+                currentUser.setEmail(email);
+                currentUser.setPhone(phone);
+                if (!dobText.isEmpty()) {
+                    currentUser.setDateOfBirth(LocalDate.parse(dobText));
+                }
                 if (!newPassword.isEmpty()) {
                     currentUser.setPasswordHash(PasswordUtil.hashPassword(newPassword));
                 }
+
+                // Save to database
+                return userDAO.update(currentUser);
             }
 
-            // Save to database
-            boolean success = userDAO.update(currentUser);
-            
-            if (success) {
-                // Update session
-                SessionManager.getInstance().loginUser(currentUser);
-                showSuccess("Profile updated successfully!");
-                
-                if (isPasswordChangeMode) {
-                    togglePasswordChangeMode();
+            @Override
+            protected void done() {
+                saveButton.setEnabled(true);
+                try {
+                    if (get()) {
+                        CredentialService.getInstance().invalidate(SessionManager.UserType.USER, currentUser.getUserId());
+                        // Update session
+                        SessionManager.getInstance().loginUser(currentUser);
+                        showSuccess("Profile updated successfully!");
+
+                        if (isPasswordChangeMode) {
+                            togglePasswordChangeMode();
+                        }
+                    } else if (wrongPassword) {
+                        showError("Current password is incorrect.");
+                        currentPasswordField.requestFocus();
+                    } else {
+                        showError("Failed to update profile. Please try again.");
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Update failed: " + cause.getMessage());
                 }
-            } else {
-                showError("Failed to update profile. Please try again.");
             }
-            
-        } catch (Exception e) {
-            showError("Update failed: " + e.getMessage());
-        }
+        }.execute();
     }
 
     private boolean validateInput() {
@@ -415,12 +440,6 @@ public class UserProfileDialog extends JDialog {
                 return false;
             }
 
-            if (!PasswordUtil.verifyPassword(currentPassword, currentUser.getPasswordHash())) {
-                showError("Current password is incorrect.");
-                currentPasswordField.requestFocus();
-                return false;
-            }
-
             if (newPassword.isEmpty()) {
                 showError("Please enter a new password.");
                 newPasswordField.requestFocus();
@@ -89,8 +89,12 @@ public class UserRegistrationDialog extends JDialog {
         registerButton.addActionListener(e -> handleRegistration());
         cancelButton.addActionListener(e -> dispose());
 
-        // Enter key on confirm password field
-        confirmPasswordField.addActionListener(e -> handleRegistration());
+        // Enter key on confirm password field, unless a save is already running
+        confirmPasswordField.addActionListener(e -> {
+            if (registerButton.isEnabled()) {
+                handleRegistration();
+            }
+        });
     }
 
     private void handleRegistration() {
@@ -106,17 +110,34 @@ public class UserRegistrationDialog extends JDialog {
             user.setEmail(emailField.getText().trim().toLowerCase());
             user.setPhone(ValidationUtil.cleanPhoneNumber(phoneField.getText().trim()));
             user.setDateOfBirth(LocalDate.parse(dobField.getText().trim()));
-            user.setPasswordHash(PasswordUtil.hashPassword(new String(passwordField.getPassword())));
-
-            // Save to database
-            User savedUser = userDAO.create(user);
-            if (savedUser != null) {
-                showSuccess("Registration successful! You can now login with your email and password.");
-                clearFields();
-                dispose();
-            } else {
-                showError("Registration failed. Please try again.");
-            }
+            String password = new String(passwordField.getPassword());
+
+            // Hash the password and save to database off the event thread; hashing is deliberately slow
+            registerButton.setEnabled(false);
+            new SwingWorker<User, Void>() {
+                @Override
+                protected User doInBackground() {
+                    user.setPasswordHash(PasswordUtil.hashPassword(password));
+                    return userDAO.create(user);
+                }
+
+                @Override
+                protected void done() {
+                    registerButton.setEnabled(true);
+                    try {
+                        if (get() != null) {
+                            showSuccess("Registration successful! You can now login with your email and password.");
+                            clearFields();
+                            dispose();
+                        } else {
+                            showError("Registration failed. Please try again.");
+                        }
+                    } catch (Exception e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        showError("Registration failed: " + cause.getMessage());
+                    }
+                }
+            }.execute();
         } catch (Exception e) {
             showError("Registration failed: " + e.getMessage());
         }
@@ -0,0 +1,218 @@
+package com.GoAero.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped CSV parser for large airport lists (OpenFlights airports.dat style).
+ * The file is mapped read-only and scanned byte by byte; a single reusable {@link Row}
+ * records field offsets, so Strings are only created for the columns a caller reads.
+ */
+public class AirportCsvParser {
+
+    /**
+     * Callback invoked once per parsed row. The row is reused for the next line,
+     * so handlers must copy out any values they want to keep.
+     */
+    public interface RowHandler {
+        void onRow(Row row);
+    }
+
+    /**
+     * Parses a CSV file and passes each non-blank row to the handler
+     * @param file The CSV file to parse
+     * @param skipHeader true to skip the first line
+     * @param handler The row callback
+     * @return Number of rows passed to the handler
+     * @throws IOException if the file cannot be read or mapped
+     */
+    public static long parse(Path file, boolean skipHeader, RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("CSV file is too large to map (" + size + " bytes)");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Row row = new Row(buffer);
+            int limit = (int) size;
+            int pos = 0;
+            long rows = 0;
+
+            while (pos < limit) {
+                pos = row.scan(pos, limit);
+                row.lineNumber++;
+                if (row.lineNumber == 1 && skipHeader) {
+                    continue;
+                }
+                if (row.isBlank()) {
+                    continue;
+                }
+                handler.onRow(row);
+                rows++;
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * A view over the current line of the mapped file. Field values are decoded lazily.
+     */
+    public static final class Row {
+        private final MappedByteBuffer buffer;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private boolean[] escaped = new boolean[16];
+        private int count;
+        private long lineNumber;
+        private byte[] scratch = new byte[256];
+
+        private Row(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Gets the number of fields on this line
+         * @return The field count
+         */
+        public int getFieldCount() {
+            return count;
+        }
+
+        /**
+         * Gets the 1-based line number of this row in the file
+         * @return The line number
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Decodes a field as a String. OpenFlights writes "\N" for missing values,
+         * which is returned as null, as are columns beyond the end of the line.
+         * @param index The 0-based column index
+         * @return The field value, or null if missing
+         */
+        public String get(int index) {
+            if (index >= count) {
+                return null;
+            }
+
+            int start = starts[index];
+            int length = ends[index] - start;
+            if (length == 0) {
+                return "";
+            }
+            if (length == 2 && buffer.get(start) == '\\' && buffer.get(start + 1) == 'N') {
+                return null;
+            }
+
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(start, scratch, 0, length);
+            if (escaped[index]) {
+                length = unescapeQuotes(length);
+            }
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private boolean isBlank() {
+            return count == 1 && ends[0] == starts[0];
+        }
+
+        /**
+         * Scans one line starting at pos, recording field boundaries
+         * @return The position of the first byte of the next line
+         */
+        private int scan(int pos, int limit) {
+            count = 0;
+            while (true) {
+                int start;
+                int end;
+                boolean hasEscapes = false;
+
+                if (pos < limit && buffer.get(pos) == '"') {
+                    start = ++pos;
+                    while (pos < limit) {
+                        byte b = buffer.get(pos);
+                        if (b == '"') {
+                            if (pos + 1 < limit && buffer.get(pos + 1) == '"') {
+                                hasEscapes = true;
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        pos++;
+                    }
+                    end = pos;
+                    if (pos < limit) {
+                        pos++; // closing quote
+                    }
+                    // Ignore anything between the closing quote and the delimiter
+                    while (pos < limit && !isDelimiter(buffer.get(pos))) {
+                        pos++;
+                    }
+                } else {
+                    start = pos;
+                    while (pos < limit && !isDelimiter(buffer.get(pos))) {
+                        pos++;
+                    }
+                    end = pos;
+                }
+
+                addField(start, end, hasEscapes);
+
+                if (pos >= limit) {
+                    return pos;
+                }
+                byte delimiter = buffer.get(pos++);
+                if (delimiter == ',') {
+                    continue;
+                }
+                if (delimiter == '\r' && pos < limit && buffer.get(pos) == '\n') {
+                    pos++;
+                }
+                return pos;
+            }
+        }
+
+        private static boolean isDelimiter(byte b) {
+            return b == ',' || b == '\n' || b == '\r';
+        }
+
+        private void addField(int start, int end, boolean hasEscapes) {
+            if (count == starts.length) {
+                int newLength = count * 2;
+                starts = Arrays.copyOf(starts, newLength);
+                ends = Arrays.copyOf(ends, newLength);
+                escaped = Arrays.copyOf(escaped, newLength);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            escaped[count] = hasEscapes;
+            count++;
+        }
+
+        /**
+         * Collapses doubled quotes ("") in the scratch buffer in place
+         * @return The new length
+         */
+        private int unescapeQuotes(int length) {
+            int out = 0;
+            for (int i = 0; i < length; i++) {
+                scratch[out++] = scratch[i];
+                if (scratch[i] == '"' && i + 1 < length && scratch[i + 1] == '"') {
+                    i++;
+                }
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.GoAero.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * RFC 4180 CSV: a header row, comma-separated fields, and quotes only around fields that
+ * contain a comma, quote or line break
+ */
+class CsvRecordWriter extends RecordWriter {
+
+    CsvRecordWriter(Writer out, String[] columns) throws IOException {
+        super(out, columns);
+        for (String column : columns) {
+            field(column);
+        }
+        endRecord();
+    }
+
+    @Override
+    public void field(String value) throws IOException {
+        separator();
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        // Copy up to and including each quote, then write the quote again to double it
+        int run = 0;
+        for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', i + 1)) {
+            out.write(value, run, i + 1 - run);
+            out.write('"');
+            run = i + 1;
+        }
+        out.write(value, run, value.length() - run);
+        out.write('"');
+    }
+
+    @Override
+    public void field(long value) throws IOException {
+        separator();
+        out.write(Long.toString(value));
+    }
+
+    @Override
+    public void field(BigDecimal value) throws IOException {
+        separator();
+        if (value != null) {
+            out.write(value.toPlainString());
+        }
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        out.write("\r\n");
+        field = 0;
+    }
+
+    private void separator() throws IOException {
+        nextColumn();
+        if (field > 1) {
+            out.write(',');
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.GoAero.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * JSON Lines: one JSON object per record, keyed by column name. Decimals are written as
+ * JSON numbers so amounts keep their exact value.
+ */
+class JsonLinesRecordWriter extends RecordWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // "column": prefixes, escaped once rather than on every record
+    private final String[] keys;
+
+    JsonLinesRecordWriter(Writer out, String[] columns) {
+        super(out, columns);
+        keys = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            StringBuilder key = new StringBuilder(columns[i].length() + 3).append('"');
+            for (int j = 0; j < columns[i].length(); j++) {
+                char c = columns[i].charAt(j);
+                String escape = escape(c);
+                if (escape != null) {
+                    key.append(escape);
+                } else {
+                    key.append(c);
+                }
+            }
+            keys[i] = key.append("\":").toString();
+        }
+    }
+
+    @Override
+    public void field(String value) throws IOException {
+        key();
+        if (value == null) {
+            out.write("null");
+        } else {
+            string(value);
+        }
+    }
+
+    @Override
+    public void field(long value) throws IOException {
+        key();
+        out.write(Long.toString(value));
+    }
+
+    @Override
+    public void field(BigDecimal value) throws IOException {
+        key();
+        out.write(value != null ? value.toPlainString() : "null");
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        out.write(field == 0 ? "{}\n" : "}\n");
+        field = 0;
+    }
+
+    private void key() throws IOException {
+        nextColumn();
+        out.write(field == 1 ? '{' : ',');
+        out.write(keys[field - 1]);
+    }
+
+    private void string(String value) throws IOException {
+        out.write('"');
+        // Copy runs of plain characters in one call; only escapes go out separately
+        int run = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String escape = escape(value.charAt(i));
+            if (escape != null) {
+                out.write(value, run, i - run);
+                out.write(escape);
+                run = i + 1;
+            }
+        }
+        out.write(value, run, value.length() - run);
+        out.write('"');
+    }
+
+    private static String escape(char c) {
+        switch (c) {
+            case '"':
+                return "\\\"";
+            case '\\':
+                return "\\\\";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\t':
+                return "\\t";
+            default:
+                return c < 0x20 ? "\\u00" + HEX[c >> 4] + HEX[c & 0xF] : null;
+        }
+    }
+}
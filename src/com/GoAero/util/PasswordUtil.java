@@ -1,46 +1,133 @@
 package com.GoAero.util;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Random;
 
 /**
- * Utility class for password validation and generation (plain-text storage)
+ * Utility class for password hashing, validation and generation.
+ * Passwords are stored as salted PBKDF2-HMAC-SHA256 hashes in the form
+ * pbkdf2_sha256$iterations$salt$hash. The cost is set with -Dgoaero.password.iterations;
+ * hashes made at a lower cost, and plain-text passwords from before hashing was introduced,
+ * still verify and are reported by needsRehash so they can be upgraded at the next login.
  */
 public class PasswordUtil {
 
+    public static final String ITERATIONS_PROPERTY = "goaero.password.iterations";
+    public static final int DEFAULT_ITERATIONS = 310_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2_sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
     private static final Random random = new Random();
+    private static final SecureRandom saltRandom = new SecureRandom();
 
     /**
-     * Stores a password as plain text (no hashing)
+     * Hashes a password for storage at the configured cost
      * @param password The plain text password
-     * @return The same password (no transformation)
+     * @return The encoded salted hash
      */
     public static String storePassword(String password) {
-        if (password == null || password.trim().isEmpty()) {
-            throw new IllegalArgumentException("Password cannot be null or empty");
-        }
-        return password;
+        return hashPassword(password, getIterations());
     }
 
     /**
      * Hashes a password (alias for storePassword for backward compatibility)
      * @param password The plain text password
-     * @return The same password (no transformation)
+     * @return The encoded salted hash
      */
     public static String hashPassword(String password) {
         return storePassword(password);
     }
 
     /**
-     * Verifies a password against a stored password
+     * Hashes a password with a fresh salt at the given cost
+     * @param password The plain text password
+     * @param iterations PBKDF2 iteration count
+     * @return The encoded salted hash
+     */
+    public static String hashPassword(String password, int iterations) {
+        if (password == null || password.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        byte[] salt = new byte[SALT_BYTES];
+        saltRandom.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$"
+            + encoder.encodeToString(pbkdf2(password, salt, iterations, HASH_BITS));
+    }
+
+    /**
+     * Verifies a password against a stored hash (or a legacy plain-text password).
+     * The comparison takes the same time wherever the first difference is.
      * @param password The plain text password to verify
-     * @param storedPassword The stored plain text password
-     * @return true if the passwords match, false otherwise
+     * @param storedPassword The stored hash
+     * @return true if the password matches, false otherwise
      */
     public static boolean verifyPassword(String password, String storedPassword) {
         if (password == null || storedPassword == null) {
             return false;
         }
-        return password.equals(storedPassword);
+        if (!storedPassword.startsWith(PREFIX)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = storedPassword.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] salt = decoder.decode(parts[2]);
+            byte[] expected = decoder.decode(parts[3]);
+            return MessageDigest.isEqual(expected, pbkdf2(password, salt, iterations, expected.length * 8));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a stored password should be re-hashed at the current cost
+     * @param storedPassword The stored hash
+     * @return true if it is plain text or was hashed with fewer iterations than configured
+     */
+    public static boolean needsRehash(String storedPassword) {
+        if (storedPassword == null || !storedPassword.startsWith(PREFIX)) {
+            return true;
+        }
+        String[] parts = storedPassword.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < getIterations();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Gets the configured PBKDF2 iteration count
+     * @return Iterations from goaero.password.iterations, or the default
+     */
+    public static int getIterations() {
+        return Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS);
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        } finally {
+            spec.clearPassword();
+        }
     }
 
     /**
@@ -0,0 +1,156 @@
+package com.GoAero.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes export records one field at a time to a buffered file channel, as CSV or JSON
+ * Lines and optionally gzip-compressed, so exports of any size run in constant memory.
+ * Numbers and dates are appended directly rather than through String.format.
+ *
+ * Usage: open(), then per record the field() calls in column order followed by
+ * endRecord(), then close().
+ */
+public abstract class RecordWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Output formats, chosen by file name: .csv or .jsonl, plus .gz for compression
+     */
+    public enum Format {
+        CSV(".csv"),
+        JSON_LINES(".jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Picks the format for a file name
+         * @param fileName e.g. "bookings.jsonl.gz"
+         * @return The format, CSV unless the name ends in .jsonl or .jsonl.gz
+         */
+        public static Format forFileName(String fileName) {
+            String name = stripGzip(fileName.toLowerCase(Locale.ROOT));
+            return name.endsWith(JSON_LINES.extension) ? JSON_LINES : CSV;
+        }
+    }
+
+    protected final Writer out;
+    protected final String[] columns;
+    protected int field;
+
+    protected RecordWriter(Writer out, String[] columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates or replaces a file and writes to it in the format its name asks for
+     * @param file Target file; a name ending in .gz is gzip-compressed
+     * @param columns Column names, in the order fields will be written
+     * @return The writer
+     * @throws IOException if the file cannot be opened
+     */
+    public static RecordWriter open(Path file, String[] columns) throws IOException {
+        String fileName = file.getFileName().toString();
+        return open(file, Format.forFileName(fileName), isGzip(fileName), columns);
+    }
+
+    /**
+     * Creates or replaces a file and writes to it in the given format
+     * @param file Target file
+     * @param format Output format
+     * @param gzip true to gzip-compress the output
+     * @param columns Column names, in the order fields will be written
+     * @return The writer
+     * @throws IOException if the file cannot be opened
+     */
+    public static RecordWriter open(Path file, Format format, boolean gzip, String[] columns) throws IOException {
+        OutputStream stream = Channels.newOutputStream(FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+        try {
+            if (gzip) {
+                stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+            }
+            Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+            return format == Format.JSON_LINES
+                ? new JsonLinesRecordWriter(writer, columns)
+                : new CsvRecordWriter(writer, columns);
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    public static boolean isGzip(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    private static String stripGzip(String fileName) {
+        return isGzip(fileName) ? fileName.substring(0, fileName.length() - 3) : fileName;
+    }
+
+    /**
+     * Writes a text field; null writes an empty CSV field or a JSON null
+     */
+    public abstract void field(String value) throws IOException;
+
+    public abstract void field(long value) throws IOException;
+
+    /**
+     * Writes a decimal in plain notation; null as for text
+     */
+    public abstract void field(BigDecimal value) throws IOException;
+
+    /**
+     * Writes a date or time in ISO-8601 form, e.g. 2026-10-19 or 2026-10-19T14:30; null as for text
+     */
+    public void field(TemporalAccessor value) throws IOException {
+        field(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Ends the current record
+     */
+    public abstract void endRecord() throws IOException;
+
+    /**
+     * Flushes and closes the file, finishing the gzip stream if there is one
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Checks that another field fits in the current record
+     * @return The field's column name
+     */
+    protected String nextColumn() {
+        if (field >= columns.length) {
+            throw new IllegalStateException("Record has more fields than the " + columns.length + " columns");
+        }
+        return columns[field++];
+    }
+}
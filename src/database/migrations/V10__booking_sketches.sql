@@ -0,0 +1,9 @@
+-- Monthly booking sketches (distinct travellers, busiest routes and airlines), one row per
+-- application instance; reports merge the rows of a month. Maintained by BookingSketchService.
+CREATE TABLE booking_sketches (
+period CHAR(7) NOT NULL,
+instance_id VARCHAR(128) NOT NULL,
+data MEDIUMBLOB NOT NULL,
+updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+PRIMARY KEY (period, instance_id)
+);
@@ -0,0 +1,19 @@
+-- Flights cancelled by the airline. A cancelled flight takes no new bookings or seat holds.
+ALTER TABLE flight_data
+  ADD COLUMN cancelled_at DATETIME NULL,
+  ALGORITHM=INSTANT;
+
+-- Refunds owed for cancelled bookings whose payment had completed, one per booking.
+-- bookings is partitioned and cannot be referenced by a foreign key.
+CREATE TABLE refunds (
+refund_id INT AUTO_INCREMENT PRIMARY KEY,
+booking_id INT NOT NULL UNIQUE,
+user_id INT NOT NULL,
+flight_id INT NOT NULL,
+amount DECIMAL(10, 2) NOT NULL,
+status ENUM('Due', 'Paid') NOT NULL DEFAULT 'Due',
+created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+FOREIGN KEY (user_id) REFERENCES users(user_id),
+FOREIGN KEY (flight_id) REFERENCES flight_data(flight_id),
+INDEX idx_refunds_status (status, created_at)
+);
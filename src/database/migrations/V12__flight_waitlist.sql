@@ -0,0 +1,16 @@
+-- Passengers waiting for seats on a full flight, served in the order they asked. Seats
+-- waited for count against availability, so freed seats reach the waitlist first.
+CREATE TABLE waitlist_entries (
+entry_id INT AUTO_INCREMENT PRIMARY KEY,
+flight_id INT NOT NULL,
+user_id INT NOT NULL,
+seats INT NOT NULL,
+requested_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+status ENUM('Waiting', 'Promoted', 'Closed') NOT NULL,
+booking_id INT NULL,
+promoted_at TIMESTAMP NULL,
+FOREIGN KEY (flight_id) REFERENCES flight_data(flight_id),
+FOREIGN KEY (user_id) REFERENCES users(user_id),
+INDEX idx_waitlist_queue (flight_id, status, requested_at, entry_id),
+INDEX idx_waitlist_status_flight (status, flight_id)
+);
@@ -0,0 +1,15 @@
+-- Seat maps: one row per flight holding its cabin layout and a bitset of the seats that
+-- cannot be assigned (taken, beyond capacity, or aisle positions), written by SeatMapDAO.
+CREATE TABLE flight_seat_maps (
+flight_id INT PRIMARY KEY,
+layout VARCHAR(255) NOT NULL,
+occupied VARBINARY(1024) NOT NULL,
+version INT NOT NULL DEFAULT 0,
+updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+FOREIGN KEY (flight_id) REFERENCES flight_data(flight_id) ON DELETE CASCADE
+);
+
+-- The assigned seat, e.g. 12C; archived trips keep theirs
+ALTER TABLE bookings ADD COLUMN seat_number VARCHAR(5) NULL, ALGORITHM=INSTANT;
+-- Compressed tables cannot add columns instantly
+ALTER TABLE bookings_archive ADD COLUMN seat_number VARCHAR(5) NULL, ALGORITHM=INPLACE, LOCK=NONE;
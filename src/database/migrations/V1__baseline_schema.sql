@@ -1,3 +1,5 @@
+-- Original GoAero schema (the users table previously lacked a comma before password)
+
 CREATE TABLE admin_users (
 admin_id INT AUTO_INCREMENT PRIMARY KEY,
 username VARCHAR(255) NOT NULL UNIQUE,
@@ -50,7 +52,7 @@ email VARCHAR(255) NOT NULL UNIQUE,
 phone VARCHAR(20),
 DOB date,
 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
 password VARCHAR(255) NOT NULL
 );
 
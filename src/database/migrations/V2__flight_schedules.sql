@@ -0,0 +1,23 @@
+-- Recurring schedules; flight codes become unique per departure date instead of globally
+ALTER TABLE flight_data DROP INDEX flight_code;
+ALTER TABLE flight_data ADD COLUMN departure_date DATE AS (DATE(departure_time)) STORED;
+ALTER TABLE flight_data ADD UNIQUE KEY uk_flight_code_date (flight_code, departure_date), ALGORITHM=INPLACE, LOCK=NONE;
+
+CREATE TABLE flight_schedules (
+schedule_id INT AUTO_INCREMENT PRIMARY KEY,
+company_id INT NOT NULL,
+flight_code VARCHAR(50) NOT NULL,
+flight_name VARCHAR(255) NOT NULL,
+departure_airport_id INT NOT NULL,
+destination_airport_id INT NOT NULL,
+days_of_week TINYINT NOT NULL,
+departure_time TIME NOT NULL,
+duration_minutes INT NOT NULL,
+effective_from DATE NOT NULL,
+effective_to DATE NOT NULL,
+capacity INT NOT NULL,
+price DECIMAL(10, 2) NOT NULL,
+FOREIGN KEY (company_id) REFERENCES flight_owners(owner_id),
+FOREIGN KEY (departure_airport_id) REFERENCES airports(airport_id),
+FOREIGN KEY (destination_airport_id) REFERENCES airports(airport_id)
+);
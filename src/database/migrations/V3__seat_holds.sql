@@ -0,0 +1,16 @@
+-- Temporary seat holds taken while a booking is being completed
+CREATE TABLE seat_holds (
+hold_id INT AUTO_INCREMENT PRIMARY KEY,
+flight_id INT NOT NULL,
+user_id INT NOT NULL,
+seats INT NOT NULL,
+created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+expires_at DATETIME NOT NULL,
+status ENUM('Active', 'Converted', 'Released') NOT NULL,
+booking_id INT NULL,
+FOREIGN KEY (flight_id) REFERENCES flight_data(flight_id),
+FOREIGN KEY (user_id) REFERENCES users(user_id),
+FOREIGN KEY (booking_id) REFERENCES bookings(booking_id),
+INDEX idx_hold_flight_status (flight_id, status, expires_at),
+INDEX idx_hold_status_expiry (status, expires_at)
+);
@@ -0,0 +1,3 @@
+-- Client-supplied key that makes booking submission safe to retry
+ALTER TABLE bookings ADD COLUMN idempotency_key VARCHAR(64) NULL, ALGORITHM=INSTANT;
+ALTER TABLE bookings ADD UNIQUE KEY uk_booking_idempotency (idempotency_key), ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,3 @@
+-- Record locator shared by the bookings of one itinerary
+ALTER TABLE bookings ADD COLUMN record_locator VARCHAR(20) NULL, ALGORITHM=INSTANT;
+ALTER TABLE bookings ADD INDEX idx_record_locator (record_locator), ALGORITHM=INPLACE, LOCK=NONE;
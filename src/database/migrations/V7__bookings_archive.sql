@@ -0,0 +1,24 @@
+-- Completed trips moved out of bookings by BookingArchiveService
+CREATE TABLE bookings_archive (
+booking_id INT PRIMARY KEY,
+user_id INT NOT NULL,
+flight_id INT NOT NULL,
+departure_airport_id INT NOT NULL,
+destination_airport_id INT NOT NULL,
+departure_time DATETIME NOT NULL,
+destination_time DATETIME NOT NULL,
+PNR VARCHAR(20) NOT NULL,
+date_of_departure DATE NOT NULL,
+date_of_destination DATE NOT NULL,
+date_of_booking TIMESTAMP NULL,
+amount DECIMAL(10, 2) NOT NULL,
+payment_status ENUM('Pending', 'Completed', 'Failed') NOT NULL,
+booking_status ENUM('Pending', 'Confirmed', 'Cancelled') NOT NULL,
+idempotency_key VARCHAR(64) NULL,
+record_locator VARCHAR(20) NULL,
+archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+INDEX idx_archive_user (user_id, date_of_departure),
+INDEX idx_archive_flight (flight_id),
+INDEX idx_archive_pnr (PNR),
+INDEX idx_archive_record_locator (record_locator)
+) ROW_FORMAT=COMPRESSED;
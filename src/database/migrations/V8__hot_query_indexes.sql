@@ -0,0 +1,30 @@
+-- Indexes for the hot queries. All are built in place without blocking reads or writes;
+-- MySQL rejects the statement rather than falling back to a locking copy.
+
+-- Booking history: WHERE user_id = ? ORDER BY date_of_booking DESC
+ALTER TABLE bookings
+  ADD INDEX idx_bookings_user_booked (user_id, date_of_booking),
+  DROP INDEX idx_user_id,
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Seat availability: WHERE flight_id = ? AND booking_status IN ('Pending', 'Confirmed')
+ALTER TABLE bookings
+  ADD INDEX idx_bookings_flight_status (flight_id, booking_status),
+  DROP INDEX idx_flight_id,
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Covering index for booking counts and revenue grouped by status
+ALTER TABLE bookings
+  ADD INDEX idx_bookings_status_amount (booking_status, payment_status, amount),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Owner dashboards: WHERE company_id = ? ORDER BY departure_time
+ALTER TABLE flight_data
+  ADD INDEX idx_flight_company_departure (company_id, departure_time),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Flight search: WHERE departure_airport_id = ? AND destination_airport_id = ? AND departure_date = ?
+ALTER TABLE flight_data
+  ADD INDEX idx_flight_route_date (departure_airport_id, destination_airport_id, departure_date),
+  DROP INDEX idx_departure_airport_id,
+  ALGORITHM=INPLACE, LOCK=NONE;
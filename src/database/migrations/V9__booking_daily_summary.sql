@@ -0,0 +1,37 @@
+-- Daily roll-up of bookings per airline and route, maintained by BookingSummaryService
+
+-- Lets the roll-up find bookings changed since its last run.
+-- Not online: InnoDB cannot add a column defaulting to CURRENT_TIMESTAMP in place, because
+-- every existing row has to be written with the time. MySQL copies the table and blocks
+-- writes to bookings until it finishes, so run this migration in a quiet period.
+ALTER TABLE bookings
+  ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+ALTER TABLE bookings
+  ADD INDEX idx_bookings_updated (updated_at),
+  ADD INDEX idx_bookings_booked (date_of_booking),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE bookings_archive
+  ADD INDEX idx_archive_booked (date_of_booking),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+-- One row per booking day, airline and route; company_id 0 stands for deleted flights
+CREATE TABLE booking_daily_summary (
+summary_date DATE NOT NULL,
+company_id INT NOT NULL,
+departure_airport_id INT NOT NULL,
+destination_airport_id INT NOT NULL,
+bookings INT NOT NULL,
+confirmed INT NOT NULL,
+cancelled INT NOT NULL,
+revenue DECIMAL(14, 2) NOT NULL,
+PRIMARY KEY (summary_date, company_id, departure_airport_id, destination_airport_id),
+INDEX idx_summary_company (company_id, summary_date)
+);
+
+-- How far each roll-up has processed
+CREATE TABLE summary_watermarks (
+summary_name VARCHAR(64) PRIMARY KEY,
+watermark TIMESTAMP(6) NOT NULL
+);